@@ -0,0 +1,32 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.core.internal.filebuffers;
+
+
+/**
+ * Document whose content is read from a memory mapped file until it is modified, see
+ * {@link MappedTextStore}.
+ */
+class MappedDocument extends SynchronizableDocument {
+
+	/**
+	 * Creates a document with the content of the given store.
+	 *
+	 * @param store the mapped content
+	 */
+	MappedDocument(MappedTextStore store) {
+		super(store);
+		setLineTracker(store.createLineTracker());
+	}
+}
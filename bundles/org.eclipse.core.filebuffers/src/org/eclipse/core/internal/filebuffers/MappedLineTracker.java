@@ -0,0 +1,234 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.core.internal.filebuffers;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.DefaultLineTracker;
+import org.eclipse.jface.text.ILineTracker;
+import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.Region;
+import org.eclipse.jface.text.TextUtilities;
+
+
+/**
+ * Line tracker for the content of a {@link MappedTextStore}. It behaves like a
+ * {@link DefaultLineTracker} but only knows the offset of every {@value #LINES_PER_CHECKPOINT}th
+ * line, the other lines are found by scanning the content from the preceding checkpoint.
+ * <p>
+ * Once the content is modified or set, the lines are tracked by a {@link DefaultLineTracker}.
+ * </p>
+ */
+class MappedLineTracker implements ILineTracker {
+
+	/** Number of lines between two recorded line offsets. */
+	static final int LINES_PER_CHECKPOINT= 16;
+
+	private final MappedTextStore fStore;
+	/** The offset of every {@value #LINES_PER_CHECKPOINT}th line. */
+	private final int[] fCheckpoints;
+	private final int fNumberOfLines;
+	/** The tracker used once the content is modified or set. */
+	private ILineTracker fDelegate;
+
+	MappedLineTracker(MappedTextStore store, int[] checkpoints, int numberOfLines) {
+		fStore= store;
+		fCheckpoints= checkpoints;
+		fNumberOfLines= numberOfLines;
+	}
+
+	@Override
+	public String[] getLegalLineDelimiters() {
+		return TextUtilities.copy(DefaultLineTracker.DELIMITERS);
+	}
+
+	@Override
+	public String getLineDelimiter(int line) throws BadLocationException {
+		if (fDelegate != null)
+			return fDelegate.getLineDelimiter(line);
+		int offset= lineOffset(line);
+		int next= nextLineStart(offset);
+		if (next == -1)
+			return null;
+		if (fStore.get(next - 1) == '\r')
+			return DefaultLineTracker.DELIMITERS[0];
+		if (next - 2 >= offset && fStore.get(next - 2) == '\r')
+			return DefaultLineTracker.DELIMITERS[2];
+		return DefaultLineTracker.DELIMITERS[1];
+	}
+
+	@Override
+	public int computeNumberOfLines(String text) {
+		int count= 0;
+		int length= text.length();
+		for (int i= 0; i < length; i++) {
+			char ch= text.charAt(i);
+			if (ch == '\r') {
+				if (i + 1 < length && text.charAt(i + 1) == '\n')
+					i++;
+				count++;
+			} else if (ch == '\n') {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	@Override
+	public int getNumberOfLines() {
+		if (fDelegate != null)
+			return fDelegate.getNumberOfLines();
+		return fNumberOfLines;
+	}
+
+	@Override
+	public int getNumberOfLines(int offset, int length) throws BadLocationException {
+		if (fDelegate != null)
+			return fDelegate.getNumberOfLines(offset, length);
+		if (length == 0)
+			return 1;
+		return lineOfOffset(offset + length) - lineOfOffset(offset) + 1;
+	}
+
+	@Override
+	public int getLineOffset(int line) throws BadLocationException {
+		if (fDelegate != null)
+			return fDelegate.getLineOffset(line);
+		return lineOffset(line);
+	}
+
+	@Override
+	public int getLineLength(int line) throws BadLocationException {
+		if (fDelegate != null)
+			return fDelegate.getLineLength(line);
+		int offset= lineOffset(line);
+		int next= nextLineStart(offset);
+		return (next == -1 ? fStore.getLength() : next) - offset;
+	}
+
+	@Override
+	public int getLineNumberOfOffset(int offset) throws BadLocationException {
+		if (fDelegate != null)
+			return fDelegate.getLineNumberOfOffset(offset);
+		return lineOfOffset(offset);
+	}
+
+	@Override
+	public IRegion getLineInformationOfOffset(int offset) throws BadLocationException {
+		if (fDelegate != null)
+			return fDelegate.getLineInformationOfOffset(offset);
+		return lineInformation(lineOfOffset(offset));
+	}
+
+	@Override
+	public IRegion getLineInformation(int line) throws BadLocationException {
+		if (fDelegate != null)
+			return fDelegate.getLineInformation(line);
+		if (line > 0 && line == fNumberOfLines) {
+			// compatibility with the behavior of the default line tracker, see TreeLineTracker
+			IRegion last= lineInformation(line - 1);
+			if (getLineLength(line - 1) > 0)
+				return new Region(last.getOffset() + getLineLength(line - 1), 0);
+		}
+		return lineInformation(line);
+	}
+
+	@Override
+	public void replace(int offset, int length, String text) throws BadLocationException {
+		if (fDelegate == null)
+			copyContent(fStore.get(0, fStore.getLength()));
+		fDelegate.replace(offset, length, text);
+	}
+
+	@Override
+	public void set(String text) {
+		if (fDelegate == null)
+			fDelegate= new DefaultLineTracker();
+		fDelegate.set(text);
+	}
+
+	/**
+	 * Tracks the lines of the given content, the content of the store before its first
+	 * modification, with a {@link DefaultLineTracker}. Does nothing if the lines are already
+	 * tracked by it.
+	 *
+	 * @param content the content of the store
+	 */
+	void copyContent(String content) {
+		if (fDelegate == null) {
+			fDelegate= new DefaultLineTracker();
+			fDelegate.set(content);
+		}
+	}
+
+	private IRegion lineInformation(int line) throws BadLocationException {
+		int offset= lineOffset(line);
+		int next= nextLineStart(offset);
+		if (next == -1)
+			return new Region(offset, fStore.getLength() - offset);
+		int end= next - 1;
+		if (fStore.get(end) == '\n' && end > offset && fStore.get(end - 1) == '\r')
+			end--;
+		return new Region(offset, end - offset);
+	}
+
+	private int lineOffset(int line) throws BadLocationException {
+		if (line < 0 || line >= fNumberOfLines)
+			throw new BadLocationException(Integer.toString(line));
+		int offset= fCheckpoints[line / LINES_PER_CHECKPOINT];
+		for (int i= line % LINES_PER_CHECKPOINT; i > 0; i--)
+			offset= nextLineStart(offset);
+		return offset;
+	}
+
+	private int lineOfOffset(int offset) throws BadLocationException {
+		if (offset < 0 || offset > fStore.getLength())
+			throw new BadLocationException(Integer.toString(offset));
+		int low= 0;
+		int high= fCheckpoints.length - 1;
+		while (low < high) {
+			int mid= (low + high + 1) >>> 1;
+			if (fCheckpoints[mid] <= offset)
+				low= mid;
+			else
+				high= mid - 1;
+		}
+		int line= low * LINES_PER_CHECKPOINT;
+		int lineOffset= fCheckpoints[low];
+		while (true) {
+			int next= nextLineStart(lineOffset);
+			if (next == -1 || next > offset)
+				return line;
+			line++;
+			lineOffset= next;
+		}
+	}
+
+	/**
+	 * Returns the offset of the line following the line that contains the given offset.
+	 *
+	 * @param offset an offset
+	 * @return the offset after the next line delimiter or <code>-1</code> if there is none
+	 */
+	private int nextLineStart(int offset) {
+		int length= fStore.getLength();
+		for (int i= offset; i < length; i++) {
+			char ch= fStore.get(i);
+			if (ch == '\n')
+				return i + 1;
+			if (ch == '\r')
+				return i + 1 < length && fStore.get(i + 1) == '\n' ? i + 2 : i + 1;
+		}
+		return -1;
+	}
+}
@@ -0,0 +1,373 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.core.internal.filebuffers;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import org.eclipse.jface.text.GapTextStore;
+import org.eclipse.jface.text.ITextStore;
+
+
+/**
+ * Text store backed by a memory mapped file.
+ * <p>
+ * The content stays in the file system cache, only an index of the UTF-8 decoding positions and
+ * of every {@value MappedLineTracker#LINES_PER_CHECKPOINT}th line start are kept on the heap. Both
+ * are computed by a single pass over the file when the store is created. UTF-8 content is decoded
+ * in blocks of {@value #BLOCK_SIZE} characters, the most recently decoded block is cached.
+ * </p>
+ * <p>
+ * The content is copied on write: the first {@link #replace(int, int, String)} copies it into a
+ * {@link GapTextStore}, and the lines of the store's line tracker into a
+ * {@link org.eclipse.jface.text.DefaultLineTracker}. {@link #set(String)} replaces the mapped
+ * content with the given string. Afterwards the store no longer reads from the mapped file.
+ * </p>
+ */
+class MappedTextStore implements ITextStore {
+
+	/** Number of characters decoded at once. */
+	static final int BLOCK_SIZE= 4096;
+
+	/** A decoded block of UTF-8 content. */
+	private record Block(int index, char[] chars, int length) {
+	}
+
+	/** The mapped content, starting after a BOM, <code>null</code> once the content is copied. */
+	private ByteBuffer fBytes;
+	/** Whether the content is UTF-8 encoded, otherwise it uses a single byte encoding. */
+	private final boolean fUTF8;
+	/** Whether bytes above 127 are invalid and read as replacement character. */
+	private final boolean fASCII;
+	/** The number of characters of the mapped content. */
+	private final int fMappedLength;
+	/**
+	 * For UTF-8 content, the byte position of the code point containing the first character of
+	 * each block shifted left by one. The lowest bit is set if the block starts with the second
+	 * character of a surrogate pair.
+	 */
+	private final long[] fBlockStarts;
+	/** The character offset of every {@value MappedLineTracker#LINES_PER_CHECKPOINT}th line. */
+	private final int[] fLineCheckpoints;
+	/** The number of lines of the mapped content. */
+	private final int fNumberOfLines;
+
+	/** The most recently decoded block. */
+	private volatile Block fBlock;
+	/** The content copied on the first modification, overrides the mapped content. */
+	private ITextStore fCopy;
+	/** The line tracker created for the mapped content, <code>null</code> if none. */
+	private MappedLineTracker fTracker;
+
+	private MappedTextStore(ByteBuffer bytes, boolean utf8, boolean ascii, int length, long[] blockStarts, int[] lineCheckpoints, int numberOfLines) {
+		fBytes= bytes;
+		fUTF8= utf8;
+		fASCII= ascii;
+		fMappedLength= length;
+		fBlockStarts= blockStarts;
+		fLineCheckpoints= lineCheckpoints;
+		fNumberOfLines= numberOfLines;
+	}
+
+	/**
+	 * Maps the given file and indexes its content.
+	 *
+	 * @param file the file to map
+	 * @param skip the number of bytes to skip at the start of the file, e.g. for a BOM
+	 * @param encoding the encoding of the file
+	 * @return the store or <code>null</code> if the file can't be mapped, because its encoding
+	 *         isn't supported or its content is not valid in that encoding
+	 * @throws IOException if mapping the file fails
+	 */
+	static MappedTextStore create(File file, int skip, String encoding) throws IOException {
+		Charset charset;
+		try {
+			charset= Charset.forName(encoding);
+		} catch (IllegalArgumentException e) {
+			return null;
+		}
+		boolean utf8= StandardCharsets.UTF_8.equals(charset);
+		boolean ascii= StandardCharsets.US_ASCII.equals(charset);
+		if (!utf8 && !ascii && !StandardCharsets.ISO_8859_1.equals(charset))
+			return null;
+
+		ByteBuffer bytes;
+		try (FileChannel channel= FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			long size= channel.size();
+			if (size > Integer.MAX_VALUE || size < skip)
+				return null;
+			bytes= channel.map(FileChannel.MapMode.READ_ONLY, skip, size - skip);
+		}
+		return utf8 ? indexUTF8(bytes) : indexSingleByte(bytes, ascii);
+	}
+
+	private static MappedTextStore indexSingleByte(ByteBuffer bytes, boolean ascii) {
+		LineIndexer lines= new LineIndexer();
+		int length= bytes.limit();
+		for (int i= 0; i < length; i++)
+			lines.next((char) (bytes.get(i) & 0xFF), i);
+		lines.end(length);
+		return new MappedTextStore(bytes, false, ascii, length, null, lines.checkpoints(), lines.fLines);
+	}
+
+	private static MappedTextStore indexUTF8(ByteBuffer bytes) {
+		LineIndexer lines= new LineIndexer();
+		int limit= bytes.limit();
+		long[] blockStarts= new long[limit / BLOCK_SIZE + 1];
+		int blocks= 0;
+		int chars= 0;
+		int pos= 0;
+		while (pos < limit) {
+			int b= bytes.get(pos);
+			int codePoint;
+			int size;
+			if (b >= 0) {
+				codePoint= b;
+				size= 1;
+			} else if ((b & 0xE0) == 0xC0) {
+				codePoint= b & 0x1F;
+				size= 2;
+			} else if ((b & 0xF0) == 0xE0) {
+				codePoint= b & 0x0F;
+				size= 3;
+			} else if ((b & 0xF8) == 0xF0) {
+				codePoint= b & 0x07;
+				size= 4;
+			} else {
+				return null;
+			}
+			if (pos + size > limit)
+				return null;
+			for (int i= 1; i < size; i++) {
+				int continuation= bytes.get(pos + i);
+				if ((continuation & 0xC0) != 0x80)
+					return null;
+				codePoint= (codePoint << 6) | (continuation & 0x3F);
+			}
+			// reject what a decoder would replace: overlong forms, surrogates and values beyond Unicode
+			if (size == 2 && codePoint < 0x80 || size == 3 && (codePoint < 0x800 || Character.isSurrogate((char) codePoint))
+					|| size == 4 && (codePoint < 0x10000 || codePoint > Character.MAX_CODE_POINT))
+				return null;
+
+			int charCount= size == 4 ? 2 : 1;
+			if (chars % BLOCK_SIZE == 0 || charCount == 2 && (chars + 1) % BLOCK_SIZE == 0) {
+				if (blocks == blockStarts.length)
+					blockStarts= Arrays.copyOf(blockStarts, blocks * 2);
+				boolean startsWithLowSurrogate= chars % BLOCK_SIZE != 0;
+				blockStarts[blocks++]= ((long) pos << 1) | (startsWithLowSurrogate ? 1 : 0);
+			}
+			if (charCount == 1) {
+				lines.next((char) codePoint, chars);
+			} else {
+				lines.next(Character.highSurrogate(codePoint), chars);
+				lines.next(Character.lowSurrogate(codePoint), chars + 1);
+			}
+			chars+= charCount;
+			pos+= size;
+		}
+		lines.end(chars);
+		return new MappedTextStore(bytes, true, false, chars, Arrays.copyOf(blockStarts, blocks), lines.checkpoints(), lines.fLines);
+	}
+
+	/**
+	 * Creates a line tracker for the mapped content.
+	 *
+	 * @return the line tracker
+	 */
+	MappedLineTracker createLineTracker() {
+		fTracker= new MappedLineTracker(this, fLineCheckpoints, fNumberOfLines);
+		return fTracker;
+	}
+
+	@Override
+	public char get(int offset) {
+		ITextStore copy= fCopy;
+		if (copy != null)
+			return copy.get(offset);
+		if (offset < 0 || offset >= fMappedLength)
+			throw new IndexOutOfBoundsException(offset);
+		if (!fUTF8) {
+			int b= fBytes.get(offset) & 0xFF;
+			return fASCII && b > 127 ? '\uFFFD' : (char) b;
+		}
+		Block block= getBlock(offset / BLOCK_SIZE);
+		return block.chars[offset % BLOCK_SIZE];
+	}
+
+	@Override
+	public String get(int offset, int length) {
+		ITextStore copy= fCopy;
+		if (copy != null)
+			return copy.get(offset, length);
+		if (offset < 0 || length < 0 || offset + length > fMappedLength)
+			throw new IndexOutOfBoundsException(offset);
+		if (!fUTF8) {
+			byte[] bytes= new byte[length];
+			fBytes.get(offset, bytes);
+			return new String(bytes, fASCII ? StandardCharsets.US_ASCII : StandardCharsets.ISO_8859_1);
+		}
+		char[] chars= new char[length];
+		int copied= 0;
+		while (copied < length) {
+			int position= offset + copied;
+			Block block= getBlock(position / BLOCK_SIZE);
+			int start= position % BLOCK_SIZE;
+			int count= Math.min(length - copied, block.length - start);
+			System.arraycopy(block.chars, start, chars, copied, count);
+			copied+= count;
+		}
+		return new String(chars);
+	}
+
+	@Override
+	public int getLength() {
+		ITextStore copy= fCopy;
+		return copy != null ? copy.getLength() : fMappedLength;
+	}
+
+	@Override
+	public void replace(int offset, int length, String text) {
+		if (fCopy == null) {
+			String content= get(0, fMappedLength);
+			// the document updates the line tracker after the store, copy its lines first
+			if (fTracker != null)
+				fTracker.copyContent(content);
+			copyContent(content);
+		}
+		fCopy.replace(offset, length, text);
+	}
+
+	@Override
+	public void set(String text) {
+		copyContent(text != null ? text : ""); //$NON-NLS-1$
+	}
+
+	/**
+	 * Replaces the mapped content with the given content held on the heap.
+	 *
+	 * @param content the new content
+	 */
+	private void copyContent(String content) {
+		GapTextStore copy= new GapTextStore();
+		copy.set(content);
+		fCopy= copy;
+		fBytes= null;
+		fBlock= null;
+	}
+
+	/**
+	 * Returns whether the content is still read from the mapped file.
+	 *
+	 * @return <code>true</code> if the content is mapped
+	 */
+	boolean isMapped() {
+		return fCopy == null;
+	}
+
+	private Block getBlock(int index) {
+		Block block= fBlock;
+		if (block != null && block.index == index)
+			return block;
+		block= decodeBlock(index);
+		fBlock= block;
+		return block;
+	}
+
+	private Block decodeBlock(int index) {
+		ByteBuffer bytes= fBytes;
+		long start= fBlockStarts[index];
+		int pos= (int) (start >>> 1);
+		int skip= (int) (start & 1);
+		int length= Math.min(BLOCK_SIZE, fMappedLength - index * BLOCK_SIZE);
+		// room for a skipped high surrogate at the start and a surrogate pair at the end
+		char[] chars= new char[BLOCK_SIZE + 2];
+		int count= 0;
+		while (count < length + skip) {
+			int b= bytes.get(pos);
+			int codePoint;
+			if (b >= 0) {
+				codePoint= b;
+				pos++;
+			} else if ((b & 0xE0) == 0xC0) {
+				codePoint= (b & 0x1F) << 6 | bytes.get(pos + 1) & 0x3F;
+				pos+= 2;
+			} else if ((b & 0xF0) == 0xE0) {
+				codePoint= (b & 0x0F) << 12 | (bytes.get(pos + 1) & 0x3F) << 6 | bytes.get(pos + 2) & 0x3F;
+				pos+= 3;
+			} else {
+				codePoint= (b & 0x07) << 18 | (bytes.get(pos + 1) & 0x3F) << 12 | (bytes.get(pos + 2) & 0x3F) << 6 | bytes.get(pos + 3) & 0x3F;
+				pos+= 4;
+			}
+			if (codePoint < Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+				chars[count++]= (char) codePoint;
+			} else {
+				chars[count++]= Character.highSurrogate(codePoint);
+				chars[count++]= Character.lowSurrogate(codePoint);
+			}
+		}
+		if (skip != 0)
+			System.arraycopy(chars, 1, chars, 0, length);
+		return new Block(index, chars, length);
+	}
+
+	/**
+	 * Records the start of every {@value MappedLineTracker#LINES_PER_CHECKPOINT}th line using the
+	 * "\n", "\r" and "\r\n" line delimiters.
+	 */
+	private static final class LineIndexer {
+		int[] fCheckpoints= new int[64];
+		int fLines= 1;
+		boolean fAfterCR;
+
+		void next(char ch, int offset) {
+			if (fAfterCR) {
+				fAfterCR= false;
+				if (ch == '\n') {
+					lineStart(offset + 1);
+					return;
+				}
+				lineStart(offset);
+			}
+			if (ch == '\n')
+				lineStart(offset + 1);
+			else if (ch == '\r')
+				fAfterCR= true;
+		}
+
+		void end(int length) {
+			if (fAfterCR)
+				lineStart(length);
+		}
+
+		private void lineStart(int offset) {
+			int line= fLines++;
+			if (line % MappedLineTracker.LINES_PER_CHECKPOINT == 0) {
+				int index= line / MappedLineTracker.LINES_PER_CHECKPOINT;
+				if (index == fCheckpoints.length)
+					fCheckpoints= Arrays.copyOf(fCheckpoints, index * 2);
+				fCheckpoints[index]= offset;
+			}
+		}
+
+		int[] checkpoints() {
+			return Arrays.copyOf(fCheckpoints, (fLines - 1) / MappedLineTracker.LINES_PER_CHECKPOINT + 1);
+		}
+	}
+}
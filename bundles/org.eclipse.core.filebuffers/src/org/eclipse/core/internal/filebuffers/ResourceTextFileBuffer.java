@@ -14,6 +14,7 @@
 package org.eclipse.core.internal.filebuffers;
 
 import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
@@ -34,9 +35,11 @@ import org.eclipse.core.filebuffers.IPersistableAnnotationModel;
 import org.eclipse.core.filebuffers.ITextFileBuffer;
 import org.eclipse.core.filebuffers.manipulation.ContainerCreator;
 import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.IResourceStatus;
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Platform;
@@ -93,6 +96,18 @@ public class ResourceTextFileBuffer extends ResourceFileBuffer implements ITextF
 	 */
 	private static final QualifiedName[] NO_PROPERTIES= new QualifiedName[0];
 
+	/**
+	 * System property with the number of bytes above which files are opened with their content
+	 * memory mapped instead of read into the heap. Memory mapping is disabled if the property is
+	 * not set or negative.
+	 * <p>
+	 * The mapping is released only when it is garbage collected. Until then the file is locked on
+	 * Windows, so saving it or rotating it fails, and truncating the file by another process may
+	 * crash the reader on other platforms.
+	 * </p>
+	 */
+	private static final String MEMORY_MAPPED_THRESHOLD= "org.eclipse.core.filebuffers.memoryMappedThreshold"; //$NON-NLS-1$
+
 
 	/** The element's document */
 	protected IDocument fDocument;
@@ -232,8 +247,11 @@ public class ResourceTextFileBuffer extends ResourceFileBuffer implements ITextF
 			}
 
 
-			fDocument= getManager().createEmptyDocument(fFile);
-			setDocumentContent(fDocument, fFile, fEncoding);
+			fDocument= createMappedDocument();
+			if (fDocument == null) {
+				fDocument= getManager().createEmptyDocument(fFile);
+				setDocumentContent(fDocument, fFile, fEncoding);
+			}
 
 		} catch (CoreException x) {
 			fDocument= getManager().createEmptyDocument(fFile);
@@ -241,6 +259,35 @@ public class ResourceTextFileBuffer extends ResourceFileBuffer implements ITextF
 		}
 	}
 
+	/**
+	 * Creates a document backed by the memory mapped file if the file is larger than the
+	 * {@link #MEMORY_MAPPED_THRESHOLD}. The document copies its content into the heap when it is
+	 * first modified.
+	 *
+	 * @return the document or <code>null</code> if the file is not mapped
+	 */
+	private IDocument createMappedDocument() {
+		long threshold= Long.getLong(MEMORY_MAPPED_THRESHOLD, -1).longValue();
+		if (threshold < 0 || !fFile.isSynchronized(IResource.DEPTH_ZERO))
+			return null;
+		IPath location= fFile.getLocation();
+		if (location == null)
+			return null;
+		File file= location.toFile();
+		if (file.length() <= threshold)
+			return null;
+
+		String encoding= fEncoding != null ? fEncoding : fManager.getDefaultEncoding();
+		boolean skipUTF8BOM= fBOM != null && StandardCharsets.UTF_8.name().equals(encoding);
+		try {
+			MappedTextStore store= MappedTextStore.create(file, skipUTF8BOM ? IContentDescription.BOM_UTF_8.length : 0, encoding);
+			return store != null ? getManager().createMappedDocument(fFile, store) : null;
+		} catch (IOException x) {
+			// read the file into the heap instead
+			return null;
+		}
+	}
+
 	/**
 	 * Caches the BOM of the underlying file.
 	 *
@@ -14,8 +14,11 @@
  *******************************************************************************/
 package org.eclipse.core.internal.filebuffers;
 
+import java.net.URI;
 import java.util.ArrayList;
 
+import org.eclipse.core.filesystem.EFS;
+
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.ILog;
@@ -130,8 +133,25 @@ public class ResourceTextFileBufferManager extends TextFileBufferManager {
 		if (documentFromFactory != null)
 			document= documentFromFactory;
 		else
-			document= new SynchronizableDocument();
+			document= createDefaultDocument(getFileSize(file));
+		return setupDocument(file, document);
+	}
+
+	/**
+	 * Creates a document for the given file whose content is read from the given memory mapped
+	 * store until it is modified.
+	 *
+	 * @param file the file
+	 * @param store the mapped content of the file
+	 * @return the document or <code>null</code> if the file requires a document from a factory
+	 */
+	IDocument createMappedDocument(IFile file, MappedTextStore store) {
+		if (hasDocumentFactory(file))
+			return null;
+		return setupDocument(file, new MappedDocument(store));
+	}
 
+	private IDocument setupDocument(final IFile file, final IDocument document) {
 		// Set the initial line delimiter
 		if (document instanceof IDocumentExtension4) {
 			String initalLineDelimiter= getLineDelimiterPreference(file);
@@ -169,6 +189,29 @@ public class ResourceTextFileBufferManager extends TextFileBufferManager {
 		return document;
 	}
 
+	private static long getFileSize(IFile file) {
+		URI uri= file.getLocationURI();
+		if (uri == null)
+			return EFS.NONE;
+		try {
+			return EFS.getStore(uri).fetchInfo().getLength();
+		} catch (CoreException e) {
+			return EFS.NONE;
+		}
+	}
+
+	/**
+	 * Helper to get rid of deprecation warnings.
+	 *
+	 * @param file the file
+	 * @return <code>true</code> if a document factory is registered for the file
+	 * @deprecated As of 3.5
+	 */
+	@Deprecated
+	private boolean hasDocumentFactory(IFile file) {
+		return ((ResourceExtensionRegistry)fRegistry).getDocumentFactory(file) != null;
+	}
+
 	/**
 	 * Helper to get rid of deprecation warnings.
 	 *
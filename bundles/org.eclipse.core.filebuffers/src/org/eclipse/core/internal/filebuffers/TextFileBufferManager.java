@@ -42,6 +42,7 @@ import org.eclipse.core.runtime.content.IContentDescription;
 import org.eclipse.core.runtime.content.IContentType;
 import org.eclipse.core.runtime.content.IContentTypeManager;
 
+import org.eclipse.core.filebuffers.FileBuffers;
 import org.eclipse.core.filebuffers.IAnnotationModelFactory;
 import org.eclipse.core.filebuffers.IDocumentSetupParticipant;
 import org.eclipse.core.filebuffers.IDocumentSetupParticipantExtension;
@@ -55,6 +56,7 @@ import org.eclipse.core.filebuffers.LocationKind;
 
 import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.IDocumentExtension4;
+import org.eclipse.jface.text.PieceTableTextStore;
 import org.eclipse.jface.text.source.IAnnotationModel;
 
 
@@ -72,6 +74,14 @@ public class TextFileBufferManager implements ITextFileBufferManager {
 
 	protected static final IContentType TEXT_CONTENT_TYPE= Platform.getContentTypeManager().getContentType(IContentTypeManager.CT_TEXT);
 
+	/**
+	 * Files larger than this number of bytes get a document backed by a
+	 * {@link PieceTableTextStore}. Can be changed with the system property
+	 * <code>org.eclipse.core.filebuffers.pieceTableThreshold</code>, a negative
+	 * value disables the piece table.
+	 */
+	static final long PIECE_TABLE_THRESHOLD= Long.getLong("org.eclipse.core.filebuffers.pieceTableThreshold", 16 * 1024 * 1024).longValue(); //$NON-NLS-1$
+
 	private Map<IPath, AbstractFileBuffer> fFilesBuffers= new HashMap<>();
 	private Map<IFileStore, FileStoreFileBuffer> fFileStoreFileBuffers= new HashMap<>();
 	private List<IFileBufferListener> fFileBufferListeners= new ArrayList<>();
@@ -438,7 +448,7 @@ public class TextFileBufferManager implements ITextFileBufferManager {
 		if (documentFromFactory != null)
 			document= documentFromFactory;
 		else
-			document= new SynchronizableDocument();
+			document= createDefaultDocument(getFileSize(location));
 
 		if (location == null)
 			return document;
@@ -480,6 +490,25 @@ public class TextFileBufferManager implements ITextFileBufferManager {
 		return document;
 	}
 
+	/**
+	 * Creates the document used for files without a document factory.
+	 *
+	 * @param fileSize the size of the file in bytes or <code>EFS.NONE</code> if unknown
+	 * @return the empty document
+	 */
+	protected IDocument createDefaultDocument(long fileSize) {
+		if (PIECE_TABLE_THRESHOLD >= 0 && fileSize > PIECE_TABLE_THRESHOLD)
+			return new SynchronizableDocument(new PieceTableTextStore());
+		return new SynchronizableDocument();
+	}
+
+	private long getFileSize(IPath location) {
+		if (location == null)
+			return EFS.NONE;
+		IFileStore store= FileBuffers.getFileStoreAtLocation(location);
+		return store != null ? store.fetchInfo().getLength() : EFS.NONE;
+	}
+
 	/**
 	 * Helper to get rid of deprecation warnings.
 	 *
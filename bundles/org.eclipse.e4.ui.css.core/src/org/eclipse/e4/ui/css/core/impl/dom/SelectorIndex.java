@@ -0,0 +1,461 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.e4.ui.css.core.impl.dom;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import org.eclipse.e4.ui.css.core.dom.CSSStylableElement;
+import org.eclipse.e4.ui.css.core.dom.ExtendedCSSRule;
+import org.eclipse.e4.ui.css.core.impl.sac.AbstractDescendantSelector;
+import org.eclipse.e4.ui.css.core.impl.sac.AbstractSiblingSelector;
+import org.eclipse.e4.ui.css.core.impl.sac.CSSAndConditionImpl;
+import org.eclipse.e4.ui.css.core.impl.sac.CSSAttributeConditionImpl;
+import org.eclipse.e4.ui.css.core.impl.sac.CSSBeginHyphenAttributeConditionImpl;
+import org.eclipse.e4.ui.css.core.impl.sac.CSSChildSelectorImpl;
+import org.eclipse.e4.ui.css.core.impl.sac.CSSClassConditionImpl;
+import org.eclipse.e4.ui.css.core.impl.sac.CSSConditionalSelectorImpl;
+import org.eclipse.e4.ui.css.core.impl.sac.CSSDescendantSelectorImpl;
+import org.eclipse.e4.ui.css.core.impl.sac.CSSDirectAdjacentSelectorImpl;
+import org.eclipse.e4.ui.css.core.impl.sac.CSSElementSelectorImpl;
+import org.eclipse.e4.ui.css.core.impl.sac.CSSIdConditionImpl;
+import org.eclipse.e4.ui.css.core.impl.sac.CSSLangConditionImpl;
+import org.eclipse.e4.ui.css.core.impl.sac.CSSOneOfAttributeConditionImpl;
+import org.eclipse.e4.ui.css.core.impl.sac.CSSPseudoClassConditionImpl;
+import org.eclipse.e4.ui.css.core.impl.sac.CSSPseudoElementSelectorImpl;
+import org.eclipse.e4.ui.css.core.impl.sac.ExtendedCondition;
+import org.eclipse.e4.ui.css.core.impl.sac.ExtendedSelector;
+import org.w3c.css.sac.AttributeCondition;
+import org.w3c.css.sac.Condition;
+import org.w3c.css.sac.Selector;
+import org.w3c.css.sac.SelectorList;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.css.CSSRule;
+import org.w3c.dom.css.CSSStyleRule;
+
+/**
+ * Groups the selectors of style rules by the rightmost compound selector, the
+ * way browsers do it. A selector whose rightmost compound selector requires an
+ * id is stored under the id, otherwise one requiring a class under the class,
+ * otherwise one requiring an element name under the name. All other selectors
+ * are candidates for every element.
+ * <p>
+ * Only the selector implementations of this bundle are looked into, selectors
+ * of other types are always candidates.
+ * </p>
+ */
+final class SelectorIndex {
+
+	/**
+	 * A selector of a style rule together with its position among the
+	 * selectors of all rules.
+	 */
+	static final class Entry {
+
+		final CSSStyleRule rule;
+		final ExtendedSelector selector;
+		final int index;
+
+		Entry(CSSStyleRule rule, ExtendedSelector selector, int index) {
+			this.rule = rule;
+			this.selector = selector;
+			this.index = index;
+		}
+	}
+
+	private final Map<String, List<Entry>> byId = new HashMap<>();
+	private final Map<String, List<Entry>> byClass = new HashMap<>();
+	private final Map<String, List<Entry>> byName = new HashMap<>();
+	private final List<Entry> universal = new ArrayList<>();
+
+	/**
+	 * Whether the selectors only depend on the element and its ancestors, so
+	 * that elements with equal sharing keys have the same computed style.
+	 */
+	private boolean sharingSupported = true;
+	/** The names of the attributes tested by the selectors. */
+	private final Set<String> attributeNames = new TreeSet<>();
+	/** The pseudo classes tested by the selectors. */
+	private final Set<String> pseudoClasses = new TreeSet<>();
+
+	/**
+	 * The classes tested by the selectors, with the restyle scope of a change
+	 * of each of them.
+	 */
+	private final Map<String, Integer> classScopes = new HashMap<>();
+	/**
+	 * The pseudo classes tested by the selectors, with the restyle scope of a
+	 * change of each of them.
+	 */
+	private final Map<String, Integer> pseudoClassScopes = new HashMap<>();
+	/**
+	 * The restyle scope of a change of any class, for selectors which test the
+	 * class attribute as a whole.
+	 */
+	private int anyClassScope = ViewCSSImpl.RESTYLE_NONE;
+	/**
+	 * The restyle scope of a change of any pseudo class, for selectors of
+	 * unknown types.
+	 */
+	private int anyPseudoClassScope = ViewCSSImpl.RESTYLE_NONE;
+
+	/**
+	 * Creates the index of the selectors of the given rules.
+	 *
+	 * @param rules the rules in the order of their precedence
+	 */
+	SelectorIndex(List<CSSRule> rules) {
+		int index = 0;
+		for (CSSRule rule : rules) {
+			if (rule.getType() != CSSRule.STYLE_RULE || !(rule instanceof ExtendedCSSRule)) {
+				continue; // we only handle the CSSRule.STYLE_RULE and ExtendedCSSRule case
+			}
+			CSSStyleRule styleRule = (CSSStyleRule) rule;
+			SelectorList selectorList = ((ExtendedCSSRule) rule).getSelectorList();
+			int l = selectorList.getLength();
+			for (int j = 0; j < l; j++) {
+				Selector selector = selectorList.item(j);
+				if (selector instanceof ExtendedSelector) {
+					add(new Entry(styleRule, (ExtendedSelector) selector, index++));
+					collectDependencies(selector, ViewCSSImpl.RESTYLE_ELEMENT);
+				}
+			}
+		}
+	}
+
+	private void add(Entry entry) {
+		Selector selector = getRightmostSelector(entry.selector);
+		Condition condition = null;
+		if (selector.getClass() == CSSConditionalSelectorImpl.class) {
+			condition = ((CSSConditionalSelectorImpl) selector).getCondition();
+			selector = ((CSSConditionalSelectorImpl) selector).getSimpleSelector();
+		}
+
+		String id = findCondition(condition, CSSIdConditionImpl.class);
+		if (id != null) {
+			byId.computeIfAbsent(id, key -> new ArrayList<>()).add(entry);
+			return;
+		}
+		String className = findCondition(condition, CSSClassConditionImpl.class);
+		if (className != null && !className.isEmpty() && className.chars().noneMatch(Character::isSpaceChar)) {
+			byClass.computeIfAbsent(className, key -> new ArrayList<>()).add(entry);
+			return;
+		}
+		if (selector.getClass() == CSSElementSelectorImpl.class) {
+			String name = ((CSSElementSelectorImpl) selector).getLocalName();
+			if (name != null) {
+				byName.computeIfAbsent(name, key -> new ArrayList<>()).add(entry);
+				return;
+			}
+		}
+		universal.add(entry);
+	}
+
+	/**
+	 * Returns the compound selector which has to match the element itself.
+	 */
+	private static Selector getRightmostSelector(Selector selector) {
+		while (true) {
+			Class<?> type = selector.getClass();
+			if (type == CSSDescendantSelectorImpl.class || type == CSSChildSelectorImpl.class) {
+				selector = ((AbstractDescendantSelector) selector).getSimpleSelector();
+			} else if (type == CSSDirectAdjacentSelectorImpl.class) {
+				selector = ((AbstractSiblingSelector) selector).getSiblingSelector();
+			} else {
+				return selector;
+			}
+		}
+	}
+
+	/**
+	 * Returns the value of a condition of the given type which is required by
+	 * the given condition, or <code>null</code> if there is none.
+	 */
+	private static String findCondition(Condition condition, Class<?> type) {
+		if (condition == null) {
+			return null;
+		}
+		if (condition.getClass() == type) {
+			return ((AttributeCondition) condition).getValue();
+		}
+		if (condition.getClass() == CSSAndConditionImpl.class) {
+			CSSAndConditionImpl and = (CSSAndConditionImpl) condition;
+			String value = findCondition(and.getFirstCondition(), type);
+			return value != null ? value : findCondition(and.getSecondCondition(), type);
+		}
+		return null;
+	}
+
+	/**
+	 * Collects what the given selector depends on besides the element names,
+	 * ids and classes of the element and its ancestors, and which elements
+	 * have to be restyled when a class or pseudo class tested by it changes.
+	 *
+	 * @param selector the selector
+	 * @param scope the elements whose matched rules may change when an element
+	 *            matched by the selector changes
+	 */
+	private void collectDependencies(Selector selector, int scope) {
+		Class<?> type = selector.getClass();
+		if (type == CSSDescendantSelectorImpl.class || type == CSSChildSelectorImpl.class) {
+			// an ancestor affects all its descendants
+			collectDependencies(((AbstractDescendantSelector) selector).getAncestorSelector(),
+					Math.max(scope, ViewCSSImpl.RESTYLE_SUBTREE));
+			collectDependencies(((AbstractDescendantSelector) selector).getSimpleSelector(), scope);
+		} else if (type == CSSDirectAdjacentSelectorImpl.class) {
+			// sibling selectors depend on other elements
+			sharingSupported = false;
+			collectDependencies(((AbstractSiblingSelector) selector).getSelector(), ViewCSSImpl.RESTYLE_PARENT_SUBTREE);
+			collectDependencies(((AbstractSiblingSelector) selector).getSiblingSelector(), scope);
+		} else if (type == CSSConditionalSelectorImpl.class) {
+			collectDependencies(((CSSConditionalSelectorImpl) selector).getSimpleSelector(), scope);
+			collectDependencies(((CSSConditionalSelectorImpl) selector).getCondition(), scope);
+		} else if (type != CSSElementSelectorImpl.class && type != CSSPseudoElementSelectorImpl.class) {
+			collectUnknownDependencies();
+		}
+	}
+
+	private void collectDependencies(Condition condition, int scope) {
+		Class<?> type = condition.getClass();
+		if (type == CSSAndConditionImpl.class) {
+			collectDependencies(((CSSAndConditionImpl) condition).getFirstCondition(), scope);
+			collectDependencies(((CSSAndConditionImpl) condition).getSecondCondition(), scope);
+		} else if (type == CSSPseudoClassConditionImpl.class) {
+			String pseudoClass = ((AttributeCondition) condition).getValue();
+			pseudoClasses.add(pseudoClass);
+			pseudoClassScopes.merge(pseudoClass, scope, Math::max);
+		} else if (type == CSSClassConditionImpl.class) {
+			classScopes.merge(((AttributeCondition) condition).getValue(), scope, Math::max);
+		} else if (type == CSSAttributeConditionImpl.class || type == CSSOneOfAttributeConditionImpl.class
+				|| type == CSSBeginHyphenAttributeConditionImpl.class || type == CSSLangConditionImpl.class) {
+			((ExtendedCondition) condition).fillAttributeSet(attributeNames);
+			if (condition instanceof AttributeCondition
+					&& "class".equals(((AttributeCondition) condition).getLocalName())) { //$NON-NLS-1$
+				anyClassScope = Math.max(anyClassScope, scope);
+			}
+		} else if (type != CSSIdConditionImpl.class) {
+			collectUnknownDependencies();
+		}
+	}
+
+	/**
+	 * Gives up on the selectors of unknown types, they might depend on
+	 * anything.
+	 */
+	private void collectUnknownDependencies() {
+		sharingSupported = false;
+		anyClassScope = ViewCSSImpl.RESTYLE_PARENT_SUBTREE;
+		anyPseudoClassScope = ViewCSSImpl.RESTYLE_PARENT_SUBTREE;
+	}
+
+	/**
+	 * Returns which elements have to be restyled when the class of an element
+	 * changes.
+	 *
+	 * @param oldClass the previous class, may be <code>null</code>
+	 * @param newClass the new class, may be <code>null</code>
+	 * @return one of the <code>RESTYLE_*</code> constants of
+	 *         {@link ViewCSSImpl}
+	 */
+	int getClassChangeScope(String oldClass, String newClass) {
+		if (Objects.equals(oldClass, newClass)) {
+			return ViewCSSImpl.RESTYLE_NONE;
+		}
+		int scope = anyClassScope;
+		Set<String> oldTokens = getClassTokens(oldClass);
+		Set<String> newTokens = getClassTokens(newClass);
+		for (String token : oldTokens) {
+			if (!newTokens.contains(token)) {
+				scope = Math.max(scope, classScopes.getOrDefault(token, ViewCSSImpl.RESTYLE_NONE));
+			}
+		}
+		for (String token : newTokens) {
+			if (!oldTokens.contains(token)) {
+				scope = Math.max(scope, classScopes.getOrDefault(token, ViewCSSImpl.RESTYLE_NONE));
+			}
+		}
+		return scope;
+	}
+
+	/**
+	 * Returns which elements have to be restyled when an element enters or
+	 * leaves the given pseudo class.
+	 *
+	 * @param pseudoClass the pseudo class, e.g. <code>selected</code>
+	 * @return one of the <code>RESTYLE_*</code> constants of
+	 *         {@link ViewCSSImpl}
+	 */
+	int getPseudoClassChangeScope(String pseudoClass) {
+		return Math.max(anyPseudoClassScope, pseudoClassScopes.getOrDefault(pseudoClass, ViewCSSImpl.RESTYLE_NONE));
+	}
+
+	/**
+	 * Splits a class attribute the way class conditions match it.
+	 */
+	private static Set<String> getClassTokens(String className) {
+		Set<String> tokens = new HashSet<>();
+		if (className != null) {
+			int start = -1;
+			for (int i = 0; i <= className.length(); i++) {
+				if (i == className.length() || Character.isSpaceChar(className.charAt(i))) {
+					if (start >= 0) {
+						tokens.add(className.substring(start, i));
+						start = -1;
+					}
+				} else if (start < 0) {
+					start = i;
+				}
+			}
+		}
+		return tokens;
+	}
+
+	/**
+	 * Returns a key which is equal for all elements which are matched by the
+	 * same selectors. It consists of everything the selectors test of the
+	 * element and its ancestors: the names, ids, classes, tested attributes
+	 * and tested pseudo classes.
+	 *
+	 * @param element the element
+	 * @param pseudoElt the pseudo element, or <code>null</code>
+	 * @return the key, or <code>null</code> if the selectors depend on more
+	 *         than the element and its ancestors
+	 */
+	String getSharingKey(Element element, String pseudoElt) {
+		if (!sharingSupported) {
+			return null;
+		}
+		StringBuilder key = new StringBuilder();
+		appendValue(key, pseudoElt);
+		for (Node node = element; node != null; node = node.getParentNode()) {
+			key.append('\u0000');
+			if (node.getNodeType() == Node.ELEMENT_NODE) {
+				appendElement(key, (Element) node);
+			} else {
+				key.append(node.getNodeType());
+			}
+		}
+		return key.toString();
+	}
+
+	private void appendElement(StringBuilder key, Element element) {
+		appendValue(key, element.getPrefix() == null ? element.getNodeName() : element.getLocalName());
+		appendValue(key, element.getNamespaceURI());
+		if (element instanceof CSSStylableElement) {
+			CSSStylableElement stylableElement = (CSSStylableElement) element;
+			appendValue(key, stylableElement.getCSSId());
+			appendValue(key, stylableElement.getCSSClass());
+			for (String pseudoClass : pseudoClasses) {
+				key.append(stylableElement.isPseudoInstanceOf(pseudoClass)
+						? (stylableElement.isStaticPseudoInstance(pseudoClass) ? 's' : 'y') : 'n');
+			}
+		} else {
+			appendValue(key, element.getAttribute("id")); //$NON-NLS-1$
+			appendValue(key, element.getAttribute("class")); //$NON-NLS-1$
+		}
+		for (String attributeName : attributeNames) {
+			appendValue(key, element.hasAttribute(attributeName) ? element.getAttribute(attributeName) : null);
+		}
+	}
+
+	private static void appendValue(StringBuilder key, String value) {
+		key.append('\u0001');
+		if (value == null) {
+			key.append('\u0002');
+		} else {
+			key.append(value);
+		}
+	}
+
+	/**
+	 * Returns the selectors which may match the given element, in the order of
+	 * their precedence.
+	 *
+	 * @param element the element
+	 * @return the candidate selectors
+	 */
+	List<Entry> getCandidates(Element element) {
+		List<List<Entry>> lists = new ArrayList<>(4);
+		addCandidates(lists, universal);
+
+		String name = element.getPrefix() == null ? element.getNodeName() : element.getLocalName();
+		if (name != null && !byName.isEmpty()) {
+			addCandidates(lists, byName.get(name));
+		}
+
+		if (!byId.isEmpty()) {
+			String id = element instanceof CSSStylableElement ? ((CSSStylableElement) element).getCSSId()
+					: element.getAttribute("id"); //$NON-NLS-1$
+			if (id != null) {
+				addCandidates(lists, byId.get(id));
+			}
+		}
+
+		if (!byClass.isEmpty()) {
+			String classes = element instanceof CSSStylableElement ? ((CSSStylableElement) element).getCSSClass()
+					: element.getAttribute("class"); //$NON-NLS-1$
+			if (classes != null) {
+				addClassCandidates(lists, classes);
+			}
+		}
+
+		if (lists.isEmpty()) {
+			return Collections.emptyList();
+		}
+		if (lists.size() == 1) {
+			return lists.get(0);
+		}
+		List<Entry> candidates = new ArrayList<>();
+		for (List<Entry> list : lists) {
+			candidates.addAll(list);
+		}
+		candidates.sort((entry1, entry2) -> Integer.compare(entry1.index, entry2.index));
+		return candidates;
+	}
+
+	private void addClassCandidates(List<List<Entry>> lists, String classes) {
+		int length = classes.length();
+		int start = 0;
+		while (start < length) {
+			while (start < length && Character.isSpaceChar(classes.charAt(start))) {
+				start++;
+			}
+			int end = start;
+			while (end < length && !Character.isSpaceChar(classes.charAt(end))) {
+				end++;
+			}
+			if (end > start) {
+				List<Entry> list = byClass.get(classes.substring(start, end));
+				// an element may have the same class several times
+				if (list != null && lists.stream().noneMatch(added -> added == list)) {
+					lists.add(list);
+				}
+			}
+			start = end;
+		}
+	}
+
+	private static void addCandidates(List<List<Entry>> lists, List<Entry> list) {
+		if (list != null && !list.isEmpty()) {
+			lists.add(list);
+		}
+	}
+}
@@ -18,18 +18,16 @@
 package org.eclipse.e4.ui.css.core.impl.dom;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
-import org.eclipse.e4.ui.css.core.dom.ExtendedCSSRule;
+import java.util.Map;
 import org.eclipse.e4.ui.css.core.dom.ExtendedDocumentCSS;
 import org.eclipse.e4.ui.css.core.impl.sac.ExtendedSelector;
-import org.w3c.css.sac.Selector;
-import org.w3c.css.sac.SelectorList;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 import org.w3c.dom.css.CSSRule;
 import org.w3c.dom.css.CSSRuleList;
 import org.w3c.dom.css.CSSStyleDeclaration;
-import org.w3c.dom.css.CSSStyleRule;
 import org.w3c.dom.css.CSSStyleSheet;
 import org.w3c.dom.css.DocumentCSS;
 import org.w3c.dom.css.ViewCSS;
@@ -43,10 +41,39 @@ import org.w3c.dom.views.DocumentView;
  */
 public class ViewCSSImpl implements ViewCSS, ExtendedDocumentCSS.StyleSheetChangeListener {
 
+	/** No element has to be restyled after a change of an element. */
+	public static final int RESTYLE_NONE = 0;
+	/** Only the changed element has to be restyled. */
+	public static final int RESTYLE_ELEMENT = 1;
+	/** The changed element and its descendants have to be restyled. */
+	public static final int RESTYLE_SUBTREE = 2;
+	/**
+	 * The parent of the changed element and all its descendants, including the
+	 * siblings of the changed element, have to be restyled.
+	 */
+	public static final int RESTYLE_PARENT_SUBTREE = 3;
+
+	/** The maximal number of shared computed styles */
+	private static final int MAX_SHARED_STYLES = 4096;
+
 	protected DocumentCSS documentCSS;
 	private boolean ruleCachingEnabled;
 	/** Cached state of combined CSS rules for the current stylesheets */
 	private List<CSSRule> currentCombinedRules;
+	/** Cached index of the selectors of the combined CSS rules */
+	private SelectorIndex currentSelectorIndex;
+	/**
+	 * Computed styles of the current stylesheets shared by the elements with
+	 * the same sharing key, the least recently used are dropped first
+	 */
+	private final Map<String, CSSStyleDeclaration> sharedStyles = new LinkedHashMap<>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, CSSStyleDeclaration> eldest) {
+			return size() > MAX_SHARED_STYLES;
+		}
+	};
 
 	/**
 	 * Creates a new ViewCSS.
@@ -69,11 +96,68 @@ public class ViewCSSImpl implements ViewCSS, ExtendedDocumentCSS.StyleSheetChang
 	}
 
 	/**
-	 * Determines the relevant style declaration for an DOM element
+	 * Determines the relevant style declaration for an DOM element. Elements
+	 * which the selectors cannot tell apart, like sibling widgets of the same
+	 * type and classes, get the same declaration.
 	 */
 	@Override
 	public CSSStyleDeclaration getComputedStyle(Element elt, String pseudoElt) {
-		return getComputedStyle(getCombinedRules(), elt, pseudoElt);
+		SelectorIndex selectorIndex = getSelectorIndex();
+		String sharingKey = this.ruleCachingEnabled ? selectorIndex.getSharingKey(elt, pseudoElt) : null;
+		if (sharingKey == null) {
+			return getComputedStyle(selectorIndex.getCandidates(elt), elt, pseudoElt);
+		}
+
+		CSSStyleDeclaration style = sharedStyles.get(sharingKey);
+		if (style == null && !sharedStyles.containsKey(sharingKey)) {
+			style = getComputedStyle(selectorIndex.getCandidates(elt), elt, pseudoElt);
+			sharedStyles.put(sharingKey, style);
+		}
+		return style;
+	}
+
+	/**
+	 * Returns which elements have to be restyled when the CSS class of an
+	 * element changes. Only the changed class names which are tested by the
+	 * selectors of the current stylesheets are taken into account.
+	 *
+	 * @param oldClass the previous class, may be <code>null</code>
+	 * @param newClass the new class, may be <code>null</code>
+	 * @return one of the <code>RESTYLE_*</code> constants, the larger the more
+	 *         elements have to be restyled
+	 */
+	public int getClassChangeScope(String oldClass, String newClass) {
+		return getSelectorIndex().getClassChangeScope(oldClass, newClass);
+	}
+
+	/**
+	 * Returns which elements have to be restyled when an element enters or
+	 * leaves the given pseudo class, e.g. <code>selected</code>.
+	 *
+	 * @param pseudoClass the pseudo class
+	 * @return one of the <code>RESTYLE_*</code> constants, the larger the more
+	 *         elements have to be restyled
+	 */
+	public int getPseudoClassChangeScope(String pseudoClass) {
+		return getSelectorIndex().getPseudoClassChangeScope(pseudoClass);
+	}
+
+	/**
+	 * Retrieves the index of the selectors of the combined CSS rules. Like the
+	 * combined rules, the index is cached for the current stylesheets.
+	 *
+	 * @return the selector index for all style sheets
+	 */
+	private SelectorIndex getSelectorIndex() {
+		if (this.ruleCachingEnabled && this.currentSelectorIndex != null) {
+			return this.currentSelectorIndex;
+		}
+
+		SelectorIndex selectorIndex = new SelectorIndex(getCombinedRules());
+		if (this.ruleCachingEnabled) {
+			this.currentSelectorIndex = selectorIndex;
+		}
+		return selectorIndex;
 	}
 
 	/**
@@ -111,7 +195,11 @@ public class ViewCSSImpl implements ViewCSS, ExtendedDocumentCSS.StyleSheetChang
 		return cssRules;
 	}
 
-	private CSSStyleDeclaration getComputedStyle(List<CSSRule> ruleList, Element elt, String pseudoElt) {
+	private CSSStyleDeclaration getComputedStyle(List<SelectorIndex.Entry> candidates, Element elt, String pseudoElt) {
+		if (candidates.isEmpty()) {
+			return null;
+		}
+
 		Node parent = elt.getParentNode();
 
 		Node[] hierarchy = null;
@@ -126,35 +214,23 @@ public class ViewCSSImpl implements ViewCSS, ExtendedDocumentCSS.StyleSheetChang
 		List<StyleWrapper> styleDeclarations = null;
 		StyleWrapper firstStyleDeclaration = null;
 		int position = 0;
-		for (CSSRule rule : ruleList) {
-			if (rule.getType() != CSSRule.STYLE_RULE || (!(rule instanceof ExtendedCSSRule)) ) {
-				continue; // we only handle the CSSRule.STYLE_RULE and ExtendedCSSRule case
-			}
-			CSSStyleRule styleRule = (CSSStyleRule) rule;
-			ExtendedCSSRule r = (ExtendedCSSRule) rule;
-			SelectorList selectorList = r.getSelectorList();
-			// Loop for SelectorList
-			int l = selectorList.getLength();
-			for (int j = 0; j < l; j++) {
-				Selector selector = selectorList.item(j);
-				if (selector instanceof ExtendedSelector) {
-					ExtendedSelector extendedSelector = (ExtendedSelector) selector;
-					if (extendedSelector.match(elt, hierarchy, 0, pseudoElt)) {
-						CSSStyleDeclaration style = styleRule.getStyle();
-						int specificity = extendedSelector.getSpecificity();
-						StyleWrapper wrapper = new StyleWrapper(style, specificity, position++);
-						if (firstStyleDeclaration == null) {
-							firstStyleDeclaration = wrapper;
-						} else {
-							// There is several Style Declarations which
-							// match the current element
-							if (styleDeclarations == null) {
-								styleDeclarations = new ArrayList<>();
-								styleDeclarations.add(firstStyleDeclaration);
-							}
-							styleDeclarations.add(wrapper);
-						}
+		// Only the selectors whose rightmost compound selector may match the element
+		for (SelectorIndex.Entry candidate : candidates) {
+			ExtendedSelector extendedSelector = candidate.selector;
+			if (extendedSelector.match(elt, hierarchy, 0, pseudoElt)) {
+				CSSStyleDeclaration style = candidate.rule.getStyle();
+				int specificity = extendedSelector.getSpecificity();
+				StyleWrapper wrapper = new StyleWrapper(style, specificity, position++);
+				if (firstStyleDeclaration == null) {
+					firstStyleDeclaration = wrapper;
+				} else {
+					// There is several Style Declarations which
+					// match the current element
+					if (styleDeclarations == null) {
+						styleDeclarations = new ArrayList<>();
+						styleDeclarations.add(firstStyleDeclaration);
 					}
+					styleDeclarations.add(wrapper);
 				}
 			}
 		}
@@ -172,10 +248,14 @@ public class ViewCSSImpl implements ViewCSS, ExtendedDocumentCSS.StyleSheetChang
 	@Override
 	public void styleSheetAdded(StyleSheet styleSheet) {
 		currentCombinedRules = null;
+		currentSelectorIndex = null;
+		sharedStyles.clear();
 	}
 
 	@Override
 	public void styleSheetRemoved(StyleSheet styleSheet) {
 		currentCombinedRules = null;
+		currentSelectorIndex = null;
+		sharedStyles.clear();
 	}
 }
@@ -104,6 +104,11 @@ public abstract class AbstractCSSEngine implements CSSEngine {
 	 */
 	private static final String ARCHIVE_IDENTIFIER = "!";
 
+	/**
+	 * Key of the {@link AppliedValues} in the context of an element.
+	 */
+	private static final Object APPLIED_VALUES_KEY = new Object();
+
 	/**
 	 * Default {@link IResourcesLocatorManager} used to get InputStream, Reader
 	 * resource like Image.
@@ -120,6 +125,11 @@ public abstract class AbstractCSSEngine implements CSSEngine {
 	 */
 	private ViewCSS viewCSS;
 
+	/**
+	 * Cache of the parsed style sheets, or <code>null</code>.
+	 */
+	private StyleSheetCache styleSheetCache;
+
 	/**
 	 * {@link IElementProvider} used to retrieve w3c Element linked to the
 	 * widget.
@@ -148,6 +158,18 @@ public abstract class AbstractCSSEngine implements CSSEngine {
 
 	private Map<String, String> currentCSSPropertiesApplied;
 
+	/**
+	 * Whether properties are skipped whose value was already applied to the
+	 * element.
+	 */
+	private boolean skipUnchangedProperties = true;
+
+	/**
+	 * Incremented when the elements are reset, which invalidates the values
+	 * recorded as applied.
+	 */
+	private int appliedValuesGeneration;
+
 	private boolean throwError;
 
 	private Map<Object, ICSSValueConverter> valueConverters = null;
@@ -187,7 +209,8 @@ public abstract class AbstractCSSEngine implements CSSEngine {
 		// Check that CharacterStream or ByteStream is not null
 		checkInputSource(source);
 		CSSParser parser = makeCSSParser();
-		CSSStyleSheet styleSheet = parser.parseStyleSheet(source);
+		CSSStyleSheet styleSheet = styleSheetCache != null ? styleSheetCache.parseStyleSheet(parser, source)
+				: parser.parseStyleSheet(source);
 
 		CSSRuleList rules = styleSheet.getCssRules();
 		int length = rules.getLength();
@@ -250,6 +273,21 @@ public abstract class AbstractCSSEngine implements CSSEngine {
 		return s;
 	}
 
+	/**
+	 * Sets the cache used to parse the style sheets and their imports, or
+	 * <code>null</code> to always parse them.
+	 */
+	public void setStyleSheetCache(StyleSheetCache styleSheetCache) {
+		this.styleSheetCache = styleSheetCache;
+	}
+
+	/**
+	 * Returns the cache used to parse the style sheets, or <code>null</code>.
+	 */
+	public StyleSheetCache getStyleSheetCache() {
+		return styleSheetCache;
+	}
+
 	private void processNodeList(NodeList nodes, BiConsumer<Node, Boolean> consumer, boolean applyStylesToChildNodes) {
 		if (nodes instanceof IStreamingNodeList) {
 			((IStreamingNodeList) nodes).stream().forEach(child -> {
@@ -528,6 +566,49 @@ public abstract class AbstractCSSEngine implements CSSEngine {
 
 	/*--------------- Apply style declaration -----------------*/
 
+	/**
+	 * The values last applied to an element, by pseudo instance and property.
+	 */
+	private static final class AppliedValues {
+		final int generation;
+		final Map<String, String> values = new HashMap<>();
+
+		AppliedValues(int generation) {
+			this.generation = generation;
+		}
+	}
+
+	/**
+	 * Sets whether properties are skipped when their value is the one last
+	 * applied to the element. Widgets whose state is changed without the
+	 * engine must be reset before they are styled again when this is enabled.
+	 * It is enabled by default.
+	 */
+	public void setSkipUnchangedProperties(boolean skipUnchangedProperties) {
+		this.skipUnchangedProperties = skipUnchangedProperties;
+	}
+
+	/**
+	 * Returns the values last applied to the given element, or
+	 * <code>null</code> if properties are not skipped for it.
+	 */
+	private Map<String, String> getAppliedValues(Object element) {
+		if (!skipUnchangedProperties || getNativeWidget(element) == null) {
+			return null;
+		}
+		CSSElementContext elementContext = getCSSElementContext(element);
+		if (elementContext == null) {
+			return null;
+		}
+		Object data = elementContext.getData(APPLIED_VALUES_KEY);
+		if (data instanceof AppliedValues && ((AppliedValues) data).generation == appliedValuesGeneration) {
+			return ((AppliedValues) data).values;
+		}
+		AppliedValues appliedValues = new AppliedValues(appliedValuesGeneration);
+		elementContext.setData(APPLIED_VALUES_KEY, appliedValues);
+		return appliedValues.values;
+	}
+
 	@Override
 	public void applyStyleDeclaration(Object element, CSSStyleDeclaration style, String pseudo) {
 		// Apply style
@@ -535,12 +616,34 @@ public abstract class AbstractCSSEngine implements CSSEngine {
 		if (avoidanceCacheInstalled) {
 			currentCSSPropertiesApplied = new HashMap<>();
 		}
+		Map<String, String> appliedValues = getAppliedValues(element);
 		List<ICSSPropertyHandler2> handlers2 = Collections.emptyList();
 		for (int i = 0; i < style.getLength(); i++) {
 			String property = style.item(i);
 			CSSValue value = style.getPropertyCSSValue(property);
+			String appliedKey = null;
+			String cssText = null;
+			if (appliedValues != null && value != null && !currentCSSPropertiesApplied.containsKey(property)) {
+				cssText = value.getCssText();
+				// an inherited value depends on the parent
+				if (!"inherit".equals(cssText)) {
+					appliedKey = pseudo == null ? property : pseudo + ':' + property;
+					if (cssText.equals(appliedValues.get(appliedKey))) {
+						// the handler already applied this value to the element
+						currentCSSPropertiesApplied.put(property, property);
+						continue;
+					}
+				}
+			}
 			try {
 				ICSSPropertyHandler handler = this.applyCSSProperty(element, property, value, pseudo);
+				if (appliedKey != null) {
+					if (handler != null) {
+						appliedValues.put(appliedKey, cssText);
+					} else {
+						appliedValues.remove(appliedKey);
+					}
+				}
 				ICSSPropertyHandler2 propertyHandler2 = null;
 				if (handler instanceof ICSSPropertyHandler2) {
 					propertyHandler2 = (ICSSPropertyHandler2) handler;
@@ -1010,6 +1113,8 @@ public abstract class AbstractCSSEngine implements CSSEngine {
 
 	@Override
 	public void reset() {
+		// The elements may have been reset to their defaults
+		appliedValuesGeneration++;
 		// Remove All Style Sheets
 		documentCSS.removeAllStyleSheets();
 	}
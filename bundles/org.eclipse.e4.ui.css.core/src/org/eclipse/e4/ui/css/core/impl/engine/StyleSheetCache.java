@@ -0,0 +1,265 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.e4.ui.css.core.impl.engine;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.e4.ui.css.core.dom.parsers.CSSParser;
+import org.eclipse.e4.ui.css.core.impl.dom.parsers.AbstractCSSParser;
+import org.eclipse.e4.ui.css.core.impl.sac.StyleSheetRecorder;
+import org.eclipse.e4.ui.css.core.impl.sac.StyleSheetReplayer;
+import org.eclipse.e4.ui.css.core.sac.ExtendedDocumentHandler;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.FrameworkUtil;
+import org.w3c.css.sac.ConditionFactory;
+import org.w3c.css.sac.InputSource;
+import org.w3c.css.sac.Parser;
+import org.w3c.css.sac.SelectorFactory;
+import org.w3c.dom.css.CSSStyleSheet;
+
+/**
+ * Caches parsed style sheets in a directory. The events of the SAC parser are
+ * stored in a compact binary form under the hash of the style sheet content,
+ * so a style sheet which did not change since it was last parsed is built by
+ * replaying these events instead of tokenizing and parsing it again.
+ * <p>
+ * The cache is best effort: files which cannot be read are deleted and the
+ * style sheet is parsed, files which cannot be written are skipped.
+ * </p>
+ * <p>
+ * The key of a file includes the version of this bundle, so files written by
+ * another version are never read. When the cache is first used, files which
+ * have not been used for {@link #MAX_AGE_DAYS} days are deleted, as are the
+ * least recently used files beyond {@link #MAX_FILES}.
+ * </p>
+ */
+public class StyleSheetCache {
+
+	/** The number of days after which an unused file is deleted. */
+	public static final int MAX_AGE_DAYS = 30;
+
+	/** The maximum number of files kept in the cache directory. */
+	public static final int MAX_FILES = 100;
+
+	private static final String FILE_EXTENSION = ".sheet"; //$NON-NLS-1$
+
+	private static final String TEMP_FILE_EXTENSION = ".tmp"; //$NON-NLS-1$
+
+	private static final String VERSION = getVersion();
+
+	private final File directory;
+
+	private boolean pruned;
+
+	/**
+	 * Creates a cache storing its files in the given directory, which is
+	 * created when the first file is written.
+	 *
+	 * @param directory the cache directory
+	 */
+	public StyleSheetCache(File directory) {
+		this.directory = directory;
+	}
+
+	/**
+	 * Returns the cache directory.
+	 *
+	 * @return the directory
+	 */
+	public File getDirectory() {
+		return directory;
+	}
+
+	/**
+	 * Parses the given style sheet with the given parser, or builds it from the
+	 * cached parser events if the same content was parsed before.
+	 *
+	 * @param parser the parser to use
+	 * @param source the style sheet, which is read completely
+	 * @return the style sheet
+	 * @throws IOException if the style sheet cannot be read
+	 */
+	public CSSStyleSheet parseStyleSheet(CSSParser parser, InputSource source) throws IOException {
+		if (!(parser instanceof AbstractCSSParser)) {
+			return parser.parseStyleSheet(source);
+		}
+		AbstractCSSParser cssParser = (AbstractCSSParser) parser;
+		SelectorFactory selectorFactory = cssParser.getSelectorFactory();
+		ConditionFactory conditionFactory = cssParser.getConditionFactory();
+		if (selectorFactory == null || conditionFactory == null) {
+			return parser.parseStyleSheet(source);
+		}
+		pruneOnce();
+
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256"); //$NON-NLS-1$
+		} catch (NoSuchAlgorithmException e) {
+			return parser.parseStyleSheet(source);
+		}
+		// the events depend on the recording format and the parser and the
+		// factories creating the selectors
+		update(digest, VERSION);
+		update(digest, parser.getClass().getName());
+		update(digest, selectorFactory.getClass().getName());
+		update(digest, conditionFactory.getClass().getName());
+		InputSource content = readContent(source, digest);
+		File file = new File(directory, toHex(digest.digest()) + FILE_EXTENSION);
+
+		if (file.isFile()) {
+			try {
+				byte[] recording = Files.readAllBytes(file.toPath());
+				ExtendedDocumentHandler handler = cssParser.getDocumentHandlerFactory().makeDocumentHandler();
+				new StyleSheetReplayer(recording, selectorFactory, conditionFactory).replay(handler, content);
+				// keep the file from being pruned
+				file.setLastModified(System.currentTimeMillis());
+				return (CSSStyleSheet) handler.getNodeRoot();
+			} catch (IOException | RuntimeException e) {
+				// corrupt or written by another version, parse the style sheet again
+				file.delete();
+			}
+		}
+
+		StyleSheetRecorder recorder = new StyleSheetRecorder(
+				cssParser.getDocumentHandlerFactory().makeDocumentHandler());
+		Parser sacParser = cssParser.getParser();
+		sacParser.setDocumentHandler(recorder);
+		sacParser.parseStyleSheet(content);
+		CSSStyleSheet styleSheet = (CSSStyleSheet) recorder.getNodeRoot();
+		byte[] recording = recorder.getRecording();
+		if (recording != null) {
+			write(file, recording);
+		}
+		return styleSheet;
+	}
+
+	/**
+	 * Reads the content of the given source into memory and adds it to the
+	 * digest.
+	 *
+	 * @return a source with the same properties reading the content from memory
+	 */
+	private static InputSource readContent(InputSource source, MessageDigest digest) throws IOException {
+		InputSource content = new InputSource();
+		content.setURI(source.getURI());
+		content.setEncoding(source.getEncoding());
+		content.setMedia(source.getMedia());
+		content.setTitle(source.getTitle());
+		Reader reader = source.getCharacterStream();
+		if (reader != null) {
+			StringWriter writer = new StringWriter();
+			reader.transferTo(writer);
+			String text = writer.toString();
+			update(digest, "chars"); //$NON-NLS-1$
+			digest.update(text.getBytes(StandardCharsets.UTF_8));
+			content.setCharacterStream(new StringReader(text));
+		} else {
+			InputStream stream = source.getByteStream();
+			byte[] bytes = stream.readAllBytes();
+			// the same bytes may be decoded differently
+			update(digest, "bytes " + source.getEncoding()); //$NON-NLS-1$
+			digest.update(bytes);
+			content.setByteStream(new ByteArrayInputStream(bytes));
+		}
+		return content;
+	}
+
+	/**
+	 * Deletes the files which have not been used recently, once per instance.
+	 */
+	private synchronized void pruneOnce() {
+		if (pruned) {
+			return;
+		}
+		pruned = true;
+		File[] files = directory.listFiles(
+				(dir, name) -> name.endsWith(FILE_EXTENSION) || name.endsWith(TEMP_FILE_EXTENSION));
+		if (files == null) {
+			return;
+		}
+		long[] lastModified = new long[files.length];
+		Integer[] order = new Integer[files.length];
+		for (int i = 0; i < files.length; i++) {
+			lastModified[i] = files[i].lastModified();
+			order[i] = Integer.valueOf(i);
+		}
+		// the most recently used files first
+		Arrays.sort(order, Comparator.comparingLong((Integer i) -> lastModified[i.intValue()]).reversed());
+		long oldest = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(MAX_AGE_DAYS);
+		int kept = 0;
+		for (Integer i : order) {
+			File file = files[i.intValue()];
+			boolean unused = lastModified[i.intValue()] < oldest;
+			if (file.getName().endsWith(TEMP_FILE_EXTENSION)) {
+				// left to the instance writing it unless it is old
+				if (unused) {
+					file.delete();
+				}
+			} else if (unused || kept++ >= MAX_FILES) {
+				file.delete();
+			}
+		}
+	}
+
+	private static String getVersion() {
+		Bundle bundle = FrameworkUtil.getBundle(StyleSheetCache.class);
+		return bundle != null ? bundle.getVersion().toString() : ""; //$NON-NLS-1$
+	}
+
+	private static void update(MessageDigest digest, String s) {
+		digest.update(s.getBytes(StandardCharsets.UTF_8));
+		digest.update((byte) 0);
+	}
+
+	private void write(File file, byte[] recording) {
+		File temp = null;
+		try {
+			directory.mkdirs();
+			temp = File.createTempFile("sheet", TEMP_FILE_EXTENSION, directory); //$NON-NLS-1$
+			Files.write(temp.toPath(), recording);
+			// other instances sharing the directory never see a partial file
+			Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+					StandardCopyOption.ATOMIC_MOVE);
+			temp = null;
+		} catch (IOException | RuntimeException e) {
+			// the style sheet is parsed again next time
+		} finally {
+			if (temp != null) {
+				temp.delete();
+			}
+		}
+	}
+
+	private static String toHex(byte[] bytes) {
+		StringBuilder builder = new StringBuilder(bytes.length * 2);
+		for (byte b : bytes) {
+			builder.append(Character.forDigit((b >> 4) & 0xf, 16));
+			builder.append(Character.forDigit(b & 0xf, 16));
+		}
+		return builder.toString();
+	}
+}
@@ -0,0 +1,488 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.e4.ui.css.core.impl.sac;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Stack;
+import org.eclipse.e4.ui.css.core.sac.ExtendedDocumentHandler;
+import org.w3c.css.sac.AttributeCondition;
+import org.w3c.css.sac.CSSException;
+import org.w3c.css.sac.CombinatorCondition;
+import org.w3c.css.sac.Condition;
+import org.w3c.css.sac.ConditionalSelector;
+import org.w3c.css.sac.DescendantSelector;
+import org.w3c.css.sac.ElementSelector;
+import org.w3c.css.sac.InputSource;
+import org.w3c.css.sac.LangCondition;
+import org.w3c.css.sac.LexicalUnit;
+import org.w3c.css.sac.SACMediaList;
+import org.w3c.css.sac.Selector;
+import org.w3c.css.sac.SelectorList;
+import org.w3c.css.sac.SiblingSelector;
+
+/**
+ * An {@link ExtendedDocumentHandler} which passes the events of the SAC parser
+ * to another handler and records them in a compact binary form. The recorded
+ * events can be replayed with {@link StyleSheetReplayer} without parsing the
+ * style sheet again.
+ * <p>
+ * Events which cannot be recorded, like selectors which are not supported by
+ * the e4 selector factory, make the whole recording unusable but are still
+ * passed to the handler.
+ * </p>
+ */
+public class StyleSheetRecorder implements ExtendedDocumentHandler {
+
+	/** The first bytes of a recording. */
+	static final int MAGIC = 0x45344353;
+
+	/**
+	 * The version of the format, which must be increased whenever the encoding
+	 * of the events changes.
+	 */
+	static final short FORMAT_VERSION = 1;
+
+	static final byte END = 0;
+	static final byte START_DOCUMENT = 1;
+	static final byte END_DOCUMENT = 2;
+	static final byte IGNORABLE_AT_RULE = 3;
+	static final byte NAMESPACE_DECLARATION = 4;
+	static final byte IMPORT_STYLE = 5;
+	static final byte START_MEDIA = 6;
+	static final byte END_MEDIA = 7;
+	static final byte START_PAGE = 8;
+	static final byte END_PAGE = 9;
+	static final byte START_FONT_FACE = 10;
+	static final byte END_FONT_FACE = 11;
+	static final byte START_SELECTOR = 12;
+	static final byte END_SELECTOR = 13;
+	static final byte PROPERTY = 14;
+
+	/** The string reference of <code>null</code>. */
+	static final int NULL_STRING = -1;
+
+	/** The string reference which is followed by a new string. */
+	static final int NEW_STRING = -2;
+
+	private final ExtendedDocumentHandler handler;
+
+	private final ByteArrayOutputStream bytes = new ByteArrayOutputStream(4096);
+
+	private final DataOutputStream out = new DataOutputStream(bytes);
+
+	/** The indices of the strings written so far. */
+	private final Map<String, Integer> strings = new HashMap<>();
+
+	private boolean failed;
+
+	/**
+	 * Creates a recorder passing the events to the given handler.
+	 *
+	 * @param handler the handler building the style sheet
+	 */
+	public StyleSheetRecorder(ExtendedDocumentHandler handler) {
+		this.handler = handler;
+		try {
+			out.writeInt(MAGIC);
+			out.writeShort(FORMAT_VERSION);
+		} catch (IOException e) {
+			failed = true;
+		}
+	}
+
+	/**
+	 * Returns the recorded events.
+	 *
+	 * @return the recording, or <code>null</code> if some event could not be
+	 *         recorded
+	 */
+	public byte[] getRecording() {
+		if (failed) {
+			return null;
+		}
+		try {
+			out.writeByte(END);
+			out.flush();
+		} catch (IOException e) {
+			return null;
+		}
+		return bytes.toByteArray();
+	}
+
+	@Override
+	public Object getNodeRoot() {
+		return handler.getNodeRoot();
+	}
+
+	@Override
+	public void setNodeStack(Stack<Object> stack) {
+		handler.setNodeStack(stack);
+	}
+
+	@Override
+	public void startDocument(InputSource source) throws CSSException {
+		record(START_DOCUMENT);
+		handler.startDocument(source);
+	}
+
+	@Override
+	public void endDocument(InputSource source) throws CSSException {
+		record(END_DOCUMENT);
+		handler.endDocument(source);
+	}
+
+	@Override
+	public void comment(String text) throws CSSException {
+		handler.comment(text);
+	}
+
+	@Override
+	public void ignorableAtRule(String atRule) throws CSSException {
+		if (record(IGNORABLE_AT_RULE)) {
+			try {
+				writeString(atRule);
+			} catch (IOException | RuntimeException e) {
+				failed = true;
+			}
+		}
+		handler.ignorableAtRule(atRule);
+	}
+
+	@Override
+	public void namespaceDeclaration(String prefix, String uri) throws CSSException {
+		if (record(NAMESPACE_DECLARATION)) {
+			try {
+				writeString(prefix);
+				writeString(uri);
+			} catch (IOException | RuntimeException e) {
+				failed = true;
+			}
+		}
+		handler.namespaceDeclaration(prefix, uri);
+	}
+
+	@Override
+	public void importStyle(String uri, SACMediaList media, String defaultNamespaceURI) throws CSSException {
+		if (record(IMPORT_STYLE)) {
+			try {
+				writeString(uri);
+				writeMedia(media);
+				writeString(defaultNamespaceURI);
+			} catch (IOException | RuntimeException e) {
+				failed = true;
+			}
+		}
+		handler.importStyle(uri, media, defaultNamespaceURI);
+	}
+
+	@Override
+	public void startMedia(SACMediaList media) throws CSSException {
+		if (record(START_MEDIA)) {
+			try {
+				writeMedia(media);
+			} catch (IOException | RuntimeException e) {
+				failed = true;
+			}
+		}
+		handler.startMedia(media);
+	}
+
+	@Override
+	public void endMedia(SACMediaList media) throws CSSException {
+		if (record(END_MEDIA)) {
+			try {
+				writeMedia(media);
+			} catch (IOException | RuntimeException e) {
+				failed = true;
+			}
+		}
+		handler.endMedia(media);
+	}
+
+	@Override
+	public void startPage(String name, String pseudoPage) throws CSSException {
+		if (record(START_PAGE)) {
+			try {
+				writeString(name);
+				writeString(pseudoPage);
+			} catch (IOException | RuntimeException e) {
+				failed = true;
+			}
+		}
+		handler.startPage(name, pseudoPage);
+	}
+
+	@Override
+	public void endPage(String name, String pseudoPage) throws CSSException {
+		if (record(END_PAGE)) {
+			try {
+				writeString(name);
+				writeString(pseudoPage);
+			} catch (IOException | RuntimeException e) {
+				failed = true;
+			}
+		}
+		handler.endPage(name, pseudoPage);
+	}
+
+	@Override
+	public void startFontFace() throws CSSException {
+		record(START_FONT_FACE);
+		handler.startFontFace();
+	}
+
+	@Override
+	public void endFontFace() throws CSSException {
+		record(END_FONT_FACE);
+		handler.endFontFace();
+	}
+
+	@Override
+	public void startSelector(SelectorList selectors) throws CSSException {
+		if (record(START_SELECTOR)) {
+			try {
+				writeSelectors(selectors);
+			} catch (IOException | RuntimeException e) {
+				failed = true;
+			}
+		}
+		handler.startSelector(selectors);
+	}
+
+	@Override
+	public void endSelector(SelectorList selectors) throws CSSException {
+		// the selectors are the same as the ones of the matching start event
+		record(END_SELECTOR);
+		handler.endSelector(selectors);
+	}
+
+	@Override
+	public void property(String name, LexicalUnit value, boolean important) throws CSSException {
+		if (record(PROPERTY)) {
+			try {
+				writeString(name);
+				writeLexicalUnits(value);
+				out.writeBoolean(important);
+			} catch (IOException | RuntimeException e) {
+				failed = true;
+			}
+		}
+		handler.property(name, value, important);
+	}
+
+	/**
+	 * Writes the given event tag unless the recording is already unusable.
+	 *
+	 * @return whether the data of the event should be written
+	 */
+	private boolean record(byte event) {
+		if (failed) {
+			return false;
+		}
+		try {
+			out.writeByte(event);
+			return true;
+		} catch (IOException e) {
+			failed = true;
+			return false;
+		}
+	}
+
+	private void writeString(String s) throws IOException {
+		if (s == null) {
+			out.writeInt(NULL_STRING);
+			return;
+		}
+		Integer index = strings.get(s);
+		if (index != null) {
+			out.writeInt(index.intValue());
+			return;
+		}
+		out.writeInt(NEW_STRING);
+		// fails for strings with an encoded length of more than 64 KB
+		out.writeUTF(s);
+		strings.put(s, Integer.valueOf(strings.size()));
+	}
+
+	private void writeMedia(SACMediaList media) throws IOException {
+		if (media == null) {
+			out.writeInt(-1);
+			return;
+		}
+		int length = media.getLength();
+		out.writeInt(length);
+		for (int i = 0; i < length; i++) {
+			writeString(media.item(i));
+		}
+	}
+
+	private void writeSelectors(SelectorList selectors) throws IOException {
+		int length = selectors.getLength();
+		out.writeInt(length);
+		for (int i = 0; i < length; i++) {
+			writeSelector(selectors.item(i));
+		}
+	}
+
+	private void writeSelector(Selector selector) throws IOException {
+		short type = selector.getSelectorType();
+		out.writeShort(type);
+		switch (type) {
+		case Selector.SAC_CONDITIONAL_SELECTOR:
+			ConditionalSelector conditional = (ConditionalSelector) selector;
+			writeSelector(conditional.getSimpleSelector());
+			writeCondition(conditional.getCondition());
+			break;
+		case Selector.SAC_ELEMENT_NODE_SELECTOR:
+		case Selector.SAC_PSEUDO_ELEMENT_SELECTOR:
+			ElementSelector element = (ElementSelector) selector;
+			writeString(element.getNamespaceURI());
+			writeString(element.getLocalName());
+			break;
+		case Selector.SAC_DESCENDANT_SELECTOR:
+		case Selector.SAC_CHILD_SELECTOR:
+			DescendantSelector descendant = (DescendantSelector) selector;
+			writeSelector(descendant.getAncestorSelector());
+			writeSelector(descendant.getSimpleSelector());
+			break;
+		case Selector.SAC_DIRECT_ADJACENT_SELECTOR:
+			SiblingSelector sibling = (SiblingSelector) selector;
+			out.writeShort(sibling.getNodeType());
+			writeSelector(sibling.getSelector());
+			writeSelector(sibling.getSiblingSelector());
+			break;
+		default:
+			throw new CSSException("Unsupported selector type " + type); //$NON-NLS-1$
+		}
+	}
+
+	private void writeCondition(Condition condition) throws IOException {
+		short type = condition.getConditionType();
+		out.writeShort(type);
+		switch (type) {
+		case Condition.SAC_AND_CONDITION:
+			CombinatorCondition combinator = (CombinatorCondition) condition;
+			writeCondition(combinator.getFirstCondition());
+			writeCondition(combinator.getSecondCondition());
+			break;
+		case Condition.SAC_ATTRIBUTE_CONDITION:
+		case Condition.SAC_ONE_OF_ATTRIBUTE_CONDITION:
+		case Condition.SAC_BEGIN_HYPHEN_ATTRIBUTE_CONDITION:
+			AttributeCondition attribute = (AttributeCondition) condition;
+			writeString(attribute.getLocalName());
+			writeString(attribute.getNamespaceURI());
+			out.writeBoolean(attribute.getSpecified());
+			writeString(attribute.getValue());
+			break;
+		case Condition.SAC_ID_CONDITION:
+			writeString(((AttributeCondition) condition).getValue());
+			break;
+		case Condition.SAC_CLASS_CONDITION:
+		case Condition.SAC_PSEUDO_CLASS_CONDITION:
+			AttributeCondition classCondition = (AttributeCondition) condition;
+			writeString(classCondition.getNamespaceURI());
+			writeString(classCondition.getValue());
+			break;
+		case Condition.SAC_LANG_CONDITION:
+			writeString(((LangCondition) condition).getLang());
+			break;
+		default:
+			throw new CSSException("Unsupported condition type " + type); //$NON-NLS-1$
+		}
+	}
+
+	private void writeLexicalUnits(LexicalUnit unit) throws IOException {
+		for (LexicalUnit u = unit; u != null; u = u.getNextLexicalUnit()) {
+			out.writeBoolean(true);
+			writeLexicalUnit(u);
+		}
+		out.writeBoolean(false);
+	}
+
+	private void writeLexicalUnit(LexicalUnit unit) throws IOException {
+		short type = unit.getLexicalUnitType();
+		out.writeShort(type);
+		switch (type) {
+		case LexicalUnit.SAC_OPERATOR_COMMA:
+		case LexicalUnit.SAC_OPERATOR_PLUS:
+		case LexicalUnit.SAC_OPERATOR_MINUS:
+		case LexicalUnit.SAC_OPERATOR_MULTIPLY:
+		case LexicalUnit.SAC_OPERATOR_SLASH:
+		case LexicalUnit.SAC_OPERATOR_MOD:
+		case LexicalUnit.SAC_OPERATOR_EXP:
+		case LexicalUnit.SAC_OPERATOR_LT:
+		case LexicalUnit.SAC_OPERATOR_GT:
+		case LexicalUnit.SAC_OPERATOR_LE:
+		case LexicalUnit.SAC_OPERATOR_GE:
+		case LexicalUnit.SAC_OPERATOR_TILDE:
+		case LexicalUnit.SAC_INHERIT:
+			break;
+		case LexicalUnit.SAC_INTEGER:
+			out.writeInt(unit.getIntegerValue());
+			break;
+		case LexicalUnit.SAC_REAL:
+			out.writeFloat(unit.getFloatValue());
+			break;
+		case LexicalUnit.SAC_EM:
+		case LexicalUnit.SAC_EX:
+		case LexicalUnit.SAC_PIXEL:
+		case LexicalUnit.SAC_INCH:
+		case LexicalUnit.SAC_CENTIMETER:
+		case LexicalUnit.SAC_MILLIMETER:
+		case LexicalUnit.SAC_POINT:
+		case LexicalUnit.SAC_PICA:
+		case LexicalUnit.SAC_PERCENTAGE:
+		case LexicalUnit.SAC_DEGREE:
+		case LexicalUnit.SAC_GRADIAN:
+		case LexicalUnit.SAC_RADIAN:
+		case LexicalUnit.SAC_MILLISECOND:
+		case LexicalUnit.SAC_SECOND:
+		case LexicalUnit.SAC_HERTZ:
+		case LexicalUnit.SAC_KILOHERTZ:
+		case LexicalUnit.SAC_DIMENSION:
+			out.writeFloat(unit.getFloatValue());
+			writeString(unit.getDimensionUnitText());
+			break;
+		case LexicalUnit.SAC_IDENT:
+		case LexicalUnit.SAC_STRING_VALUE:
+		case LexicalUnit.SAC_URI:
+		case LexicalUnit.SAC_ATTR:
+			writeString(unit.getStringValue());
+			break;
+		case LexicalUnit.SAC_FUNCTION:
+		case LexicalUnit.SAC_RGBCOLOR:
+		case LexicalUnit.SAC_RECT_FUNCTION:
+		case LexicalUnit.SAC_COUNTER_FUNCTION:
+		case LexicalUnit.SAC_COUNTERS_FUNCTION:
+			writeString(getFunctionName(unit));
+			writeLexicalUnits(unit.getParameters());
+			break;
+		default:
+			throw new CSSException("Unsupported lexical unit type " + type); //$NON-NLS-1$
+		}
+	}
+
+	private static String getFunctionName(LexicalUnit unit) {
+		try {
+			return unit.getFunctionName();
+		} catch (RuntimeException e) {
+			// predefined functions may not report their name
+			return null;
+		}
+	}
+}
@@ -0,0 +1,404 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.e4.ui.css.core.impl.sac;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.w3c.css.sac.CSSException;
+import org.w3c.css.sac.Condition;
+import org.w3c.css.sac.ConditionFactory;
+import org.w3c.css.sac.DocumentHandler;
+import org.w3c.css.sac.InputSource;
+import org.w3c.css.sac.LexicalUnit;
+import org.w3c.css.sac.SACMediaList;
+import org.w3c.css.sac.Selector;
+import org.w3c.css.sac.SelectorFactory;
+import org.w3c.css.sac.SelectorList;
+import org.w3c.css.sac.SimpleSelector;
+
+/**
+ * Replays the events recorded by a {@link StyleSheetRecorder} to a
+ * {@link DocumentHandler}. Selectors and conditions are created with the
+ * factories of the parser, so the handler receives the same objects as from
+ * the parser.
+ */
+public class StyleSheetReplayer {
+
+	private final DataInputStream in;
+
+	private final SelectorFactory selectorFactory;
+
+	private final ConditionFactory conditionFactory;
+
+	/** The strings read so far, in the order of their indices. */
+	private final List<String> strings = new ArrayList<>();
+
+	/** The selectors of the style rules which have been started. */
+	private final List<SelectorList> openSelectors = new ArrayList<>();
+
+	/**
+	 * Creates a replayer for the given recording.
+	 *
+	 * @param recording        the bytes returned by
+	 *                         {@link StyleSheetRecorder#getRecording()}
+	 * @param selectorFactory  the factory to create the selectors with
+	 * @param conditionFactory the factory to create the conditions with
+	 */
+	public StyleSheetReplayer(byte[] recording, SelectorFactory selectorFactory, ConditionFactory conditionFactory) {
+		this.in = new DataInputStream(new ByteArrayInputStream(recording));
+		this.selectorFactory = selectorFactory;
+		this.conditionFactory = conditionFactory;
+	}
+
+	/**
+	 * Replays the recorded events to the given handler.
+	 *
+	 * @param handler the handler to notify
+	 * @param source  the source passed to the document events
+	 * @throws IOException if the recording is truncated, corrupt or written in
+	 *                     another format version
+	 */
+	public void replay(DocumentHandler handler, InputSource source) throws IOException {
+		if (in.readInt() != StyleSheetRecorder.MAGIC || in.readShort() != StyleSheetRecorder.FORMAT_VERSION) {
+			throw new IOException("Unknown style sheet recording format"); //$NON-NLS-1$
+		}
+		try {
+			while (true) {
+				byte event = in.readByte();
+				switch (event) {
+				case StyleSheetRecorder.END:
+					return;
+				case StyleSheetRecorder.START_DOCUMENT:
+					handler.startDocument(source);
+					break;
+				case StyleSheetRecorder.END_DOCUMENT:
+					handler.endDocument(source);
+					break;
+				case StyleSheetRecorder.IGNORABLE_AT_RULE:
+					handler.ignorableAtRule(readString());
+					break;
+				case StyleSheetRecorder.NAMESPACE_DECLARATION:
+					handler.namespaceDeclaration(readString(), readString());
+					break;
+				case StyleSheetRecorder.IMPORT_STYLE:
+					handler.importStyle(readString(), readMedia(), readString());
+					break;
+				case StyleSheetRecorder.START_MEDIA:
+					handler.startMedia(readMedia());
+					break;
+				case StyleSheetRecorder.END_MEDIA:
+					handler.endMedia(readMedia());
+					break;
+				case StyleSheetRecorder.START_PAGE:
+					handler.startPage(readString(), readString());
+					break;
+				case StyleSheetRecorder.END_PAGE:
+					handler.endPage(readString(), readString());
+					break;
+				case StyleSheetRecorder.START_FONT_FACE:
+					handler.startFontFace();
+					break;
+				case StyleSheetRecorder.END_FONT_FACE:
+					handler.endFontFace();
+					break;
+				case StyleSheetRecorder.START_SELECTOR:
+					SelectorList selectors = readSelectors();
+					openSelectors.add(selectors);
+					handler.startSelector(selectors);
+					break;
+				case StyleSheetRecorder.END_SELECTOR:
+					if (openSelectors.isEmpty()) {
+						throw new IOException("Unbalanced selector events"); //$NON-NLS-1$
+					}
+					handler.endSelector(openSelectors.remove(openSelectors.size() - 1));
+					break;
+				case StyleSheetRecorder.PROPERTY:
+					handler.property(readString(), readLexicalUnits(), in.readBoolean());
+					break;
+				default:
+					throw new IOException("Unknown style sheet event " + event); //$NON-NLS-1$
+				}
+			}
+		} catch (CSSException | ClassCastException | IndexOutOfBoundsException e) {
+			throw new IOException(e);
+		}
+	}
+
+	private String readString() throws IOException {
+		int index = in.readInt();
+		if (index == StyleSheetRecorder.NULL_STRING) {
+			return null;
+		}
+		if (index == StyleSheetRecorder.NEW_STRING) {
+			String s = in.readUTF();
+			strings.add(s);
+			return s;
+		}
+		return strings.get(index);
+	}
+
+	private SACMediaList readMedia() throws IOException {
+		int length = in.readInt();
+		if (length < 0) {
+			return null;
+		}
+		String[] media = new String[length];
+		for (int i = 0; i < length; i++) {
+			media[i] = readString();
+		}
+		return new SACMediaList() {
+			@Override
+			public int getLength() {
+				return media.length;
+			}
+
+			@Override
+			public String item(int index) {
+				return index >= 0 && index < media.length ? media[index] : null;
+			}
+		};
+	}
+
+	private SelectorList readSelectors() throws IOException {
+		int length = in.readInt();
+		Selector[] selectors = new Selector[length];
+		for (int i = 0; i < length; i++) {
+			selectors[i] = readSelector();
+		}
+		return new SelectorList() {
+			@Override
+			public int getLength() {
+				return selectors.length;
+			}
+
+			@Override
+			public Selector item(int index) {
+				return index >= 0 && index < selectors.length ? selectors[index] : null;
+			}
+		};
+	}
+
+	private Selector readSelector() throws IOException {
+		short type = in.readShort();
+		switch (type) {
+		case Selector.SAC_CONDITIONAL_SELECTOR:
+			SimpleSelector simple = (SimpleSelector) readSelector();
+			return selectorFactory.createConditionalSelector(simple, readCondition());
+		case Selector.SAC_ELEMENT_NODE_SELECTOR:
+			return selectorFactory.createElementSelector(readString(), readString());
+		case Selector.SAC_PSEUDO_ELEMENT_SELECTOR:
+			return selectorFactory.createPseudoElementSelector(readString(), readString());
+		case Selector.SAC_DESCENDANT_SELECTOR:
+			Selector ancestor = readSelector();
+			return selectorFactory.createDescendantSelector(ancestor, (SimpleSelector) readSelector());
+		case Selector.SAC_CHILD_SELECTOR:
+			Selector parent = readSelector();
+			return selectorFactory.createChildSelector(parent, (SimpleSelector) readSelector());
+		case Selector.SAC_DIRECT_ADJACENT_SELECTOR:
+			short nodeType = in.readShort();
+			Selector child = readSelector();
+			return selectorFactory.createDirectAdjacentSelector(nodeType, child, (SimpleSelector) readSelector());
+		default:
+			throw new IOException("Unknown selector type " + type); //$NON-NLS-1$
+		}
+	}
+
+	private Condition readCondition() throws IOException {
+		short type = in.readShort();
+		switch (type) {
+		case Condition.SAC_AND_CONDITION:
+			Condition first = readCondition();
+			return conditionFactory.createAndCondition(first, readCondition());
+		case Condition.SAC_ATTRIBUTE_CONDITION:
+			return conditionFactory.createAttributeCondition(readString(), readString(), in.readBoolean(),
+					readString());
+		case Condition.SAC_ONE_OF_ATTRIBUTE_CONDITION:
+			return conditionFactory.createOneOfAttributeCondition(readString(), readString(), in.readBoolean(),
+					readString());
+		case Condition.SAC_BEGIN_HYPHEN_ATTRIBUTE_CONDITION:
+			return conditionFactory.createBeginHyphenAttributeCondition(readString(), readString(),
+					in.readBoolean(), readString());
+		case Condition.SAC_ID_CONDITION:
+			return conditionFactory.createIdCondition(readString());
+		case Condition.SAC_CLASS_CONDITION:
+			return conditionFactory.createClassCondition(readString(), readString());
+		case Condition.SAC_PSEUDO_CLASS_CONDITION:
+			return conditionFactory.createPseudoClassCondition(readString(), readString());
+		case Condition.SAC_LANG_CONDITION:
+			return conditionFactory.createLangCondition(readString());
+		default:
+			throw new IOException("Unknown condition type " + type); //$NON-NLS-1$
+		}
+	}
+
+	private LexicalUnit readLexicalUnits() throws IOException {
+		RecordedLexicalUnit first = null;
+		RecordedLexicalUnit previous = null;
+		while (in.readBoolean()) {
+			RecordedLexicalUnit unit = readLexicalUnit(previous);
+			if (previous == null) {
+				first = unit;
+			} else {
+				previous.next = unit;
+			}
+			previous = unit;
+		}
+		return first;
+	}
+
+	private RecordedLexicalUnit readLexicalUnit(RecordedLexicalUnit previous) throws IOException {
+		short type = in.readShort();
+		RecordedLexicalUnit unit = new RecordedLexicalUnit(type, previous);
+		switch (type) {
+		case LexicalUnit.SAC_OPERATOR_COMMA:
+		case LexicalUnit.SAC_OPERATOR_PLUS:
+		case LexicalUnit.SAC_OPERATOR_MINUS:
+		case LexicalUnit.SAC_OPERATOR_MULTIPLY:
+		case LexicalUnit.SAC_OPERATOR_SLASH:
+		case LexicalUnit.SAC_OPERATOR_MOD:
+		case LexicalUnit.SAC_OPERATOR_EXP:
+		case LexicalUnit.SAC_OPERATOR_LT:
+		case LexicalUnit.SAC_OPERATOR_GT:
+		case LexicalUnit.SAC_OPERATOR_LE:
+		case LexicalUnit.SAC_OPERATOR_GE:
+		case LexicalUnit.SAC_OPERATOR_TILDE:
+		case LexicalUnit.SAC_INHERIT:
+			break;
+		case LexicalUnit.SAC_INTEGER:
+			unit.integerValue = in.readInt();
+			unit.floatValue = unit.integerValue;
+			break;
+		case LexicalUnit.SAC_REAL:
+			unit.floatValue = in.readFloat();
+			unit.integerValue = (int) unit.floatValue;
+			break;
+		case LexicalUnit.SAC_EM:
+		case LexicalUnit.SAC_EX:
+		case LexicalUnit.SAC_PIXEL:
+		case LexicalUnit.SAC_INCH:
+		case LexicalUnit.SAC_CENTIMETER:
+		case LexicalUnit.SAC_MILLIMETER:
+		case LexicalUnit.SAC_POINT:
+		case LexicalUnit.SAC_PICA:
+		case LexicalUnit.SAC_PERCENTAGE:
+		case LexicalUnit.SAC_DEGREE:
+		case LexicalUnit.SAC_GRADIAN:
+		case LexicalUnit.SAC_RADIAN:
+		case LexicalUnit.SAC_MILLISECOND:
+		case LexicalUnit.SAC_SECOND:
+		case LexicalUnit.SAC_HERTZ:
+		case LexicalUnit.SAC_KILOHERTZ:
+		case LexicalUnit.SAC_DIMENSION:
+			unit.floatValue = in.readFloat();
+			unit.stringValue = readString();
+			break;
+		case LexicalUnit.SAC_IDENT:
+		case LexicalUnit.SAC_STRING_VALUE:
+		case LexicalUnit.SAC_URI:
+		case LexicalUnit.SAC_ATTR:
+			unit.stringValue = readString();
+			break;
+		case LexicalUnit.SAC_FUNCTION:
+		case LexicalUnit.SAC_RGBCOLOR:
+		case LexicalUnit.SAC_RECT_FUNCTION:
+		case LexicalUnit.SAC_COUNTER_FUNCTION:
+		case LexicalUnit.SAC_COUNTERS_FUNCTION:
+			unit.stringValue = readString();
+			unit.parameters = readLexicalUnits();
+			break;
+		default:
+			throw new IOException("Unknown lexical unit type " + type); //$NON-NLS-1$
+		}
+		return unit;
+	}
+
+	/**
+	 * A lexical unit read from a recording. The string value holds the unit
+	 * text of dimensions and the name of functions.
+	 */
+	private static class RecordedLexicalUnit implements LexicalUnit {
+
+		private final short type;
+
+		private final LexicalUnit previous;
+
+		private LexicalUnit next;
+
+		private int integerValue;
+
+		private float floatValue;
+
+		private String stringValue;
+
+		private LexicalUnit parameters;
+
+		RecordedLexicalUnit(short type, LexicalUnit previous) {
+			this.type = type;
+			this.previous = previous;
+		}
+
+		@Override
+		public short getLexicalUnitType() {
+			return type;
+		}
+
+		@Override
+		public LexicalUnit getNextLexicalUnit() {
+			return next;
+		}
+
+		@Override
+		public LexicalUnit getPreviousLexicalUnit() {
+			return previous;
+		}
+
+		@Override
+		public int getIntegerValue() {
+			return integerValue;
+		}
+
+		@Override
+		public float getFloatValue() {
+			return floatValue;
+		}
+
+		@Override
+		public String getDimensionUnitText() {
+			return stringValue;
+		}
+
+		@Override
+		public String getFunctionName() {
+			return stringValue;
+		}
+
+		@Override
+		public LexicalUnit getParameters() {
+			return parameters;
+		}
+
+		@Override
+		public String getStringValue() {
+			return stringValue;
+		}
+
+		@Override
+		public LexicalUnit getSubValues() {
+			return null;
+		}
+	}
+}
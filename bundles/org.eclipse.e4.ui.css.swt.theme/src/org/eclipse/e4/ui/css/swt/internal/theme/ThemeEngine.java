@@ -44,6 +44,8 @@ import org.eclipse.core.runtime.preferences.IEclipsePreferences;
 import org.eclipse.core.runtime.preferences.InstanceScope;
 import org.eclipse.e4.ui.css.core.engine.CSSElementContext;
 import org.eclipse.e4.ui.css.core.engine.CSSEngine;
+import org.eclipse.e4.ui.css.core.impl.engine.AbstractCSSEngine;
+import org.eclipse.e4.ui.css.core.impl.engine.StyleSheetCache;
 import org.eclipse.e4.ui.css.core.util.impl.resources.FileResourcesLocatorImpl;
 import org.eclipse.e4.ui.css.core.util.impl.resources.OSGiResourceLocator;
 import org.eclipse.e4.ui.css.core.util.resources.IResourceLocator;
@@ -80,6 +82,8 @@ public class ThemeEngine implements IThemeEngine {
 	private HashMap<String, List<String>> modifiedStylesheets = new HashMap<>();
 	private HashMap<String, List<IResourceLocator>> sourceLocators = new HashMap<>();
 
+	private StyleSheetCache styleSheetCache;
+
 	private static final String THEMEID_KEY = "themeid";
 
 	public static final String THEME_PLUGIN_ID = "org.eclipse.e4.ui.css.swt.theme";
@@ -104,6 +108,13 @@ public class ThemeEngine implements IThemeEngine {
 		} catch (IOException e1) {
 		}
 
+		// parsed style sheets are cached beside, not inside the directory of the modified ones
+		try {
+			URL cacheURL = new URL(configLocation.getDataArea(THEME_PLUGIN_ID + ".cache").toString());
+			styleSheetCache = new StyleSheetCache(new File(cacheURL.getFile()));
+		} catch (IOException e1) {
+		}
+
 		IPath path = IPath.fromOSString(e4CSSPath + File.separator);
 		File modDir= new File(path.toFile().toURI());
 		if (!modDir.exists()) {
@@ -672,6 +683,9 @@ public class ThemeEngine implements IThemeEngine {
 	@Override
 	public void addCSSEngine(CSSEngine cssEngine) {
 		cssEngines.add(cssEngine);
+		if (styleSheetCache != null && cssEngine instanceof AbstractCSSEngine) {
+			((AbstractCSSEngine) cssEngine).setStyleSheetCache(styleSheetCache);
+		}
 		resetCurrentTheme();
 	}
 
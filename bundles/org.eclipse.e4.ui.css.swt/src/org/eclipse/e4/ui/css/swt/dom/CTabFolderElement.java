@@ -20,6 +20,8 @@ import org.eclipse.e4.ui.css.core.dom.ArrayNodeList;
 import org.eclipse.e4.ui.css.core.dom.CSSStylableElement;
 import org.eclipse.e4.ui.css.core.dom.ChildVisibilityAwareElement;
 import org.eclipse.e4.ui.css.core.engine.CSSEngine;
+import org.eclipse.e4.ui.css.core.impl.dom.ViewCSSImpl;
+import org.eclipse.e4.ui.css.swt.engine.AbstractCSSSWTEngineImpl;
 import org.eclipse.e4.ui.css.swt.helpers.CSSSWTColorHelper;
 import org.eclipse.e4.ui.internal.css.swt.ICTabRendering;
 import org.eclipse.swt.custom.CTabFolder;
@@ -44,11 +46,14 @@ public class CTabFolderElement extends CompositeElement implements ChildVisibili
 	private SelectionListener selectionListener = new SelectionAdapter() {
 		@Override
 		public void widgetSelected(SelectionEvent e) {
-			applyStyles(getWidget(), true);
+			restyleSelection();
 		}
 
 	};
 
+	/** The item which was selected when the folder was last styled. */
+	private CTabItem selectedItem;
+
 	public CTabFolderElement(CTabFolder tabFolder, CSSEngine engine) {
 		super(tabFolder, engine);
 	}
@@ -56,7 +61,40 @@ public class CTabFolderElement extends CompositeElement implements ChildVisibili
 	@Override
 	public void initialize() {
 		super.initialize();
-		((CTabFolder) getControl()).addSelectionListener(selectionListener);
+		CTabFolder folder = (CTabFolder) getControl();
+		folder.addSelectionListener(selectionListener);
+		selectedItem = folder.getSelection();
+	}
+
+	/**
+	 * Restyles what may change with the selection: the items entering and
+	 * leaving the selected state and the newly visible control of the selected
+	 * item. The restyling is batched with the other changes of the current
+	 * event loop turn.
+	 */
+	private void restyleSelection() {
+		CTabFolder folder = (CTabFolder) getWidget();
+		CTabItem item = folder.getSelection();
+		if (!(engine instanceof AbstractCSSSWTEngineImpl)) {
+			selectedItem = item;
+			applyStyles(folder, true);
+			return;
+		}
+		AbstractCSSSWTEngineImpl swtEngine = (AbstractCSSSWTEngineImpl) engine;
+		if (selectedItem != null && selectedItem != item && !selectedItem.isDisposed()) {
+			swtEngine.restyleAfterPseudoClassChange(selectedItem, "selected"); //$NON-NLS-1$
+		}
+		if (item != null) {
+			if (item != selectedItem) {
+				swtEngine.restyleAfterPseudoClassChange(item, "selected"); //$NON-NLS-1$
+			}
+			// the control was not visible before, so it may have never been styled
+			Control control = item.getControl();
+			if (control != null && !control.isDisposed()) {
+				swtEngine.scheduleRestyle(control, ViewCSSImpl.RESTYLE_SUBTREE);
+			}
+		}
+		selectedItem = item;
 	}
 
 	@Override
@@ -65,6 +103,7 @@ public class CTabFolderElement extends CompositeElement implements ChildVisibili
 		if (ctf != null && !ctf.isDisposed()) {
 			ctf.removeSelectionListener(selectionListener);
 		}
+		selectedItem = null;
 		super.dispose();
 	}
 
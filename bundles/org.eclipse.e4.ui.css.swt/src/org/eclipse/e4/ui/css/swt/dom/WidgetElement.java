@@ -21,6 +21,7 @@ import org.eclipse.e4.ui.css.core.dom.ElementAdapter;
 import org.eclipse.e4.ui.css.core.engine.CSSEngine;
 import org.eclipse.e4.ui.css.core.utils.ClassUtils;
 import org.eclipse.e4.ui.css.swt.CSSSWTConstants;
+import org.eclipse.e4.ui.css.swt.engine.AbstractCSSSWTEngineImpl;
 import org.eclipse.e4.ui.css.swt.helpers.SWTStyleHelpers;
 import org.eclipse.swt.widgets.Display;
 import org.eclipse.swt.widgets.Widget;
@@ -68,6 +69,28 @@ public class WidgetElement extends ElementAdapter implements NodeList {
 		widget.setData(CSSSWTConstants.CSS_CLASS_NAME_KEY, className);
 	}
 
+	/**
+	 * Convenience method for setting the CSS class of a widget and restyling
+	 * it. Only the elements whose matched rules may change with the class are
+	 * restyled, together with the other scheduled changes in one pass when the
+	 * event loop runs next.
+	 *
+	 * @param widget
+	 *            SWT widget with associated CSS class name
+	 * @param className
+	 *            class name to set
+	 */
+	public static void updateCSSClass(Widget widget, String className) {
+		String oldClass = getCSSClass(widget);
+		setCSSClass(widget, className);
+		CSSEngine engine = getEngine(widget);
+		if (engine instanceof AbstractCSSSWTEngineImpl) {
+			((AbstractCSSSWTEngineImpl) engine).restyleAfterClassChange(widget, oldClass);
+		} else if (engine != null) {
+			engine.applyStyles(widget, true);
+		}
+	}
+
 	/**
 	 * Convenience method for setting the CSS ID of a widget.
 	 *
@@ -14,8 +14,11 @@
  *******************************************************************************/
 package org.eclipse.e4.ui.css.swt.engine;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
 import org.eclipse.e4.ui.css.core.dom.CSSStylableElement;
 import org.eclipse.e4.ui.css.core.engine.CSSElementContext;
+import org.eclipse.e4.ui.css.core.impl.dom.ViewCSSImpl;
 import org.eclipse.e4.ui.css.core.impl.engine.CSSEngineImpl;
 import org.eclipse.e4.ui.css.core.resources.IResourcesRegistry;
 import org.eclipse.e4.ui.css.swt.dom.WidgetElement;
@@ -31,6 +34,8 @@ import org.eclipse.e4.ui.css.swt.resources.SWTResourcesRegistry;
 import org.eclipse.swt.widgets.Display;
 import org.eclipse.swt.widgets.Widget;
 import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.css.ViewCSS;
 
 /**
  * CSS SWT Engine implementation which configure CSSEngineImpl to apply styles
@@ -40,6 +45,12 @@ public abstract class AbstractCSSSWTEngineImpl extends CSSEngineImpl {
 
 	protected Display display;
 
+	/**
+	 * The widgets to restyle when the event loop runs next, with the
+	 * <code>RESTYLE_*</code> scope of {@link ViewCSSImpl} for each.
+	 */
+	private final Map<Widget, Integer> pendingRestyles = new LinkedHashMap<>();
+
 	public AbstractCSSSWTEngineImpl(Display display) {
 		this(display, false);
 	}
@@ -138,4 +149,100 @@ public abstract class AbstractCSSSWTEngineImpl extends CSSEngineImpl {
 		return false;
 	}
 
+	/*--------------- Incremental restyling -----------------*/
+
+	/**
+	 * Schedules the restyling of the elements whose matched rules may change
+	 * with the CSS class of the given widget. The class must already be set.
+	 *
+	 * @param widget
+	 *            the widget whose class changed
+	 * @param oldClass
+	 *            the previous class of the widget, may be <code>null</code>
+	 */
+	public void restyleAfterClassChange(Widget widget, String oldClass) {
+		ViewCSS viewCSS = getViewCSS();
+		String newClass = WidgetElement.getCSSClass(widget);
+		int scope = viewCSS instanceof ViewCSSImpl
+				? ((ViewCSSImpl) viewCSS).getClassChangeScope(oldClass, newClass)
+				: ViewCSSImpl.RESTYLE_SUBTREE;
+		scheduleRestyle(widget, scope);
+	}
+
+	/**
+	 * Schedules the restyling of the elements whose matched rules may change
+	 * when the given widget enters or leaves the given pseudo class.
+	 *
+	 * @param widget
+	 *            the widget whose state changed
+	 * @param pseudoClass
+	 *            the pseudo class, e.g. <code>selected</code>
+	 */
+	public void restyleAfterPseudoClassChange(Widget widget, String pseudoClass) {
+		ViewCSS viewCSS = getViewCSS();
+		int scope = viewCSS instanceof ViewCSSImpl ? ((ViewCSSImpl) viewCSS).getPseudoClassChangeScope(pseudoClass)
+				: ViewCSSImpl.RESTYLE_SUBTREE;
+		scheduleRestyle(widget, scope);
+	}
+
+	/**
+	 * Schedules the restyling of the given widget. All widgets scheduled until
+	 * the event loop runs next are restyled in one pass, widgets whose
+	 * ancestor is restyled together with its descendants are skipped.
+	 *
+	 * @param widget
+	 *            the widget to restyle
+	 * @param scope
+	 *            one of the <code>RESTYLE_*</code> constants of
+	 *            {@link ViewCSSImpl}
+	 */
+	public void scheduleRestyle(Widget widget, int scope) {
+		if (scope == ViewCSSImpl.RESTYLE_NONE || widget.isDisposed()) {
+			return;
+		}
+		if (scope == ViewCSSImpl.RESTYLE_PARENT_SUBTREE) {
+			Widget parent = getParentWidget(widget);
+			if (parent != null) {
+				widget = parent;
+			}
+			scope = ViewCSSImpl.RESTYLE_SUBTREE;
+		}
+		if (pendingRestyles.isEmpty()) {
+			display.asyncExec(this::applyPendingStyles);
+		}
+		pendingRestyles.merge(widget, scope, Math::max);
+	}
+
+	private void applyPendingStyles() {
+		Map<Widget, Integer> restyles = new LinkedHashMap<>(pendingRestyles);
+		pendingRestyles.clear();
+		for (Map.Entry<Widget, Integer> restyle : restyles.entrySet()) {
+			Widget widget = restyle.getKey();
+			if (!widget.isDisposed() && !isRestyledWithAncestor(widget, restyles)) {
+				applyStyles(widget, restyle.getValue().intValue() == ViewCSSImpl.RESTYLE_SUBTREE);
+			}
+		}
+	}
+
+	private boolean isRestyledWithAncestor(Widget widget, Map<Widget, Integer> restyles) {
+		for (Widget ancestor = getParentWidget(widget); ancestor != null; ancestor = getParentWidget(ancestor)) {
+			Integer scope = restyles.get(ancestor);
+			if (scope != null && scope.intValue() == ViewCSSImpl.RESTYLE_SUBTREE && !ancestor.isDisposed()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private Widget getParentWidget(Widget widget) {
+		Element element = getElement(widget);
+		Node parent = element != null ? element.getParentNode() : null;
+		if (parent instanceof CSSStylableElement) {
+			Object nativeWidget = ((CSSStylableElement) parent).getNativeWidget();
+			if (nativeWidget instanceof Widget) {
+				return (Widget) nativeWidget;
+			}
+		}
+		return null;
+	}
 }
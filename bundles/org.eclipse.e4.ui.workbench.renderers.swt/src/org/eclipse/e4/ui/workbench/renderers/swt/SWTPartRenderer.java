@@ -80,8 +80,15 @@ public abstract class SWTPartRenderer extends AbstractPartRenderer {
 		else
 			element.getTags().add(CSSConstants.CSS_ACTIVE_CLASS);
 
-		if (element.getWidget() != null)
-			setCSSInfo(element, element.getWidget());
+		Object widget = element.getWidget();
+		if (widget instanceof Widget && !((Widget) widget).isDisposed()
+				&& WidgetElement.getEngine((Widget) widget) != null) {
+			// only restyle what the changed classes affect, batched with
+			// the other activation changes
+			WidgetElement.updateCSSClass((Widget) widget, getCSSClassName(element));
+		} else if (widget != null) {
+			setCSSInfo(element, widget);
+		}
 	}
 
 	public void setCSSInfo(MUIElement me, Object widget) {
@@ -108,19 +115,22 @@ public abstract class SWTPartRenderer extends AbstractPartRenderer {
 		if (engine == null)
 			return;
 
+		// this will trigger style()
+		String id = me.getElementId();
+		if (id != null) {
+			id = id.replace('.', '-');
+		}
+		engine.setClassnameAndId(widget, getCSSClassName(me), id);
+	}
+
+	private String getCSSClassName(MUIElement me) {
 		// Put all the tags into the class string
 		EObject eObj = (EObject) me;
 		StringBuilder builder = new StringBuilder('M' + eObj.eClass().getName());
 		for (String tag : me.getTags()) {
 			builder.append(' ').append(tag);
 		}
-
-		// this will trigger style()
-		String id = me.getElementId();
-		if (id != null) {
-			id = id.replace('.', '-');
-		}
-		engine.setClassnameAndId(widget, builder.toString(), id);
+		return builder.toString();
 	}
 
 	protected void reapplyStyles(Widget widget) {
@@ -17,6 +17,7 @@
 package org.eclipse.jface.text.source.projection;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
 
@@ -226,6 +227,7 @@ public class ProjectionViewer extends SourceViewer implements ITextViewerExtensi
 
 		final static int REDRAW_COSTS= 15;
 		final static int INVALIDATION_COSTS= 10;
+		final static int REPLACEMENT_COSTS= 50;
 
 		List<ProjectionCommand> fList= new ArrayList<>(15);
 		int fExpectedExecutionCosts= -1;
@@ -256,6 +258,18 @@ public class ProjectionViewer extends SourceViewer implements ITextViewerExtensi
 			return fExpectedExecutionCosts > INVALIDATION_COSTS;
 		}
 
+		boolean passedReplacementCostsThreshold() {
+			// only count the fragments actually added or removed, commands for annotations whose
+			// collapsed state is unchanged cost nothing
+			int costs= 0;
+			for (ProjectionCommand command : fList) {
+				costs+= command.computeExpectedCosts();
+				if (costs > REPLACEMENT_COSTS)
+					return true;
+			}
+			return false;
+		}
+
 		private void computeExpectedExecutionCosts() {
 			int max_costs= Math.max(REDRAW_COSTS, INVALIDATION_COSTS);
 			fExpectedExecutionCosts= fList.size();
@@ -660,6 +674,57 @@ public class ProjectionViewer extends SourceViewer implements ITextViewerExtensi
 		}
 	}
 
+	/**
+	 * Replaces the master ranges of the given projection document with the ranges which are not
+	 * hidden by the collapsed projection annotations. While the modification is processed, the
+	 * viewer no longer handles projection changes, as it is causing them.
+	 *
+	 * @param projection the projection document
+	 * @throws BadLocationException in case a collapsed range is invalid
+	 *
+	 * @see ProjectionDocument#replaceMasterDocumentRanges(IRegion[])
+	 */
+	private void replaceMasterDocumentRanges(ProjectionDocument projection) throws BadLocationException {
+		IDocument master= projection.getMasterDocument();
+		List<IRegion> collapsed= new ArrayList<>();
+		Iterator<Annotation> e= fProjectionAnnotationModel.getAnnotationIterator();
+		while (e.hasNext()) {
+			ProjectionAnnotation annotation= (ProjectionAnnotation) e.next();
+			if (annotation.isCollapsed()) {
+				Position position= fProjectionAnnotationModel.getPosition(annotation);
+				if (position != null) {
+					IRegion[] regions= computeCollapsedRegions(position);
+					if (regions != null) {
+						for (IRegion region : regions) {
+							// make sure the document range is strictly line based
+							int end= region.getOffset() + region.getLength();
+							int offset= toLineStart(master, region.getOffset(), false);
+							collapsed.add(new Region(offset, toLineStart(master, end, true) - offset));
+						}
+					}
+				}
+			}
+		}
+		collapsed.sort(Comparator.comparingInt(IRegion::getOffset));
+
+		List<IRegion> ranges= new ArrayList<>(collapsed.size() + 1);
+		int offset= 0;
+		for (IRegion region : collapsed) {
+			if (region.getOffset() > offset)
+				ranges.add(new Region(offset, region.getOffset() - offset));
+			offset= Math.max(offset, region.getOffset() + region.getLength());
+		}
+		if (offset < master.getLength())
+			ranges.add(new Region(offset, master.getLength() - offset));
+
+		try {
+			fHandleProjectionChanges= false;
+			projection.replaceMasterDocumentRanges(ranges.toArray(new IRegion[ranges.size()]));
+		} finally {
+			fHandleProjectionChanges= true;
+		}
+	}
+
 	/**
 	 * Returns the first line offset &lt;= <code>offset</code>. If <code>testLastLine</code>
 	 * is <code>true</code> and the offset is on last line then <code>offset</code> is returned.
@@ -968,7 +1033,10 @@ public class ProjectionViewer extends SourceViewer implements ITextViewerExtensi
 			ProjectionCommandQueue commandQueue= fCommandQueue;
 			fCommandQueue= null;
 
-			if (commandQueue.passedRedrawCostsThreshold()) {
+			if (commandQueue.passedReplacementCostsThreshold()) {
+				commandQueue.clear();
+				replaceProjection(topIndex);
+			} else if (commandQueue.passedRedrawCostsThreshold()) {
 				setRedraw(false);
 				try {
 					executeProjectionCommands(commandQueue, false);
@@ -990,6 +1058,24 @@ public class ProjectionViewer extends SourceViewer implements ITextViewerExtensi
 		}
 	}
 
+	/**
+	 * Replaces the master ranges of the visible projection document with the ranges which are not
+	 * hidden by the collapsed projection annotations, with a single document change.
+	 *
+	 * @param topIndex the top index to restore, or <code>-1</code>
+	 * @throws BadLocationException in case a collapsed range is invalid
+	 */
+	private void replaceProjection(int topIndex) throws BadLocationException {
+		setRedraw(false);
+		try {
+			replaceMasterDocumentRanges((ProjectionDocument) getVisibleDocument());
+		} catch (IllegalArgumentException x) {
+			reinitializeProjection();
+		} finally {
+			setRedraw(true, topIndex);
+		}
+	}
+
 	private void executeProjectionCommands(ProjectionCommandQueue commandQueue, boolean fireRedraw) throws BadLocationException {
 
 		ProjectionCommand command;
@@ -1195,27 +1281,9 @@ public class ProjectionViewer extends SourceViewer implements ITextViewerExtensi
 				IDocument slave= manager.createSlaveDocument(master);
 				if (slave instanceof ProjectionDocument) {
 					projection= (ProjectionDocument) slave;
-					addMasterDocumentRange(projection, 0, master.getLength());
-				}
-			}
-		}
-
-		if (projection != null) {
-			Iterator<Annotation> e= fProjectionAnnotationModel.getAnnotationIterator();
-			while (e.hasNext()) {
-				ProjectionAnnotation annotation= (ProjectionAnnotation) e.next();
-				if (annotation.isCollapsed()) {
-					Position position= fProjectionAnnotationModel.getPosition(annotation);
-					if (position != null) {
-						IRegion[] regions= computeCollapsedRegions(position);
-						if (regions != null)
-							for (IRegion region : regions) {
-								removeMasterDocumentRange(projection, region.getOffset(), region.getLength());
-						}
-					}
+					replaceMasterDocumentRanges(projection);
 				}
 			}
-
 		}
 
 		replaceVisibleDocument(projection);
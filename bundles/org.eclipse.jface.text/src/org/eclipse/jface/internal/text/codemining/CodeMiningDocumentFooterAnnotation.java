@@ -97,7 +97,7 @@ public class CodeMiningDocumentFooterAnnotation extends LineFooterAnnotation imp
 				fResolvedMinings[i]= mining;
 			}
 		}
-		disposeMinings(fMinings);
+		disposeMinings(fMinings, minings);
 		fMonitor= monitor;
 		fMinings.addAll(minings);
 	}
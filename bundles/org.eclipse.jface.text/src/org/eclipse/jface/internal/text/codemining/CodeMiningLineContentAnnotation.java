@@ -118,7 +118,7 @@ public class CodeMiningLineContentAnnotation extends LineContentAnnotation imple
 				fResolvedMinings[i]= mining;
 			}
 		}
-		disposeMinings();
+		CodeMiningLineHeaderAnnotation.disposeMinings(fMinings, minings);
 		fMonitor= monitor;
 		fMinings.addAll(minings);
 	}
@@ -182,7 +182,7 @@ public class CodeMiningLineHeaderAnnotation extends LineHeaderAnnotation impleme
 				fResolvedMinings[i]= mining;
 			}
 		}
-		disposeMinings(fMinings);
+		disposeMinings(fMinings, minings);
 		fMonitor= monitor;
 		fMinings.addAll(minings);
 	}
@@ -201,6 +201,18 @@ public class CodeMiningLineHeaderAnnotation extends LineHeaderAnnotation impleme
 		minings.clear();
 	}
 
+	/**
+	 * Disposes the given minings which are not in the list of kept minings and clears the given
+	 * minings.
+	 *
+	 * @param minings the minings to dispose
+	 * @param kept the minings which must not be disposed
+	 */
+	static void disposeMinings(List<ICodeMining> minings, List<ICodeMining> kept) {
+		minings.stream().filter(mining -> !kept.contains(mining)).forEach(ICodeMining::dispose);
+		minings.clear();
+	}
+
 	@Override
 	public void draw(GC gc, StyledText textWidget, int offset, int length, Color color, int x, int y) {
 		int singleLineHeight= super.getHeight();
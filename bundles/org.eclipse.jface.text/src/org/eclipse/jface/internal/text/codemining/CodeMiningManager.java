@@ -13,8 +13,10 @@
  */
 package org.eclipse.jface.internal.text.codemining;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -29,6 +31,7 @@ import java.util.stream.Collectors;
 
 import org.osgi.framework.Bundle;
 
+import org.eclipse.swt.custom.StyledText;
 import org.eclipse.swt.events.MouseEvent;
 import org.eclipse.swt.graphics.Rectangle;
 
@@ -38,13 +41,18 @@ import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.ITextViewer;
+import org.eclipse.jface.text.IViewportListener;
 import org.eclipse.jface.text.Position;
+import org.eclipse.jface.text.Region;
 import org.eclipse.jface.text.codemining.DocumentFooterCodeMining;
 import org.eclipse.jface.text.codemining.ICodeMining;
 import org.eclipse.jface.text.codemining.ICodeMiningProvider;
+import org.eclipse.jface.text.codemining.ICodeMiningProviderExtension;
 import org.eclipse.jface.text.codemining.LineContentCodeMining;
 import org.eclipse.jface.text.codemining.LineHeaderCodeMining;
 import org.eclipse.jface.text.source.ISourceViewer;
@@ -53,6 +61,11 @@ import org.eclipse.jface.text.source.inlined.InlinedAnnotationSupport;
 
 /**
  * Code Mining manager implementation.
+ * <p>
+ * The minings are requested in the thread calling {@link #run()}, and rendered in the UI thread,
+ * which is the only thread accessing the annotations of the last rendering. Providers implementing
+ * {@link ICodeMiningProviderExtension} are only asked for the minings around the visible lines.
+ * </p>
  *
  * @since 3.13
  */
@@ -76,7 +89,46 @@ public class CodeMiningManager implements Runnable {
 	/**
 	 * The current progress monitor.
 	 */
-	private IProgressMonitor fMonitor;
+	private volatile IProgressMonitor fMonitor;
+
+	/**
+	 * The code mining annotations of the last rendering with their minings. Only accessed in the
+	 * UI thread.
+	 */
+	private Map<AbstractInlinedAnnotation, List<ICodeMining>> fMinings= Collections.emptyMap();
+
+	/**
+	 * The labels of the minings of the visible annotations of the last rendering. Only accessed in
+	 * the UI thread.
+	 */
+	private Map<AbstractInlinedAnnotation, List<String>> fLabels= Collections.emptyMap();
+
+	/**
+	 * The range of the document shown by the viewer, <code>null</code> if unknown. Updated in the
+	 * UI thread.
+	 */
+	private volatile IRegion fVisibleRange;
+
+	/**
+	 * The range for which the minings were last requested from the providers implementing
+	 * {@link ICodeMiningProviderExtension}, <code>null</code> if none.
+	 */
+	private volatile IRegion fRequestedRange;
+
+	/**
+	 * Requests the minings of the lines scrolled into view outside the requested range, unless the
+	 * manager has been uninstalled.
+	 */
+	private final Job fViewportJob= Job.createSystem("Code Mining", monitor -> { //$NON-NLS-1$
+		if (fRequestedRange != null) {
+			run();
+		}
+	});
+
+	/**
+	 * The listener updating the visible range.
+	 */
+	private final IViewportListener fViewportListener= verticalOffset -> viewportChanged();
 
 	/**
 	 * Constructor of codemining manager with the given arguments.
@@ -93,6 +145,8 @@ public class CodeMiningManager implements Runnable {
 		fViewer= viewer;
 		fInlinedAnnotationSupport= inlinedAnnotationSupport;
 		setCodeMiningProviders(codeMiningProviders);
+		fVisibleRange= computeVisibleRange(viewer);
+		viewer.addViewportListener(fViewportListener);
 	}
 
 	/**
@@ -112,10 +166,15 @@ public class CodeMiningManager implements Runnable {
 	 * Uninstalls this codemining manager.
 	 */
 	public void uninstall() {
+		fViewer.removeViewportListener(fViewportListener);
+		fViewportJob.cancel();
 		cancel();
 		if (fInlinedAnnotationSupport != null) {
 			fInlinedAnnotationSupport.updateAnnotations(Collections.emptySet());
 		}
+		fMinings= Collections.emptyMap();
+		fLabels= Collections.emptyMap();
+		fRequestedRange= null;
 	}
 
 	/**
@@ -138,18 +197,88 @@ public class CodeMiningManager implements Runnable {
 	 * Update the code minings.
 	 */
 	private void updateCodeMinings() {
+		IDocument document= fViewer.getDocument();
+		if (document == null) {
+			return;
+		}
 		// Refresh the code minings by using the new progress monitor.
-		fMonitor= new CancellationExceptionMonitor();
-		IProgressMonitor monitor= fMonitor;
+		IProgressMonitor monitor= new CancellationExceptionMonitor();
+		fMonitor= monitor;
+		List<ICodeMiningProvider> providers= fCodeMiningProviders;
+		IRegion range= getRequestedRange(document, fVisibleRange);
+		fRequestedRange= range;
 		// Collect the code minings for the viewer
-		getCodeMinings(fViewer, fCodeMiningProviders, monitor).thenAccept(symbols -> {
+		getCodeMinings(fViewer, providers, range, monitor).thenAcceptAsync(symbols -> {
 			// check if request was canceled.
 			monitor.isCanceled();
-			// then group code minings by lines position
-			Map<Position, List<ICodeMining>> groups= groupByLines(symbols, fCodeMiningProviders);
+			// then group code minings by lines position, together with the minings kept from the last rendering
+			Map<Position, List<ICodeMining>> groups= groupByLines(symbols, providers);
+			addKeptCodeMinings(groups, providers, range);
 			// resolve and render code minings
 			renderCodeMinings(groups, fViewer, monitor);
-		});
+		}, this::asyncExec);
+	}
+
+	/**
+	 * Runs the given runnable asynchronously in the UI thread, unless the viewer is disposed.
+	 *
+	 * @param runnable the runnable
+	 */
+	private void asyncExec(Runnable runnable) {
+		StyledText text= fViewer.getTextWidget();
+		if (text != null && !text.isDisposed()) {
+			text.getDisplay().asyncExec(() -> {
+				if (!text.isDisposed()) {
+					runnable.run();
+				}
+			});
+		}
+	}
+
+	/**
+	 * Returns the range to request the minings for from the providers implementing
+	 * {@link ICodeMiningProviderExtension}: the visible range extended by its length above and
+	 * below.
+	 *
+	 * @param document     the document of the viewer
+	 * @param visibleRange the visible range, or <code>null</code> if unknown
+	 * @return the range to request the minings for
+	 */
+	private static IRegion getRequestedRange(IDocument document, IRegion visibleRange) {
+		int length= document.getLength();
+		if (visibleRange == null) {
+			return new Region(0, length);
+		}
+		int visibleLength= visibleRange.getLength();
+		int start= Math.max(0, Math.min(length, visibleRange.getOffset() - visibleLength));
+		int end= Math.max(start, Math.min(length, visibleRange.getOffset() + 2 * visibleLength));
+		return new Region(start, end - start);
+	}
+
+	/**
+	 * Requests the minings of the visible lines if they are outside the range requested from the
+	 * providers implementing {@link ICodeMiningProviderExtension}. Called in the UI thread.
+	 */
+	private void viewportChanged() {
+		IRegion visibleRange= computeVisibleRange(fViewer);
+		fVisibleRange= visibleRange;
+		IRegion requestedRange= fRequestedRange;
+		if (visibleRange == null || requestedRange == null || contains(requestedRange, visibleRange)) {
+			return;
+		}
+		List<ICodeMiningProvider> providers= fCodeMiningProviders;
+		if (providers != null && providers.stream().anyMatch(ICodeMiningProviderExtension.class::isInstance)) {
+			fViewportJob.schedule(100);
+		}
+	}
+
+	private static boolean contains(IRegion region, IRegion other) {
+		return region.getOffset() <= other.getOffset()
+				&& other.getOffset() + other.getLength() <= region.getOffset() + region.getLength();
+	}
+
+	private static boolean isInRange(int offset, IRegion range) {
+		return range != null && offset >= range.getOffset() && offset <= range.getOffset() + range.getLength();
 	}
 
 	/**
@@ -182,16 +311,22 @@ public class CodeMiningManager implements Runnable {
 	 * Return the list of {@link CompletableFuture} which provides the list of {@link ICodeMining}
 	 * for the given <code>viewer</code> by using the given providers.
 	 *
+	 * The providers implementing {@link ICodeMiningProviderExtension} are asked for the minings of
+	 * the given range, the others for the minings of the whole document.
+	 *
 	 * @param viewer    the text viewer.
 	 * @param providers the CodeMining list providers.
+	 * @param range     the range to request the minings for.
 	 * @param monitor   the progress monitor.
 	 * @return the list of {@link CompletableFuture} which provides the list of {@link ICodeMining}
 	 *         for the given <code>viewer</code> by using the given providers.
 	 */
 	private static CompletableFuture<List<? extends ICodeMining>> getCodeMinings(ITextViewer viewer,
-			List<ICodeMiningProvider> providers, IProgressMonitor monitor) {
+			List<ICodeMiningProvider> providers, IRegion range, IProgressMonitor monitor) {
 		List<CompletableFuture<List<? extends ICodeMining>>> com= providers.stream()
-				.map(provider -> provider.provideCodeMinings(viewer, monitor))
+				.map(provider -> provider instanceof ICodeMiningProviderExtension extension
+						? extension.provideCodeMinings(viewer, range, monitor)
+						: provider.provideCodeMinings(viewer, monitor))
 				.filter(c -> c != null)
 				.map(future -> future.exceptionally(e -> {
 					logCodeMiningProviderException(e);
@@ -230,7 +365,43 @@ public class CodeMiningManager implements Runnable {
 	}
 
 	/**
-	 * Render the codemining grouped by line position.
+	 * Adds the minings of the last rendering which were not requested again to the given groups:
+	 * the minings of the providers implementing {@link ICodeMiningProviderExtension} outside the
+	 * requested range. They are grouped by the current position of their annotation. Called in the
+	 * UI thread.
+	 *
+	 * @param groups    code minings grouped by lines position
+	 * @param providers the providers the minings were requested from
+	 * @param range     the range requested from the providers implementing
+	 *                      {@link ICodeMiningProviderExtension}
+	 */
+	private void addKeptCodeMinings(Map<Position, List<ICodeMining>> groups, List<ICodeMiningProvider> providers,
+			IRegion range) {
+		fMinings.forEach((ann, minings) -> {
+			Position pos= ann.getPosition();
+			if (pos.isDeleted() || isInRange(pos.offset, range)) {
+				return;
+			}
+			List<ICodeMining> kept= minings.stream()
+					.filter(mining -> mining.getProvider() instanceof ICodeMiningProviderExtension
+							&& providers.contains(mining.getProvider()))
+					.collect(Collectors.toList());
+			if (!kept.isEmpty()) {
+				groups.merge(new Position(pos.offset, pos.length), kept, (a, b) -> {
+					List<ICodeMining> merged= new ArrayList<>(a);
+					merged.addAll(b);
+					merged.sort((m1, m2) -> Integer.compare(providers.indexOf(m1.getProvider()),
+							providers.indexOf(m2.getProvider())));
+					return merged;
+				});
+			}
+		});
+	}
+
+	/**
+	 * Render the codemining grouped by line position. The minings of the annotations in the visible
+	 * lines are resolved together before the annotations are updated, the other minings are resolved
+	 * when their annotations are drawn. Called in the UI thread.
 	 *
 	 * @param groups  code minings grouped by lines position
 	 * @param viewer  the viewer
@@ -246,8 +417,19 @@ public class CodeMiningManager implements Runnable {
 			// done.
 			return;
 		}
-		Set<ICodeMiningAnnotation> annotationsToRedraw= new HashSet<>();
-		Set<AbstractInlinedAnnotation> currentAnnotations= new HashSet<>();
+		// Index the existing annotations by their position
+		Map<Position, AbstractInlinedAnnotation> existingAnnotations= new HashMap<>();
+		for (AbstractInlinedAnnotation ann : fMinings.keySet()) {
+			Position pos= ann.getPosition();
+			if (!pos.isDeleted()) {
+				existingAnnotations.putIfAbsent(new Position(pos.offset, pos.length), ann);
+			}
+		}
+		IRegion visibleRange= computeVisibleRange(viewer);
+		fVisibleRange= visibleRange;
+		Map<AbstractInlinedAnnotation, List<ICodeMining>> annotations= new LinkedHashMap<>();
+		Set<AbstractInlinedAnnotation> visibleAnnotations= new HashSet<>();
+		List<CompletableFuture<Void>> resolvingMinings= new ArrayList<>();
 		// Loop for grouped code minings
 		groups.entrySet().stream().forEach(g -> {
 			// check if request was canceled.
@@ -258,7 +440,7 @@ public class CodeMiningManager implements Runnable {
 			ICodeMining first= minings.get(0);
 			boolean inLineHeader= !minings.isEmpty() ? (first instanceof LineHeaderCodeMining) : true;
 			// Try to find existing annotation
-			AbstractInlinedAnnotation ann= fInlinedAnnotationSupport.findExistingAnnotation(pos);
+			AbstractInlinedAnnotation ann= existingAnnotations.get(pos);
 			if (ann == null) {
 				// The annotation doesn't exists, create it.
 				boolean afterPosition= false;
@@ -283,18 +465,77 @@ public class CodeMiningManager implements Runnable {
 						ann= new CodeMiningLineContentAnnotation(pos, viewer, afterPosition, mouseHover, mouseOut, mouseMove);
 					}
 				}
-			} else if (ann instanceof ICodeMiningAnnotation && ((ICodeMiningAnnotation) ann).isInVisibleLines()) {
-				// annotation is in visible lines
-				annotationsToRedraw.add((ICodeMiningAnnotation) ann);
+			}
+			annotations.put(ann, minings);
+			if (isInRange(pos.offset, visibleRange)) {
+				// annotation is in visible lines, resolve its minings with the other visible ones
+				visibleAnnotations.add(ann);
+				for (ICodeMining mining : minings) {
+					CompletableFuture<Void> future= mining.isResolved() ? null : mining.resolve(viewer, monitor);
+					if (future != null) {
+						resolvingMinings.add(future.exceptionally(e -> {
+							logCodeMiningProviderException(e);
+							return null;
+						}));
+					}
+				}
+			}
+		});
+		CompletableFuture.allOf(resolvingMinings.toArray(new CompletableFuture[resolvingMinings.size()]))
+				.thenRunAsync(() -> updateAnnotations(annotations, visibleAnnotations, viewer, monitor), this::asyncExec);
+	}
+
+	/**
+	 * Returns the range of the document which is shown by the given viewer. Must be called in the
+	 * UI thread.
+	 *
+	 * @param viewer the viewer
+	 * @return the shown range of the document, or <code>null</code> if the viewer is disposed
+	 */
+	private static IRegion computeVisibleRange(ITextViewer viewer) {
+		StyledText text= viewer.getTextWidget();
+		if (text == null || text.isDisposed()) {
+			return null;
+		}
+		int start= viewer.getTopIndexStartOffset();
+		return new Region(start, Math.max(0, viewer.getBottomIndexEndOffset() - start));
+	}
+
+	/**
+	 * Updates the code mining annotations with their new minings. Of the annotations which already
+	 * existed, only the visible ones whose labels have changed are redrawn. Called in the UI thread.
+	 *
+	 * @param annotations        the annotations with their new minings
+	 * @param visibleAnnotations the annotations in the visible lines, their minings are resolved
+	 * @param viewer             the viewer
+	 * @param monitor            the progress monitor
+	 */
+	private void updateAnnotations(Map<AbstractInlinedAnnotation, List<ICodeMining>> annotations,
+			Set<AbstractInlinedAnnotation> visibleAnnotations, ISourceViewer viewer, IProgressMonitor monitor) {
+		// check if request was canceled.
+		monitor.isCanceled();
+		Map<AbstractInlinedAnnotation, List<String>> labels= new HashMap<>();
+		List<ICodeMiningAnnotation> annotationsToRedraw= new ArrayList<>();
+		annotations.forEach((ann, minings) -> {
+			if (visibleAnnotations.contains(ann)) {
+				List<String> newLabels= minings.stream().map(ICodeMining::getLabel).collect(Collectors.toList());
+				List<String> oldLabels= fLabels.get(ann);
+				if (fMinings.containsKey(ann) && (oldLabels == null || !oldLabels.equals(newLabels))) {
+					// the content of the existing annotation has changed
+					annotationsToRedraw.add((ICodeMiningAnnotation) ann);
+				}
+				labels.put(ann, newLabels);
 			}
 			((ICodeMiningAnnotation) ann).update(minings, monitor);
-			currentAnnotations.add(ann);
 		});
 		// check if request was canceled.
 		monitor.isCanceled();
+		Set<AbstractInlinedAnnotation> currentAnnotations= new HashSet<>(annotations.keySet());
 		fInlinedAnnotationSupport.updateAnnotations(currentAnnotations);
-		// redraw the existing codemining annotations since their content can change
-		annotationsToRedraw.stream().forEach(ICodeMiningAnnotation::redraw);
+		fMinings= annotations;
+		fLabels= labels;
+		// redraw the changed codemining annotations at once
+		annotationsToRedraw.forEach(ICodeMiningAnnotation::redraw);
 	}
 
 	/**
@@ -0,0 +1,51 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text.codemining;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+
+import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.ITextViewer;
+
+/**
+ * Extension interface for {@link ICodeMiningProvider}. Allows to compute only the code minings of
+ * a region of the document.
+ * <p>
+ * The viewer asks providers implementing this interface for the minings around the lines it
+ * shows, and asks again when lines outside the requested region are scrolled into view. Minings
+ * computed before for lines outside the requested region are kept. Providers not implementing
+ * this interface are asked for the minings of the whole document with
+ * {@link ICodeMiningProvider#provideCodeMinings(ITextViewer, IProgressMonitor)}.
+ * </p>
+ *
+ * @since 3.28
+ */
+public interface ICodeMiningProviderExtension {
+
+	/**
+	 * Compute the list of code minings {@link ICodeMining} whose position starts in the given
+	 * region. The same rules as for
+	 * {@link ICodeMiningProvider#provideCodeMinings(ITextViewer, IProgressMonitor)} apply.
+	 *
+	 * @param viewer the viewer in which the command was invoked.
+	 * @param region the region of the viewer's document to compute the code minings for.
+	 * @param monitor A progress monitor.
+	 * @return A future of the code minings in the given region. The lack of a result can be
+	 *         signaled by returning null, or an empty list.
+	 */
+	CompletableFuture<List<? extends ICodeMining>> provideCodeMinings(ITextViewer viewer, IRegion region, IProgressMonitor monitor);
+}
@@ -0,0 +1,54 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text.presentation;
+
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.ITypedRegion;
+import org.eclipse.jface.text.TextPresentation;
+
+
+/**
+ * Extension interface for {@link IPresentationRepairer}. Allows to repair the presentation
+ * based on a snapshot of the document's content rather than the document set with
+ * {@link IPresentationRepairer#setDocument(IDocument)}.
+ * <p>
+ * The snapshot contains the document's content from the start of the first damaged line to the
+ * end of the damage. The damage passed to the repairer and the style ranges it creates are
+ * relative to the snapshot.
+ * </p>
+ * <p>
+ * A {@link PresentationReconciler} in asynchronous mode only uses repairers implementing this
+ * interface. It calls {@link #createPresentation(TextPresentation, ITypedRegion, IDocument)} in a
+ * background job, never concurrently with itself or with
+ * {@link IPresentationRepairer#createPresentation(TextPresentation, ITypedRegion)}, while the damager registered for the same
+ * content type may be used in the UI thread at the same time.
+ * </p>
+ *
+ * @see PresentationReconciler#setAsynchronous(boolean)
+ * @since 3.28
+ */
+public interface IPresentationRepairerExtension {
+
+	/**
+	 * Fills the given presentation with the style ranges which when applied to the presentation
+	 * reconciler's text viewer repair the presentation damage described by the given region. The
+	 * given document must be used instead of the repairer's working document.
+	 *
+	 * @param presentation the text presentation to be filled by this repairer, relative to the
+	 *            given document
+	 * @param damage the damage to be repaired, relative to the given document
+	 * @param document the snapshot of the damaged content used to repair the damage
+	 */
+	void createPresentation(TextPresentation presentation, ITypedRegion damage, IDocument document);
+}
@@ -14,22 +14,35 @@
 
 package org.eclipse.jface.text.presentation;
 
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 
 import org.eclipse.swt.custom.StyleRange;
+import org.eclipse.swt.custom.StyledText;
+import org.eclipse.swt.widgets.Display;
 
 import org.eclipse.core.runtime.Assert;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.BadPositionCategoryException;
+import org.eclipse.jface.text.DefaultLineTracker;
 import org.eclipse.jface.text.DefaultPositionUpdater;
+import org.eclipse.jface.text.Document;
 import org.eclipse.jface.text.DocumentEvent;
 import org.eclipse.jface.text.DocumentPartitioningChangedEvent;
 import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.IDocumentExtension3;
 import org.eclipse.jface.text.IDocumentListener;
+import org.eclipse.jface.text.IDocumentPartitioner;
 import org.eclipse.jface.text.IDocumentPartitioningListener;
 import org.eclipse.jface.text.IDocumentPartitioningListenerExtension;
 import org.eclipse.jface.text.IDocumentPartitioningListenerExtension2;
@@ -40,11 +53,14 @@ import org.eclipse.jface.text.ITextListener;
 import org.eclipse.jface.text.ITextViewer;
 import org.eclipse.jface.text.ITextViewerExtension5;
 import org.eclipse.jface.text.ITypedRegion;
+import org.eclipse.jface.text.Position;
 import org.eclipse.jface.text.Region;
 import org.eclipse.jface.text.TextEvent;
 import org.eclipse.jface.text.TextPresentation;
 import org.eclipse.jface.text.TextUtilities;
 import org.eclipse.jface.text.TypedPosition;
+import org.eclipse.jface.text.TypedRegion;
+import org.eclipse.jface.text.rules.FastPartitioner;
 
 
 
@@ -56,6 +72,10 @@ import org.eclipse.jface.text.TypedPosition;
  * document change rather than just the portion overlapping with the viewer's
  * viewport.
  * <p>
+ * In asynchronous mode, see {@link #setAsynchronous(boolean)}, the presentation
+ * is computed in a background job instead and only applied in the UI thread.
+ * </p>
+ * <p>
  * Usually, clients instantiate this class and configure it before using it.
  * </p>
  */
@@ -64,6 +84,12 @@ public class PresentationReconciler implements IPresentationReconciler, IPresent
 	/** Prefix of the name of the position category for tracking damage regions. */
 	protected final static String TRACKED_PARTITION= "__reconciler_tracked_partition"; //$NON-NLS-1$
 
+	/**
+	 * The number of characters partitioned at once when continuing a pending partitioning.
+	 * @since 3.28
+	 */
+	private static final int PARTITIONING_CONTINUATION_LENGTH= 20000;
+
 
 	/**
 	 * Internal listener class.
@@ -82,6 +108,11 @@ public class PresentationReconciler implements IPresentationReconciler, IPresent
 
 		@Override
 		public void inputDocumentAboutToBeChanged(IDocument oldDocument, IDocument newDocument) {
+			// discard the presentations computed for the old input
+			++ fDocumentVersion;
+			stopPresentationJob();
+			fRepairAsynchronously= false;
+			fContinuedDocument= null;
 			if (oldDocument != null) {
 				try {
 
@@ -91,6 +122,7 @@ public class PresentationReconciler implements IPresentationReconciler, IPresent
 
 					oldDocument.removePositionUpdater(fPositionUpdater);
 					oldDocument.removePositionCategory(fPositionCategory);
+					fPendingDamage= null;
 
 				} catch (BadPositionCategoryException x) {
 					// should not happened for former input documents;
@@ -118,7 +150,9 @@ public class PresentationReconciler implements IPresentationReconciler, IPresent
 
 				setDocumentToDamagers(newDocument);
 				setDocumentToRepairers(newDocument);
+				fRepairAsynchronously= canRepairAsynchronously(newDocument);
 				processDamage(new Region(0, newDocument.getLength()), newDocument);
+				schedulePartitioningContinuation(newDocument);
 			}
 		}
 
@@ -151,6 +185,7 @@ public class PresentationReconciler implements IPresentationReconciler, IPresent
 		public void documentAboutToBeChanged(DocumentEvent e) {
 
 			fDocumentChanging= true;
+			++ fDocumentVersion;
 			if (fCachedRedrawState) {
 				try {
 					int offset= e.getOffset() + e.getLength();
@@ -211,8 +246,10 @@ public class PresentationReconciler implements IPresentationReconciler, IPresent
 		 		damage= getDamage(de, true);
 		 	}
 
-			if (damage != null && document != null)
+			if (document != null && (damage != null || fPendingDamage != null))
 				processDamage(damage, document);
+			if (document != null)
+				schedulePartitioningContinuation(document);
 
 			fDocumentPartitioningChanged= false;
 			fChangedDocumentPartitions= null;
@@ -265,6 +302,41 @@ public class PresentationReconciler implements IPresentationReconciler, IPresent
 	 * @since 3.0
 	 */
 	private String fPartitioning;
+	/**
+	 * Tells whether presentations are computed in a background job if possible.
+	 * @since 3.28
+	 */
+	private boolean fAsynchronous= false;
+	/**
+	 * Tells whether the presentation of the current input document is computed in the background job.
+	 * @since 3.28
+	 */
+	private boolean fRepairAsynchronously= false;
+	/**
+	 * The background job computing the presentations, <code>null</code> if not yet created.
+	 * @since 3.28
+	 */
+	private PresentationJob fPresentationJob;
+	/**
+	 * The version of the input document, changed with each document change and input change.
+	 * @since 3.28
+	 */
+	private int fDocumentVersion= 0;
+	/**
+	 * The number of presentation requests passed to the background job.
+	 * @since 3.28
+	 */
+	private int fRequestCount= 0;
+	/**
+	 * The damage which has not yet been repaired by the background job, <code>null</code> if none.
+	 * @since 3.28
+	 */
+	private Position fPendingDamage;
+	/**
+	 * The document whose pending partitioning is continued, <code>null</code> if none.
+	 * @since 3.28
+	 */
+	private IDocument fContinuedDocument;
 
 	/**
 	 * Creates a new presentation reconciler. There are no damagers or repairers
@@ -289,6 +361,43 @@ public class PresentationReconciler implements IPresentationReconciler, IPresent
 		fPartitioning= partitioning;
 	}
 
+	/**
+	 * Sets whether the presentation is computed in a background job. In asynchronous mode the
+	 * damage is still determined in the UI thread, but the repairers are run in a background job on
+	 * a snapshot of the damaged lines. The resulting presentation is applied in the UI thread, starting
+	 * with the damage inside the viewer's visible lines. Presentations which are outdated by a
+	 * document change before they are applied are discarded and recomputed.
+	 * <p>
+	 * The asynchronous mode is only used if all registered repairers implement
+	 * {@link IPresentationRepairerExtension}, without overriding
+	 * {@link IPresentationRepairer#createPresentation(TextPresentation, ITypedRegion)} in a subclass
+	 * of the class implementing the extension, and the document uses the default line delimiters.
+	 * {@link #createPresentation(IRegion, IDocument)} is not called in asynchronous mode. Damagers
+	 * and repairers must be registered before the reconciler is installed.
+	 * </p>
+	 * <p>
+	 * By default the presentation is computed synchronously. Switching to asynchronous mode takes
+	 * effect with the next input document, switching back takes effect immediately: the background
+	 * job is stopped and the damage it has not yet repaired is repaired synchronously.
+	 * </p>
+	 *
+	 * @param asynchronous <code>true</code> to compute the presentation in a background job
+	 * @since 3.28
+	 */
+	public void setAsynchronous(boolean asynchronous) {
+		fAsynchronous= asynchronous;
+		if (!asynchronous && fRepairAsynchronously) {
+			stopPresentationJob();
+			fRepairAsynchronously= false;
+			IDocument document= fViewer.getDocument();
+			if (document != null) {
+				IRegion damage= addPendingDamage(null, document);
+				removePendingDamage(document);
+				processDamage(damage, document);
+			}
+		}
+	}
+
 	/*
 	 * @see org.eclipse.jface.text.presentation.IPresentationReconcilerExtension#geDocumenttPartitioning()
 	 * @since 3.0
@@ -358,6 +467,8 @@ public class PresentationReconciler implements IPresentationReconciler, IPresent
 
 		// Ensure we uninstall all listeners
 		fInternalListener.inputDocumentAboutToBeChanged(fViewer.getDocument(), null);
+
+		fPresentationJob= null;
 	}
 
 	@Override
@@ -545,6 +656,14 @@ public class PresentationReconciler implements IPresentationReconciler, IPresent
 	 * @param document the document whose presentation must be repaired
 	 */
 	private void processDamage(IRegion damage, IDocument document) {
+		if (fRepairAsynchronously) {
+			damage= addPendingDamage(damage, document);
+			if (damage == null || schedulePresentation(damage, document))
+				return;
+			removePendingDamage(document);
+			// the repairers must not be used by the job and this thread at the same time
+			stopPresentationJob();
+		}
 		if (damage != null && damage.getLength() > 0) {
 			TextPresentation p= createPresentation(damage, document);
 			if (p != null)
@@ -562,6 +681,387 @@ public class PresentationReconciler implements IPresentationReconciler, IPresent
 		fViewer.changeTextPresentation(presentation, false);
 	}
 
+	/**
+	 * Tells whether the presentation of the given document can be computed in the background job.
+	 *
+	 * @param document the input document
+	 * @return <code>true</code> if the presentation can be computed asynchronously
+	 * @since 3.28
+	 */
+	private boolean canRepairAsynchronously(IDocument document) {
+		if (!fAsynchronous || fRepairers == null || fRepairers.isEmpty())
+			return false;
+		for (IPresentationRepairer repairer : fRepairers.values()) {
+			if (!canRepairSnapshots(repairer))
+				return false;
+		}
+		// the snapshot only supports the default line delimiters
+		return Arrays.equals(document.getLegalLineDelimiters(), DefaultLineTracker.DELIMITERS);
+	}
+
+	/**
+	 * Tells whether the given repairer can repair snapshots. This is not the case if a subclass
+	 * overrides {@link IPresentationRepairer#createPresentation(TextPresentation, ITypedRegion)}
+	 * but inherits {@link IPresentationRepairerExtension#createPresentation(TextPresentation,
+	 * ITypedRegion, IDocument)}, which would bypass the subclass.
+	 *
+	 * @param repairer the repairer
+	 * @return <code>true</code> if the repairer can be used by the background job
+	 * @since 3.28
+	 */
+	private static boolean canRepairSnapshots(IPresentationRepairer repairer) {
+		if (!(repairer instanceof IPresentationRepairerExtension))
+			return false;
+		try {
+			Class<?> type= repairer.getClass();
+			Method createPresentation= type.getMethod("createPresentation", TextPresentation.class, ITypedRegion.class); //$NON-NLS-1$
+			Method createSnapshotPresentation= type.getMethod("createPresentation", TextPresentation.class, ITypedRegion.class, IDocument.class); //$NON-NLS-1$
+			return createPresentation.getDeclaringClass().isAssignableFrom(createSnapshotPresentation.getDeclaringClass());
+		} catch (NoSuchMethodException | SecurityException x) {
+			return false;
+		}
+	}
+
+	/**
+	 * Adds the given damage to the damage which has not yet been repaired by the background job.
+	 *
+	 * @param damage the damage, may be <code>null</code>
+	 * @param document the document whose presentation must be repaired
+	 * @return the complete damage to be repaired or <code>null</code> if none
+	 * @since 3.28
+	 */
+	private IRegion addPendingDamage(IRegion damage, IDocument document) {
+		if (fPendingDamage != null && !fPendingDamage.isDeleted() && fPendingDamage.getLength() > 0) {
+			if (damage == null || damage.getLength() == 0) {
+				damage= new Region(fPendingDamage.getOffset(), fPendingDamage.getLength());
+			} else {
+				int start= Math.min(damage.getOffset(), fPendingDamage.getOffset());
+				int end= Math.max(damage.getOffset() + damage.getLength(), fPendingDamage.getOffset() + fPendingDamage.getLength());
+				damage= new Region(start, end - start);
+			}
+		}
+		removePendingDamage(document);
+		if (damage == null || damage.getLength() == 0)
+			return null;
+
+		try {
+			fPendingDamage= new Position(damage.getOffset(), damage.getLength());
+			document.addPosition(fPositionCategory, fPendingDamage);
+		} catch (BadLocationException x) {
+			// can not happen
+		} catch (BadPositionCategoryException x) {
+			// should not happen on input documents
+		}
+		return damage;
+	}
+
+	/**
+	 * Forgets the damage which has not yet been repaired by the background job.
+	 *
+	 * @param document the document whose presentation must be repaired
+	 * @since 3.28
+	 */
+	private void removePendingDamage(IDocument document) {
+		if (fPendingDamage != null) {
+			try {
+				document.removePosition(fPositionCategory, fPendingDamage);
+			} catch (BadPositionCategoryException x) {
+				// should not happen on input documents
+			}
+			fPendingDamage= null;
+		}
+	}
+
+	/**
+	 * Passes the given damage to the background job. The damage inside the viewer's visible lines
+	 * is repaired first. The job works on a snapshot of the damaged lines, the damage and its
+	 * partitioning are passed relative to the snapshot.
+	 *
+	 * @param damage the damage to be repaired
+	 * @param document the document whose presentation must be repaired
+	 * @return <code>true</code> if the damage is repaired by the background job,
+	 *         <code>false</code> if it must be repaired synchronously
+	 * @since 3.28
+	 */
+	private boolean schedulePresentation(IRegion damage, IDocument document) {
+		StyledText textWidget= fViewer.getTextWidget();
+		if (textWidget == null || textWidget.isDisposed())
+			return false;
+
+		int start= damage.getOffset();
+		int end= start + damage.getLength();
+		int visibleStart= Math.max(start, Math.min(end, fViewer.getTopIndexStartOffset()));
+		int visibleEnd= Math.max(visibleStart, Math.min(end, fViewer.getBottomIndexEndOffset()));
+
+		List<IRegion> damages= new ArrayList<>(3);
+		if (visibleEnd > visibleStart)
+			damages.add(new Region(visibleStart, visibleEnd - visibleStart));
+		if (end > visibleEnd)
+			damages.add(new Region(visibleEnd, end - visibleEnd));
+		if (visibleStart > start)
+			damages.add(new Region(start, visibleStart - start));
+
+		PresentationRequest request;
+		try {
+			// start the snapshot at a line start so that repairers compute the same columns
+			int offset= document.getLineOffset(document.getLineOfOffset(start));
+			request= new PresentationRequest(document, fDocumentVersion, ++ fRequestCount, textWidget.getDisplay(), offset, document.get(offset, end - offset), damages.size());
+			for (int i= 0; i < damages.size(); i++) {
+				IRegion region= damages.get(i);
+				ITypedRegion[] partitioning= TextUtilities.computePartitioning(document, getDocumentPartitioning(), region.getOffset(), region.getLength(), false);
+				IPresentationRepairerExtension[] repairers= new IPresentationRepairerExtension[partitioning.length];
+				for (int j= 0; j < partitioning.length; j++) {
+					ITypedRegion partition= partitioning[j];
+					repairers[j]= (IPresentationRepairerExtension) getRepairer(partition.getType());
+					partitioning[j]= new TypedRegion(partition.getOffset() - offset, partition.getLength(), partition.getType());
+				}
+				request.fDamages[i]= new Region(region.getOffset() - offset, region.getLength());
+				request.fPartitionings[i]= partitioning;
+				request.fRepairers[i]= repairers;
+			}
+		} catch (BadLocationException x) {
+			return false;
+		}
+
+		if (fPresentationJob == null)
+			fPresentationJob= new PresentationJob();
+		fPresentationJob.post(request);
+		return true;
+	}
+
+	/**
+	 * Stops the background job and waits until it no longer uses the repairers. The presentations
+	 * it has computed but not yet applied are discarded.
+	 *
+	 * @since 3.28
+	 */
+	private void stopPresentationJob() {
+		if (fPresentationJob != null) {
+			++ fRequestCount;
+			fPresentationJob.stop();
+		}
+	}
+
+	/**
+	 * Applies the given presentation computed by the background job unless the document has been
+	 * changed or a newer request has been passed to the job in the meantime. Must be called in the
+	 * UI thread.
+	 *
+	 * @param request the request for which the presentation has been computed
+	 * @param presentation the presentation
+	 * @param last <code>true</code> if this is the last presentation of the request
+	 * @since 3.28
+	 */
+	private void applyPresentation(PresentationRequest request, TextPresentation presentation, boolean last) {
+		if (request.fVersion != fDocumentVersion || request.fSequence != fRequestCount)
+			return;
+		if (fViewer == null || fViewer.getDocument() != request.fDocument)
+			return;
+		StyledText textWidget= fViewer.getTextWidget();
+		if (textWidget == null || textWidget.isDisposed())
+			return;
+
+		applyTextRegionCollection(presentation);
+		if (last)
+			removePendingDamage(request.fDocument);
+	}
+
+	/**
+	 * The damage to be repaired by the background job together with the partitioning and the
+	 * repairers computed in the UI thread.
+	 *
+	 * @since 3.28
+	 */
+	private static final class PresentationRequest {
+		/** The document whose presentation is repaired. */
+		final IDocument fDocument;
+		/** The version of the document when the request was created. */
+		final int fVersion;
+		/** The sequence number of the request. */
+		final int fSequence;
+		/** The display to apply the presentation in. */
+		final Display fDisplay;
+		/** The offset of the snapshot in the document. */
+		final int fOffset;
+		/** The content from the start of the first damaged line to the end of the damage. */
+		final String fContent;
+		/** The damaged regions relative to the snapshot, in the order in which they are repaired. */
+		final IRegion[] fDamages;
+		/** The partitioning of each damaged region relative to the snapshot. */
+		final ITypedRegion[][] fPartitionings;
+		/** The repairer of each partition. */
+		final IPresentationRepairerExtension[][] fRepairers;
+
+		PresentationRequest(IDocument document, int version, int sequence, Display display, int offset, String content, int regions) {
+			fDocument= document;
+			fVersion= version;
+			fSequence= sequence;
+			fDisplay= display;
+			fOffset= offset;
+			fContent= content;
+			fDamages= new IRegion[regions];
+			fPartitionings= new ITypedRegion[regions][];
+			fRepairers= new IPresentationRepairerExtension[regions][];
+		}
+	}
+
+	/**
+	 * Job computing the presentation for the latest request on a snapshot of the damaged lines.
+	 * Requests replaced by a newer one before they are processed are dropped.
+	 *
+	 * @since 3.28
+	 */
+	private class PresentationJob extends Job {
+
+		/** The request to be processed next, <code>null</code> if none. */
+		private PresentationRequest fRequest;
+
+		PresentationJob() {
+			super("Presentation Reconciler"); //$NON-NLS-1$
+			setSystem(true);
+			setPriority(Job.INTERACTIVE);
+		}
+
+		synchronized void post(PresentationRequest request) {
+			fRequest= request;
+			schedule();
+		}
+
+		/**
+		 * Drops the request to be processed next, cancels the job and waits for it to finish.
+		 */
+		void stop() {
+			synchronized (this) {
+				fRequest= null;
+			}
+			cancel();
+			try {
+				join();
+			} catch (InterruptedException x) {
+				Thread.currentThread().interrupt();
+			}
+		}
+
+		private synchronized PresentationRequest take() {
+			PresentationRequest request= fRequest;
+			fRequest= null;
+			return request;
+		}
+
+		private synchronized boolean hasNewerRequest() {
+			return fRequest != null;
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			PresentationRequest request;
+			while ((request= take()) != null) {
+				IDocument snapshot= new Document(request.fContent);
+				for (int i= 0; i < request.fDamages.length; i++) {
+					if (monitor.isCanceled())
+						return Status.CANCEL_STATUS;
+					if (hasNewerRequest())
+						break;
+
+					TextPresentation presentation= new TextPresentation(request.fDamages[i], 1000);
+					ITypedRegion[] partitioning= request.fPartitionings[i];
+					for (int j= 0; j < partitioning.length; j++) {
+						IPresentationRepairerExtension repairer= request.fRepairers[i][j];
+						if (repairer != null)
+							repairer.createPresentation(presentation, partitioning[j], snapshot);
+					}
+
+					PresentationRequest applied= request;
+					TextPresentation moved= move(presentation, request.fOffset);
+					boolean last= i == request.fDamages.length - 1;
+					Display display= request.fDisplay;
+					if (display.isDisposed())
+						return Status.OK_STATUS;
+					display.asyncExec(() -> applyPresentation(applied, moved, last));
+				}
+			}
+			return Status.OK_STATUS;
+		}
+
+		/**
+		 * Moves the given presentation computed on a snapshot to the snapshot's offset in the
+		 * document.
+		 *
+		 * @param presentation the presentation relative to the snapshot
+		 * @param offset the offset of the snapshot
+		 * @return the presentation relative to the document
+		 */
+		private TextPresentation move(TextPresentation presentation, int offset) {
+			if (offset == 0)
+				return presentation;
+			IRegion extent= presentation.getExtent();
+			TextPresentation moved= new TextPresentation(new Region(extent.getOffset() + offset, extent.getLength()), presentation.getDenumerableRanges());
+			StyleRange defaultRange= presentation.getDefaultStyleRange();
+			if (defaultRange != null) {
+				defaultRange.start+= offset;
+				moved.setDefaultStyleRange(defaultRange);
+			}
+			Iterator<StyleRange> e= presentation.getAllStyleRangeIterator();
+			while (e.hasNext()) {
+				StyleRange range= (StyleRange) e.next().clone();
+				range.start+= offset;
+				moved.addStyleRange(range);
+			}
+			return moved;
+		}
+	}
+
+	/**
+	 * Continues the pending partitioning of the given document in the UI thread once the events
+	 * posted so far have been processed, see {@link FastPartitioner#setRescanLimit(int)}. The
+	 * partitioning is continued in portions, the presentation of the partitions changed by each
+	 * portion is repaired.
+	 *
+	 * @param document the document whose partitioning may be pending
+	 * @since 3.28
+	 */
+	private void schedulePartitioningContinuation(IDocument document) {
+		if (fContinuedDocument == document || getPendingPartitioner(document) == null)
+			return;
+		StyledText textWidget= fViewer.getTextWidget();
+		if (textWidget == null || textWidget.isDisposed())
+			return;
+
+		fContinuedDocument= document;
+		textWidget.getDisplay().asyncExec(() -> {
+			if (fContinuedDocument != document)
+				return;
+			fContinuedDocument= null;
+			StyledText widget= fViewer.getTextWidget();
+			FastPartitioner partitioner= getPendingPartitioner(document);
+			if (widget == null || widget.isDisposed() || partitioner == null)
+				return;
+
+			IRegion changed= partitioner.continuePartitioning(PARTITIONING_CONTINUATION_LENGTH);
+			// the whole document is repaired when redraw is enabled again
+			if (changed != null && fInternalListener.fCachedRedrawState)
+				processDamage(changed, document);
+			schedulePartitioningContinuation(document);
+		});
+	}
+
+	/**
+	 * Returns the partitioner of the given document for this reconciler's partitioning if it is a
+	 * {@link FastPartitioner} whose partitioning is pending.
+	 *
+	 * @param document the document
+	 * @return the partitioner or <code>null</code> if the partitioning is not pending
+	 * @since 3.28
+	 */
+	private FastPartitioner getPendingPartitioner(IDocument document) {
+		if (document instanceof IDocumentExtension3) {
+			IDocumentPartitioner partitioner= ((IDocumentExtension3) document).getDocumentPartitioner(getDocumentPartitioning());
+			if (partitioner instanceof FastPartitioner && ((FastPartitioner) partitioner).isPartitioningPending())
+				return (FastPartitioner) partitioner;
+		}
+		return null;
+	}
+
 	/**
 	 * Returns the partition for the given offset in the given document.
 	 *
@@ -16,8 +16,16 @@ package org.eclipse.jface.text.reconciler;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
 
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -41,6 +49,11 @@ import org.eclipse.jface.text.TypedRegion;
  * <p>
  * Usually, clients instantiate this class and configure it before using it.
  * </p>
+ * <p>
+ * By default the partitions of a dirty region are reconciled one after another. With
+ * {@link #setMaxParallelism(int)} different reconciling strategies reconcile their partitions
+ * concurrently.
+ * </p>
  *
  * @see org.eclipse.jface.text.IDocumentListener
  * @see org.eclipse.jface.text.ITextInputListener
@@ -57,6 +70,19 @@ public class Reconciler extends AbstractReconciler implements IReconcilerExtensi
 	 */
 	private String fPartitioning;
 
+	/**
+	 * The maximal number of reconciling strategies which reconcile concurrently. Read by the
+	 * reconciler's thread.
+	 * @since 3.28
+	 */
+	private volatile int fMaxParallelism= 1;
+
+	/**
+	 * The executor running the reconciling strategies concurrently, created lazily.
+	 * @since 3.28
+	 */
+	private ThreadPoolExecutor fExecutor;
+
 	/**
 	 * Creates a new reconciler with the following configuration: it is
 	 * an incremental reconciler with a standard delay of 500 milliseconds. There
@@ -84,6 +110,60 @@ public class Reconciler extends AbstractReconciler implements IReconcilerExtensi
 		return fPartitioning;
 	}
 
+	/**
+	 * Sets the maximal number of reconciling strategies which reconcile a dirty region
+	 * concurrently. The default is <code>1</code>, i.e. all partitions are reconciled one after
+	 * another in the reconciler's thread.
+	 * <p>
+	 * With a higher value, the partitions of a dirty region are grouped by their reconciling
+	 * strategy and each strategy reconciles its partitions in order, while different strategies
+	 * run concurrently in the reconciler's thread and in a bounded pool of worker threads. A
+	 * strategy is never called concurrently with itself, but the strategies must not depend on
+	 * each other and must tolerate being called from a worker thread. In particular,
+	 * {@link #isRunningInReconcilerThread()} is <code>false</code> in the worker threads.
+	 * </p>
+	 * <p>
+	 * As in sequential mode, all partitions of a dirty region are handed to their strategies even
+	 * if the reconciler's progress monitor is canceled, since the dirty region has already been
+	 * removed from the queue. Strategies implementing {@link IReconcilingStrategyExtension} may
+	 * check the monitor themselves to shorten their work.
+	 * </p>
+	 *
+	 * @param maxParallelism the maximal number of concurrently reconciling strategies, at least
+	 *            <code>1</code>
+	 * @since 3.28
+	 */
+	public void setMaxParallelism(int maxParallelism) {
+		Assert.isLegal(maxParallelism >= 1);
+		fMaxParallelism= maxParallelism;
+		synchronized (this) {
+			if (fExecutor != null) {
+				if (maxParallelism == 1) {
+					fExecutor.shutdown();
+					fExecutor= null;
+				} else if (maxParallelism - 1 < fExecutor.getCorePoolSize()) {
+					fExecutor.setCorePoolSize(maxParallelism - 1);
+					fExecutor.setMaximumPoolSize(maxParallelism - 1);
+				} else {
+					fExecutor.setMaximumPoolSize(maxParallelism - 1);
+					fExecutor.setCorePoolSize(maxParallelism - 1);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the maximal number of reconciling strategies which reconcile a dirty region
+	 * concurrently.
+	 *
+	 * @return the maximal number of concurrently reconciling strategies
+	 * @see #setMaxParallelism(int)
+	 * @since 3.28
+	 */
+	public int getMaxParallelism() {
+		return fMaxParallelism;
+	}
+
 	/**
 	 * Registers a given reconciling strategy for a particular content type.
 	 * If there is already a strategy registered for this type, the new strategy
@@ -140,6 +220,22 @@ public class Reconciler extends AbstractReconciler implements IReconcilerExtensi
 
 		ITypedRegion[] regions= computePartitioning(region.getOffset(), region.getLength());
 
+		if (fMaxParallelism > 1) {
+			Map<IReconcilingStrategy, List<ITypedRegion>> partitions= new LinkedHashMap<>();
+			for (ITypedRegion r : regions) {
+				IReconcilingStrategy s= getReconcilingStrategy(r.getType());
+				if (s != null)
+					partitions.computeIfAbsent(s, k -> new ArrayList<>()).add(r);
+			}
+			processConcurrently(partitions, (s, r) -> {
+				if (dirtyRegion != null)
+					s.reconcile(dirtyRegion, r);
+				else
+					s.reconcile(r);
+			});
+			return;
+		}
+
 		for (ITypedRegion r : regions) {
 			IReconcilingStrategy s= getReconcilingStrategy(r.getType());
 			if (s == null)
@@ -190,6 +286,12 @@ public class Reconciler extends AbstractReconciler implements IReconcilerExtensi
 			}
 		}
 		super.uninstall();
+		synchronized (this) {
+			if (fExecutor != null) {
+				fExecutor.shutdown();
+				fExecutor= null;
+			}
+		}
 	}
 
 	@Override
@@ -211,6 +313,19 @@ public class Reconciler extends AbstractReconciler implements IReconcilerExtensi
 	@Override
 	protected void initialProcess() {
 		ITypedRegion[] regions= computePartitioning(0, getDocument().getLength());
+		if (fMaxParallelism > 1) {
+			Map<IReconcilingStrategy, List<ITypedRegion>> partitions= new LinkedHashMap<>();
+			for (ITypedRegion region : regions) {
+				IReconcilingStrategy s= getReconcilingStrategy(region.getType());
+				if (s instanceof IReconcilingStrategyExtension)
+					partitions.computeIfAbsent(s, k -> new ArrayList<>()).add(region);
+			}
+			// reconcile each strategy once for all its content types
+			partitions.replaceAll((s, r) -> r.subList(0, 1));
+			processConcurrently(partitions, (s, r) -> ((IReconcilingStrategyExtension) s).initialReconcile());
+			return;
+		}
+
 		List<String> contentTypes= new ArrayList<>(regions.length);
 		for (ITypedRegion region : regions) {
 			String contentType= region.getType();
@@ -243,4 +358,111 @@ public class Reconciler extends AbstractReconciler implements IReconcilerExtensi
 		}
 		return regions;
 	}
+
+	/**
+	 * Hands the given partitions to their reconciling strategies. Each strategy gets its
+	 * partitions in order, different strategies run concurrently. Returns when all strategies are
+	 * done. All partitions are reconciled, even if the progress monitor is canceled, so that no
+	 * part of the dequeued dirty region is lost.
+	 *
+	 * @param partitions the partitions of each reconciling strategy
+	 * @param action the action reconciling one partition with its strategy
+	 * @since 3.28
+	 */
+	private void processConcurrently(Map<IReconcilingStrategy, List<ITypedRegion>> partitions, BiConsumer<IReconcilingStrategy, ITypedRegion> action) {
+		List<Runnable> tasks= new ArrayList<>(partitions.size());
+		for (Map.Entry<IReconcilingStrategy, List<ITypedRegion>> entry : partitions.entrySet()) {
+			tasks.add(() -> {
+				for (ITypedRegion r : entry.getValue())
+					action.accept(entry.getKey(), r);
+			});
+		}
+		runConcurrently(tasks);
+	}
+
+	/**
+	 * Runs the given tasks concurrently in the reconciler's bounded pool of worker threads, so
+	 * that at most {@link #getMaxParallelism()} of them run at the same time. The last task runs
+	 * in the calling thread. If the maximal parallelism is <code>1</code> the tasks run one after
+	 * another in the calling thread.
+	 * <p>
+	 * This method returns when all tasks are done. Every task is run, even if the reconciler's
+	 * progress monitor is canceled. If a task fails, the first failure is rethrown after all tasks
+	 * are done.
+	 * </p>
+	 * <p>
+	 * Reconciling strategies which combine several independent strategies may use this method to
+	 * run them concurrently.
+	 * </p>
+	 *
+	 * @param tasks the tasks to run
+	 * @see #setMaxParallelism(int)
+	 * @since 3.28
+	 */
+	public void runConcurrently(List<? extends Runnable> tasks) {
+		if (fMaxParallelism == 1) {
+			for (Runnable task : tasks)
+				task.run();
+			return;
+		}
+
+		List<Future<?>> futures= new ArrayList<>(tasks.size());
+		Throwable failure= null;
+		try {
+			Iterator<? extends Runnable> e= tasks.iterator();
+			while (e.hasNext()) {
+				Runnable task= e.next();
+				if (e.hasNext())
+					futures.add(getExecutor().submit(task));
+				else
+					task.run();
+			}
+		} catch (RuntimeException | Error x) {
+			failure= x;
+		}
+
+		boolean interrupted= false;
+		for (Future<?> future : futures) {
+			while (true) {
+				try {
+					future.get();
+					break;
+				} catch (InterruptedException x) {
+					interrupted= true;
+				} catch (ExecutionException x) {
+					if (failure == null)
+						failure= x.getCause();
+					break;
+				}
+			}
+		}
+		if (interrupted)
+			Thread.currentThread().interrupt();
+
+		if (failure instanceof RuntimeException)
+			throw (RuntimeException) failure;
+		if (failure instanceof Error)
+			throw (Error) failure;
+	}
+
+	/**
+	 * Returns the executor which runs reconciling strategies concurrently to the reconciler's
+	 * thread. Its idle worker threads terminate after a while.
+	 *
+	 * @return the executor
+	 * @since 3.28
+	 */
+	private synchronized ExecutorService getExecutor() {
+		if (fExecutor == null) {
+			int size= Math.max(1, fMaxParallelism - 1);
+			fExecutor= new ThreadPoolExecutor(size, size, 10, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+				Thread thread= new Thread(r, getClass().getName() + " Worker"); //$NON-NLS-1$
+				thread.setDaemon(true);
+				thread.setPriority(Thread.MIN_PRIORITY);
+				return thread;
+			});
+			fExecutor.allowCoreThreadTimeOut(true);
+		}
+		return fExecutor;
+	}
 }
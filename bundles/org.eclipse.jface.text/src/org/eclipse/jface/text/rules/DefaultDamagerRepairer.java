@@ -29,6 +29,7 @@ import org.eclipse.jface.text.TextAttribute;
 import org.eclipse.jface.text.TextPresentation;
 import org.eclipse.jface.text.presentation.IPresentationDamager;
 import org.eclipse.jface.text.presentation.IPresentationRepairer;
+import org.eclipse.jface.text.presentation.IPresentationRepairerExtension;
 
 
 /**
@@ -41,7 +42,7 @@ import org.eclipse.jface.text.presentation.IPresentationRepairer;
  * @see ITokenScanner
  * @since 2.0
  */
-public class DefaultDamagerRepairer implements IPresentationDamager, IPresentationRepairer {
+public class DefaultDamagerRepairer implements IPresentationDamager, IPresentationRepairer, IPresentationRepairerExtension {
 
 
 	/** The document this object works on */
@@ -160,6 +161,21 @@ public class DefaultDamagerRepairer implements IPresentationDamager, IPresentati
 
 	@Override
 	public void createPresentation(TextPresentation presentation, ITypedRegion region) {
+		createPresentation(presentation, region, fDocument);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Subclasses which override {@link #createPresentation(TextPresentation, ITypedRegion)} but
+	 * not this method are not used by a {@link org.eclipse.jface.text.presentation.PresentationReconciler}
+	 * in asynchronous mode.
+	 * </p>
+	 *
+	 * @since 3.28
+	 */
+	@Override
+	public void createPresentation(TextPresentation presentation, ITypedRegion region, IDocument document) {
 
 		if (fScanner == null) {
 			// will be removed if deprecated constructor will be removed
@@ -173,7 +189,7 @@ public class DefaultDamagerRepairer implements IPresentationDamager, IPresentati
 		IToken lastToken= Token.UNDEFINED;
 		TextAttribute lastAttribute= getTokenTextAttribute(lastToken);
 
-		fScanner.setRange(fDocument, lastStart, region.getLength());
+		fScanner.setRange(document, lastStart, region.getLength());
 
 		while (true) {
 			IToken token= fScanner.nextToken();
@@ -14,16 +14,16 @@
  *******************************************************************************/
 package org.eclipse.jface.text.source;
 
+import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Set;
 
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.SWTException;
@@ -982,16 +982,13 @@ public class AnnotationPainter implements IPainter, PaintListener, IAnnotationMo
 
 	@Override
 	public void applyTextPresentation(TextPresentation tp) {
-		Set<Entry<Annotation, Decoration>> decorations;
-
 		synchronized (fHighlightedDecorationsMapLock) {
 			if (fHighlightedDecorationsMap == null || fHighlightedDecorationsMap.isEmpty())
 				return;
-
-			decorations= new HashSet<>(fHighlightedDecorationsMap.entrySet());
 		}
 
 		IRegion region= tp.getExtent();
+		Collection<Entry<Annotation, Decoration>> decorations= getDecorations(true, region.getOffset(), region.getLength());
 
 		if (DEBUG)
 			System.out.println("AP: applying text presentation offset: " + region.getOffset() + ", length= " + region.getLength()); //$NON-NLS-1$ //$NON-NLS-2$
@@ -1363,11 +1360,7 @@ public class AnnotationPainter implements IPainter, PaintListener, IAnnotationMo
 		final GC gc= event != null ? event.gc : null;
 
 		// Clone decorations
-		Collection<Entry<Annotation, Decoration>> decorations;
-		synchronized (fDecorationMapLock) {
-			decorations= new ArrayList<>(fDecorationsMap.size());
-			decorations.addAll(fDecorationsMap.entrySet());
-		}
+		Collection<Entry<Annotation, Decoration>> decorations= getDecorations(false, vOffset, vLength);
 
 		/*
 		 * Create a new list of annotations to be drawn, since removing from decorations is more
@@ -1395,6 +1388,54 @@ public class AnnotationPainter implements IPainter, PaintListener, IAnnotationMo
 		}
 	}
 
+	/**
+	 * Returns a copy of the entries of the decorations map or the highlighted decorations map which
+	 * contains at least the decorations touching or overlapping the given region. If the annotation
+	 * model supports region queries, only the annotations in the region are looked up instead of
+	 * copying all decorations.
+	 *
+	 * @param highlighted <code>true</code> for the highlighted decorations map
+	 * @param offset the offset of the region
+	 * @param length the length of the region
+	 * @return the decorations, may contain decorations outside the region
+	 * @since 3.28
+	 */
+	private Collection<Entry<Annotation, Decoration>> getDecorations(boolean highlighted, int offset, int length) {
+		Object lock= highlighted ? fHighlightedDecorationsMapLock : fDecorationMapLock;
+		IAnnotationModel model= fModel;
+		if (model instanceof IAnnotationModelExtension2) {
+			// also include the annotations touching the region
+			int start= Math.max(0, offset - 1);
+			Iterator<Annotation> e= ((IAnnotationModelExtension2) model).getAnnotationIterator(start, offset + length + 1 - start, true, true);
+			List<Annotation> annotations= new ArrayList<>();
+			while (e.hasNext())
+				annotations.add(e.next());
+
+			synchronized (lock) {
+				Map<Annotation, Decoration> decorationsMap= highlighted ? fHighlightedDecorationsMap : fDecorationsMap;
+				if (decorationsMap == null)
+					return new ArrayList<>();
+				if (annotations.size() < decorationsMap.size()) {
+					List<Entry<Annotation, Decoration>> decorations= new ArrayList<>(annotations.size());
+					for (Annotation annotation : annotations) {
+						Decoration decoration= decorationsMap.get(annotation);
+						if (decoration != null)
+							decorations.add(new SimpleImmutableEntry<>(annotation, decoration));
+					}
+					return decorations;
+				}
+				return new ArrayList<>(decorationsMap.entrySet());
+			}
+		}
+
+		synchronized (lock) {
+			Map<Annotation, Decoration> decorationsMap= highlighted ? fHighlightedDecorationsMap : fDecorationsMap;
+			if (decorationsMap == null)
+				return new ArrayList<>();
+			return new ArrayList<>(decorationsMap.entrySet());
+		}
+	}
+
 	private void drawDecoration(Decoration pp, GC gc, Annotation annotation, IRegion clippingRegion, IDocument document) {
 		if (clippingRegion == null)
 			return;
@@ -1408,6 +1449,10 @@ public class AnnotationPainter implements IPainter, PaintListener, IAnnotationMo
 		int clippingLength= clippingRegion.getLength();
 
 		Position p= pp.fPosition;
+		// a decoration is at most painted up to the end of the line delimiter following it
+		if (!regionsTouchOrOverlap(p.getOffset(), p.getLength() + 2, clippingOffset, clippingLength))
+			return;
+
 		try {
 
 			int startLine= document.getLineOfOffset(p.getOffset());
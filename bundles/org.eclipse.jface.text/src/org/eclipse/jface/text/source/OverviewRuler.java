@@ -14,6 +14,7 @@
 package org.eclipse.jface.text.source;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -45,6 +46,7 @@ import org.eclipse.swt.widgets.ScrollBar;
 
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension4;
 import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.ITextListener;
 import org.eclipse.jface.text.ITextViewer;
@@ -83,6 +85,7 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 		public void textChanged(TextEvent e) {
 			if (fTextViewer != null && e.getDocumentEvent() == null && e.getViewerRedrawState()) {
 				// handle only changes of visible document
+				fModificationCount++;
 				redraw();
 			}
 		}
@@ -386,6 +389,53 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 		}
 	}
 
+	/**
+	 * The marks drawn by the overview ruler, aggregated per pixel row, together with the state of
+	 * the ruler, the document and the text widget they have been computed for.
+	 *
+	 * @since 3.28
+	 */
+	private static class Marks {
+		/** The modification count of the ruler */
+		final int modificationCount;
+		/** The modification stamp of the document */
+		final long documentStamp;
+		/** The widget infos */
+		final WidgetInfos infos;
+		/**
+		 * For each drawn annotation type, the marks of its persistent and of its temporary
+		 * annotations. The marks are pairs of y coordinate and height, ordered by y coordinate.
+		 * There is at most one mark per y coordinate, the highest one.
+		 */
+		final Map<Object, int[][]> marksByType= new HashMap<>();
+		/** The height of the last computed mark or <code>-1</code> */
+		int annotationHeight= -1;
+
+		Marks(int modificationCount, long documentStamp, WidgetInfos infos) {
+			this.modificationCount= modificationCount;
+			this.documentStamp= documentStamp;
+			this.infos= infos;
+		}
+
+		/**
+		 * Tells whether these marks are still valid for the given state.
+		 *
+		 * @param count the modification count of the ruler
+		 * @param stamp the modification stamp of the document
+		 * @param widgetInfos the current widget infos
+		 * @return <code>true</code> if the marks can be drawn again
+		 */
+		boolean isValid(int count, long stamp, WidgetInfos widgetInfos) {
+			return modificationCount == count
+					&& documentStamp == stamp && stamp != IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP
+					&& infos.maxLines == widgetInfos.maxLines
+					&& infos.thumbHeight == widgetInfos.thumbHeight
+					&& infos.visibleLines == widgetInfos.visibleLines
+					&& infos.writable == widgetInfos.writable
+					&& infos.bounds.equals(widgetInfos.bounds);
+		}
+	}
+
 	private static final boolean DEBUG_DRAW= false;
 	private static final boolean DEBUG_COMPUTE_Y= false;
 	private static final boolean DEBUG_TO_DOCUMENT_LINE_NUMBER= false;
@@ -417,6 +467,16 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 	private int fLastMouseButtonActivityLine= -1;
 	/** The actual annotation height */
 	private int fAnnotationHeight= -1;
+	/**
+	 * The marks drawn last, or <code>null</code>.
+	 * @since 3.28
+	 */
+	private Marks fMarks;
+	/**
+	 * Incremented whenever the drawn annotations may have changed.
+	 * @since 3.28
+	 */
+	private volatile int fModificationCount;
 	/** The annotation access */
 	private IAnnotationAccess fAnnotationAccess;
 	/** The header painter */
@@ -626,6 +686,7 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 					}
 					StyledText textWidget= fTextViewer.getTextWidget();
 					if (textWidget != null && textWidget.getWordWrap()) {
+						fModificationCount++;
 						redraw();
 					}
 				}
@@ -662,6 +723,7 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 		fAnnotationTypes2Colors.clear();
 		fAnnotationsSortedByLayer.clear();
 		fLayersSortedByLayer.clear();
+		fMarks= null;
 	}
 
 	/**
@@ -701,8 +763,6 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 		gc.setBackground(fCanvas.getBackground());
 		gc.fillRectangle(0, 0, width, height);
 
-		cacheAnnotations();
-
 		doPaint(gc);
 	}
 
@@ -725,17 +785,96 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 	}
 
 	/**
-	 * Draws this overview ruler.
+	 * Draws this overview ruler. The marks of the annotations are only computed again if the
+	 * annotations, the document or the text widget have changed since they have been drawn last.
 	 *
 	 * @param gc the GC to draw into
 	 */
 	private void doPaint(GC gc) {
 
-		Rectangle r= new Rectangle(0, 0, 0, 0);
-		int yy, hh= ANNOTATION_HEIGHT;
+		StyledText textWidget= fTextViewer.getTextWidget();
+		WidgetInfos infos= new WidgetInfos(textWidget, fCanvas);
 
 		IDocument document= fTextViewer.getDocument();
-		StyledText textWidget= fTextViewer.getTextWidget();
+		long stamp= document instanceof IDocumentExtension4 ? ((IDocumentExtension4) document).getModificationStamp() : IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
+		int modificationCount= fModificationCount;
+		Marks marks= fMarks;
+		if (marks == null || !marks.isValid(modificationCount, stamp, infos)) {
+			marks= computeMarks(new Marks(modificationCount, stamp, infos), document, textWidget);
+			fMarks= marks;
+		}
+		if (marks.annotationHeight != -1)
+			fAnnotationHeight= marks.annotationHeight;
+
+		Rectangle r= new Rectangle(INSET, 0, infos.bounds.width - (2 * INSET), 0);
+		int yy;
+
+		for (Object annotationType : fAnnotationsSortedByLayer) {
+			int[][] marksByStyle= marks.marksByType.get(annotationType);
+			if (marksByStyle == null)
+				continue;
+
+			for (int i= 0; i < marksByStyle.length; i++) {
+				int[] typeMarks= marksByStyle[i];
+				if (typeMarks.length == 0)
+					continue;
+
+				boolean temporary= i == 1;
+				Color stroke= getStrokeColor(annotationType, temporary);
+				Color fill= fUseSaturatedColors ? stroke : getFillColor(annotationType, temporary);
+
+				for (int j= 0; j < typeMarks.length; j+= 2) {
+					yy= typeMarks[j];
+					int hh= typeMarks[j + 1];
+
+					if (fill != null) {
+						gc.setBackground(fill);
+						gc.fillRectangle(INSET, yy, infos.bounds.width-(2*INSET), hh);
+					}
+
+					if (stroke != null) {
+						gc.setForeground(stroke);
+						r.y= yy;
+						if (yy + hh == infos.bounds.height)
+							r.y--;
+						r.height= hh;
+						gc.setLineWidth(0); // NOTE: 0 means width is 1 but with optimized performance
+						gc.drawRectangle(r);
+					}
+				}
+			}
+		}
+
+		if (DEBUG_DRAW) {
+			// draw debugging guides (boundaries):
+			gc.setForeground(gc.getDevice().getSystemColor(SWT.COLOR_DARK_MAGENTA));
+			yy= infos.thumbHeight / 2;
+			gc.drawLine(0, yy, infos.bounds.x/2, yy);
+			yy= infos.bounds.height - infos.thumbHeight / 2;
+			gc.drawLine(0, yy, infos.bounds.x/2, yy);
+
+			gc.setForeground(gc.getDevice().getSystemColor(SWT.COLOR_BLUE));
+			yy= 0;
+			gc.drawLine(0, yy, infos.bounds.x/2, yy);
+			yy= infos.bounds.height - 1;
+			gc.drawLine(0, yy, infos.bounds.x/2, yy);
+		}
+	}
+
+	/**
+	 * Computes the marks of the annotations drawn by this ruler. The marks of annotations with the
+	 * same type and style starting at the same y coordinate are aggregated into a single mark.
+	 *
+	 * @param marks the marks to fill
+	 * @param document the document
+	 * @param textWidget the text widget
+	 * @return the given marks
+	 * @since 3.28
+	 */
+	private Marks computeMarks(Marks marks, IDocument document, StyledText textWidget) {
+		cacheAnnotations();
+
+		WidgetInfos infos= marks.infos;
 		ITextViewerExtension5 extension= null;
 		IRegion visible= null;
 		if (fTextViewer instanceof ITextViewerExtension5)
@@ -743,19 +882,21 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 		else
 			visible= fTextViewer.getVisibleRegion(); // legacy support
 
-		WidgetInfos infos= null;
+		int hh= ANNOTATION_HEIGHT;
+		// for each y coordinate the height of the highest mark starting there
+		int[] heights= new int[Math.max(infos.bounds.height, 0)];
+		int[] styles= new int[] { FilterIterator.PERSISTENT, FilterIterator.TEMPORARY };
 
 		for (Object annotationType : fAnnotationsSortedByLayer) {
 			if (skip(annotationType))
 				continue;
 
-			int[] style= new int[] { FilterIterator.PERSISTENT, FilterIterator.TEMPORARY };
-			for (int element : style) {
-				boolean areColorsComputed= false;
-				Color fill= null;
-				Color stroke= null;
+			int[][] marksByStyle= new int[styles.length][];
+			for (int i= 0; i < styles.length; i++) {
+				Arrays.fill(heights, 0);
+				int count= 0;
 
-				Iterator<Annotation> e= new FilterIterator(annotationType, element, fCachedAnnotations.iterator());
+				Iterator<Annotation> e= new FilterIterator(annotationType, styles[i], fCachedAnnotations.iterator());
 				while (e.hasNext()) {
 					Annotation a= e.next();
 					Position p= fModel.getPosition(a);
@@ -779,18 +920,12 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 							continue;
 					}
 
-					if (infos == null) {
-						infos= new WidgetInfos(textWidget, fCanvas);
-						r.x= INSET;
-						r.width= infos.bounds.width - (2 * INSET);
-					}
-
 					try {
 						@SuppressWarnings("null")
 						int startOffset= visible != null ? annotationOffset - visible.getOffset() : widgetRegion.getOffset();
 						int startLine= textWidget.getLineAtOffset(startOffset);
 
-						yy= computeY(startLine, infos);
+						int yy= computeY(startLine, infos);
 
 						if (ANNOTATION_HEIGHT_SCALABLE) {
 							int numberOfLines= document.getNumberOfLines(annotationOffset, annotationLength);
@@ -806,52 +941,31 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 								hh= ANNOTATION_HEIGHT;
 							}
 						}
-						fAnnotationHeight= hh;
-
-						if (!areColorsComputed) {
-							stroke= getStrokeColor(annotationType, element == FilterIterator.TEMPORARY);
-							fill= fUseSaturatedColors ? stroke : getFillColor(annotationType, element == FilterIterator.TEMPORARY);
-							areColorsComputed= true;
-						}
-
-						if (fill != null) {
-							gc.setBackground(fill);
-							gc.fillRectangle(INSET, yy, infos.bounds.width-(2*INSET), hh);
-						}
+						marks.annotationHeight= hh;
 
-						if (stroke != null) {
-							gc.setForeground(stroke);
-							r.y= yy;
-							if (yy + hh == infos.bounds.height)
-								r.y--;
-							r.height= hh;
-							gc.setLineWidth(0); // NOTE: 0 means width is 1 but with optimized performance
-							gc.drawRectangle(r);
+						if (yy < heights.length) {
+							if (heights[yy] == 0)
+								count++;
+							heights[yy]= Math.max(heights[yy], hh);
 						}
 					} catch (BadLocationException | IllegalArgumentException x) {
 						// We don't care if the widget's content is changed since the annotation was created
 						// and do not match the annotation line/offset etc
 					}
 				}
-			}
-		}
 
-		if (DEBUG_DRAW) {
-			// draw debugging guides (boundaries):
-			if (infos == null)
-				infos= new WidgetInfos(textWidget, fCanvas);
-			gc.setForeground(gc.getDevice().getSystemColor(SWT.COLOR_DARK_MAGENTA));
-			yy= infos.thumbHeight / 2;
-			gc.drawLine(0, yy, infos.bounds.x/2, yy);
-			yy= infos.bounds.height - infos.thumbHeight / 2;
-			gc.drawLine(0, yy, infos.bounds.x/2, yy);
-
-			gc.setForeground(gc.getDevice().getSystemColor(SWT.COLOR_BLUE));
-			yy= 0;
-			gc.drawLine(0, yy, infos.bounds.x/2, yy);
-			yy= infos.bounds.height - 1;
-			gc.drawLine(0, yy, infos.bounds.x/2, yy);
+				int[] typeMarks= new int[2 * count];
+				for (int yy= 0, j= 0; j < typeMarks.length; yy++) {
+					if (heights[yy] != 0) {
+						typeMarks[j++]= yy;
+						typeMarks[j++]= heights[yy];
+					}
+				}
+				marksByStyle[i]= typeMarks;
+			}
+			marks.marksByType.put(annotationType, marksByStyle);
 		}
+		return marks;
 	}
 
 	/**
@@ -895,6 +1009,7 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 
 	 @Override
 	public void update() {
+		fModificationCount++;
 		if (fCanvas != null && !fCanvas.isDisposed()) {
 			Display d= fCanvas.getDisplay();
 			if (d != null) {
@@ -1172,6 +1287,7 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 		synchronized (fRunnableLock){
 			fConfiguredAnnotationTypes.add(annotationType);
 			fAllowedAnnotationTypes.clear();
+			fModificationCount++;
 		}
 	}
 
@@ -1180,11 +1296,13 @@ public class OverviewRuler implements IOverviewRulerExtension, IOverviewRuler {
 		synchronized (fRunnableLock){
 			fConfiguredAnnotationTypes.remove(annotationType);
 			fAllowedAnnotationTypes.clear();
+			fModificationCount++;
 		}
 	}
 
 	@Override
 	public void setAnnotationTypeLayer(Object annotationType, int layer) {
+		fModificationCount++;
 		int j= fAnnotationsSortedByLayer.indexOf(annotationType);
 		if (j != -1) {
 			fAnnotationsSortedByLayer.remove(j);
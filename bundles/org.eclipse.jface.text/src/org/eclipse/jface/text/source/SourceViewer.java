@@ -46,7 +46,9 @@ import org.eclipse.jface.text.DocumentRewriteSessionType;
 import org.eclipse.jface.text.IAutoEditStrategy;
 import org.eclipse.jface.text.IBlockTextSelection;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension3;
 import org.eclipse.jface.text.IDocumentExtension4;
+import org.eclipse.jface.text.IDocumentPartitioner;
 import org.eclipse.jface.text.IPositionUpdater;
 import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.IRewriteTarget;
@@ -75,6 +77,7 @@ import org.eclipse.jface.text.projection.ChildDocument;
 import org.eclipse.jface.text.quickassist.IQuickAssistAssistant;
 import org.eclipse.jface.text.quickassist.IQuickAssistInvocationContext;
 import org.eclipse.jface.text.reconciler.IReconciler;
+import org.eclipse.jface.text.rules.FastPartitioner;
 import org.eclipse.jface.text.source.inlined.InlinedAnnotationSupport;
 
 /**
@@ -283,6 +286,12 @@ public class SourceViewer extends TextViewer
 	 * @since 3.0
 	 */
 	protected final static Object MODEL_ANNOTATION_MODEL= new Object();
+	/**
+	 * The number of characters after a change up to which the partitioning of a large document is
+	 * updated immediately.
+	 * @since 3.28
+	 */
+	private final static int LARGE_DOCUMENT_RESCAN_LIMIT= 64 * 1024;
 
 	/** The viewer's content assistant */
 	protected IContentAssistant fContentAssistant;
@@ -393,6 +402,25 @@ public class SourceViewer extends TextViewer
 	 * @since 3.13
 	 */
 	private CodeMiningManager fCodeMiningManager;
+	/**
+	 * The document length above which the viewer is in large document mode, <code>-1</code> if
+	 * the mode is disabled.
+	 *
+	 * @since 3.28
+	 */
+	private int fLargeDocumentThreshold= -1;
+	/**
+	 * Whether the viewer's document exceeds the large document threshold.
+	 *
+	 * @since 3.28
+	 */
+	private boolean fLargeDocumentMode;
+	/**
+	 * The partitioners of the large document whose rescan limit has been set by this viewer.
+	 *
+	 * @since 3.28
+	 */
+	private final List<FastPartitioner> fLimitedPartitioners= new ArrayList<>();
 
 	private final List<ITextViewerLifecycle> lifecycles;
 
@@ -497,11 +525,11 @@ public class SourceViewer extends TextViewer
 
 		// install content type independent plug-ins
 		fPresentationReconciler= configuration.getPresentationReconciler(this);
-		if (fPresentationReconciler != null)
+		if (fPresentationReconciler != null && !fLargeDocumentMode)
 			fPresentationReconciler.install(this);
 
 		fReconciler= configuration.getReconciler(this);
-		if (fReconciler != null)
+		if (fReconciler != null && !fLargeDocumentMode)
 			fReconciler.install(this);
 
 		fContentAssistant= configuration.getContentAssistant(this);
@@ -679,11 +707,20 @@ public class SourceViewer extends TextViewer
 			fVisualAnnotationModel.connect(document);
 		}
 
+		// leave the expensive plug-ins uninstalled while the new document is set
+		boolean largeDocument= isLargeDocument(document);
+		if (largeDocument)
+			setLargeDocumentMode(true);
+
 		if (modelRangeOffset == -1 && modelRangeLength == -1)
 			super.setDocument(document);
 		else
 			super.setDocument(document, modelRangeOffset, modelRangeLength);
 
+		if (!largeDocument)
+			setLargeDocumentMode(false);
+		updateRescanLimits();
+
 		if (fVerticalRuler != null)
 			fVerticalRuler.setModel(fVisualAnnotationModel);
 
@@ -729,15 +766,18 @@ public class SourceViewer extends TextViewer
 	@Override
 	public void unconfigure() {
 		clearRememberedSelection();
+		restoreRescanLimits();
 
 		uninstallTextViewer();
 		if (fPresentationReconciler != null) {
-			fPresentationReconciler.uninstall();
+			if (!fLargeDocumentMode)
+				fPresentationReconciler.uninstall();
 			fPresentationReconciler= null;
 		}
 
 		if (fReconciler != null) {
-			fReconciler.uninstall();
+			if (!fLargeDocumentMode)
+				fReconciler.uninstall();
 			fReconciler= null;
 		}
 
@@ -1310,7 +1350,7 @@ public class SourceViewer extends TextViewer
 	 * @since 3.13
 	 */
 	private void ensureCodeMiningManagerInstalled() {
-		if (fCodeMiningProviders != null && fCodeMiningProviders.length > 0 && fAnnotationPainter != null) {
+		if (fCodeMiningProviders != null && fCodeMiningProviders.length > 0 && fAnnotationPainter != null && !fLargeDocumentMode) {
 			if (fInlinedAnnotationSupport == null) {
 				fInlinedAnnotationSupport= new InlinedAnnotationSupport();
 				fInlinedAnnotationSupport.install(this, fAnnotationPainter);
@@ -1323,6 +1363,120 @@ public class SourceViewer extends TextViewer
 		}
 	}
 
+	/**
+	 * Sets the document length above which this viewer is in large document mode. In this mode
+	 * the presentation reconciler, the reconciler and the code mining providers are not installed,
+	 * so that a large document is neither colored nor reconciled. The mode is chosen whenever a
+	 * document is set and applies to the current document immediately.
+	 * <p>
+	 * The document's partitioners are connected when the document is set up, before it is set
+	 * to a viewer, so the initial partitioning of a large document is still computed completely.
+	 * In large document mode the viewer only limits how far a {@link FastPartitioner} rescans the
+	 * document after a change, see {@link FastPartitioner#setRescanLimit(int)}.
+	 * </p>
+	 *
+	 * @param threshold the number of characters above which a document is considered large, or
+	 *            <code>-1</code> to disable the large document mode
+	 * @since 3.28
+	 */
+	public void setLargeDocumentThreshold(int threshold) {
+		fLargeDocumentThreshold= threshold;
+		setLargeDocumentMode(isLargeDocument(getDocument()));
+		updateRescanLimits();
+	}
+
+	/**
+	 * Returns the document length above which this viewer is in large document mode.
+	 *
+	 * @return the number of characters above which a document is considered large, or
+	 *         <code>-1</code> if the large document mode is disabled
+	 * @since 3.28
+	 */
+	public int getLargeDocumentThreshold() {
+		return fLargeDocumentThreshold;
+	}
+
+	/**
+	 * Returns whether this viewer is in large document mode, i.e. whether its document exceeds the
+	 * large document threshold and the expensive plug-ins are not installed.
+	 *
+	 * @return <code>true</code> if this viewer is in large document mode
+	 * @see #setLargeDocumentThreshold(int)
+	 * @since 3.28
+	 */
+	public boolean isLargeDocumentMode() {
+		return fLargeDocumentMode;
+	}
+
+	private boolean isLargeDocument(IDocument document) {
+		return fLargeDocumentThreshold >= 0 && document != null && document.getLength() > fLargeDocumentThreshold;
+	}
+
+	/**
+	 * Uninstalls the expensive plug-ins when entering the large document mode and installs them
+	 * again when leaving it.
+	 *
+	 * @param largeDocumentMode <code>true</code> to enter the large document mode
+	 */
+	private void setLargeDocumentMode(boolean largeDocumentMode) {
+		if (fLargeDocumentMode == largeDocumentMode)
+			return;
+
+		fLargeDocumentMode= largeDocumentMode;
+		if (largeDocumentMode) {
+			if (fPresentationReconciler != null)
+				fPresentationReconciler.uninstall();
+			if (fReconciler != null)
+				fReconciler.uninstall();
+			if (fCodeMiningManager != null) {
+				fCodeMiningManager.uninstall();
+				fCodeMiningManager= null;
+			}
+		} else {
+			if (fPresentationReconciler != null)
+				fPresentationReconciler.install(this);
+			if (fReconciler != null)
+				fReconciler.install(this);
+			ensureCodeMiningManagerInstalled();
+		}
+	}
+
+	/**
+	 * Limits the rescanning of the fast partitioners of the document in large document mode and
+	 * restores the rescan limits of the partitioners of a former document.
+	 *
+	 * @since 3.28
+	 */
+	private void updateRescanLimits() {
+		restoreRescanLimits();
+		IDocument document= getDocument();
+		if (!fLargeDocumentMode || !(document instanceof IDocumentExtension3))
+			return;
+
+		IDocumentExtension3 extension= (IDocumentExtension3) document;
+		for (String partitioning : extension.getPartitionings()) {
+			IDocumentPartitioner partitioner= extension.getDocumentPartitioner(partitioning);
+			if (partitioner instanceof FastPartitioner && ((FastPartitioner) partitioner).getRescanLimit() == 0) {
+				FastPartitioner fastPartitioner= (FastPartitioner) partitioner;
+				fastPartitioner.setRescanLimit(LARGE_DOCUMENT_RESCAN_LIMIT);
+				fLimitedPartitioners.add(fastPartitioner);
+			}
+		}
+	}
+
+	/**
+	 * Removes the rescan limits set by this viewer.
+	 *
+	 * @since 3.28
+	 */
+	private void restoreRescanLimits() {
+		for (FastPartitioner partitioner : fLimitedPartitioners) {
+			if (partitioner.getRescanLimit() == LARGE_DOCUMENT_RESCAN_LIMIT)
+				partitioner.setRescanLimit(0);
+		}
+		fLimitedPartitioners.clear();
+	}
+
 	@Override
 	public boolean hasCodeMiningProviders() {
 		return fCodeMiningManager != null; // manager always has at least one provider
@@ -13,11 +13,10 @@
  */
 package org.eclipse.jface.text.source.inlined;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
-import java.util.List;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
@@ -436,9 +435,9 @@ public class InlinedAnnotationSupport {
 			return;
 		}
 		Map<AbstractInlinedAnnotation, Position> annotationsToAdd= new HashMap<>();
-		List<AbstractInlinedAnnotation> annotationsToRemove= fInlinedAnnotations != null
-				? new ArrayList<>(fInlinedAnnotations)
-				: Collections.emptyList();
+		Set<AbstractInlinedAnnotation> annotationsToRemove= fInlinedAnnotations != null
+				? new LinkedHashSet<>(fInlinedAnnotations)
+				: Collections.emptySet();
 		// Loop for annotations to update
 		for (AbstractInlinedAnnotation ann : annotations) {
 			if (!annotationsToRemove.remove(ann)) {
@@ -0,0 +1,340 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.jface.viewers;
+
+import org.eclipse.swt.widgets.Widget;
+
+/**
+ * ElementMap maps the elements of a structured viewer to the widgets showing
+ * them. Elements are compared with the viewer's element comparer, or with
+ * <code>equals</code> and <code>hashCode</code> if there is none.
+ * <p>
+ * The map uses open addressing with linear probing: elements and their widgets
+ * are stored side by side in a single array, and the hash codes of the
+ * elements in a parallel <code>int</code> array. No object is allocated per
+ * entry. An element shown by a single widget is mapped to the widget itself,
+ * an element shown by several widgets to an array of exactly these widgets.
+ * Removed entries are filled by moving the following entries back, so lookups
+ * never have to skip deleted slots.
+ */
+/* package */final class ElementMap {
+
+	/**
+	 * The default capacity used by viewers.
+	 */
+	static final int DEFAULT_CAPACITY = 13;
+
+	private static final int MIN_SLOTS = 8;
+
+	private static final int MAX_SLOTS = 1 << 29;
+
+	private final IElementComparer comparer;
+
+	/**
+	 * The element of slot <code>i</code> at index <code>2 * i</code>, its
+	 * <code>Widget</code> or <code>Widget[]</code> at index
+	 * <code>2 * i + 1</code>. A <code>null</code> element marks a free slot.
+	 */
+	private Object[] table;
+
+	/**
+	 * The hash codes of the elements in the slots.
+	 */
+	private int[] hashes;
+
+	/**
+	 * The number of bits of a slot index.
+	 */
+	private int bits;
+
+	private int size;
+
+	private int threshold;
+
+	/**
+	 * Creates an empty map.
+	 *
+	 * @param capacity the number of elements that can be added without
+	 *                 growing the map
+	 * @param comparer the element comparer, or <code>null</code> to use the
+	 *                 <code>equals</code> and <code>hashCode</code> methods
+	 *                 of the elements
+	 */
+	ElementMap(int capacity, IElementComparer comparer) {
+		if (capacity < 0) {
+			throw new IllegalArgumentException();
+		}
+		this.comparer = comparer;
+		int slots = MIN_SLOTS;
+		while (slots < MAX_SLOTS && slots / 4 * 3 < capacity) {
+			slots <<= 1;
+		}
+		allocate(slots);
+	}
+
+	/**
+	 * Creates a map with the entries of the given map, comparing the elements
+	 * with the given comparer. If the elements of several entries are equal
+	 * according to the new comparer, only the entry copied last is kept, its
+	 * widgets replace those of the other entries.
+	 *
+	 * @param map      the map to copy
+	 * @param comparer the element comparer, or <code>null</code> to use the
+	 *                 <code>equals</code> and <code>hashCode</code> methods
+	 *                 of the elements
+	 */
+	ElementMap(ElementMap map, IElementComparer comparer) {
+		this(map.size, comparer);
+		Object[] oldTable = map.table;
+		for (int i = 0; i < oldTable.length; i += 2) {
+			Object element = oldTable[i];
+			if (element != null) {
+				put(element, hashCode(element), oldTable[i + 1]);
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of mapped elements.
+	 *
+	 * @return the number of elements
+	 */
+	int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the widgets mapped to the given element.
+	 *
+	 * @param element the element
+	 * @return the widgets, or <code>null</code> if the element is not mapped.
+	 *         The returned array must not be modified.
+	 */
+	Widget[] get(Object element) {
+		int slot = indexOf(element, hashCode(element));
+		if (slot < 0) {
+			return null;
+		}
+		Object widgetOrWidgets = table[2 * slot + 1];
+		if (widgetOrWidgets instanceof Widget) {
+			return new Widget[] { (Widget) widgetOrWidgets };
+		}
+		return (Widget[]) widgetOrWidgets;
+	}
+
+	/**
+	 * Maps the given element to the given widget in addition to the widgets
+	 * it is already mapped to.
+	 *
+	 * @param element the element
+	 * @param widget  the widget
+	 */
+	void add(Object element, Widget widget) {
+		int hash = hashCode(element);
+		int slot = indexOf(element, hash);
+		if (slot < 0) {
+			put(element, hash, widget);
+			return;
+		}
+		Object widgetOrWidgets = table[2 * slot + 1];
+		Object newValue;
+		if (widgetOrWidgets instanceof Widget) {
+			if (widgetOrWidgets == widget) {
+				return;
+			}
+			newValue = new Widget[] { (Widget) widgetOrWidgets, widget };
+		} else {
+			Widget[] widgets = (Widget[]) widgetOrWidgets;
+			if (indexOf(widgets, widget) != -1) {
+				return;
+			}
+			int length = widgets.length;
+			Widget[] newWidgets = new Widget[length + 1];
+			System.arraycopy(widgets, 0, newWidgets, 0, length);
+			newWidgets[length] = widget;
+			newValue = newWidgets;
+		}
+		// replace the element to not hold on to an equal but old one, see bug 30607
+		table[2 * slot] = element;
+		table[2 * slot + 1] = newValue;
+	}
+
+	/**
+	 * Removes the mapping of the given element to the given widget. Does
+	 * nothing if the element is not mapped to the widget.
+	 *
+	 * @param element the element
+	 * @param widget  the widget
+	 */
+	void remove(Object element, Widget widget) {
+		int slot = indexOf(element, hashCode(element));
+		if (slot < 0) {
+			return;
+		}
+		Object widgetOrWidgets = table[2 * slot + 1];
+		if (widgetOrWidgets instanceof Widget) {
+			if (widgetOrWidgets == widget) {
+				removeSlot(slot);
+			}
+			return;
+		}
+		Widget[] widgets = (Widget[]) widgetOrWidgets;
+		int index = indexOf(widgets, widget);
+		if (index == -1) {
+			return;
+		}
+		int length = widgets.length;
+		Object newValue;
+		if (length == 1) {
+			removeSlot(slot);
+			return;
+		} else if (length == 2) {
+			newValue = widgets[1 - index];
+		} else {
+			Widget[] newWidgets = new Widget[length - 1];
+			System.arraycopy(widgets, 0, newWidgets, 0, index);
+			System.arraycopy(widgets, index + 1, newWidgets, index, length - index - 1);
+			newValue = newWidgets;
+		}
+		table[2 * slot] = element;
+		table[2 * slot + 1] = newValue;
+	}
+
+	/**
+	 * Removes the given element and all its widgets.
+	 *
+	 * @param element the element
+	 */
+	void remove(Object element) {
+		int slot = indexOf(element, hashCode(element));
+		if (slot >= 0) {
+			removeSlot(slot);
+		}
+	}
+
+	private void allocate(int slots) {
+		table = new Object[2 * slots];
+		hashes = new int[slots];
+		bits = Integer.numberOfTrailingZeros(slots);
+		threshold = slots == MAX_SLOTS ? Integer.MAX_VALUE : slots / 4 * 3;
+	}
+
+	/**
+	 * Returns the slot where the search for an element with the given hash
+	 * code starts. The hash code is multiplied with the golden ratio, so
+	 * elements with close hash codes are spread over the table.
+	 */
+	private int homeSlot(int hash) {
+		return (hash * 0x9E3779B9) >>> (32 - bits);
+	}
+
+	private int indexOf(Object element, int hash) {
+		int mask = hashes.length - 1;
+		for (int slot = homeSlot(hash);; slot = (slot + 1) & mask) {
+			Object key = table[2 * slot];
+			if (key == null) {
+				return -1;
+			}
+			if (hashes[slot] == hash && (key == element || keyEquals(element, key))) {
+				return slot;
+			}
+		}
+	}
+
+	private void put(Object element, int hash, Object value) {
+		int mask = hashes.length - 1;
+		int slot = homeSlot(hash);
+		for (Object key; (key = table[2 * slot]) != null; slot = (slot + 1) & mask) {
+			if (hashes[slot] == hash && (key == element || keyEquals(element, key))) {
+				table[2 * slot] = element;
+				table[2 * slot + 1] = value;
+				return;
+			}
+		}
+		table[2 * slot] = element;
+		table[2 * slot + 1] = value;
+		hashes[slot] = hash;
+		if (++size > threshold) {
+			grow();
+		}
+	}
+
+	private void grow() {
+		Object[] oldTable = table;
+		int[] oldHashes = hashes;
+		allocate(2 * oldHashes.length);
+		int mask = hashes.length - 1;
+		for (int i = 0; i < oldHashes.length; i++) {
+			Object element = oldTable[2 * i];
+			if (element != null) {
+				int hash = oldHashes[i];
+				int slot = homeSlot(hash);
+				while (table[2 * slot] != null) {
+					slot = (slot + 1) & mask;
+				}
+				table[2 * slot] = element;
+				table[2 * slot + 1] = oldTable[2 * i + 1];
+				hashes[slot] = hash;
+			}
+		}
+	}
+
+	/**
+	 * Empties the given slot and moves back the following entries which
+	 * would no longer be found.
+	 */
+	private void removeSlot(int slot) {
+		int mask = hashes.length - 1;
+		int free = slot;
+		for (int next = (free + 1) & mask; table[2 * next] != null; next = (next + 1) & mask) {
+			int home = homeSlot(hashes[next]);
+			// the entry stays if its home slot lies cyclically in (free, next]
+			boolean stays = free <= next ? free < home && home <= next : free < home || home <= next;
+			if (!stays) {
+				table[2 * free] = table[2 * next];
+				table[2 * free + 1] = table[2 * next + 1];
+				hashes[free] = hashes[next];
+				free = next;
+			}
+		}
+		table[2 * free] = null;
+		table[2 * free + 1] = null;
+		hashes[free] = 0;
+		size--;
+	}
+
+	private int hashCode(Object element) {
+		if (comparer == null) {
+			return element.hashCode();
+		}
+		return comparer.hashCode(element);
+	}
+
+	private boolean keyEquals(Object a, Object b) {
+		if (comparer == null) {
+			return a.equals(b);
+		}
+		return comparer.equals(a, b);
+	}
+
+	private static int indexOf(Widget[] widgets, Widget widget) {
+		for (int i = 0; i < widgets.length; i++) {
+			if (widgets[i] == widget) {
+				return i;
+			}
+		}
+		return -1;
+	}
+}
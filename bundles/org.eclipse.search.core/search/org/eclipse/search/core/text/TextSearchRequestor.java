@@ -174,4 +174,23 @@ public abstract class TextSearchRequestor {
 	public boolean canRunInParallel() {
 		return false;
 	}
+
+	/**
+	 * Reports whether the search engine can stop searching further files because this requestor
+	 * has received all results it is interested in, for example when a maximum number of matches
+	 * has been reported. The search engine checks this after each searched file and ends the
+	 * search early without reporting a cancellation.
+	 * <p>
+	 * If {@link #canRunInParallel()} returns true, this method may be called in parallel by different threads.
+	 * </p>
+	 * <p>
+	 * The default behavior is to search all files of the scope.
+	 * </p>
+	 *
+	 * @return If true, no further files will be searched.
+	 * @since 3.17
+	 */
+	public boolean isSearchLimitReached() {
+		return false;
+	}
 }
@@ -13,6 +13,8 @@
  *******************************************************************************/
 package org.eclipse.search.internal.core;
 
+import java.io.File;
+
 import org.osgi.framework.BundleContext;
 
 import org.eclipse.core.runtime.Assert;
@@ -20,8 +22,12 @@ import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Plugin;
 import org.eclipse.core.runtime.Status;
 
+import org.eclipse.core.resources.ResourcesPlugin;
+
 import org.eclipse.search.internal.core.text.DirtyFileProvider;
 import org.eclipse.search.internal.core.text.TextSearchEngineRegistry;
+import org.eclipse.search.internal.core.text.TrigramIndex;
+import org.eclipse.search.internal.core.text.TrigramIndexUpdater;
 
 public class SearchCorePlugin extends Plugin {
 	/**
@@ -31,11 +37,15 @@ public class SearchCorePlugin extends Plugin {
 	/** Status code describing an internal error */
 	public static final int INTERNAL_ERROR = 1;
 
+	private static final String TRIGRAM_INDEX_FILE = "trigram.index"; //$NON-NLS-1$
+	private static final String TRIGRAM_FILTER_FILE = "trigram.filters"; //$NON-NLS-1$
+
 	private static SearchCorePlugin fgSearchPlugin;
 
 	private TextSearchEngineRegistry fTextSearchEngineRegistry;
 	private DirtyFileProvider fDirtyFileSearchParticipant;
 	private DirtyFileSearchParticipantServiceTracker fDirtyFileSearchParticipantTracker;
+	private TrigramIndexUpdater fTrigramIndexUpdater;
 
 	/**
 	 * @return Returns the search plugin instance.
@@ -58,7 +68,12 @@ public class SearchCorePlugin extends Plugin {
 
 	@Override
 	public void stop(BundleContext context) throws Exception {
-		// do nothing
+		synchronized (this) {
+			if (fTrigramIndexUpdater != null) {
+				fTrigramIndexUpdater.stop();
+				fTrigramIndexUpdater = null;
+			}
+		}
 	}
 
 	public TextSearchEngineRegistry getTextSearchEngineRegistry() {
@@ -68,6 +83,22 @@ public class SearchCorePlugin extends Plugin {
 		return fTextSearchEngineRegistry;
 	}
 
+	/**
+	 * Returns the trigram index of the workspace. The index is loaded and kept up
+	 * to date from the first time it is requested.
+	 *
+	 * @return the trigram index
+	 */
+	public synchronized TrigramIndex getTrigramIndex() {
+		if (fTrigramIndexUpdater == null) {
+			File indexFile = getStateLocation().append(TRIGRAM_INDEX_FILE).toFile();
+			File filterFile = getStateLocation().append(TRIGRAM_FILTER_FILE).toFile();
+			fTrigramIndexUpdater = new TrigramIndexUpdater(ResourcesPlugin.getWorkspace(), new TrigramIndex(filterFile), indexFile);
+			fTrigramIndexUpdater.start();
+		}
+		return fTrigramIndexUpdater.getIndex();
+	}
+
 	public DirtyFileProvider getDirtyFileDiscovery() {
 		if (fDirtyFileSearchParticipant == null) {
 			this.fDirtyFileSearchParticipantTracker.open();
@@ -13,17 +13,28 @@
  *******************************************************************************/
 package org.eclipse.search.internal.core.text;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
 import java.util.Arrays;
 
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.content.IContentDescription;
 
 import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
 
 public class FileCharSequenceProvider {
 
@@ -36,9 +47,38 @@ public class FileCharSequenceProvider {
 	private static int NUMBER_OF_BUFFERS = 3;
 	public static int BUFFER_SIZE = 2 << 18; // public for testing
 
+	/**
+	 * Whether large local files are memory-mapped by default. Mapped files can't be
+	 * deleted on some platforms until the mapping is garbage collected, so this is
+	 * opt-in.
+	 */
+	private static final boolean USE_MEMORY_MAPPING= Boolean.getBoolean("org.eclipse.search.core.memoryMappedFiles"); //$NON-NLS-1$
+
+	private final boolean fUseMemoryMapping;
+
 	private FileCharSequence fReused= null;
+	private MappedCharSequence fReusedMapped= null;
+
+	public FileCharSequenceProvider() {
+		this(USE_MEMORY_MAPPING);
+	}
+
+	/**
+	 * @param useMemoryMapping <code>true</code> to memory-map large local files
+	 *            encoded in UTF-8, US-ASCII or ISO-8859-1 instead of reading them
+	 *            through a {@link Reader}
+	 */
+	public FileCharSequenceProvider(boolean useMemoryMapping) {
+		fUseMemoryMapping= useMemoryMapping;
+	}
 
 	public CharSequence newCharSequence(IFile file) throws CoreException, IOException {
+		if (fUseMemoryMapping) {
+			CharSequence mapped= mapLargeFile(file);
+			if (mapped != null) {
+				return mapped;
+			}
+		}
 		String string = toShortString(file);
 		if (string != null) {
 			return string;
@@ -58,8 +98,37 @@ public class FileCharSequenceProvider {
 		return curr;
 	}
 
+	private CharSequence mapLargeFile(IFile file) throws CoreException, IOException {
+		IPath location= file.getLocation();
+		if (location == null || !file.isSynchronized(IResource.DEPTH_ZERO)) {
+			return null;
+		}
+		File localFile= location.toFile();
+		long size= localFile.length();
+		if (size < MAX_BUFFER_LENGTH || size > Integer.MAX_VALUE) {
+			return null;
+		}
+		String charset= file.getCharset();
+		if (!MappedCharSequence.isSupported(charset)) {
+			return null;
+		}
+		MappedByteBuffer buffer;
+		try (FileChannel channel= FileChannel.open(localFile.toPath(), StandardOpenOption.READ)) {
+			buffer= channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+		MappedCharSequence seq= fReusedMapped != null ? fReusedMapped : new MappedCharSequence();
+		fReusedMapped= null;
+		seq.reset(buffer, charset);
+		return seq;
+	}
+
 	public void releaseCharSequence(CharSequence seq) throws IOException {
-		if (seq instanceof FileCharSequence) {
+		if (seq instanceof MappedCharSequence mapped) {
+			mapped.close();
+			if (fReusedMapped == null) {
+				fReusedMapped= mapped;
+			}
+		} else if (seq instanceof FileCharSequence) {
 			FileCharSequence curr= (FileCharSequence) seq;
 			try {
 				curr.close();
@@ -486,6 +555,180 @@ public class FileCharSequenceProvider {
 		}
 	}
 
+	/**
+	 * A {@link CharSequence} over a memory-mapped file. Single byte encodings are
+	 * read directly from the mapped buffer. UTF-8 content is decoded lazily into a
+	 * reused window, remembering where each decoded window starts so that later
+	 * accesses can seek directly to it.
+	 */
+	private static final class MappedCharSequence implements CharSequence {
+		private static final int WINDOW_SIZE= 1 << 16;
+
+		private ByteBuffer fBytes;
+		private boolean fSingleByte;
+		private boolean fAsciiOnly;
+		private int fStart; // offset of the first content byte, after a BOM
+
+		// UTF-8 only
+		private CharsetDecoder fDecoder;
+		private final CharBuffer fWindow= CharBuffer.allocate(WINDOW_SIZE);
+		private int fWindowCharStart;
+		private int fWindowIndex;
+		private int[] fWindowCharStarts= new int[16];
+		private int[] fWindowByteStarts= new int[16];
+		private int fKnownWindows;
+		private int fLength;
+
+		static boolean isSupported(String charset) {
+			return StandardCharsets.UTF_8.name().equals(charset) || StandardCharsets.US_ASCII.name().equals(charset)
+					|| StandardCharsets.ISO_8859_1.name().equals(charset);
+		}
+
+		void reset(ByteBuffer bytes, String charset) {
+			fBytes= bytes;
+			fSingleByte= !StandardCharsets.UTF_8.name().equals(charset);
+			fAsciiOnly= StandardCharsets.US_ASCII.name().equals(charset);
+			fStart= 0;
+			fLength= -1;
+			fKnownWindows= 0;
+			fWindowIndex= -1;
+			if (fSingleByte) {
+				fLength= bytes.limit();
+				return;
+			}
+			byte[] bom= IContentDescription.BOM_UTF_8;
+			if (bytes.limit() >= bom.length && bytes.get(0) == bom[0] && bytes.get(1) == bom[1] && bytes.get(2) == bom[2]) {
+				fStart= bom.length;
+			}
+			if (fDecoder == null) {
+				fDecoder= StandardCharsets.UTF_8.newDecoder().onMalformedInput(CodingErrorAction.REPLACE)
+						.onUnmappableCharacter(CodingErrorAction.REPLACE);
+			}
+			fWindowCharStarts[0]= 0;
+			fWindowByteStarts[0]= fStart;
+			fKnownWindows= 1;
+		}
+
+		void close() {
+			fBytes= null;
+		}
+
+		@Override
+		public int length() {
+			if (fLength < 0) {
+				decodeWindowContaining(Integer.MAX_VALUE);
+			}
+			return fLength;
+		}
+
+		@Override
+		public char charAt(int index) {
+			if (index < 0) {
+				throw new IndexOutOfBoundsException("index must be larger than 0"); //$NON-NLS-1$
+			}
+			if (fSingleByte) {
+				if (index >= fLength) {
+					throw new IndexOutOfBoundsException("index must be smaller than length"); //$NON-NLS-1$
+				}
+				byte b= fBytes.get(index);
+				if (fAsciiOnly && b < 0) {
+					return '\uFFFD';
+				}
+				return (char) (b & 0xFF);
+			}
+			int windowOffset= index - fWindowCharStart;
+			if (fWindowIndex < 0 || windowOffset < 0 || windowOffset >= fWindow.limit()) {
+				if (!decodeWindowContaining(index)) {
+					throw new IndexOutOfBoundsException("index must be smaller than length"); //$NON-NLS-1$
+				}
+				windowOffset= index - fWindowCharStart;
+			}
+			return fWindow.get(windowOffset);
+		}
+
+		/**
+		 * Decodes the window that contains the given character.
+		 *
+		 * @param index the character offset
+		 * @return <code>false</code> if the index is beyond the end of the content
+		 */
+		private boolean decodeWindowContaining(int index) {
+			// start at the last known window at or before the index
+			int low= 0;
+			int high= fKnownWindows - 1;
+			while (low < high) {
+				int mid= (low + high + 1) >>> 1;
+				if (fWindowCharStarts[mid] <= index) {
+					low= mid;
+				} else {
+					high= mid - 1;
+				}
+			}
+			int window= low;
+			while (true) {
+				int nextByteStart= decodeWindow(window);
+				if (index < fWindowCharStart + fWindow.limit()) {
+					return true;
+				}
+				if (nextByteStart >= fBytes.limit()) {
+					fLength= fWindowCharStart + fWindow.limit();
+					return false;
+				}
+				window++;
+				if (window == fKnownWindows) {
+					if (fKnownWindows == fWindowCharStarts.length) {
+						fWindowCharStarts= Arrays.copyOf(fWindowCharStarts, fKnownWindows * 2);
+						fWindowByteStarts= Arrays.copyOf(fWindowByteStarts, fKnownWindows * 2);
+					}
+					fWindowCharStarts[window]= fWindowCharStart + fWindow.limit();
+					fWindowByteStarts[window]= nextByteStart;
+					fKnownWindows++;
+				}
+			}
+		}
+
+		/**
+		 * Decodes the given window into the window buffer.
+		 *
+		 * @param window the index of a known window
+		 * @return the byte offset following the decoded window
+		 */
+		private int decodeWindow(int window) {
+			ByteBuffer in= fBytes.duplicate();
+			in.position(fWindowByteStarts[window]);
+			fWindow.clear();
+			fDecoder.reset();
+			CoderResult result= fDecoder.decode(in, fWindow, true);
+			if (result.isUnderflow()) {
+				fDecoder.flush(fWindow);
+			}
+			fWindow.flip();
+			fWindowIndex= window;
+			fWindowCharStart= fWindowCharStarts[window];
+			return in.position();
+		}
+
+		@Override
+		public CharSequence subSequence(int start, int end) {
+			if (end < start) {
+				throw new IndexOutOfBoundsException("end cannot be smaller than start"); //$NON-NLS-1$
+			}
+			if (start < 0) {
+				throw new IndexOutOfBoundsException("start must be larger than 0"); //$NON-NLS-1$
+			}
+			StringBuilder buf= new StringBuilder(end - start);
+			for (int i= start; i < end; i++) {
+				buf.append(charAt(i));
+			}
+			return buf.toString();
+		}
+
+		@Override
+		public String toString() {
+			return subSequence(0, length()).toString();
+		}
+	}
+
 	/*
 	 * Try to get a content as String. Avoids to scanning whole InputStream to
 	 * get length
@@ -0,0 +1,94 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.search.internal.core.text;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.MultiStatus;
+
+import org.eclipse.core.resources.IFile;
+
+import org.eclipse.core.filebuffers.FileBuffers;
+import org.eclipse.core.filebuffers.ITextFileBuffer;
+import org.eclipse.core.filebuffers.LocationKind;
+
+import org.eclipse.jface.text.IDocument;
+
+import org.eclipse.search.core.text.TextSearchEngine;
+import org.eclipse.search.core.text.TextSearchRequestor;
+import org.eclipse.search.core.text.TextSearchScope;
+import org.eclipse.search.internal.core.SearchCoreMessages;
+import org.eclipse.search.internal.core.SearchCorePlugin;
+
+/**
+ * A {@link TextSearchEngine} that uses the {@link TrigramIndex} to narrow the
+ * files to search to the ones that can contain a match before running the same
+ * search as the default engine. Patterns without a literal part of at least
+ * three characters search all files.
+ */
+public class IndexedTextSearchEngine extends TextSearchEngine {
+
+	/**
+	 * Id of this engine in the <code>org.eclipse.search.textSearchEngine</code>
+	 * extension point.
+	 */
+	public static final String ENGINE_ID= "org.eclipse.search.core.indexedTextSearchEngine"; //$NON-NLS-1$
+
+	@Override
+	public IStatus search(TextSearchScope scope, TextSearchRequestor requestor, Pattern searchPattern, IProgressMonitor monitor) {
+		MultiStatus scopeStatus= new MultiStatus(SearchCorePlugin.PLUGIN_ID, IStatus.OK, SearchCoreMessages.TextSearchEngine_statusMessage, null);
+		IStatus status= search(scope.evaluateFilesInScope(scopeStatus), requestor, searchPattern, monitor);
+		if (!scopeStatus.isOK() && status instanceof MultiStatus multiStatus) {
+			multiStatus.addAll(scopeStatus);
+		}
+		return status;
+	}
+
+	@Override
+	public IStatus search(IFile[] scope, TextSearchRequestor requestor, Pattern searchPattern, IProgressMonitor monitor) {
+		DirtyFileProvider discovery= SearchCorePlugin.getDefault().getDirtyFileDiscovery();
+		IFile[] candidates= filterCandidates(scope, searchPattern, discovery);
+		return new TextSearchVisitor(requestor, searchPattern, discovery).search(candidates, monitor);
+	}
+
+	private IFile[] filterCandidates(IFile[] files, Pattern searchPattern, DirtyFileProvider discovery) {
+		long[] trigrams= TrigramQuery.requiredTrigrams(searchPattern);
+		if (trigrams == null) {
+			return files;
+		}
+		TrigramIndex index= SearchCorePlugin.getDefault().getTrigramIndex();
+		Map<IFile, IDocument> dirtyFiles= discovery != null ? discovery.dirtyFiles() : null;
+		List<IFile> candidates= new ArrayList<>(files.length);
+		for (IFile file : files) {
+			if (isOpenInBuffer(file, dirtyFiles) || index.isCandidate(file, trigrams)) {
+				candidates.add(file);
+			}
+		}
+		return candidates.toArray(new IFile[candidates.size()]);
+	}
+
+	private boolean isOpenInBuffer(IFile file, Map<IFile, IDocument> dirtyFiles) {
+		if (dirtyFiles != null && dirtyFiles.containsKey(file)) {
+			return true;
+		}
+		// the index reflects the file system, unsaved changes need to be searched
+		ITextFileBuffer buffer= FileBuffers.getTextFileBufferManager().getTextFileBuffer(file.getFullPath(), LocationKind.IFILE);
+		return buffer != null && buffer.isDirty();
+	}
+}
@@ -168,11 +168,14 @@ public class TextSearchVisitor {
 			SubMonitor subMonitor = SubMonitor.convert(inner, fileBatches.size() / jobCount); // approximate
 			this.fileCharSequenceProvider= new FileCharSequenceProvider();
 			List<IFile> sameFiles;
-			while (((sameFiles = fileBatches.poll()) != null) && !fFatalError && !fProgressMonitor.isCanceled()) {
+			while (((sameFiles = fileBatches.poll()) != null) && !fFatalError && !fLimitReached && !fProgressMonitor.isCanceled()) {
 				IStatus status = processFile(sameFiles, subMonitor.split(1));
 				// Only accumulate interesting status
 				if (!status.isOK())
 					multiStatus.add(status);
+				if (fCollector.isSearchLimitReached()) {
+					fLimitReached= true;
+				}
 				// Group cancellation is propagated to this job's monitor.
 				// Stop processing and return the status for the completed jobs.
 			}
@@ -297,6 +300,7 @@ public class TextSearchVisitor {
 
 	private final MultiStatus fStatus;
 	private volatile boolean fFatalError; // If true, terminates the search.
+	private volatile boolean fLimitReached; // If true, the requestor needs no more results.
 
 	private volatile boolean fIsLightweightAutoRefresh;
 	private DirtyFileProvider fDirtyDiscovery;
@@ -322,6 +326,7 @@ public class TextSearchVisitor {
 			fNumberOfScannedFiles = 0;
 			fCurrentFile = null;
 		}
+		fLimitReached= false;
 		int threadsNeeded = Math.min(files.length, NUMBER_OF_LOGICAL_THREADS);
 		// All but 1 threads should search. 1 thread does the UI updates:
 		int jobCount = fCollector.canRunInParallel() && threadsNeeded > 1 ? threadsNeeded - 1 : 1;
@@ -371,7 +376,7 @@ public class TextSearchVisitor {
 				// update progress until finished or canceled:
 				int numberOfScannedFiles = 0;
 				int lastNumberOfScannedFiles = 0;
-				while (!fProgressMonitor.isCanceled() && !jobGroup.getActiveJobs().isEmpty()
+				while (!fProgressMonitor.isCanceled() && !fLimitReached && !jobGroup.getActiveJobs().isEmpty()
 						&& numberOfScannedFiles != numberOfFilesToScan) {
 					IFile file;
 					synchronized (fLock) {
@@ -397,7 +402,7 @@ public class TextSearchVisitor {
 						lastNumberOfScannedFiles += steps;
 					}
 				}
-				if (fProgressMonitor.isCanceled()) {
+				if (fProgressMonitor.isCanceled() || fLimitReached) {
 					jobGroup.cancel();
 				}
 				// no need to pass progressMonitor (which would show wrong
@@ -408,7 +413,17 @@ public class TextSearchVisitor {
 					throw new OperationCanceledException(SearchCoreMessages.TextSearchVisitor_canceled);
 				}
 
-				fStatus.addAll(jobGroup.getResult());
+				IStatus groupResult= jobGroup.getResult();
+				if (fLimitReached) {
+					// jobs that were cancelled because of the limit are no failure
+					for (IStatus jobResult : groupResult.getChildren()) {
+						if (jobResult.getSeverity() != IStatus.CANCEL) {
+							fStatus.add(jobResult);
+						}
+					}
+				} else {
+					fStatus.addAll(groupResult);
+				}
 				return fStatus;
 			} catch (InterruptedException e) {
 				throw new OperationCanceledException(SearchCoreMessages.TextSearchVisitor_canceled);
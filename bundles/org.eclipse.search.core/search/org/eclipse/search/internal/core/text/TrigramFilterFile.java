@@ -0,0 +1,149 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.search.internal.core.text;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The file holding the bloom filters of a {@link TrigramIndex}. Filters are
+ * appended to the file and read back when they are needed. The most recently
+ * used filters are cached up to {@link #MAX_CACHED_BYTES}.
+ * <p>
+ * This class is not thread safe.
+ * </p>
+ */
+class TrigramFilterFile implements Closeable {
+
+	/** The maximum number of bytes of cached filters. */
+	static final long MAX_CACHED_BYTES= 4 * 1024 * 1024;
+
+	private final FileChannel fChannel;
+	private long fSize;
+	private final Map<Long, long[]> fCache= new LinkedHashMap<>(16, 0.75f, true);
+	private long fCachedBytes;
+
+	/**
+	 * Opens the given file, creating it if it doesn't exist.
+	 *
+	 * @param file the file
+	 * @throws IOException if opening the file fails
+	 */
+	TrigramFilterFile(File file) throws IOException {
+		fChannel= FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		fSize= fChannel.size();
+	}
+
+	/**
+	 * Returns the number of bytes in the file.
+	 *
+	 * @return the size of the file
+	 */
+	long size() {
+		return fSize;
+	}
+
+	/**
+	 * Discards the filters after the given position.
+	 *
+	 * @param size the new size of the file
+	 * @throws IOException if truncating the file fails
+	 */
+	void truncate(long size) throws IOException {
+		fChannel.truncate(size);
+		fSize= fChannel.size();
+		fCache.clear();
+		fCachedBytes= 0;
+	}
+
+	/**
+	 * Appends the given filter to the file.
+	 *
+	 * @param filter the filter
+	 * @return the position of the filter in the file
+	 * @throws IOException if writing fails
+	 */
+	long write(long[] filter) throws IOException {
+		ByteBuffer buffer= ByteBuffer.allocate(filter.length * Long.BYTES);
+		buffer.asLongBuffer().put(filter);
+		long position= fSize;
+		while (buffer.hasRemaining()) {
+			fChannel.write(buffer, position + buffer.position());
+		}
+		fSize+= buffer.capacity();
+		cache(position, filter);
+		return position;
+	}
+
+	/**
+	 * Reads a filter from the file.
+	 *
+	 * @param position the position of the filter as returned by {@link #write(long[])}
+	 * @param words the length of the filter
+	 * @return the filter
+	 * @throws IOException if reading fails
+	 */
+	long[] read(long position, int words) throws IOException {
+		long[] filter= fCache.get(Long.valueOf(position));
+		if (filter != null) {
+			return filter;
+		}
+		ByteBuffer buffer= ByteBuffer.allocate(words * Long.BYTES);
+		while (buffer.hasRemaining()) {
+			if (fChannel.read(buffer, position + buffer.position()) < 0) {
+				throw new EOFException();
+			}
+		}
+		buffer.flip();
+		filter= new long[words];
+		buffer.asLongBuffer().get(filter);
+		cache(position, filter);
+		return filter;
+	}
+
+	/**
+	 * Writes the appended filters to the storage device.
+	 *
+	 * @throws IOException if writing fails
+	 */
+	void force() throws IOException {
+		fChannel.force(false);
+	}
+
+	@Override
+	public void close() throws IOException {
+		fCache.clear();
+		fCachedBytes= 0;
+		fChannel.close();
+	}
+
+	private void cache(long position, long[] filter) {
+		if (fCache.put(Long.valueOf(position), filter) == null) {
+			fCachedBytes+= filter.length * Long.BYTES;
+		}
+		Iterator<long[]> e= fCache.values().iterator();
+		while (fCachedBytes > MAX_CACHED_BYTES && e.hasNext()) {
+			fCachedBytes-= e.next().length * Long.BYTES;
+			e.remove();
+		}
+	}
+}
@@ -0,0 +1,435 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.search.internal.core.text;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.core.runtime.CoreException;
+
+import org.eclipse.core.resources.IFile;
+
+/**
+ * A persistent index that records, for each indexed workspace file, a bloom
+ * filter over the case folded character trigrams of its content.
+ * <p>
+ * Only the modification stamp and the location of the filter of each file are
+ * kept on the heap. The filters are stored in a {@link TrigramFilterFile}, a
+ * bounded number of them is cached.
+ * </p>
+ * <p>
+ * The index is only used to exclude files that can't contain a match. Files
+ * that are not indexed, whose modification stamp changed since they were
+ * indexed or whose content could not be indexed are always candidates.
+ * </p>
+ * <p>
+ * This class is thread safe.
+ * </p>
+ */
+public class TrigramIndex implements Closeable {
+
+	private static final int MAGIC= 0x54524947; // "TRIG"
+	private static final int VERSION= 2;
+
+	/** Files larger than this are not indexed and always scanned. */
+	static final long MAX_INDEXED_FILE_SIZE= 8 * 1024 * 1024;
+
+	private static final int BITS_PER_TRIGRAM= 8;
+	private static final int MIN_FILTER_BITS= 64;
+	private static final int MAX_FILTER_BITS= 1 << 17;
+	private static final int READ_BUFFER_SIZE= 8192;
+
+	/** The filter file is compacted when more than this share of it is unused. */
+	private static final double MAX_GARBAGE_RATIO= 0.5;
+
+	/**
+	 * Index entry of a file: the position and length of its filter in the filter
+	 * file. A negative length marks a file whose content can't be indexed.
+	 */
+	private record Entry(long modificationStamp, long position, int words) {
+	}
+
+	private final Map<String, Entry> fEntries= new ConcurrentHashMap<>();
+	private final File fFilterFile;
+	/** The open filter file, guarded by <code>this</code>. */
+	private TrigramFilterFile fFilters;
+	/** The number of bytes of the filter file not used by any entry, guarded by <code>this</code>. */
+	private long fGarbage;
+	private volatile boolean fDirty;
+
+	/**
+	 * Creates an empty index.
+	 *
+	 * @param filterFile the file to store the filters in, it is opened on first
+	 *            use
+	 */
+	public TrigramIndex(File filterFile) {
+		fFilterFile= filterFile;
+	}
+
+	/**
+	 * Returns whether the given file may contain all of the given trigrams.
+	 *
+	 * @param file the file to test
+	 * @param trigrams sorted trigrams as returned by
+	 *            {@link TrigramQuery#requiredTrigrams(java.util.regex.Pattern)}
+	 * @return <code>false</code> if the file is known not to match, <code>true</code>
+	 *         otherwise
+	 */
+	public boolean isCandidate(IFile file, long[] trigrams) {
+		long[] filter;
+		synchronized (this) {
+			Entry entry= fEntries.get(key(file));
+			if (entry == null || entry.words() < 0 || entry.modificationStamp() != file.getModificationStamp()) {
+				return true;
+			}
+			try {
+				filter= getFilters().read(entry.position(), entry.words());
+			} catch (IOException e) {
+				return true;
+			}
+		}
+		for (long trigram : trigrams) {
+			if (!contains(filter, trigram)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns whether the entry of the given file is up to date.
+	 *
+	 * @param file the file
+	 * @return <code>true</code> if the file does not need to be indexed again
+	 */
+	public boolean isUpToDate(IFile file) {
+		Entry entry= fEntries.get(key(file));
+		return entry != null && entry.modificationStamp() == file.getModificationStamp();
+	}
+
+	/**
+	 * Reads the content of the given file and updates its entry.
+	 *
+	 * @param file the file to index
+	 * @throws CoreException if the file can't be read
+	 * @throws IOException if reading the file fails
+	 */
+	public void index(IFile file) throws CoreException, IOException {
+		// read the stamp first: if the file changes while it is read, the entry is outdated
+		long stamp= file.getModificationStamp();
+		long[] filter= null;
+		File localFile= file.getLocation() != null ? file.getLocation().toFile() : null;
+		if (localFile == null || localFile.length() <= MAX_INDEXED_FILE_SIZE) {
+			try (Reader reader= new BufferedReader(new InputStreamReader(file.getContents(true), file.getCharset()), READ_BUFFER_SIZE)) {
+				filter= computeFilter(reader);
+			}
+		}
+		synchronized (this) {
+			Entry entry= filter != null ? new Entry(stamp, getFilters().write(filter), filter.length) : new Entry(stamp, -1, -1);
+			discard(fEntries.put(key(file), entry));
+		}
+		fDirty= true;
+	}
+
+	/**
+	 * Removes the entry of the given file.
+	 *
+	 * @param file the file
+	 */
+	public synchronized void remove(IFile file) {
+		Entry entry= fEntries.remove(key(file));
+		if (entry != null) {
+			discard(entry);
+			fDirty= true;
+		}
+	}
+
+	private void discard(Entry entry) {
+		if (entry != null && entry.words() > 0) {
+			fGarbage+= entry.words() * (long) Long.BYTES;
+		}
+	}
+
+	/**
+	 * Returns the number of indexed files.
+	 *
+	 * @return the number of files in the index
+	 */
+	public int size() {
+		return fEntries.size();
+	}
+
+	/**
+	 * Reads the index from the given file. A missing, outdated or corrupt index
+	 * file leaves the index empty. Filters written to the filter file after the
+	 * index file was saved are discarded.
+	 *
+	 * @param indexFile the file to read from
+	 */
+	public synchronized void load(File indexFile) {
+		fEntries.clear();
+		fDirty= false;
+		long filtersSize= 0;
+		if (indexFile.isFile()) {
+			try (DataInputStream in= new DataInputStream(new BufferedInputStream(new FileInputStream(indexFile)))) {
+				if (in.readInt() == MAGIC && in.readInt() == VERSION) {
+					filtersSize= in.readLong();
+					int count= in.readInt();
+					for (int i= 0; i < count; i++) {
+						String path= in.readUTF();
+						long stamp= in.readLong();
+						int words= in.readInt();
+						long position= words >= 0 ? in.readLong() : -1;
+						fEntries.put(path, new Entry(stamp, position, words));
+					}
+				}
+			} catch (IOException e) {
+				// corrupt index, start over
+				fEntries.clear();
+			}
+		}
+		try {
+			TrigramFilterFile filters= getFilters();
+			if (filters.size() < filtersSize) {
+				// the filter file doesn't belong to the index
+				fEntries.clear();
+				filtersSize= 0;
+			}
+			filters.truncate(fEntries.isEmpty() ? 0 : filtersSize);
+			long used= 0;
+			for (Entry entry : fEntries.values()) {
+				if (entry.words() > 0) {
+					used+= entry.words() * (long) Long.BYTES;
+				}
+			}
+			fGarbage= filters.size() - used;
+		} catch (IOException e) {
+			// all files are candidates
+			fEntries.clear();
+		}
+	}
+
+	/**
+	 * Writes the index to the given file if it changed since it was last loaded
+	 * or saved. The filter file is compacted before if most of it is unused.
+	 *
+	 * @param indexFile the file to write to
+	 * @throws IOException if writing fails
+	 */
+	public synchronized void save(File indexFile) throws IOException {
+		if (!fDirty) {
+			return;
+		}
+		fDirty= false;
+		File tmpFile= new File(indexFile.getPath() + ".tmp"); //$NON-NLS-1$
+		try {
+			TrigramFilterFile filters= getFilters();
+			if (fGarbage > filters.size() * MAX_GARBAGE_RATIO) {
+				compact();
+				filters= getFilters();
+			}
+			filters.force();
+			try (DataOutputStream out= new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmpFile)))) {
+				out.writeInt(MAGIC);
+				out.writeInt(VERSION);
+				out.writeLong(filters.size());
+				out.writeInt(fEntries.size());
+				for (Map.Entry<String, Entry> mapEntry : fEntries.entrySet()) {
+					Entry entry= mapEntry.getValue();
+					out.writeUTF(mapEntry.getKey());
+					out.writeLong(entry.modificationStamp());
+					out.writeInt(entry.words());
+					if (entry.words() >= 0) {
+						out.writeLong(entry.position());
+					}
+				}
+			}
+		} catch (IOException e) {
+			fDirty= true;
+			throw e;
+		}
+		Files.move(tmpFile.toPath(), indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	/**
+	 * Closes the filter file. The index can't be used afterwards, unless it is
+	 * loaded again.
+	 *
+	 * @throws IOException if closing the filter file fails
+	 */
+	@Override
+	public synchronized void close() throws IOException {
+		fEntries.clear();
+		if (fFilters != null) {
+			fFilters.close();
+			fFilters= null;
+		}
+	}
+
+	private TrigramFilterFile getFilters() throws IOException {
+		if (fFilters == null) {
+			fFilters= new TrigramFilterFile(fFilterFile);
+		}
+		return fFilters;
+	}
+
+	/**
+	 * Copies the filters of all entries into a new filter file, which replaces
+	 * the current one.
+	 *
+	 * @throws IOException if copying fails
+	 */
+	private void compact() throws IOException {
+		File tmpFile= new File(fFilterFile.getPath() + ".tmp"); //$NON-NLS-1$
+		Map<String, Entry> compacted= new HashMap<>();
+		try (TrigramFilterFile target= new TrigramFilterFile(tmpFile)) {
+			target.truncate(0);
+			for (Map.Entry<String, Entry> mapEntry : fEntries.entrySet()) {
+				Entry entry= mapEntry.getValue();
+				if (entry.words() >= 0) {
+					long position= target.write(fFilters.read(entry.position(), entry.words()));
+					entry= new Entry(entry.modificationStamp(), position, entry.words());
+				}
+				compacted.put(mapEntry.getKey(), entry);
+			}
+			target.force();
+		}
+		fFilters.close();
+		fFilters= null;
+		Files.move(tmpFile.toPath(), fFilterFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		fEntries.putAll(compacted);
+		fGarbage= 0;
+	}
+
+	private static String key(IFile file) {
+		return file.getFullPath().toString();
+	}
+
+	/**
+	 * Computes the bloom filter over the trigrams of the given content.
+	 *
+	 * @param reader the content
+	 * @return the filter, or <code>null</code> if the content looks binary
+	 * @throws IOException if reading fails
+	 */
+	static long[] computeFilter(Reader reader) throws IOException {
+		long[] trigrams= new long[1024];
+		int count= 0;
+		char[] buffer= new char[READ_BUFFER_SIZE];
+		char c0= 0, c1= 0;
+		int seen= 0;
+		int read;
+		while ((read= reader.read(buffer)) != -1) {
+			for (int i= 0; i < read; i++) {
+				char c2= buffer[i];
+				if (c2 == '\0') {
+					return null;
+				}
+				if (++seen >= 3) {
+					if (count == trigrams.length) {
+						// collapse duplicates before growing
+						long[] distinct= sortedDistinct(trigrams, count);
+						count= distinct.length;
+						if (count > trigrams.length / 2) {
+							trigrams= Arrays.copyOf(trigrams, trigrams.length * 2);
+						}
+						System.arraycopy(distinct, 0, trigrams, 0, count);
+					}
+					trigrams[count++]= trigram(c0, c1, c2);
+				}
+				c0= c1;
+				c1= c2;
+			}
+		}
+		long[] distinct= sortedDistinct(trigrams, count);
+		int bits= Integer.highestOneBit(Math.max(MIN_FILTER_BITS, Math.min(MAX_FILTER_BITS, distinct.length * BITS_PER_TRIGRAM)) - 1) << 1;
+		long[] filter= new long[bits >>> 6];
+		for (long trigram : distinct) {
+			long hash= mix(trigram);
+			set(filter, (int) hash);
+			set(filter, (int) (hash >>> 32));
+		}
+		return filter;
+	}
+
+	private static boolean contains(long[] filter, long trigram) {
+		long hash= mix(trigram);
+		return isSet(filter, (int) hash) && isSet(filter, (int) (hash >>> 32));
+	}
+
+	private static void set(long[] filter, int hash) {
+		int bit= hash & ((filter.length << 6) - 1);
+		filter[bit >>> 6]|= 1L << bit;
+	}
+
+	private static boolean isSet(long[] filter, int hash) {
+		int bit= hash & ((filter.length << 6) - 1);
+		return (filter[bit >>> 6] & (1L << bit)) != 0;
+	}
+
+	private static long mix(long value) {
+		long h= value * 0x9E3779B97F4A7C15L;
+		h^= h >>> 32;
+		h*= 0xBF58476D1CE4E5B9L;
+		return h ^ (h >>> 29);
+	}
+
+	/**
+	 * Packs three characters into a case folded trigram. Characters are folded the
+	 * same way {@link java.util.regex.Pattern#CASE_INSENSITIVE} with
+	 * {@link java.util.regex.Pattern#UNICODE_CASE} compares them, so that the
+	 * index can serve case sensitive and case insensitive queries.
+	 *
+	 * @param c0 the first character
+	 * @param c1 the second character
+	 * @param c2 the third character
+	 * @return the trigram
+	 */
+	static long trigram(char c0, char c1, char c2) {
+		return ((long) fold(c0) << 32) | ((long) fold(c1) << 16) | fold(c2);
+	}
+
+	private static char fold(char ch) {
+		return Character.toLowerCase(Character.toUpperCase(ch));
+	}
+
+	static long[] sortedDistinct(long[] values, int count) {
+		long[] sorted= Arrays.copyOf(values, count);
+		Arrays.sort(sorted);
+		int distinct= 0;
+		for (int i= 0; i < count; i++) {
+			if (distinct == 0 || sorted[distinct - 1] != sorted[i]) {
+				sorted[distinct++]= sorted[i];
+			}
+		}
+		return distinct == count ? sorted : Arrays.copyOf(sorted, distinct);
+	}
+}
@@ -0,0 +1,205 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.search.internal.core.text;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.IResourceProxy;
+import org.eclipse.core.resources.IWorkspace;
+
+import org.eclipse.search.internal.core.SearchCoreMessages;
+import org.eclipse.search.internal.core.SearchCorePlugin;
+
+/**
+ * Keeps a {@link TrigramIndex} up to date with the workspace. An initial pass
+ * indexes all files that are missing or outdated in the persisted index, after
+ * that resource deltas are used to re-index changed files in the background.
+ */
+public class TrigramIndexUpdater implements IResourceChangeListener {
+
+	private static final long UPDATE_DELAY= 500;
+
+	private final IWorkspace fWorkspace;
+	private final TrigramIndex fIndex;
+	private final File fIndexFile;
+	private final Queue<IFile> fPending= new ConcurrentLinkedQueue<>();
+	private volatile boolean fFullPassDone;
+
+	private final Job fJob= new Job(SearchCoreMessages.TrigramIndexUpdater_job_name) {
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			if (!fFullPassDone) {
+				try {
+					queueWorkspace();
+					fFullPassDone= true;
+				} catch (CoreException e) {
+					return e.getStatus();
+				}
+			}
+			IFile file;
+			while ((file= fPending.poll()) != null) {
+				if (monitor.isCanceled()) {
+					return Status.CANCEL_STATUS;
+				}
+				updateFile(file);
+			}
+			save();
+			return Status.OK_STATUS;
+		}
+
+		@Override
+		public boolean belongsTo(Object family) {
+			return family == TrigramIndexUpdater.this;
+		}
+	};
+
+	/**
+	 * Creates an updater for the given index.
+	 *
+	 * @param workspace the workspace to index
+	 * @param index the index to keep up to date
+	 * @param indexFile the file the index is persisted to
+	 */
+	public TrigramIndexUpdater(IWorkspace workspace, TrigramIndex index, File indexFile) {
+		fWorkspace= workspace;
+		fIndex= index;
+		fIndexFile= indexFile;
+		fJob.setSystem(true);
+		fJob.setPriority(Job.DECORATE);
+	}
+
+	/**
+	 * Loads the persisted index, starts listening to resource changes and
+	 * schedules the initial indexing pass.
+	 */
+	public void start() {
+		fIndex.load(fIndexFile);
+		fWorkspace.addResourceChangeListener(this, IResourceChangeEvent.POST_CHANGE);
+		fJob.schedule();
+	}
+
+	/**
+	 * Stops listening to resource changes, persists and closes the index.
+	 */
+	public void stop() {
+		fWorkspace.removeResourceChangeListener(this);
+		fJob.cancel();
+		try {
+			fJob.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		save();
+		try {
+			fIndex.close();
+		} catch (IOException e) {
+			SearchCorePlugin.log(e);
+		}
+	}
+
+	/**
+	 * Returns the updated index.
+	 *
+	 * @return the index
+	 */
+	public TrigramIndex getIndex() {
+		return fIndex;
+	}
+
+	/**
+	 * Returns the family of the indexing job.
+	 *
+	 * @return the job family
+	 */
+	public Object getJobFamily() {
+		return this;
+	}
+
+	@Override
+	public void resourceChanged(IResourceChangeEvent event) {
+		IResourceDelta delta= event.getDelta();
+		if (delta == null) {
+			return;
+		}
+		try {
+			delta.accept(d -> {
+				IResource resource= d.getResource();
+				if (resource.getType() != IResource.FILE) {
+					return true;
+				}
+				IFile file= (IFile) resource;
+				if (d.getKind() == IResourceDelta.REMOVED) {
+					fIndex.remove(file);
+				} else if (file.isDerived()) {
+					return false;
+				} else if (d.getKind() == IResourceDelta.ADDED || (d.getFlags() & (IResourceDelta.CONTENT | IResourceDelta.ENCODING | IResourceDelta.REPLACED)) != 0) {
+					fPending.add(file);
+				}
+				return false;
+			});
+		} catch (CoreException e) {
+			SearchCorePlugin.log(e);
+		}
+		if (!fPending.isEmpty()) {
+			fJob.schedule(UPDATE_DELAY);
+		}
+	}
+
+	private void queueWorkspace() throws CoreException {
+		fWorkspace.getRoot().accept((IResourceProxy proxy) -> {
+			if (proxy.getType() == IResource.FILE && !proxy.isDerived()) {
+				IFile file= (IFile) proxy.requestResource();
+				if (!fIndex.isUpToDate(file)) {
+					fPending.add(file);
+				}
+			}
+			return true;
+		}, IResource.NONE);
+	}
+
+	private void updateFile(IFile file) {
+		if (!file.isAccessible()) {
+			fIndex.remove(file);
+			return;
+		}
+		try {
+			fIndex.index(file);
+		} catch (CoreException | IOException e) {
+			// keep the file as candidate, it is scanned by the search anyway
+			fIndex.remove(file);
+		}
+	}
+
+	private void save() {
+		try {
+			fIndex.save(fIndexFile);
+		} catch (IOException e) {
+			SearchCorePlugin.log(e);
+		}
+	}
+}
@@ -0,0 +1,442 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.search.internal.core.text;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Extracts the trigrams that every match of a {@link Pattern} must contain.
+ * <p>
+ * The extraction is conservative: only literal runs that are required on every
+ * path through the top level of the expression are considered. Groups,
+ * character classes, escapes other than quoted or encoded characters and optional
+ * characters end the current run. If the expression contains a top level
+ * alternation or flags that change the meaning of the pattern text, no
+ * trigrams are returned and callers have to fall back to scanning all files.
+ * </p>
+ */
+public final class TrigramQuery {
+
+	private static final long[] NO_TRIGRAMS= new long[0];
+
+	private TrigramQuery() {
+		// don't instantiate
+	}
+
+	/**
+	 * Returns the sorted, distinct, case folded trigrams that each match of the
+	 * given pattern contains.
+	 *
+	 * @param pattern the search pattern
+	 * @return the required trigrams or <code>null</code> if the pattern has no
+	 *         literal part of at least three characters
+	 */
+	public static long[] requiredTrigrams(Pattern pattern) {
+		List<String> literals= requiredLiterals(pattern);
+		if (literals == null) {
+			return null;
+		}
+		long[] trigrams= NO_TRIGRAMS;
+		int count= 0;
+		for (String literal : literals) {
+			for (int i= 0; i + 2 < literal.length(); i++) {
+				if (count == trigrams.length) {
+					trigrams= Arrays.copyOf(trigrams, Math.max(16, count * 2));
+				}
+				trigrams[count++]= TrigramIndex.trigram(literal.charAt(i), literal.charAt(i + 1), literal.charAt(i + 2));
+			}
+		}
+		if (count == 0) {
+			return null;
+		}
+		return TrigramIndex.sortedDistinct(trigrams, count);
+	}
+
+	/**
+	 * Returns the literal strings that each match of the given pattern contains.
+	 *
+	 * @param pattern the search pattern
+	 * @return the required literals or <code>null</code> if they can't be
+	 *         determined
+	 */
+	static List<String> requiredLiterals(Pattern pattern) {
+		int flags= pattern.flags();
+		if ((flags & (Pattern.COMMENTS | Pattern.CANON_EQ)) != 0) {
+			return null;
+		}
+		String regex= pattern.pattern();
+		List<String> literals= new ArrayList<>();
+		if ((flags & Pattern.LITERAL) != 0) {
+			addLiteralRuns(regex, literals);
+			return literals;
+		}
+		return new LiteralCollector(regex, literals).collect() ? literals : null;
+	}
+
+	private static void addLiteralRuns(CharSequence text, List<String> literals) {
+		StringBuilder run= new StringBuilder();
+		for (int i= 0; i < text.length(); i++) {
+			char ch= text.charAt(i);
+			if (Character.isSurrogate(ch)) {
+				flush(run, literals);
+			} else {
+				run.append(ch);
+			}
+		}
+		flush(run, literals);
+	}
+
+	private static void flush(StringBuilder run, List<String> literals) {
+		if (run.length() >= 3) {
+			literals.add(run.toString());
+		}
+		run.setLength(0);
+	}
+
+	private static final class LiteralCollector {
+		private final String fRegex;
+		private final List<String> fLiterals;
+		private final StringBuilder fRun= new StringBuilder();
+		private boolean fLastIsLiteral;
+		private int fPos;
+
+		LiteralCollector(String regex, List<String> literals) {
+			fRegex= regex;
+			fLiterals= literals;
+		}
+
+		boolean collect() {
+			int length= fRegex.length();
+			while (fPos < length) {
+				char ch= fRegex.charAt(fPos);
+				switch (ch) {
+					case '\\':
+						if (!escape()) {
+							return false;
+						}
+						break;
+					case '[':
+						endRun();
+						fPos= skipCharClass(fPos);
+						break;
+					case '(':
+						endRun();
+						if (fPos + 1 < length && fRegex.charAt(fPos + 1) == '?' && hasCommentsFlag(fPos + 2)) {
+							return false;
+						}
+						fPos= skipGroup(fPos);
+						if (fPos < 0) {
+							return false;
+						}
+						break;
+					case '|':
+					case ')':
+						return false;
+					case '*':
+					case '?':
+					case '{':
+						if (fLastIsLiteral) {
+							fRun.setLength(fRun.length() - 1);
+						}
+						endRun();
+						fPos= skipQuantifier(fPos);
+						break;
+					case '+':
+						endRun();
+						fPos= skipQuantifier(fPos);
+						break;
+					case '.':
+					case '^':
+					case '$':
+						endRun();
+						fPos++;
+						break;
+					default:
+						literal(ch);
+						fPos++;
+						break;
+				}
+			}
+			endRun();
+			return true;
+		}
+
+		private boolean escape() {
+			int length= fRegex.length();
+			if (fPos + 1 >= length) {
+				return false;
+			}
+			char next= fRegex.charAt(fPos + 1);
+			if (next == 'Q') {
+				int end= fRegex.indexOf("\\E", fPos + 2); //$NON-NLS-1$
+				int quoteEnd= end < 0 ? length : end;
+				for (int i= fPos + 2; i < quoteEnd; i++) {
+					literal(fRegex.charAt(i));
+				}
+				fPos= end < 0 ? length : end + 2;
+				return true;
+			}
+			fPos+= 2;
+			switch (next) {
+				case 't':
+					literal('\t');
+					return true;
+				case 'n':
+					literal('\n');
+					return true;
+				case 'r':
+					literal('\r');
+					return true;
+				case 'f':
+					literal('\f');
+					return true;
+				case 'e':
+					literal('\u001B');
+					return true;
+				case 'a':
+					literal('\u0007');
+					return true;
+				case 'x':
+					return hexEscape();
+				case 'u':
+					return hexEscape(4);
+				case '0':
+					return octalEscape();
+				case 'c':
+					if (fPos >= length) {
+						return false;
+					}
+					literal((char) (fRegex.charAt(fPos++) ^ 64));
+					return true;
+				default:
+					break;
+			}
+			if (Character.isLetterOrDigit(next)) {
+				endRun();
+				if (fPos < length && (fRegex.charAt(fPos) == '{' || fRegex.charAt(fPos) == '<')) {
+					char close= fRegex.charAt(fPos) == '{' ? '}' : '>';
+					int end= fRegex.indexOf(close, fPos);
+					if (end < 0) {
+						return false;
+					}
+					fPos= end + 1;
+				}
+			} else {
+				literal(next);
+			}
+			return true;
+		}
+
+		/**
+		 * Decodes the operand of a <code>\\x</code> escape, either two hex digits
+		 * or a code point in braces.
+		 */
+		private boolean hexEscape() {
+			if (fPos < fRegex.length() && fRegex.charAt(fPos) == '{') {
+				int end= fRegex.indexOf('}', fPos);
+				if (end < 0) {
+					return false;
+				}
+				int codePoint= parseHex(fPos + 1, end - fPos - 1);
+				fPos= end + 1;
+				return codePoint(codePoint);
+			}
+			return hexEscape(2);
+		}
+
+		/**
+		 * Decodes the given number of hex digits following an escape.
+		 */
+		private boolean hexEscape(int digits) {
+			int codePoint= parseHex(fPos, digits);
+			fPos+= digits;
+			return codePoint(codePoint);
+		}
+
+		/**
+		 * Decodes the operand of a <code>\\0</code> escape, one to three octal
+		 * digits with a value of at most <code>0377</code>.
+		 */
+		private boolean octalEscape() {
+			int value= 0;
+			int digits= 0;
+			while (digits < 3 && fPos + digits < fRegex.length()) {
+				int digit= Character.digit(fRegex.charAt(fPos + digits), 8);
+				if (digit < 0 || value * 8 + digit > 0377) {
+					break;
+				}
+				value= value * 8 + digit;
+				digits++;
+			}
+			if (digits == 0) {
+				return false;
+			}
+			fPos+= digits;
+			literal((char) value);
+			return true;
+		}
+
+		/**
+		 * Returns the value of the given number of hex digits at the given
+		 * position, or <code>-1</code> if they are not all hex digits.
+		 */
+		private int parseHex(int pos, int digits) {
+			if (digits <= 0 || digits > 8 || pos + digits > fRegex.length()) {
+				return -1;
+			}
+			int value= 0;
+			for (int i= pos; i < pos + digits; i++) {
+				int digit= Character.digit(fRegex.charAt(i), 16);
+				if (digit < 0) {
+					return -1;
+				}
+				value= value * 16 + digit;
+			}
+			return value;
+		}
+
+		/**
+		 * Adds the given code point of an escape to the run. Code points outside the basic multilingual plane end
+		 * the run.
+		 *
+		 * @return <code>false</code> if the operand is not a valid code point
+		 */
+		private boolean codePoint(int codePoint) {
+			if (codePoint < 0 || codePoint > Character.MAX_CODE_POINT) {
+				return false;
+			}
+			if (Character.isBmpCodePoint(codePoint)) {
+				literal((char) codePoint);
+			} else {
+				endRun();
+			}
+			return true;
+		}
+
+		private void literal(char ch) {
+			if (Character.isSurrogate(ch)) {
+				endRun();
+				return;
+			}
+			fRun.append(ch);
+			fLastIsLiteral= true;
+		}
+
+		private void endRun() {
+			flush(fRun, fLiterals);
+			fLastIsLiteral= false;
+		}
+
+		private boolean hasCommentsFlag(int pos) {
+			for (int i= pos; i < fRegex.length(); i++) {
+				char ch= fRegex.charAt(i);
+				if (ch == 'x') {
+					return true;
+				}
+				if (!Character.isLetter(ch) && ch != '-') {
+					return false;
+				}
+			}
+			return false;
+		}
+
+		private int skipQuantifier(int pos) {
+			int length= fRegex.length();
+			if (fRegex.charAt(pos) == '{') {
+				int end= fRegex.indexOf('}', pos);
+				pos= end < 0 ? length : end + 1;
+			} else {
+				pos++;
+			}
+			if (pos < length && (fRegex.charAt(pos) == '?' || fRegex.charAt(pos) == '+')) {
+				pos++;
+			}
+			return pos;
+		}
+
+		private int skipCharClass(int pos) {
+			int length= fRegex.length();
+			int depth= 0;
+			int i= pos;
+			while (i < length) {
+				char ch= fRegex.charAt(i);
+				if (ch == '\\') {
+					if (i + 1 < length && fRegex.charAt(i + 1) == 'Q') {
+						int end= fRegex.indexOf("\\E", i + 2); //$NON-NLS-1$
+						i= end < 0 ? length : end + 2;
+					} else {
+						i+= 2;
+					}
+					continue;
+				}
+				if (ch == '[') {
+					depth++;
+					i++;
+					// a ']' directly after the opening bracket is a literal
+					if (i < length && fRegex.charAt(i) == '^') {
+						i++;
+					}
+					if (i < length && fRegex.charAt(i) == ']') {
+						i++;
+					}
+					continue;
+				}
+				i++;
+				if (ch == ']' && --depth == 0) {
+					return i;
+				}
+			}
+			return length;
+		}
+
+		private int skipGroup(int pos) {
+			int length= fRegex.length();
+			int depth= 0;
+			int i= pos;
+			while (i < length) {
+				char ch= fRegex.charAt(i);
+				switch (ch) {
+					case '\\':
+						if (i + 1 < length && fRegex.charAt(i + 1) == 'Q') {
+							int end= fRegex.indexOf("\\E", i + 2); //$NON-NLS-1$
+							i= end < 0 ? length : end + 2;
+						} else {
+							i+= 2;
+						}
+						break;
+					case '[':
+						i= skipCharClass(i);
+						break;
+					case '(':
+						depth++;
+						i++;
+						break;
+					case ')':
+						i++;
+						if (--depth == 0) {
+							return i;
+						}
+						break;
+					default:
+						i++;
+						break;
+				}
+			}
+			return -1;
+		}
+	}
+}
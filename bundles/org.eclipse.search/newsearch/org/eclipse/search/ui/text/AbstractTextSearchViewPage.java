@@ -138,6 +138,11 @@ import org.eclipse.search2.internal.ui.text.PositionTracker;
 public abstract class AbstractTextSearchViewPage extends Page implements ISearchResultPage {
 	private class UpdateUIJob extends UIJob {
 
+		/** Minimal delay in milliseconds between two updates while a query is running. */
+		private static final long MIN_UPDATE_DELAY= 100;
+		/** Maximal delay in milliseconds between two updates while a query is running. */
+		private static final long MAX_UPDATE_DELAY= 500;
+
 		public UpdateUIJob() {
 			super(SearchMessages.AbstractTextSearchViewPage_update_job_name);
 			setSystem(true);
@@ -150,10 +155,14 @@ public abstract class AbstractTextSearchViewPage extends Page implements ISearch
 				// disposed the control while the UI was posted.
 				return Status.OK_STATUS;
 			}
+			long start= System.currentTimeMillis();
 			runBatchedClear();
 			runBatchedUpdates();
 			if (hasMoreUpdates() || isQueryRunning()) {
-				schedule(500);
+				// update often while updates are cheap so that the first results show up
+				// quickly, but leave the UI thread idle for longer when updates get expensive
+				long elapsed= System.currentTimeMillis() - start;
+				schedule(Math.max(MIN_UPDATE_DELAY, Math.min(MAX_UPDATE_DELAY, 4 * elapsed)));
 			} else {
 				fIsUIUpdateScheduled= false;
 				turnOnDecoration();
@@ -230,6 +239,8 @@ public abstract class AbstractTextSearchViewPage extends Page implements ISearch
 	private boolean fIsBusyShown;
 	private ISearchResultViewPart fViewPart;
 	private final LinkedBlockingDeque<Object> fBatchedUpdates = new LinkedBlockingDeque<>();
+	/** Maximal number of changed elements passed to the viewer in one UI update. */
+	private static final int MAX_ELEMENTS_PER_UPDATE= 5000;
 	private volatile boolean fBatchedClearAll;
 
 	private ISearchResultListener fListener;
@@ -1255,7 +1266,8 @@ public abstract class AbstractTextSearchViewPage extends Page implements ISearch
 
 	private void runBatchedUpdates() {
 		Collection<Object> drain = new ArrayList<>();
-		fBatchedUpdates.drainTo(drain);
+		// remaining elements are handled in the next update to keep the UI responsive
+		fBatchedUpdates.drainTo(drain, MAX_ELEMENTS_PER_UPDATE);
 		elementsChanged(drain.toArray());
 		updateBusyLabel();
 	}
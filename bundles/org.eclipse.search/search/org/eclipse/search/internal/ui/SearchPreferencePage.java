@@ -25,6 +25,7 @@ import org.eclipse.jface.preference.ColorFieldEditor;
 import org.eclipse.jface.preference.ComboFieldEditor;
 import org.eclipse.jface.preference.FieldEditorPreferencePage;
 import org.eclipse.jface.preference.IPreferenceStore;
+import org.eclipse.jface.preference.IntegerFieldEditor;
 import org.eclipse.jface.preference.PreferenceConverter;
 import org.eclipse.jface.util.PropertyChangeEvent;
 
@@ -56,6 +57,8 @@ public class SearchPreferencePage extends FieldEditorPreferencePage implements I
 	public static final String TEXT_SEARCH_ENGINE = TextSearchEngineRegistry.PREFERENCE_ENGINE_KEY;
 	public static final String TEXT_SEARCH_QUERY_PROVIDER = "org.eclipse.search.textSearchQueryProvider"; //$NON-NLS-1$
 	public static final String LIMIT_HISTORY= "org.eclipse.search.limitHistory"; //$NON-NLS-1$
+	public static final String LIMIT_TEXT_SEARCH_MATCHES= "org.eclipse.search.limitTextSearchMatches"; //$NON-NLS-1$
+	public static final String LIMIT_TEXT_SEARCH_FILES= "org.eclipse.search.limitTextSearchFiles"; //$NON-NLS-1$
 
 	private ColorFieldEditor fColorEditor;
 	private BooleanFieldEditor fEmphasizedCheckbox;
@@ -91,6 +94,8 @@ public class SearchPreferencePage extends FieldEditorPreferencePage implements I
 		store.setDefault(TEXT_SEARCH_ENGINE, ""); //default search engine is empty string //$NON-NLS-1$
 		store.setDefault(TEXT_SEARCH_QUERY_PROVIDER, ""); // default query provider is empty string  //$NON-NLS-1$
 		store.setDefault(LIMIT_HISTORY, 10);
+		store.setDefault(LIMIT_TEXT_SEARCH_MATCHES, 0);
+		store.setDefault(LIMIT_TEXT_SEARCH_FILES, 0);
 	}
 
 
@@ -151,6 +156,16 @@ public class SearchPreferencePage extends FieldEditorPreferencePage implements I
 					getFieldEditorParent());
 			addField(comboEditor);
 		}
+
+		IntegerFieldEditor matchLimitEditor= new IntegerFieldEditor(LIMIT_TEXT_SEARCH_MATCHES,
+				SearchMessages.SearchPreferencePage_limitTextSearchMatches, getFieldEditorParent());
+		matchLimitEditor.setValidRange(0, Integer.MAX_VALUE);
+		addField(matchLimitEditor);
+
+		IntegerFieldEditor fileLimitEditor= new IntegerFieldEditor(LIMIT_TEXT_SEARCH_FILES,
+				SearchMessages.SearchPreferencePage_limitTextSearchFiles, getFieldEditorParent());
+		fileLimitEditor.setValidRange(0, Integer.MAX_VALUE);
+		addField(fileLimitEditor);
 	}
 
 	@Override
@@ -265,4 +280,22 @@ public class SearchPreferencePage extends FieldEditorPreferencePage implements I
 		return limit;
 	}
 
+	/**
+	 * @return the maximum number of matches a text search reports, <code>0</code>
+	 *         for no limit
+	 */
+	public static int getTextSearchMatchLimit() {
+		IPreferenceStore store= SearchPlugin.getDefault().getPreferenceStore();
+		return Math.max(0, store.getInt(LIMIT_TEXT_SEARCH_MATCHES));
+	}
+
+	/**
+	 * @return the maximum number of files with matches a text search reports,
+	 *         <code>0</code> for no limit
+	 */
+	public static int getTextSearchFileLimit() {
+		IPreferenceStore store= SearchPlugin.getDefault().getPreferenceStore();
+		return Math.max(0, store.getInt(LIMIT_TEXT_SEARCH_FILES));
+	}
+
 }
@@ -21,12 +21,14 @@ package org.eclipse.search.internal.ui.text;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Pattern;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.jobs.Job;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IResource;
@@ -38,6 +40,7 @@ import org.eclipse.search.core.text.TextSearchRequestor;
 import org.eclipse.search.internal.core.text.PatternConstructor;
 import org.eclipse.search.internal.ui.Messages;
 import org.eclipse.search.internal.ui.SearchMessages;
+import org.eclipse.search.internal.ui.SearchPreferencePage;
 import org.eclipse.search.ui.ISearchQuery;
 import org.eclipse.search.ui.ISearchResult;
 import org.eclipse.search.ui.NewSearchUI;
@@ -50,20 +53,52 @@ public class FileSearchQuery implements ISearchQuery {
 
 	private final static class TextSearchResultCollector extends TextSearchRequestor {
 
+		/**
+		 * Matches of searched files are handed to the result in batches of at least this size,
+		 * unless {@link #FLUSH_INTERVAL} has passed since the last batch. Held back matches are
+		 * handed to the result by {@link #fFlushJob} once the interval has passed, even if no
+		 * further file has matches.
+		 */
+		private static final int FLUSH_MATCH_COUNT= 1000;
+		/** Maximum time in milliseconds that matches of searched files are held back. */
+		private static final long FLUSH_INTERVAL= 100;
+
 		private final AbstractTextSearchResult fResult;
 		private final boolean fIsFileSearchOnly;
 		private final boolean fSearchInBinaries;
+		private final int fMatchLimit;
+		private final int fFileLimit;
 
 		private final boolean fIsLightweightAutoRefresh;
 		private final ConcurrentHashMap<IFile, ArrayList<FileMatch>> fCachedMatches;
+		private final List<Match> fPendingMatches; // synchronized on itself
+		private long fLastFlushTime; // synchronized on fPendingMatches
+		private boolean fFlushScheduled; // synchronized on fPendingMatches
+		private final Job fFlushJob;
+		private final AtomicInteger fMatchCount;
+		private final AtomicInteger fFileCount;
 		private volatile boolean stop;
 
 		private TextSearchResultCollector(AbstractTextSearchResult result, boolean isFileSearchOnly, boolean searchInBinaries) {
+			this(result, isFileSearchOnly, searchInBinaries, 0, 0);
+		}
+
+		/**
+		 * @param matchLimit the number of matches after which the search stops, <code>0</code> for no limit
+		 * @param fileLimit the number of files with matches after which the search stops, <code>0</code> for no limit
+		 */
+		private TextSearchResultCollector(AbstractTextSearchResult result, boolean isFileSearchOnly, boolean searchInBinaries, int matchLimit, int fileLimit) {
 			fResult= result;
 			fIsFileSearchOnly= isFileSearchOnly;
 			fSearchInBinaries= searchInBinaries;
+			fMatchLimit= matchLimit;
+			fFileLimit= fileLimit;
 			fIsLightweightAutoRefresh= Platform.getPreferencesService().getBoolean(ResourcesPlugin.PI_RESOURCES, ResourcesPlugin.PREF_LIGHTWEIGHT_AUTO_REFRESH, false, null);
 			fCachedMatches = new ConcurrentHashMap<>();
+			fPendingMatches= new ArrayList<>();
+			fFlushJob= Job.createSystem(SearchMessages.FileSearchQuery_label, monitor -> flushPendingMatches());
+			fMatchCount= new AtomicInteger();
+			fFileCount= new AtomicInteger();
 		}
 
 		@Override
@@ -89,14 +124,21 @@ public class FileSearchQuery implements ISearchQuery {
 
 		@Override
 		public boolean acceptPatternMatch(TextSearchMatchAccess matchRequestor) throws CoreException {
-			if (stop) {
+			if (stop || isSearchLimitReached()) {
+				return false;
+			}
+			// count the match right away so that files searched in parallel don't exceed the limit
+			if (fMatchCount.incrementAndGet() > fMatchLimit && fMatchLimit > 0) {
+				fMatchCount.decrementAndGet();
 				return false;
 			}
 			fCachedMatches.compute(matchRequestor.getFile(), (f, matches) -> {
 				// each file is processed by at most one job
 				int matchOffset = matchRequestor.getMatchOffset();
 				LineElement lineElement = getLineElement(matchOffset, matchRequestor, matches);
-				if (lineElement != null) {
+				if (lineElement == null) {
+					fMatchCount.decrementAndGet();
+				} else {
 					FileMatch fileMatch = new FileMatch(matchRequestor.getFile(), matchOffset,
 							matchRequestor.getMatchLength(), lineElement);
 					if (matches == null) {
@@ -164,9 +206,45 @@ public class FileSearchQuery implements ISearchQuery {
 			return buf.toString();
 		}
 
+		@Override
+		public boolean isSearchLimitReached() {
+			return isMatchLimitReached() || isFileLimitReached();
+		}
+
+		boolean isMatchLimitReached() {
+			return fMatchLimit > 0 && fMatchCount.get() >= fMatchLimit;
+		}
+
+		boolean isFileLimitReached() {
+			return fFileLimit > 0 && fFileCount.get() >= fFileLimit;
+		}
+
+		/**
+		 * Counts a file with matches unless the file limit has already been reached. Otherwise the
+		 * matches of the file are dropped.
+		 *
+		 * @param matches the matches of the file
+		 * @return <code>true</code> if the matches are reported
+		 */
+		private boolean acceptFileMatches(List<FileMatch> matches) {
+			if (fFileLimit > 0 && fFileCount.incrementAndGet() > fFileLimit) {
+				fFileCount.decrementAndGet();
+				fMatchCount.addAndGet(-matches.size());
+				return false;
+			}
+			return true;
+		}
+
 		@Override
 		public void beginReporting() {
 			stop = false;
+			fMatchCount.set(0);
+			fFileCount.set(0);
+			synchronized (fPendingMatches) {
+				fPendingMatches.clear();
+				fLastFlushTime= 0; // report the first matches right away
+				fFlushScheduled= false;
+			}
 		}
 
 		@Override
@@ -174,20 +252,70 @@ public class FileSearchQuery implements ISearchQuery {
 			stop = true;
 			flushMatches();
 			fCachedMatches.clear();
+			fFlushJob.cancel();
+			try {
+				fFlushJob.join();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			flushPendingMatches();
 		}
 
 		@Override
 		public void flushMatches(IFile file) {
 			List<FileMatch> matches = fCachedMatches.remove(file);
-			if (matches != null && !matches.isEmpty()) {
-				fResult.addMatches(matches.toArray(new Match[matches.size()]));
+			if (matches == null || matches.isEmpty() || !acceptFileMatches(matches)) {
+				return;
+			}
+			Match[] batch= null;
+			synchronized (fPendingMatches) {
+				fPendingMatches.addAll(matches);
+				long now= System.currentTimeMillis();
+				if (fPendingMatches.size() >= FLUSH_MATCH_COUNT || now - fLastFlushTime >= FLUSH_INTERVAL) {
+					batch= fPendingMatches.toArray(new Match[fPendingMatches.size()]);
+					fPendingMatches.clear();
+					fLastFlushTime= now;
+				} else {
+					scheduleFlush(now);
+				}
+			}
+			if (batch != null) {
+				fResult.addMatches(batch);
+			}
+		}
+
+		/**
+		 * Schedules {@link #fFlushJob} to hand the held back matches to the result when
+		 * {@link #FLUSH_INTERVAL} has passed since the last batch. Must be called while
+		 * synchronized on {@link #fPendingMatches}.
+		 */
+		private void scheduleFlush(long now) {
+			if (!fFlushScheduled) {
+				fFlushScheduled= true;
+				fFlushJob.schedule(Math.max(0, fLastFlushTime + FLUSH_INTERVAL - now));
 			}
 		}
 
+		private void flushPendingMatches() {
+			Match[] pending;
+			synchronized (fPendingMatches) {
+				fFlushScheduled= false;
+				if (fPendingMatches.isEmpty()) {
+					return;
+				}
+				pending= fPendingMatches.toArray(new Match[fPendingMatches.size()]);
+				fPendingMatches.clear();
+				fLastFlushTime= System.currentTimeMillis();
+			}
+			fResult.addMatches(pending);
+		}
+
 		private void flushMatches() {
 			fCachedMatches.values().removeIf(matches -> {
 				if (matches != null && !matches.isEmpty()) {
-					fResult.addMatches(matches.toArray(new Match[matches.size()]));
+					if (acceptFileMatches(matches)) {
+						fResult.addMatches(matches.toArray(new Match[matches.size()]));
+					}
 					return true;
 				}
 				return false;
@@ -202,6 +330,8 @@ public class FileSearchQuery implements ISearchQuery {
 	private final boolean fIsWholeWord;
 	private FileSearchResult fResult;
 	private boolean fSearchInBinaries;
+	/** Describes the limit which truncated the result of the last search, <code>null</code> if none. */
+	private volatile String fLimitReachedLabel;
 
 
 	public FileSearchQuery(String searchText, boolean isRegEx, boolean isCaseSensitive, FileTextSearchScope scope) {
@@ -233,8 +363,18 @@ public class FileSearchQuery implements ISearchQuery {
 
 		Pattern searchPattern= getSearchPattern();
 
-		TextSearchResultCollector collector= new TextSearchResultCollector(textResult, isFileNameSearch(), fSearchInBinaries);
-		return TextSearchEngine.create().search(fScope, collector, searchPattern, monitor);
+		fLimitReachedLabel= null;
+		int matchLimit= SearchPreferencePage.getTextSearchMatchLimit();
+		int fileLimit= SearchPreferencePage.getTextSearchFileLimit();
+		TextSearchResultCollector collector= new TextSearchResultCollector(textResult, isFileNameSearch(), fSearchInBinaries,
+				matchLimit, fileLimit);
+		IStatus status= TextSearchEngine.create().search(fScope, collector, searchPattern, monitor);
+		if (collector.isMatchLimitReached()) {
+			fLimitReachedLabel= Messages.format(SearchMessages.FileSearchQuery_matchLimitReached, Integer.valueOf(matchLimit));
+		} else if (collector.isFileLimitReached()) {
+			fLimitReachedLabel= Messages.format(SearchMessages.FileSearchQuery_fileLimitReached, Integer.valueOf(fileLimit));
+		}
+		return status;
 	}
 
 	private boolean isScopeAllFileTypes() {
@@ -262,6 +402,15 @@ public class FileSearchQuery implements ISearchQuery {
 	}
 
 	public String getResultLabel(int nMatches) {
+		String label= getMatchesLabel(nMatches);
+		String limitReachedLabel= fLimitReachedLabel;
+		if (limitReachedLabel != null) {
+			return Messages.format(SearchMessages.FileSearchQuery_truncatedLabel, new Object[] { label, limitReachedLabel });
+		}
+		return label;
+	}
+
+	private String getMatchesLabel(int nMatches) {
 		String searchString= getSearchString();
 		if (!searchString.isEmpty()) {
 			// text search
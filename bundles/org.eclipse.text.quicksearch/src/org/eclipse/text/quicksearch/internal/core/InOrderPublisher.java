@@ -0,0 +1,72 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.text.quicksearch.internal.core;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Publishes the results of files that are searched in parallel in the order in which
+ * the files were taken from the work queue. The results of a file are held back until
+ * all files taken before it are done.
+ * <p>
+ * A single slow file must not hold back all other results indefinitely, so once more than
+ * {@link #MAX_HELD_BACK_ITEMS} items are held back they are published out of order.
+ */
+public class InOrderPublisher {
+
+	public static final int MAX_HELD_BACK_ITEMS = 1000;
+
+	private final Consumer<LineItem> sink;
+	private final Map<Long, List<LineItem>> heldBack = new HashMap<>();
+	private int heldBackItems;
+	private long next;
+
+	public InOrderPublisher(Consumer<LineItem> sink) {
+		this.sink = sink;
+	}
+
+	/**
+	 * Publishes the results of the file with the given sequence number. Must be called
+	 * exactly once for every sequence number, starting from 0.
+	 */
+	public synchronized void publish(long sequence, List<LineItem> items) {
+		if (sequence != next) {
+			heldBack.put(sequence, items);
+			heldBackItems += items.size();
+			if (heldBackItems > MAX_HELD_BACK_ITEMS) {
+				flushHeldBack();
+			}
+			return;
+		}
+		items.forEach(sink);
+		next++;
+		List<LineItem> following;
+		while ((following = heldBack.remove(next)) != null) {
+			heldBackItems -= following.size();
+			following.forEach(sink);
+			next++;
+		}
+	}
+
+	private void flushHeldBack() {
+		heldBack.keySet().stream().sorted().forEach(sequence -> {
+			List<LineItem> items = heldBack.get(sequence);
+			items.forEach(sink);
+			items.clear();
+		});
+		heldBackItems = 0;
+	}
+}
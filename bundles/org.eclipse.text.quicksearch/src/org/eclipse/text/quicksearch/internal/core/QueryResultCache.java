@@ -0,0 +1,142 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.text.quicksearch.internal.core;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.resources.IFile;
+
+/**
+ * Remembers the matching lines per searched file for the most recently used queries.
+ * <p>
+ * While the user types, queries are mostly extended or shortened by a few characters.
+ * When a query is shortened again its results are taken from the cache. When a query is
+ * extended, a line can only match the new query if it matched the shorter one (see
+ * {@link QuickTextQuery#isSubFilter(QuickTextQuery)}), so the cached lines of the shorter
+ * query are filtered instead of reading the file again, and files without a match are
+ * skipped. Only files that are not in the cache or changed since they were cached are read.
+ * <p>
+ * This class is thread safe.
+ */
+public class QueryResultCache {
+
+	/**
+	 * Number of queries for which results are kept.
+	 */
+	public static final int MAX_QUERIES = 8;
+
+	/**
+	 * Once the results of a query contain this many lines, further files are no longer
+	 * cached for that query. This keeps queries that match nearly every line from filling
+	 * up the memory.
+	 */
+	public static final int MAX_LINES_PER_QUERY = 100_000;
+
+	private static final LineItem[] NO_LINES = new LineItem[0];
+
+	private record FileResult(long modificationStamp, LineItem[] lines) {
+	}
+
+	/**
+	 * The cached results of one query.
+	 */
+	public static final class Entry {
+		public final QuickTextQuery query;
+		private final Map<IFile, FileResult> files = new ConcurrentHashMap<>();
+		private final AtomicInteger lineCount = new AtomicInteger();
+
+		private Entry(QuickTextQuery query) {
+			this.query = query;
+		}
+
+		/**
+		 * Returns the cached lines of the given file or <code>null</code> if the
+		 * file is not cached or changed since it was cached.
+		 */
+		public LineItem[] get(IFile f) {
+			FileResult result = files.get(f);
+			if (result == null) {
+				return null;
+			}
+			if (result.modificationStamp != f.getModificationStamp()) {
+				files.remove(f, result);
+				return null;
+			}
+			return result.lines;
+		}
+
+		/**
+		 * Records the lines of the given file, which must have been searched completely.
+		 */
+		public void put(IFile f, long modificationStamp, List<LineItem> lines) {
+			if (lines.isEmpty()) {
+				files.put(f, new FileResult(modificationStamp, NO_LINES));
+			} else if (lineCount.addAndGet(lines.size()) <= MAX_LINES_PER_QUERY) {
+				files.put(f, new FileResult(modificationStamp, lines.toArray(new LineItem[lines.size()])));
+			}
+		}
+	}
+
+	/**
+	 * Entries in least recently used order, the most recently used entry is last.
+	 */
+	private final LinkedList<Entry> entries = new LinkedList<>();
+
+	/**
+	 * Returns the entry of the given query, creating it if needed, and marks it as the
+	 * most recently used one.
+	 */
+	public synchronized Entry entryFor(QuickTextQuery query) {
+		Iterator<Entry> iter = entries.iterator();
+		while (iter.hasNext()) {
+			Entry entry = iter.next();
+			if (entry.query.equalsFilter(query)) {
+				iter.remove();
+				entries.addLast(entry);
+				return entry;
+			}
+		}
+		Entry entry = new Entry(query);
+		entries.addLast(entry);
+		if (entries.size() > MAX_QUERIES) {
+			entries.removeFirst();
+		}
+		return entry;
+	}
+
+	/**
+	 * Returns the entries of less specific queries whose cached lines include all matches
+	 * of the given query, most recently used first.
+	 */
+	public synchronized List<Entry> parentsOf(QuickTextQuery query) {
+		List<Entry> parents = new ArrayList<>();
+		Iterator<Entry> iter = entries.descendingIterator();
+		while (iter.hasNext()) {
+			Entry entry = iter.next();
+			if (entry.query.isSubFilter(query) && !entry.query.equalsFilter(query)) {
+				parents.add(entry);
+			}
+		}
+		return parents;
+	}
+
+	public synchronized void clear() {
+		entries.clear();
+	}
+}
@@ -16,7 +16,9 @@ import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
 import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BooleanSupplier;
@@ -55,6 +57,12 @@ public class QuickTextSearcher {
 	 */
 	private ISchedulingRule matchesRule = new LightSchedulingRule("QuickSearchMatchesRule"); //$NON-NLS-1$
 
+	/**
+	 * Matching lines per file of recent queries, used to avoid reading files again while
+	 * the user extends or shortens the query.
+	 */
+	private final QueryResultCache resultCache = new QueryResultCache();
+
 	private final SearchInFilesWalker walker;
 	private IncrementalUpdateJob incrementalUpdate;
 
@@ -134,8 +142,22 @@ public class QuickTextSearcher {
 
 	private final class SearchInFilesWalker extends ResourceWalker {
 
+		/**
+		 * Cache entry of the query being searched, results of searched files are added to it.
+		 */
+		private volatile QueryResultCache.Entry cacheEntry;
+
+		/**
+		 * Cache entries of less specific queries, their lines are filtered instead of
+		 * reading a file again.
+		 */
+		private volatile List<QueryResultCache.Entry> parentEntries;
+
 		@Override
 		public IStatus run(IProgressMonitor monitor) {
+			//The query doesn't change while we run, the incremental update job shares our scheduling rule.
+			cacheEntry = resultCache.entryFor(query);
+			parentEntries = resultCache.parentsOf(query);
 			searchTookMs = 0;
 			long n0 = System.nanoTime();
 			try {
@@ -150,9 +172,47 @@ public class QuickTextSearcher {
 		}
 
 		@Override
-		protected boolean searchIn(IFile f, BooleanSupplier canceled) {
+		protected boolean searchIn(IFile f, BooleanSupplier canceled, Consumer<LineItem> found) {
 			currentFile = f;
-			return search(f, canceled, MAX_LINE_LEN, query.pattern, QuickTextSearcher.this::add);
+			QueryResultCache.Entry entry = cacheEntry;
+			Pattern pattern = entry.query.pattern;
+			//Read the stamp first: if the file changes while it is searched, the cached result is outdated.
+			long stamp = f.getModificationStamp();
+			LineItem[] cached = entry.get(f);
+			if (cached != null) {
+				for (LineItem line : cached) {
+					found.accept(line);
+				}
+				return true;
+			}
+			List<LineItem> lines = new ArrayList<>();
+			for (QueryResultCache.Entry parent : parentEntries) {
+				LineItem[] parentLines = parent.get(f);
+				if (parentLines != null) {
+					//Any line matching our query also matched the parent query.
+					for (LineItem line : parentLines) {
+						if (pattern.matcher(line.getText()).find()) {
+							lines.add(line);
+							found.accept(line);
+						}
+					}
+					entry.put(f, stamp, lines);
+					return true;
+				}
+			}
+			boolean searched = search(f, canceled, MAX_LINE_LEN, pattern, line -> {
+				lines.add(line);
+				found.accept(line);
+			});
+			if (searched) {
+				entry.put(f, stamp, lines);
+			}
+			return searched;
+		}
+
+		@Override
+		protected void publish(LineItem item) {
+			add(item);
 		}
 
 		private static boolean search(IFile f, BooleanSupplier canceled,
@@ -283,6 +343,7 @@ public class QuickTextSearcher {
 			requestor.clear();
 			walker.cancel();
 			if (!query.isTrivial()) {
+				//Files already searched for this or a less specific query are answered from the resultCache
 				walker.init(); //Reinitialize the walker work queue to its starting state
 				walker.resume(); //Allow walker to resume when we release the scheduling rule.
 			} else {
@@ -12,7 +12,9 @@
  *******************************************************************************/
 package org.eclipse.text.quicksearch.internal.core;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.PriorityQueue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -20,6 +22,7 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
 
 import org.eclipse.core.resources.IContainer;
 import org.eclipse.core.resources.IFile;
@@ -41,6 +44,10 @@ import org.eclipse.text.quicksearch.internal.ui.QuickSearchActivator;
  * to the resources to decide the ordering and completely ignore some resources.
  * <p>
  * The walker can also be paused and resumed.
+ * <p>
+ * Files are searched in parallel on all available cores. Workers take the file with the
+ * highest priority that is not yet searched, and the results are published in that same
+ * order, see {@link InOrderPublisher}.
  *
  * @author Kris De Volder
  */
@@ -138,34 +145,49 @@ public abstract class ResourceWalker extends Job {
 
 	@Override
 	public IStatus run(IProgressMonitor monitor) {
-		int workers = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
-		ExecutorService executorService = Executors.newFixedThreadPool(workers);
+		int workers = Math.max(1, Runtime.getRuntime().availableProcessors());
+		ExecutorService executorService = Executors.newWorkStealingPool(workers);
 		// copy the filesToSearch, to only remove a file after search completed
 		PriorityQueue<QItem> queue = new PriorityQueue<>();
 		queue.addAll(filesToSearch);
+		InOrderPublisher publisher = new InOrderPublisher(this::publish);
+		long[] nextSequence = { 0 };
+		BooleanSupplier canceled = () -> monitor.isCanceled() || suspend;
 		for (int worker = 0; worker < workers; worker++) {
 			executorService.submit(() -> {
-				QItem item;
-				while ((item = queue.poll()) != null) {
-					if (monitor.isCanceled() || suspend) {
+				while (!canceled.getAsBoolean()) {
+					QItem item;
+					long sequence;
+					// the queue hands out files in priority order, the sequence number
+					// remembers that order for publishing the results
+					synchronized (queue) {
+						item = queue.poll();
+						sequence = nextSequence[0]++;
+					}
+					if (item == null) {
 						break;
-					} else {
-						IResource r = item.resource;
-						IFile f = (IFile) r;
-						boolean searched = searchIn(f, () -> monitor.isCanceled() || suspend);
-						if (searched) {
-							filesToSearch.remove(item);
-						}
+					}
+					IFile f = (IFile) item.resource;
+					List<LineItem> found = new ArrayList<>();
+					boolean searched;
+					try {
+						searched = searchIn(f, canceled, found::add);
+					} finally {
+						publisher.publish(sequence, found);
+					}
+					if (searched) {
+						filesToSearch.remove(item);
 					}
 				}
 			});
 		}
+		executorService.shutdown();
 		try {
 			while (!executorService.awaitTermination(1, TimeUnit.MILLISECONDS)) {
-				executorService.shutdown();
-				if (monitor.isCanceled() || suspend) {
-					queue.clear();
-					executorService.shutdownNow();
+				if (canceled.getAsBoolean()) {
+					synchronized (queue) {
+						queue.clear();
+					}
 				}
 			}
 		} catch (InterruptedException e) {
@@ -182,7 +204,21 @@ public abstract class ResourceWalker extends Job {
 		}
 	}
 
-	protected abstract boolean searchIn(IFile f, BooleanSupplier canceled);
+	/**
+	 * Searches the given file. Found lines are passed to the given consumer and later
+	 * handed to {@link #publish(LineItem)} in the priority order of the searched files.
+	 * <p>
+	 * This method is called by several worker threads in parallel.
+	 *
+	 * @return whether the file was searched completely
+	 */
+	protected abstract boolean searchIn(IFile f, BooleanSupplier canceled, Consumer<LineItem> found);
+
+	/**
+	 * Publishes a line found by {@link #searchIn(IFile, BooleanSupplier, Consumer)}. Lines of files
+	 * with higher priority are published first. This method is never called concurrently.
+	 */
+	protected abstract void publish(LineItem item);
 
 	/**
 	 * Assigns a priority to a given resource. This priority will affect the order in which
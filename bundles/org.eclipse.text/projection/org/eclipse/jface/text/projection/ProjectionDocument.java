@@ -27,6 +27,7 @@ import org.eclipse.jface.text.IDocumentExtension;
 import org.eclipse.jface.text.IDocumentInformationMapping;
 import org.eclipse.jface.text.IDocumentListener;
 import org.eclipse.jface.text.ILineTracker;
+import org.eclipse.jface.text.IPositionUpdater;
 import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.ITextStore;
 import org.eclipse.jface.text.Position;
@@ -105,6 +106,13 @@ public class ProjectionDocument extends AbstractDocument {
 	private FragmentUpdater fFragmentsUpdater;
 	/** The projection mapping */
 	private ProjectionMapping fMapping;
+	/**
+	 * The event replacing all master document ranges for which the segments have already been
+	 * created, or <code>null</code>
+	 */
+	private ProjectionDocumentEvent fRangesReplacementEvent;
+	/** The length of this document while its segments are being replaced, or <code>-1</code> */
+	private int fReplacementLength= -1;
 
 	/**
 	 * Creates a projection document for the given master document.
@@ -214,6 +222,14 @@ public class ProjectionDocument extends AbstractDocument {
 		return fMasterDocument;
 	}
 
+	@Override
+	public int getLength() {
+		// the projection mapping computes the length from the segments
+		if (fReplacementLength != -1)
+			return fReplacementLength;
+		return super.getLength();
+	}
+
 	@Override
 	public String getDefaultLineDelimiter() {
 		return TextUtilities.getDefaultLineDelimiter(fMasterDocument);
@@ -772,6 +788,20 @@ public class ProjectionDocument extends AbstractDocument {
 		super.fireDocumentChanged(fSlaveEvent);
 	}
 
+	@Override
+	protected void updatePositions(DocumentEvent event) {
+		if (event != fRangesReplacementEvent) {
+			super.updatePositions(event);
+			return;
+		}
+
+		// the segments already match the new master document ranges
+		for (IPositionUpdater updater : getPositionUpdaters()) {
+			if (updater != fSegmentUpdater)
+				updater.update(event);
+		}
+	}
+
 	@Override
 	protected void updateDocumentStructures(DocumentEvent event) {
 		super.updateDocumentStructures(event);
@@ -889,4 +919,86 @@ public class ProjectionDocument extends AbstractDocument {
 			internalError();
 		}
 	}
+
+	/**
+	 * Replaces all master document ranges with the given master document ranges. Other than adding
+	 * and removing the ranges one by one, this sends a single document event and its costs do not
+	 * depend on the previous master document ranges.
+	 *
+	 * @param ranges the master document ranges, sorted by offset and not overlapping
+	 * @throws BadLocationException if a range is not valid in the master document
+	 * @throws IllegalArgumentException if the ranges are not sorted or overlap
+	 * @since 3.15
+	 */
+	public void replaceMasterDocumentRanges(IRegion[] ranges) throws BadLocationException {
+		List<IRegion> joined= new ArrayList<>(ranges.length);
+		int end= 0;
+		for (IRegion range : ranges) {
+			int offset= range.getOffset();
+			int length= range.getLength();
+			if (offset < 0 || length < 0 || offset + length > fMasterDocument.getLength())
+				throw new BadLocationException();
+			if (offset < end)
+				throw new IllegalArgumentException();
+			if (length == 0)
+				continue;
+			if (offset == end && !joined.isEmpty()) {
+				IRegion previous= joined.remove(joined.size() - 1);
+				joined.add(new Region(previous.getOffset(), offset + length - previous.getOffset()));
+			} else {
+				joined.add(range);
+			}
+			end= offset + length;
+		}
+
+		if (joined.size() < 2) {
+			IRegion range= joined.isEmpty() ? (ranges.length > 0 ? ranges[0] : new Region(0, 0)) : joined.get(0);
+			replaceMasterDocumentRanges(range.getOffset(), range.getLength());
+			return;
+		}
+
+		IRegion first= joined.get(0);
+		StringBuilder text= new StringBuilder();
+		for (IRegion range : joined)
+			text.append(fMasterDocument.get(range.getOffset(), range.getLength()));
+
+		try {
+
+			ProjectionDocumentEvent event= new ProjectionDocumentEvent(this, 0, fMapping.getImageLength(), text.toString(), first.getOffset(), end - first.getOffset());
+			super.fireDocumentAboutToBeChanged(event);
+
+			fMasterDocument.removePositionCategory(fFragmentsCategory);
+			fMasterDocument.addPositionCategory(fFragmentsCategory);
+			removePositionCategory(fSegmentsCategory);
+			addPositionCategory(fSegmentsCategory);
+
+			fReplacementLength= text.length();
+			try {
+				int offset= 0;
+				for (IRegion range : joined) {
+					Fragment fragment= new Fragment(range.getOffset(), range.getLength());
+					Segment segment= new Segment(offset, range.getLength());
+					segment.fragment= fragment;
+					fragment.segment= segment;
+					fMasterDocument.addPosition(fFragmentsCategory, fragment);
+					addPosition(fSegmentsCategory, segment);
+					offset+= range.getLength();
+				}
+			} finally {
+				fReplacementLength= -1;
+			}
+			fMapping.projectionChanged();
+
+			getTracker().set(event.getText());
+			fRangesReplacementEvent= event;
+			try {
+				super.fireDocumentChanged(event);
+			} finally {
+				fRangesReplacementEvent= null;
+			}
+
+		} catch (BadPositionCategoryException x) {
+			internalError();
+		}
+	}
 }
@@ -17,6 +17,7 @@ package org.eclipse.jface.text;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -351,7 +352,7 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 		List<Position> endPositions= fEndPositions.get(category);
 		if (endPositions == null)
 			throw new BadPositionCategoryException(category);
-		endPositions.add(computeIndexInPositionList(endPositions, position.offset + position.length - 1, false), position);
+		endPositions.add(computeIndexInPositionList(endPositions, getOffset(false, position), false), position);
 	}
 
 	@Override
@@ -674,8 +675,71 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 			}
 		}
 
-		if (!fPositions.isEmpty())
+		if (!fPositions.isEmpty()) {
 			updatePositions(event);
+			sortChangedPositions(event);
+		}
+	}
+
+	/**
+	 * Restores the order of the positions after the position updaters processed the given change.
+	 * Position updaters do not modify positions before the change and shift positions after the
+	 * replaced text by the same amount, but the positions starting or ending inside the replaced
+	 * text can change their order. This keeps the queries by start and end offset, which are used
+	 * to skip the positions before a change and by
+	 * {@link #getPositions(String, int, int, boolean, boolean)}, valid.
+	 *
+	 * @param event the document event
+	 * @since 3.15
+	 */
+	private void sortChangedPositions(DocumentEvent event) {
+		int offset= event.getOffset();
+		int end= offset + (event.getText() == null ? 0 : event.getText().length());
+		for (List<Position> positions : fPositions.values())
+			sortChangedPositions(positions, offset, end, true);
+		for (List<Position> positions : fEndPositions.values())
+			sortChangedPositions(positions, offset - 1, end, false);
+	}
+
+	/**
+	 * Sorts the positions of the given list between the given offsets.
+	 *
+	 * @param positions the positions sorted by start or end offset, except for the positions
+	 *            between the given offsets
+	 * @param offset the first offset of the unsorted positions
+	 * @param end the last offset of the unsorted positions
+	 * @param orderedByOffset <code>true</code> if the positions are sorted by start offset
+	 * @since 3.15
+	 */
+	private void sortChangedPositions(List<Position> positions, int offset, int end, boolean orderedByOffset) {
+		int start= firstAtOrAfter(positions, offset, orderedByOffset);
+		int stop= firstAtOrAfter(positions, end + 1, orderedByOffset);
+		if (stop - start > 1)
+			positions.subList(start, stop).sort(Comparator.comparingInt(p -> getOffset(orderedByOffset, p)));
+	}
+
+	/**
+	 * Returns the index of the first position in the given list of positions which starts or ends
+	 * at or after the given offset. Other than {@link #computeIndexInPositionList(List, int, boolean)}
+	 * this only requires the positions before the offset to precede all other positions.
+	 *
+	 * @param positions the positions sorted by start or end offset
+	 * @param offset the offset
+	 * @param orderedByOffset <code>true</code> if the positions are sorted by start offset
+	 * @return the index of the first position starting or ending at or after the offset
+	 * @since 3.15
+	 */
+	private int firstAtOrAfter(List<Position> positions, int offset, boolean orderedByOffset) {
+		int left= 0;
+		int right= positions.size();
+		while (left < right) {
+			int mid= (left + right) >>> 1;
+			if (getOffset(orderedByOffset, positions.get(mid)) < offset)
+				left= mid + 1;
+			else
+				right= mid;
+		}
+		return left;
 	}
 
 	/**
@@ -1001,7 +1065,7 @@ public abstract class AbstractDocument implements IDocument, IDocumentExtension,
 		int size= positions.size();
 
 		//Assume position is somewhere near it was before
-		int index= computeIndexInPositionList(positions, orderedByOffset ? position.offset : position.offset + position.length - 1, orderedByOffset);
+		int index= computeIndexInPositionList(positions, getOffset(orderedByOffset, position), orderedByOffset);
 		if (index < size && positions.get(index) == position) {
 			positions.remove(index);
 			return;
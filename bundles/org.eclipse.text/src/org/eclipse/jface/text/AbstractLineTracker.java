@@ -198,6 +198,11 @@ public abstract class AbstractLineTracker implements ILineTracker, ILineTrackerE
 		protected DelimiterInfo nextDelimiterInfo(String text, int offset) {
 			return AbstractLineTracker.this.nextDelimiterInfo(text, offset);
 		}
+
+		@Override
+		LineDelimiterScan scanLineDelimiters(String text) {
+			return AbstractLineTracker.this.scanLineDelimiters(text);
+		}
 	};
 	/**
 	 * Whether the delegate needs conversion when the line structure is modified.
@@ -308,6 +313,11 @@ public abstract class AbstractLineTracker implements ILineTracker, ILineTrackerE
 				public String[] getLegalLineDelimiters() {
 					return AbstractLineTracker.this.getLegalLineDelimiters();
 				}
+
+				@Override
+				LineDelimiterScan scanLineDelimiters(String text) {
+					return AbstractLineTracker.this.scanLineDelimiters(text);
+				}
 			};
 		}
 	}
@@ -322,6 +332,19 @@ public abstract class AbstractLineTracker implements ILineTracker, ILineTrackerE
 	 */
 	protected abstract DelimiterInfo nextDelimiterInfo(String text, int offset);
 
+	/**
+	 * Scans the given text for its line delimiters when the line structure is built for a
+	 * complete text. Subclasses may provide a faster scan which must find the same delimiters as
+	 * {@link #nextDelimiterInfo(String, int)}.
+	 *
+	 * @param text the text to scan, may be <code>null</code>
+	 * @return the line delimiters of the text
+	 * @since 3.15
+	 */
+	LineDelimiterScan scanLineDelimiters(String text) {
+		return LineDelimiterScan.scan(text, this::nextDelimiterInfo);
+	}
+
 	@Override
 	public final void startRewriteSession(DocumentRewriteSession session) {
 		synchronized (sessionLock) {
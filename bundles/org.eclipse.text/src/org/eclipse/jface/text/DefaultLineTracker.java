@@ -78,4 +78,12 @@ public class DefaultLineTracker extends AbstractLineTracker {
 
 		return null;
 	}
+
+	@Override
+	LineDelimiterScan scanLineDelimiters(String text) {
+		// subclasses might find other delimiters
+		if (getClass() != DefaultLineTracker.class)
+			return super.scanLineDelimiters(text);
+		return LineDelimiterScan.scanDefaultDelimiters(text);
+	}
 }
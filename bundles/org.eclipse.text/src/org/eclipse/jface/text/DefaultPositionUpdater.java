@@ -201,6 +201,25 @@ public class DefaultPositionUpdater implements IPositionUpdater {
 		return true;
 	}
 
+	/**
+	 * Returns the positions of this updater's category which may be affected by the current
+	 * event. Positions which end before the offset of the change, i.e. with
+	 * <code>offset + length &lt; fOffset</code>, are neither shifted nor resized, so they are
+	 * skipped if the document can look up positions by their end offset. Skipping them makes
+	 * changes near the end of a document with many positions considerably cheaper.
+	 *
+	 * @return the positions to update
+	 * @throws BadPositionCategoryException if the category is not defined in the document
+	 * @since 3.15
+	 */
+	protected Position[] getCandidatePositions() throws BadPositionCategoryException {
+		if (fOffset > 0 && fDocument instanceof AbstractDocument) {
+			// the end positions are indexed by their last character, hence fOffset - 1
+			return ((AbstractDocument) fDocument).getPositions(fCategory, fOffset - 1, Integer.MAX_VALUE - fOffset, true, false);
+		}
+		return fDocument.getPositions(fCategory);
+	}
+
 	@Override
 	public void update(DocumentEvent event) {
 
@@ -212,7 +231,7 @@ public class DefaultPositionUpdater implements IPositionUpdater {
 			fReplaceLength= (event.getText() == null ? 0 : event.getText().length());
 			fDocument= event.getDocument();
 
-			Position[] category= fDocument.getPositions(fCategory);
+			Position[] category= getCandidatePositions();
 			for (Position element : category) {
 
 				fPosition= element;
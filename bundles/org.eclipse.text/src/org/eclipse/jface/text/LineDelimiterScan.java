@@ -0,0 +1,179 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+import org.eclipse.jface.text.AbstractLineTracker.DelimiterInfo;
+
+
+/**
+ * The line delimiters of a text, found in a single pass over the text. Used by the line trackers
+ * to build their line structure for a complete text at once instead of line by line.
+ * <p>
+ * Texts of at least {@link #PARALLEL_THRESHOLD} characters which use the delimiters of
+ * {@link DefaultLineTracker} are scanned in parallel.
+ * </p>
+ *
+ * @since 3.15
+ */
+final class LineDelimiterScan {
+
+	/**
+	 * Functional view of the <code>nextDelimiterInfo</code> method of the line trackers.
+	 */
+	interface DelimiterSearch {
+		/**
+		 * Returns the information about the first delimiter found in the given text starting at
+		 * the given offset.
+		 *
+		 * @param text the text to be searched
+		 * @param offset the offset in the given text
+		 * @return the information of the first found delimiter or <code>null</code>
+		 */
+		DelimiterInfo nextDelimiterInfo(String text, int offset);
+	}
+
+	/** Minimum text length for scanning the text in parallel. */
+	static final int PARALLEL_THRESHOLD= 1 << 22;
+
+	/** Number of characters scanned by one task when scanning in parallel. */
+	private static final int CHUNK_SIZE= 1 << 20;
+
+	/** The number of delimited lines. */
+	final int fCount;
+	/** For each delimited line, the offset after its delimiter. */
+	final int[] fLineEnds;
+	/** For each delimited line, its delimiter. */
+	final String[] fDelimiters;
+
+	private LineDelimiterScan(int count, int[] lineEnds, String[] delimiters) {
+		fCount= count;
+		fLineEnds= lineEnds;
+		fDelimiters= delimiters;
+	}
+
+	/**
+	 * Scans the given text for the delimiters found by the given search.
+	 *
+	 * @param text the text, may be <code>null</code>
+	 * @param search the delimiter search of the line tracker
+	 * @return the found delimiters
+	 */
+	static LineDelimiterScan scan(String text, DelimiterSearch search) {
+		if (text == null)
+			return new LineDelimiterScan(0, new int[0], new String[0]);
+		Builder builder= new Builder();
+		DelimiterInfo info= search.nextDelimiterInfo(text, 0);
+		while (info != null && info.delimiterIndex > -1) {
+			int end= info.delimiterIndex + info.delimiterLength;
+			builder.add(end, info.delimiter);
+			info= search.nextDelimiterInfo(text, end);
+		}
+		return builder.toScan();
+	}
+
+	/**
+	 * Scans the given text for the delimiters of {@link DefaultLineTracker}. Large texts are split
+	 * into chunks which are scanned in parallel.
+	 *
+	 * @param text the text, may be <code>null</code>
+	 * @return the found delimiters
+	 */
+	static LineDelimiterScan scanDefaultDelimiters(String text) {
+		if (text == null)
+			return new LineDelimiterScan(0, new int[0], new String[0]);
+		int length= text.length();
+		if (length < PARALLEL_THRESHOLD)
+			return scanDefaultDelimiters(text, 0, length).toScan();
+
+		int chunks= (length + CHUNK_SIZE - 1) / CHUNK_SIZE;
+		int[] bounds= new int[chunks + 1];
+		for (int i= 1; i < chunks; i++) {
+			int bound= i * CHUNK_SIZE;
+			// never split a "\r\n" delimiter
+			if (text.charAt(bound - 1) == '\r' && text.charAt(bound) == '\n')
+				bound++;
+			bounds[i]= bound;
+		}
+		bounds[chunks]= length;
+
+		Builder[] parts= new Builder[chunks];
+		IntStream.range(0, chunks).parallel().forEach(i -> parts[i]= scanDefaultDelimiters(text, bounds[i], bounds[i + 1]));
+
+		int count= 0;
+		for (Builder part : parts)
+			count+= part.fCount;
+		int[] lineEnds= new int[count];
+		String[] delimiters= new String[count];
+		int index= 0;
+		for (Builder part : parts) {
+			System.arraycopy(part.fLineEnds, 0, lineEnds, index, part.fCount);
+			System.arraycopy(part.fDelimiters, 0, delimiters, index, part.fCount);
+			index+= part.fCount;
+		}
+		return new LineDelimiterScan(count, lineEnds, delimiters);
+	}
+
+	/**
+	 * Scans a range of the text for the delimiters of {@link DefaultLineTracker}. A
+	 * <code>"\r\n"</code> delimiter must not span the end of the range.
+	 *
+	 * @param text the text
+	 * @param start the start of the range
+	 * @param end the end of the range, exclusive
+	 * @return the found delimiters
+	 */
+	private static Builder scanDefaultDelimiters(String text, int start, int end) {
+		Builder builder= new Builder();
+		for (int i= start; i < end; i++) {
+			char ch= text.charAt(i);
+			if (ch == '\r') {
+				if (i + 1 < end && text.charAt(i + 1) == '\n') {
+					i++;
+					builder.add(i + 1, DefaultLineTracker.DELIMITERS[2]);
+				} else {
+					builder.add(i + 1, DefaultLineTracker.DELIMITERS[0]);
+				}
+			} else if (ch == '\n') {
+				builder.add(i + 1, DefaultLineTracker.DELIMITERS[1]);
+			}
+		}
+		return builder;
+	}
+
+	/**
+	 * Growing arrays of line ends and delimiters.
+	 */
+	private static final class Builder {
+		int fCount;
+		int[] fLineEnds= new int[64];
+		String[] fDelimiters= new String[64];
+
+		void add(int lineEnd, String delimiter) {
+			if (fCount == fLineEnds.length) {
+				fLineEnds= Arrays.copyOf(fLineEnds, fCount * 2);
+				fDelimiters= Arrays.copyOf(fDelimiters, fCount * 2);
+			}
+			fLineEnds[fCount]= lineEnd;
+			fDelimiters[fCount]= delimiter;
+			fCount++;
+		}
+
+		LineDelimiterScan toScan() {
+			return new LineDelimiterScan(fCount, fLineEnds, fDelimiters);
+		}
+	}
+}
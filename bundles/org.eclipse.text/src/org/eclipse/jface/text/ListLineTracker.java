@@ -37,7 +37,7 @@ import org.eclipse.jface.text.AbstractLineTracker.DelimiterInfo;
 abstract class ListLineTracker implements ILineTracker {
 
 	/** The line information */
-	private final List<Line> fLines= new ArrayList<>();
+	private final ArrayList<Line> fLines= new ArrayList<>();
 	/** The length of the tracked text */
 	private int fTextLength;
 
@@ -273,52 +273,6 @@ abstract class ListLineTracker implements ILineTracker {
 	 */
 	protected abstract DelimiterInfo nextDelimiterInfo(String text, int offset);
 
-	/**
-	 * Creates the line structure for the given text. Newly created lines are inserted into the line
-	 * structure starting at the given position. Returns the number of newly created lines.
-	 *
-	 * @param text the text for which to create a line structure
-	 * @param insertPosition the position at which the newly created lines are inserted into the
-	 *        tracker's line structure
-	 * @param offset the offset of all newly created lines
-	 * @return the number of newly created lines
-	 */
-	private int createLines(String text, int insertPosition, int offset) {
-
-		int count= 0;
-		int start= 0;
-		DelimiterInfo delimiterInfo= nextDelimiterInfo(text, 0);
-
-		while (delimiterInfo != null && delimiterInfo.delimiterIndex > -1) {
-
-			int index= delimiterInfo.delimiterIndex + (delimiterInfo.delimiterLength - 1);
-
-			if (insertPosition + count >= fLines.size())
-				fLines.add(new Line(offset + start, offset + index, delimiterInfo.delimiter));
-			else
-				fLines.add(insertPosition + count, new Line(offset + start, offset + index, delimiterInfo.delimiter));
-
-			++count;
-			start= index + 1;
-			delimiterInfo= nextDelimiterInfo(text, start);
-		}
-
-		if (start < text.length()) {
-			if (insertPosition + count < fLines.size()) {
-				// there is a line below the current
-				Line l= fLines.get(insertPosition + count);
-				int delta= text.length() - start;
-				l.offset-= delta;
-				l.length+= delta;
-			} else {
-				fLines.add(new Line(offset + start, offset + text.length() - 1, null));
-				++count;
-			}
-		}
-
-		return count;
-	}
-
 	@Override
 	public final void replace(int position, int length, String text) throws BadLocationException {
 		throw new UnsupportedOperationException();
@@ -329,12 +283,43 @@ abstract class ListLineTracker implements ILineTracker {
 		fLines.clear();
 		if (text != null) {
 			fTextLength= text.length();
-			createLines(text, 0, 0);
+			createLines(text);
 		} else {
 			fTextLength= 0;
 		}
 	}
 
+	/**
+	 * Creates the line structure for the given text.
+	 *
+	 * @param text the text for which to create a line structure
+	 * @since 3.15
+	 */
+	private void createLines(String text) {
+		LineDelimiterScan scan= scanLineDelimiters(text);
+		fLines.ensureCapacity(scan.fCount + 1);
+		int start= 0;
+		for (int i= 0; i < scan.fCount; i++) {
+			int end= scan.fLineEnds[i];
+			fLines.add(new Line(start, end - 1, scan.fDelimiters[i]));
+			start= end;
+		}
+		if (start < text.length())
+			fLines.add(new Line(start, text.length() - 1, null));
+	}
+
+	/**
+	 * Scans the given text for its line delimiters. Subclasses may provide a faster scan which must
+	 * find the same delimiters as {@link #nextDelimiterInfo(String, int)}.
+	 *
+	 * @param text the text to scan, may be <code>null</code>
+	 * @return the line delimiters of the text
+	 * @since 3.15
+	 */
+	LineDelimiterScan scanLineDelimiters(String text) {
+		return LineDelimiterScan.scan(text, this::nextDelimiterInfo);
+	}
+
 	/**
 	 * Returns the internal data structure, a {@link List} of {@link Line}s. Used only by
 	 * {@link TreeLineTracker#TreeLineTracker(ListLineTracker)}.
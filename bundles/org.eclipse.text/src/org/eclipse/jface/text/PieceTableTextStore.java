@@ -0,0 +1,327 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text;
+
+import org.eclipse.core.runtime.Assert;
+
+
+/**
+ * A text store for very large documents based on a piece table.
+ * <p>
+ * The content set with {@link #set(String)} is kept as is and never copied. Inserted text is
+ * appended to an add buffer. The document is described by a sequence of pieces, each of which
+ * references a range in one of the two buffers. The pieces are kept in a balanced binary tree
+ * (a treap) in which every node knows the length of the text in its subtree.
+ * </p>
+ * <p>
+ * <strong>Performance:</strong> Let <var>p</var> be the number of pieces, which grows by at
+ * most two with each change. {@link #replace(int, int, String) replace(int, int, <var>text</var>)}
+ * performs in <i>O(log p + |text|)</i> independent of the distance to the previous change,
+ * {@linkplain #get(int, int) get(int, <var>length</var>)} in <i>O(log p + length)</i> and
+ * {@link #get(int)} in <i>O(log p)</i>, or <i>O(1)</i> when reading within the piece of the
+ * previous call. Consecutive insertions, as produced by typing, are merged into a single piece.
+ * </p>
+ * <p>
+ * Compared to {@link GapTextStore} this store never moves or copies the bulk of the content, at the
+ * price of slower single character access. It should be used for documents of many megabytes with
+ * scattered changes.
+ * </p>
+ * <p>
+ * This class is not intended to be subclassed.
+ * </p>
+ *
+ * @since 3.15
+ * @noextend This class is not intended to be subclassed by clients.
+ */
+public class PieceTableTextStore implements ITextStore {
+
+	/** Minimum capacity of the add buffer when it is allocated. */
+	private static final int MIN_ADD_BUFFER_SIZE= 256;
+
+	/**
+	 * A piece of text, a node in the piece tree.
+	 */
+	private static final class Piece {
+		/** Whether this piece references the add buffer instead of the original text. */
+		final boolean fAdded;
+		/** Start of the referenced range in the buffer. */
+		final int fStart;
+		/** Length of the referenced range. */
+		int fLength;
+		/** The heap priority of this node. */
+		final int fPriority;
+		/** Total length of the text in the subtree rooted at this node. */
+		int fSubtreeLength;
+		Piece fLeft;
+		Piece fRight;
+
+		Piece(boolean added, int start, int length, int priority) {
+			fAdded= added;
+			fStart= start;
+			fLength= length;
+			fPriority= priority;
+			fSubtreeLength= length;
+		}
+
+		void update() {
+			fSubtreeLength= length(fLeft) + fLength + length(fRight);
+		}
+	}
+
+	/** The original content, never modified. */
+	private String fOriginal= ""; //$NON-NLS-1$
+	/** Buffer holding all inserted text, only appended to. */
+	private char[] fAddBuffer= new char[0];
+	/** Used length of the add buffer. */
+	private int fAddLength= 0;
+	/** The root of the piece tree. */
+	private Piece fRoot;
+	/** State of the pseudo random generator used for node priorities. */
+	private int fSeed= 0x2545F491;
+
+	/** The piece that contained the offset of the last call to {@link #get(int)}. */
+	private Piece fCachedPiece;
+	/** The document offset of the start of {@link #fCachedPiece}. */
+	private int fCachedPieceOffset;
+
+	/** Left result of the last {@link #split(Piece, int)}. */
+	private Piece fSplitLeft;
+	/** Right result of the last {@link #split(Piece, int)}. */
+	private Piece fSplitRight;
+
+	/**
+	 * Creates an empty text store.
+	 */
+	public PieceTableTextStore() {
+	}
+
+	@Override
+	public char get(int offset) {
+		Piece cached= fCachedPiece;
+		if (cached != null && offset >= fCachedPieceOffset && offset < fCachedPieceOffset + cached.fLength)
+			return charAt(cached, offset - fCachedPieceOffset);
+
+		Piece piece= fRoot;
+		int pieceOffset= 0;
+		int relative= offset;
+		while (piece != null) {
+			int leftLength= length(piece.fLeft);
+			if (relative < leftLength) {
+				piece= piece.fLeft;
+			} else if (relative < leftLength + piece.fLength) {
+				relative-= leftLength;
+				fCachedPiece= piece;
+				fCachedPieceOffset= pieceOffset + leftLength;
+				return charAt(piece, relative);
+			} else {
+				relative-= leftLength + piece.fLength;
+				pieceOffset+= leftLength + piece.fLength;
+				piece= piece.fRight;
+			}
+		}
+		throw new IndexOutOfBoundsException(offset);
+	}
+
+	@Override
+	public String get(int offset, int length) {
+		if (length == 0)
+			return ""; //$NON-NLS-1$
+		Assert.isLegal(offset >= 0 && length >= 0 && offset + length <= getLength());
+		char[] result= new char[length];
+		copy(fRoot, offset, length, result, 0);
+		return new String(result);
+	}
+
+	@Override
+	public int getLength() {
+		return length(fRoot);
+	}
+
+	@Override
+	public void replace(int offset, int length, String text) {
+		if (text == null)
+			text= ""; //$NON-NLS-1$
+		Assert.isLegal(offset >= 0 && length >= 0 && offset + length <= getLength());
+		if (length == 0 && text.isEmpty())
+			return;
+
+		fCachedPiece= null;
+		split(fRoot, offset);
+		Piece left= fSplitLeft;
+		split(fSplitRight, length);
+		Piece right= fSplitRight;
+
+		if (text.isEmpty()) {
+			fRoot= merge(left, right);
+			return;
+		}
+
+		int start= fAddLength;
+		append(text);
+		Piece last= rightmost(left);
+		if (last != null && last.fAdded && last.fStart + last.fLength == start) {
+			// typing: extend the previous insertion instead of adding a piece
+			last.fLength+= text.length();
+			for (Piece piece= left; piece != null; piece= piece.fRight)
+				piece.fSubtreeLength+= text.length();
+			fRoot= merge(left, right);
+		} else {
+			Piece inserted= new Piece(true, start, text.length(), nextPriority());
+			fRoot= merge(merge(left, inserted), right);
+		}
+	}
+
+	@Override
+	public void set(String text) {
+		fOriginal= text != null ? text : ""; //$NON-NLS-1$
+		fAddBuffer= new char[0];
+		fAddLength= 0;
+		fCachedPiece= null;
+		fRoot= fOriginal.isEmpty() ? null : new Piece(false, 0, fOriginal.length(), nextPriority());
+	}
+
+	private char charAt(Piece piece, int index) {
+		int position= piece.fStart + index;
+		return piece.fAdded ? fAddBuffer[position] : fOriginal.charAt(position);
+	}
+
+	/**
+	 * Copies <code>length</code> characters starting at <code>offset</code> relative to the
+	 * given subtree into <code>dest</code>.
+	 *
+	 * @param piece the root of the subtree
+	 * @param offset the offset relative to the start of the subtree
+	 * @param length the number of characters to copy
+	 * @param dest the destination array
+	 * @param destPos the position in the destination array
+	 * @return the position in the destination array after the copied characters
+	 */
+	private int copy(Piece piece, int offset, int length, char[] dest, int destPos) {
+		while (piece != null && length > 0) {
+			int leftLength= length(piece.fLeft);
+			if (offset < leftLength) {
+				int copied= Math.min(length, leftLength - offset);
+				destPos= copy(piece.fLeft, offset, copied, dest, destPos);
+				length-= copied;
+				offset= leftLength;
+			}
+			if (length == 0)
+				break;
+			int inPiece= offset - leftLength;
+			if (inPiece < piece.fLength) {
+				int copied= Math.min(length, piece.fLength - inPiece);
+				int start= piece.fStart + inPiece;
+				if (piece.fAdded)
+					System.arraycopy(fAddBuffer, start, dest, destPos, copied);
+				else
+					fOriginal.getChars(start, start + copied, dest, destPos);
+				destPos+= copied;
+				length-= copied;
+				offset+= copied;
+			}
+			// continue in the right subtree without recursion
+			offset-= leftLength + piece.fLength;
+			piece= piece.fRight;
+		}
+		return destPos;
+	}
+
+	private void append(String text) {
+		int length= text.length();
+		if (fAddLength + length > fAddBuffer.length) {
+			int capacity= Math.max(MIN_ADD_BUFFER_SIZE, Math.max(fAddLength + length, fAddBuffer.length * 2));
+			char[] buffer= new char[capacity];
+			System.arraycopy(fAddBuffer, 0, buffer, 0, fAddLength);
+			fAddBuffer= buffer;
+		}
+		text.getChars(0, length, fAddBuffer, fAddLength);
+		fAddLength+= length;
+	}
+
+	/**
+	 * Splits the given subtree so that the first <code>offset</code> characters end up in
+	 * {@link #fSplitLeft} and the rest in {@link #fSplitRight}. A piece containing the split
+	 * offset is split in two.
+	 *
+	 * @param piece the root of the subtree
+	 * @param offset the split offset relative to the subtree
+	 */
+	private void split(Piece piece, int offset) {
+		if (piece == null) {
+			fSplitLeft= null;
+			fSplitRight= null;
+			return;
+		}
+		int leftLength= length(piece.fLeft);
+		if (offset <= leftLength) {
+			split(piece.fLeft, offset);
+			piece.fLeft= fSplitRight;
+			piece.update();
+			fSplitRight= piece;
+		} else if (offset >= leftLength + piece.fLength) {
+			split(piece.fRight, offset - leftLength - piece.fLength);
+			piece.fRight= fSplitLeft;
+			piece.update();
+			fSplitLeft= piece;
+		} else {
+			int inPiece= offset - leftLength;
+			// the tail keeps the priority so the heap order of the right subtree is preserved
+			Piece tail= new Piece(piece.fAdded, piece.fStart + inPiece, piece.fLength - inPiece, piece.fPriority);
+			tail.fRight= piece.fRight;
+			tail.update();
+			piece.fLength= inPiece;
+			piece.fRight= null;
+			piece.update();
+			fSplitLeft= piece;
+			fSplitRight= tail;
+		}
+	}
+
+	private static Piece merge(Piece left, Piece right) {
+		if (left == null)
+			return right;
+		if (right == null)
+			return left;
+		if (left.fPriority >= right.fPriority) {
+			left.fRight= merge(left.fRight, right);
+			left.update();
+			return left;
+		}
+		right.fLeft= merge(left, right.fLeft);
+		right.update();
+		return right;
+	}
+
+	private static Piece rightmost(Piece piece) {
+		if (piece == null)
+			return null;
+		while (piece.fRight != null)
+			piece= piece.fRight;
+		return piece;
+	}
+
+	private static int length(Piece piece) {
+		return piece == null ? 0 : piece.fSubtreeLength;
+	}
+
+	private int nextPriority() {
+		// xorshift, good enough to keep the tree balanced
+		int x= fSeed;
+		x^= x << 13;
+		x^= x >>> 17;
+		x^= x << 5;
+		fSeed= x;
+		return x;
+	}
+}
@@ -41,7 +41,8 @@ import org.eclipse.jface.text.AbstractLineTracker.DelimiterInfo;
  * <strong>Performance:</strong> The query operations perform in <i>O(log n)</i> where <var>n</var>
  * is the number of lines in the document. The modification operations roughly perform in <i>O(l *
  * log n)</i> where <var>n</var> is the number of lines in the document and <var>l</var> is the
- * sum of the number of removed, added or modified lines.
+ * sum of the number of removed, added or modified lines. {@link #set(String)} builds a balanced
+ * tree in <i>O(n)</i> after scanning the text for line delimiters.
  * </p>
  *
  * @since 3.2
@@ -174,33 +175,87 @@ abstract class TreeLineTracker implements ILineTracker {
 	 */
 	TreeLineTracker(ListLineTracker tracker) {
 		final List<Line> lines= tracker.getLines();
-		final int n= lines.size();
+		int n= lines.size();
 		if (n == 0)
 			return;
 
-		Line line= lines.get(0);
-		String delim= line.delimiter;
-		if (delim == null)
-			delim= NO_DELIM;
-		int length= line.length;
-		fRoot= new Node(length, delim);
-		Node node= fRoot;
-
-		for (int i= 1; i < n; i++) {
-			line= lines.get(i);
-			delim= line.delimiter;
-			if (delim == null)
-				delim= NO_DELIM;
-			length= line.length;
-			node= insertAfter(node, length, delim);
+		boolean complete= lines.get(n - 1).delimiter != null;
+		int count= complete ? n + 1 : n;
+		int[] starts= new int[count + 1];
+		String[] delimiters= new String[count];
+		for (int i= 0; i < n; i++) {
+			Line line= lines.get(i);
+			starts[i + 1]= line.offset + line.length;
+			delimiters[i]= line.delimiter == null ? NO_DELIM : line.delimiter;
 		}
+		if (complete) {
+			starts[count]= starts[n];
+			delimiters[n]= NO_DELIM;
+		}
+		buildTree(starts, delimiters, count);
+	}
 
-		if (node.delimiter != NO_DELIM)
-			insertAfter(node, 0, NO_DELIM);
-
+	/**
+	 * Replaces the tree by a balanced tree of the given lines. The tree is built bottom-up in
+	 * linear time.
+	 *
+	 * @param starts the offsets of the lines followed by the length of the text
+	 * @param delimiters the delimiters of the lines, the last one must be {@link #NO_DELIM}
+	 * @param lines the number of lines, at least 1
+	 */
+	private void buildTree(int[] starts, String[] delimiters, int lines) {
+		fRoot= buildSubtree(starts, delimiters, 0, lines, null);
 		if (ASSERT) checkTree();
 	}
 
+	/**
+	 * Builds a perfectly balanced subtree for a range of lines. As the sizes of the left and the
+	 * right subtree of every node differ by at most one, so do their heights.
+	 *
+	 * @param starts the offsets of the lines followed by the length of the text
+	 * @param delimiters the delimiters of the lines
+	 * @param from the first line of the subtree
+	 * @param to the line after the last line of the subtree
+	 * @param parent the parent of the subtree
+	 * @return the root of the subtree, <code>null</code> if the range is empty
+	 */
+	private static Node buildSubtree(int[] starts, String[] delimiters, int from, int to, Node parent) {
+		if (from == to)
+			return null;
+
+		int mid= (from + to - 1) >>> 1;
+		Node node= new Node(starts[mid + 1] - starts[mid], delimiters[mid]);
+		node.parent= parent;
+		node.line= mid - from;
+		node.offset= starts[mid] - starts[from];
+		node.balance= (byte) (height(to - mid - 1) - height(mid - from));
+		node.left= buildSubtree(starts, delimiters, from, mid, node);
+		node.right= buildSubtree(starts, delimiters, mid + 1, to, node);
+		return node;
+	}
+
+	/**
+	 * Returns the height of a tree built by {@link #buildSubtree(int[], String[], int, int, Node)}.
+	 *
+	 * @param size the number of nodes in the tree
+	 * @return the height of the tree
+	 */
+	private static int height(int size) {
+		return Integer.SIZE - Integer.numberOfLeadingZeros(size);
+	}
+
+	/**
+	 * Scans the given text for its line delimiters. Subclasses may provide a faster scan which must
+	 * find the same delimiters as {@link #nextDelimiterInfo(String, int)}.
+	 *
+	 * @param text the text to scan, may be <code>null</code>
+	 * @return the line delimiters of the text
+	 * @since 3.15
+	 */
+	LineDelimiterScan scanLineDelimiters(String text) {
+		return LineDelimiterScan.scan(text, this::nextDelimiterInfo);
+	}
+
 	/**
 	 * Returns the node (line) including a certain offset. If the offset is between two
 	 * lines, the line starting at <code>offset</code> is returned.
@@ -1206,12 +1261,14 @@ abstract class TreeLineTracker implements ILineTracker {
 
 	@Override
 	public final void set(String text) {
-		fRoot= new Node(0, NO_DELIM);
-		try {
-			replace(0, 0, text);
-		} catch (BadLocationException x) {
-			throw new InternalError();
-		}
+		LineDelimiterScan scan= scanLineDelimiters(text);
+		int lines= scan.fCount + 1;
+		int[] starts= new int[lines + 1];
+		System.arraycopy(scan.fLineEnds, 0, starts, 1, scan.fCount);
+		starts[lines]= text == null ? 0 : text.length();
+		String[] delimiters= Arrays.copyOf(scan.fDelimiters, lines);
+		delimiters[scan.fCount]= NO_DELIM;
+		buildTree(starts, delimiters, lines);
 	}
 
 	@Override
@@ -0,0 +1,199 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text.rules;
+
+import java.util.Arrays;
+
+
+/**
+ * A rule based scanner which compiles its rules into a table indexed by the first character of a
+ * token. For each character the table holds the rules which may match a token starting with that
+ * character, in the order in which they have been set. When looking for the next token, only these
+ * rules are evaluated instead of all rules. The scanner returns exactly the same tokens as a
+ * {@link RuleBasedScanner} with the same rules.
+ * <p>
+ * The possible first characters are known for {@link PatternRule}, {@link SingleLineRule},
+ * {@link MultiLineRule}, {@link EndOfLineRule}, {@link WordPatternRule}, {@link WordRule},
+ * {@link WhitespaceRule} and {@link NumberRule}. Subclasses of these rules and all other rules are
+ * evaluated for every character. The word and whitespace detectors of the rules are asked once for
+ * each ASCII character when the table is built, their answers must only depend on the given
+ * character.
+ * </p>
+ * <p>
+ * The table is rebuilt when the rules are set with {@link #setRules(IRule...)} or
+ * {@link #fRules} is replaced.
+ * </p>
+ *
+ * @since 3.15
+ */
+public class CompiledRuleBasedScanner extends BufferedRuleBasedScanner {
+
+	/** The number of characters which are indexed individually. */
+	private static final int TABLE_SIZE= 128;
+
+	/** The rules from which the table has been built. */
+	private IRule[] fCompiledRules;
+	/**
+	 * For each character below {@link #TABLE_SIZE}, the indices of the rules which may match a
+	 * token starting with it.
+	 */
+	private int[][] fCandidatesByFirstCharacter;
+	/** The indices of the rules which may match a token starting with any other character. */
+	private int[] fCandidatesForOtherCharacters;
+	/** The indices of all rules. */
+	private int[] fAllCandidates;
+
+	/**
+	 * Creates a new compiled rule based scanner with a default buffer size.
+	 */
+	public CompiledRuleBasedScanner() {
+		super();
+	}
+
+	/**
+	 * Creates a new compiled rule based scanner which uses a buffer of the given size.
+	 *
+	 * @param size the buffer size
+	 */
+	public CompiledRuleBasedScanner(int size) {
+		super(size);
+	}
+
+	@Override
+	public void setRules(IRule... rules) {
+		super.setRules(rules);
+		compileRules();
+	}
+
+	@Override
+	public IToken nextToken() {
+		if (fCompiledRules != fRules)
+			compileRules();
+
+		fTokenOffset= fOffset;
+		fColumn= UNDEFINED;
+
+		if (fRules != null) {
+			int c= read();
+			unread();
+
+			int[] candidates;
+			if (c == EOF)
+				candidates= fAllCandidates;
+			else if (c < TABLE_SIZE)
+				candidates= fCandidatesByFirstCharacter[c];
+			else
+				candidates= fCandidatesForOtherCharacters;
+
+			for (int index : candidates) {
+				IToken token= fRules[index].evaluate(this);
+				if (!token.isUndefined())
+					return token;
+
+				if (fOffset != fTokenOffset) {
+					// the rule did not reset the scanner, the following rules see another character
+					for (int i= index + 1; i < fRules.length; i++) {
+						token= fRules[i].evaluate(this);
+						if (!token.isUndefined())
+							return token;
+					}
+					break;
+				}
+			}
+		}
+
+		if (read() == EOF)
+			return Token.EOF;
+		return fDefaultReturnToken;
+	}
+
+	/**
+	 * Builds the table of candidate rules for the current rules.
+	 */
+	private void compileRules() {
+		fCompiledRules= fRules;
+		if (fRules == null) {
+			fCandidatesByFirstCharacter= null;
+			fCandidatesForOtherCharacters= null;
+			fAllCandidates= null;
+			return;
+		}
+
+		boolean[] candidates= new boolean[fRules.length];
+		fCandidatesByFirstCharacter= new int[TABLE_SIZE][];
+		for (int c= 0; c < TABLE_SIZE; c++) {
+			for (int i= 0; i < fRules.length; i++)
+				candidates[i]= mayStartWith(fRules[i], (char) c);
+			fCandidatesByFirstCharacter[c]= toIndices(candidates);
+		}
+
+		for (int i= 0; i < fRules.length; i++)
+			candidates[i]= mayStartWithOther(fRules[i]);
+		fCandidatesForOtherCharacters= toIndices(candidates);
+
+		Arrays.fill(candidates, true);
+		fAllCandidates= toIndices(candidates);
+	}
+
+	private static int[] toIndices(boolean[] candidates) {
+		int count= 0;
+		for (boolean candidate : candidates) {
+			if (candidate)
+				count++;
+		}
+		int[] indices= new int[count];
+		for (int i= 0, j= 0; i < candidates.length; i++) {
+			if (candidates[i])
+				indices[j++]= i;
+		}
+		return indices;
+	}
+
+	/**
+	 * Tells whether the given rule may match a token starting with the given character.
+	 *
+	 * @param rule the rule
+	 * @param c a character below {@link #TABLE_SIZE}
+	 * @return <code>false</code> if the rule never matches a token starting with the character
+	 */
+	private static boolean mayStartWith(IRule rule, char c) {
+		if (isPatternRule(rule))
+			return ((PatternRule) rule).fStartSequence[0] == c;
+		if (rule.getClass() == WordRule.class)
+			return ((WordRule) rule).fDetector.isWordStart(c);
+		if (rule.getClass() == WhitespaceRule.class)
+			return ((WhitespaceRule) rule).fDetector.isWhitespace(c);
+		if (rule.getClass() == NumberRule.class)
+			return Character.isDigit(c);
+		return true;
+	}
+
+	/**
+	 * Tells whether the given rule may match a token starting with a character which is not
+	 * indexed individually.
+	 *
+	 * @param rule the rule
+	 * @return <code>false</code> if the rule never matches a token starting with such a character
+	 */
+	private static boolean mayStartWithOther(IRule rule) {
+		if (isPatternRule(rule))
+			return ((PatternRule) rule).fStartSequence[0] >= TABLE_SIZE;
+		return true;
+	}
+
+	private static boolean isPatternRule(IRule rule) {
+		Class<?> clazz= rule.getClass();
+		return clazz == PatternRule.class || clazz == SingleLineRule.class || clazz == MultiLineRule.class || clazz == EndOfLineRule.class || clazz == WordPatternRule.class;
+	}
+}
@@ -99,6 +99,41 @@ public class FastPartitioner implements IDocumentPartitioner, IDocumentPartition
 	 * someone requests partition information.
 	 */
 	private Position[] fCachedPositions= null;
+	/**
+	 * The number of characters after a change up to which the partitioning is updated
+	 * immediately, <code>0</code> if the partitioning is always updated completely.
+	 *
+	 * @since 3.15
+	 */
+	private int fRescanLimit= 0;
+	/**
+	 * The offset from which on the partitions have not been rescanned after a change, or
+	 * <code>-1</code> if the partitioning is up to date.
+	 *
+	 * @since 3.15
+	 */
+	private int fPendingOffset= -1;
+	/**
+	 * The offset of the end of the last change after {@link #fPendingOffset}. A partition
+	 * found by rescanning the pending region only proves that the remaining partitions are up to
+	 * date if it ends after this offset.
+	 *
+	 * @since 3.15
+	 */
+	private int fPendingConvergenceOffset= -1;
+	/**
+	 * The start of the region whose partitioning was changed by rescanning pending partitions
+	 * outside of a document change and has not been reported yet, or <code>-1</code> if none.
+	 *
+	 * @since 3.15
+	 */
+	private int fUnreportedOffset= -1;
+	/**
+	 * The end of the region whose partitioning has not been reported yet.
+	 *
+	 * @since 3.15
+	 */
+	private int fUnreportedEnd= -1;
 	/** Debug option for cache consistency checking. */
 	private static final boolean CHECK_CACHE_CONSISTENCY= "true".equalsIgnoreCase(Platform.getDebugOption("org.eclipse.jface.text/debug/FastPartitioner/PositionCache"));  //$NON-NLS-1$//$NON-NLS-2$;
 
@@ -161,6 +196,8 @@ public class FastPartitioner implements IDocumentPartitioner, IDocumentPartition
 	 */
 	protected void initialize() {
 		fIsInitialized= true;
+		fPendingOffset= -1;
+		fUnreportedOffset= -1;
 		clearPositionCache();
 		fScanner.setRange(fDocument, 0, fDocument.getLength());
 
@@ -338,80 +375,285 @@ public class FastPartitioner implements IDocumentPartitioner, IDocumentPartition
 			clearPositionCache();
 			category= getPositions();
 
-			fScanner.setPartialRange(fDocument, reparseStart, fDocument.getLength() - reparseStart, contentType, partitionStart);
+			if (fUnreportedOffset != -1) {
+				// report the partitions changed by rescanning pending partitions since the last change
+				int unreportedOffset= adaptOffset(fUnreportedOffset, e, newLength);
+				rememberRegion(unreportedOffset, adaptOffset(fUnreportedEnd, e, newLength) - unreportedOffset);
+				fUnreportedOffset= -1;
+			}
 
-			int behindLastScannedPosition= reparseStart;
-			IToken token= fScanner.nextToken();
+			int changeEnd= e.getOffset() + newLength;
+			if (fPendingOffset != -1) {
+				fPendingConvergenceOffset= Math.max(adaptOffset(fPendingConvergenceOffset, e, newLength), changeEnd);
+				if (reparseStart >= fPendingOffset) {
+					// the change does not affect the partitions which are up to date, the pending
+					// partitions are reported once they are rescanned
+					return createRegion();
+				}
+				fPendingOffset= adaptOffset(fPendingOffset, e, newLength);
+			}
 
-			while (!token.isEOF()) {
+			int scanLimit= fRescanLimit > 0 ? changeEnd + fRescanLimit : Integer.MAX_VALUE;
+			rescan(category, first, reparseStart, contentType, partitionStart, changeEnd, scanLimit);
 
-				contentType= getTokenContentType(token);
+		} catch (BadPositionCategoryException x) {
+			// should never happen on connected documents
+		} catch (BadLocationException x) {
+		} finally {
+			clearPositionCache();
+		}
 
-				if (!isSupportedContentType(contentType)) {
-					token= fScanner.nextToken();
-					continue;
-				}
+		return createRegion();
+	}
 
-				int start= fScanner.getTokenOffset();
-				int length= fScanner.getTokenLength();
+	/**
+	 * Rescans the document and updates the partitions accordingly. Rescanning stops as soon as a
+	 * scanned partition ending at or after <code>convergenceOffset</code> is equal to an existing
+	 * partition, since the existing partitions after it are still valid. If the scanner passed
+	 * <code>scanLimit</code> before, rescanning stops as well and the remaining partitions are
+	 * marked as pending.
+	 *
+	 * @param category the partitions before rescanning
+	 * @param first the index of the first partition in <code>category</code> which may be affected
+	 * @param reparseStart the offset at which to start scanning
+	 * @param contentType the content type at <code>reparseStart</code>
+	 * @param partitionStart the start of the partition containing <code>reparseStart</code>
+	 * @param convergenceOffset the offset after which the scan may end on an existing partition
+	 * @param scanLimit the offset after which the scan ends at the next partition
+	 * @throws BadLocationException if the offsets are invalid
+	 * @throws BadPositionCategoryException if the partitioner is not connected
+	 * @since 3.15
+	 */
+	private void rescan(Position[] category, int first, int reparseStart, String contentType, int partitionStart, int convergenceOffset, int scanLimit) throws BadLocationException, BadPositionCategoryException {
+		fScanner.setPartialRange(fDocument, reparseStart, fDocument.getLength() - reparseStart, contentType, partitionStart);
 
-				behindLastScannedPosition= start + length;
-				int lastScannedPosition= behindLastScannedPosition - 1;
+		int behindLastScannedPosition= reparseStart;
+		IToken token= fScanner.nextToken();
 
-				// remove all affected positions
-				while (first < category.length) {
-					TypedPosition p= (TypedPosition) category[first];
-					if (lastScannedPosition >= p.offset + p.length ||
-							(p.overlapsWith(start, length) &&
-							 	(!fDocument.containsPosition(fPositionCategory, start, length) ||
-							 	 !contentType.equals(p.getType())))) {
+		while (!token.isEOF()) {
 
-						rememberRegion(p.offset, p.length);
-						fDocument.removePosition(fPositionCategory, p);
-						++ first;
+			contentType= getTokenContentType(token);
 
-					} else
-						break;
-				}
+			if (!isSupportedContentType(contentType)) {
+				token= fScanner.nextToken();
+				continue;
+			}
+
+			int start= fScanner.getTokenOffset();
+			int length= fScanner.getTokenLength();
+
+			behindLastScannedPosition= start + length;
+			int lastScannedPosition= behindLastScannedPosition - 1;
 
-				// if position already exists and we have scanned at least the
-				// area covered by the event, we are done
-				if (fDocument.containsPosition(fPositionCategory, start, length)) {
-					if (lastScannedPosition >= e.getOffset() + newLength)
-						return createRegion();
+			// remove all affected positions
+			while (first < category.length) {
+				TypedPosition p= (TypedPosition) category[first];
+				if (lastScannedPosition >= p.offset + p.length ||
+						(p.overlapsWith(start, length) &&
+						 	(!fDocument.containsPosition(fPositionCategory, start, length) ||
+						 	 !contentType.equals(p.getType())))) {
+
+					rememberRegion(p.offset, p.length);
+					fDocument.removePosition(fPositionCategory, p);
 					++ first;
-				} else {
-					// insert the new type position
-					try {
-						fDocument.addPosition(fPositionCategory, new TypedPosition(start, length, contentType));
-						rememberRegion(start, length);
-					} catch (BadPositionCategoryException x) {
-					} catch (BadLocationException x) {
-					}
-				}
 
-				token= fScanner.nextToken();
+				} else
+					break;
 			}
 
-			first= fDocument.computeIndexInCategory(fPositionCategory, behindLastScannedPosition);
+			// if position already exists and we have scanned at least the
+			// area covered by the event, we are done
+			if (fDocument.containsPosition(fPositionCategory, start, length)) {
+				if (lastScannedPosition >= convergenceOffset && isConverged(lastScannedPosition)) {
+					if (fPendingOffset != -1 && lastScannedPosition >= fPendingOffset)
+						fPendingOffset= -1;
+					return;
+				}
+				++ first;
+			} else {
+				// insert the new type position
+				try {
+					fDocument.addPosition(fPositionCategory, new TypedPosition(start, length, contentType));
+					rememberRegion(start, length);
+				} catch (BadPositionCategoryException x) {
+				} catch (BadLocationException x) {
+				}
+			}
 
-			clearPositionCache();
-			category= getPositions();
-			TypedPosition p;
-			while (first < category.length) {
-				p= (TypedPosition) category[first++];
-				fDocument.removePosition(fPositionCategory, p);
-				rememberRegion(p.offset, p.length);
+			if (behindLastScannedPosition > scanLimit) {
+				// leave the rest for later, the partitions after this one may change
+				if (fPendingOffset == -1)
+					fPendingConvergenceOffset= convergenceOffset;
+				else if (behindLastScannedPosition < fPendingOffset)
+					// the partitions found up to the old pending offset do not prove anything
+					// about the stale partitions behind it
+					fPendingConvergenceOffset= Math.max(fPendingConvergenceOffset, fPendingOffset);
+				fPendingOffset= behindLastScannedPosition;
+				return;
 			}
 
+			token= fScanner.nextToken();
+		}
+
+		first= fDocument.computeIndexInCategory(fPositionCategory, behindLastScannedPosition);
+
+		clearPositionCache();
+		category= getPositions();
+		TypedPosition p;
+		while (first < category.length) {
+			p= (TypedPosition) category[first++];
+			fDocument.removePosition(fPositionCategory, p);
+			rememberRegion(p.offset, p.length);
+		}
+		fPendingOffset= -1;
+	}
+
+	/**
+	 * Returns whether a scanned partition ending at the given offset which is equal to an existing
+	 * partition proves that the existing partitions after it are up to date. This is not the case
+	 * for pending partitions before the end of the last change.
+	 *
+	 * @param lastScannedPosition the last offset of the scanned partition
+	 * @return <code>true</code> if the scan converged with the existing partitions
+	 * @since 3.15
+	 */
+	private boolean isConverged(int lastScannedPosition) {
+		return fPendingOffset == -1 || lastScannedPosition < fPendingOffset || lastScannedPosition >= fPendingConvergenceOffset;
+	}
+
+	/**
+	 * Adapts the given offset to a document change. Offsets inside the replaced text are moved to
+	 * the end of the new text.
+	 *
+	 * @param offset the offset before the change
+	 * @param e the document event
+	 * @param newLength the length of the new text
+	 * @return the offset after the change
+	 * @since 3.15
+	 */
+	private static int adaptOffset(int offset, DocumentEvent e, int newLength) {
+		if (offset >= e.getOffset() + e.getLength())
+			return offset + newLength - e.getLength();
+		if (offset > e.getOffset())
+			return e.getOffset() + newLength;
+		return offset;
+	}
+
+	/**
+	 * Limits how far the partitioning is rescanned when the document changes. If a change
+	 * affects the partitions more than <code>length</code> characters after its end, e.g. because
+	 * it opens a multi-line comment, the remaining partitions are rescanned on demand when they
+	 * are queried or when {@link #continuePartitioning(int)} is called. The region reported for
+	 * such a change only covers the rescanned partitions, the partitions changed later are
+	 * reported by {@link #continuePartitioning(int)} or with the next change.
+	 * <p>
+	 * A {@link org.eclipse.jface.text.presentation.PresentationReconciler} installed on a viewer
+	 * of the document continues the partitioning while the user interface is idle.
+	 * </p>
+	 * <p>
+	 * By default the partitioning is always updated completely.
+	 * </p>
+	 * <p>
+	 * Note that the positions in the position category of this partitioner are not up to date
+	 * while the partitioning is pending.
+	 * </p>
+	 *
+	 * @param length the number of characters after a change up to which the partitioning is
+	 *            updated immediately, <code>0</code> for no limit
+	 * @since 3.15
+	 */
+	public void setRescanLimit(int length) {
+		Assert.isLegal(length >= 0);
+		fRescanLimit= length;
+	}
+
+	/**
+	 * Returns the number of characters after a change up to which the partitioning is updated
+	 * immediately.
+	 *
+	 * @return the rescan limit, <code>0</code> for no limit
+	 * @see #setRescanLimit(int)
+	 * @since 3.15
+	 */
+	public int getRescanLimit() {
+		return fRescanLimit;
+	}
+
+	/**
+	 * Continues the partitioning of the document if it was left pending after a change, see
+	 * {@link #setRescanLimit(int)}. This allows updating the partitioning of large documents in
+	 * portions, e.g. while the user interface is idle.
+	 *
+	 * @param length the minimal number of characters to partition
+	 * @return the region whose partitioning changed since the last change or call of this method,
+	 *         or <code>null</code> if none
+	 * @see #isPartitioningPending()
+	 * @since 3.15
+	 */
+	public IRegion continuePartitioning(int length) {
+		if (!fIsInitialized)
+			return null;
+		if (fPendingOffset != -1)
+			updatePendingPartitions(fPendingOffset + length);
+		if (fUnreportedOffset == -1)
+			return null;
+		IRegion changed= new Region(fUnreportedOffset, fUnreportedEnd - fUnreportedOffset);
+		fUnreportedOffset= -1;
+		return changed;
+	}
+
+	/**
+	 * Returns whether {@link #continuePartitioning(int)} has to be called, because partitions are
+	 * pending or were changed by rescanning pending partitions without being reported.
+	 *
+	 * @return <code>true</code> if the partitioning is pending
+	 * @since 3.15
+	 */
+	public boolean isPartitioningPending() {
+		return fIsInitialized && (fPendingOffset != -1 || fUnreportedOffset != -1);
+	}
+
+	/**
+	 * Rescans the pending partitions up to the given offset. The region of the changed partitions
+	 * is remembered to be reported later.
+	 *
+	 * @param offset the offset up to which the partitioning must be up to date
+	 * @since 3.15
+	 */
+	private void updatePendingPartitions(int offset) {
+		if (fPendingOffset == -1 || offset < fPendingOffset)
+			return;
+
+		// this may happen while a document change is processed, keep its region apart
+		int startOffset= fStartOffset;
+		int endOffset= fEndOffset;
+		int deleteOffset= fDeleteOffset;
+		fStartOffset= -1;
+		fEndOffset= -1;
+		fDeleteOffset= -1;
+		try {
+			int first= fDocument.computeIndexInCategory(fPositionCategory, fPendingOffset);
+			rescan(getPositions(), first, fPendingOffset, IDocument.DEFAULT_CONTENT_TYPE, fPendingOffset, fPendingConvergenceOffset, offset);
 		} catch (BadPositionCategoryException x) {
 			// should never happen on connected documents
 		} catch (BadLocationException x) {
 		} finally {
 			clearPositionCache();
+			IRegion changed= createRegion();
+			if (changed != null) {
+				int end= changed.getOffset() + changed.getLength();
+				if (fUnreportedOffset == -1) {
+					fUnreportedOffset= changed.getOffset();
+					fUnreportedEnd= end;
+				} else {
+					fUnreportedOffset= Math.min(fUnreportedOffset, changed.getOffset());
+					fUnreportedEnd= Math.max(fUnreportedEnd, end);
+				}
+			}
+			fStartOffset= startOffset;
+			fEndOffset= endOffset;
+			fDeleteOffset= deleteOffset;
 		}
-
-		return createRegion();
 	}
 
 	/**
@@ -463,6 +705,7 @@ public class FastPartitioner implements IDocumentPartitioner, IDocumentPartition
 	@Override
 	public String getContentType(int offset) {
 		checkInitialization();
+		updatePendingPartitions(offset);
 
 		TypedPosition p= findClosestPosition(offset);
 		if (p != null && p.includes(offset))
@@ -480,6 +723,7 @@ public class FastPartitioner implements IDocumentPartitioner, IDocumentPartition
 	@Override
 	public ITypedRegion getPartition(int offset) {
 		checkInitialization();
+		updatePendingPartitions(offset);
 
 		try {
 
@@ -620,6 +864,7 @@ public class FastPartitioner implements IDocumentPartitioner, IDocumentPartition
 	@Override
 	public ITypedRegion[] computePartitioning(int offset, int length, boolean includeZeroLengthPartitions) {
 		checkInitialization();
+		updatePendingPartitions(offset + length);
 		List<TypedRegion> list= new ArrayList<>();
 
 		try {
@@ -298,6 +298,23 @@ public class AnnotationModel implements IAnnotationModel, IAnnotationModelExtens
 	 * @since 3.0
 	 */
 	private Object fModificationStamp= new Object();
+	/**
+	 * An upper bound of the lengths of the annotation positions, or <code>-1</code> if unknown.
+	 * Guarded by {@link #fMaxPositionLengthLock}.
+	 * @since 3.15
+	 */
+	private int fMaxPositionLength= 0;
+	/**
+	 * Incremented whenever the document positions might be changed. Guarded by
+	 * {@link #fMaxPositionLengthLock}.
+	 * @since 3.15
+	 */
+	private int fPositionsChangeCount= 0;
+	/**
+	 * The lock guarding the maximal length of the annotation positions.
+	 * @since 3.15
+	 */
+	private final Object fMaxPositionLengthLock= new Object();
 
 	/**
 	 * Creates a new annotation model. The annotation is empty, i.e. does not
@@ -312,11 +329,13 @@ public class AnnotationModel implements IAnnotationModel, IAnnotationModelExtens
 
 			@Override
 			public void documentAboutToBeChanged(DocumentEvent event) {
+				invalidateMaxPositionLength();
 			}
 
 			@Override
 			public void documentChanged(DocumentEvent event) {
 				fDocumentChanged= true;
+				invalidateMaxPositionLength();
 			}
 		};
 	}
@@ -427,6 +446,7 @@ public class AnnotationModel implements IAnnotationModel, IAnnotationModelExtens
 			addPosition(fDocument, position);
 			annotations.put(annotation, position);
 			fPositions.put(position, annotation);
+			updateMaxPositionLength(position);
 			synchronized (getLockObject()) {
 				getAnnotationModelEvent().annotationAdded(annotation);
 			}
@@ -727,7 +747,11 @@ public class AnnotationModel implements IAnnotationModel, IAnnotationModelExtens
 		cleanup(true);
 
 		try {
-			Position[] positions= document.getPositions(IDocument.DEFAULT_CATEGORY, offset, length, canStartBefore, canEndAfter);
+			Position[] positions;
+			if (canStartBefore)
+				positions= getPositionsStartingBefore(document, offset, length, canEndAfter);
+			else
+				positions= document.getPositions(IDocument.DEFAULT_CATEGORY, offset, length, canStartBefore, canEndAfter);
 			return new AnnotationsInterator(positions, fPositions);
 		} catch (BadPositionCategoryException e) {
 			// can happen if e.g. the document doesn't contain such a category, or when removed in a different thread
@@ -735,6 +759,108 @@ public class AnnotationModel implements IAnnotationModel, IAnnotationModelExtens
 		}
 	}
 
+	/**
+	 * Returns the positions of the given document which are in the given region as specified in
+	 * {@link IAnnotationModelExtension2#getAnnotationIterator(int, int, boolean, boolean)} for
+	 * positions that can start before the region. An annotation position reaching into the region
+	 * starts at most the maximal length of the annotation positions before the region. Only the
+	 * positions starting in this range are looked at instead of all positions before or after the
+	 * region.
+	 *
+	 * @param document the document
+	 * @param offset region start
+	 * @param length region length
+	 * @param canEndAfter position can end after region
+	 * @return the positions in the region, not all of them are annotation positions
+	 * @throws BadPositionCategoryException if the document has no default position category
+	 * @since 3.15
+	 */
+	private Position[] getPositionsStartingBefore(AbstractDocument document, int offset, int length, boolean canEndAfter) throws BadPositionCategoryException {
+		int start= Math.max(0, offset - getMaxPositionLength());
+		Position[] candidates= document.getPositions(IDocument.DEFAULT_CATEGORY, start, offset + length + 1 - start, false, true);
+
+		Position region= new Position(offset, length);
+		List<Position> positions= new ArrayList<>(candidates.length);
+		for (Position position : candidates) {
+			boolean isWithinRegion;
+			if (canEndAfter)
+				isWithinRegion= region.overlapsWith(position.getOffset(), position.getLength());
+			else
+				isWithinRegion= region.includes(position.getOffset() + position.getLength() - 1);
+			if (isWithinRegion)
+				positions.add(position);
+		}
+		return positions.toArray(new Position[positions.size()]);
+	}
+
+	/**
+	 * Returns an upper bound of the lengths of the positions of the annotations managed by this
+	 * model, excluding attached models. The bound is computed again after document changes.
+	 *
+	 * @return the maximal length of the annotation positions
+	 * @since 3.15
+	 */
+	private int getMaxPositionLength() {
+		int changeCount;
+		synchronized (fMaxPositionLengthLock) {
+			if (fMaxPositionLength != -1)
+				return fMaxPositionLength;
+			changeCount= fPositionsChangeCount;
+		}
+
+		int[] maxLength= { 0 };
+		IAnnotationMap annotations= getAnnotationMap();
+		Object mapLock= annotations.getLockObject();
+		if (mapLock == null) {
+			Iterator<Position> e= annotations.valuesIterator();
+			while (e.hasNext()) {
+				Position p= e.next();
+				if (p != null)
+					maxLength[0]= Math.max(maxLength[0], p.getLength());
+			}
+		} else {
+			synchronized (mapLock) {
+				annotations.forEach((a, p) -> {
+					if (p != null)
+						maxLength[0]= Math.max(maxLength[0], p.getLength());
+				});
+			}
+		}
+
+		synchronized (fMaxPositionLengthLock) {
+			// if the positions have changed meanwhile, the bound is only used for this query
+			if (changeCount == fPositionsChangeCount)
+				fMaxPositionLength= maxLength[0];
+		}
+		return maxLength[0];
+	}
+
+	/**
+	 * Takes the given annotation position into account for the maximal length of the annotation
+	 * positions.
+	 *
+	 * @param position the added or modified annotation position
+	 * @since 3.15
+	 */
+	private void updateMaxPositionLength(Position position) {
+		synchronized (fMaxPositionLengthLock) {
+			if (fMaxPositionLength != -1)
+				fMaxPositionLength= Math.max(fMaxPositionLength, position.getLength());
+		}
+	}
+
+	/**
+	 * Forgets the maximal length of the annotation positions since the positions might change.
+	 *
+	 * @since 3.15
+	 */
+	private void invalidateMaxPositionLength() {
+		synchronized (fMaxPositionLengthLock) {
+			fPositionsChangeCount++;
+			fMaxPositionLength= -1;
+		}
+	}
+
 	/**
 	 * Returns all annotations managed by this model. <code>cleanup</code>
 	 * indicates whether all annotations whose associated positions are
@@ -886,6 +1012,7 @@ public class AnnotationModel implements IAnnotationModel, IAnnotationModelExtens
 					fDocument.removePosition(p);
 					p.setOffset(position.getOffset());
 					p.setLength(position.getLength());
+					updateMaxPositionLength(p);
 					try {
 						fDocument.addPosition(p);
 					} catch (BadLocationException e) {
@@ -0,0 +1,146 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.text.edits;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.core.runtime.Assert;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.DocumentEvent;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentListener;
+
+/**
+ * Collects the replacements of a text edit tree instead of applying them one by one. The
+ * replacements must not overlap and must be made either from the end to the start of the document
+ * or from the start to the end. {@link #apply()} builds the text of the changed range in one pass
+ * and replaces it in the underlying document at once.
+ * <p>
+ * The listeners of this document are notified of each replacement as if it was made to the
+ * underlying document. Only the text which has not been replaced yet can be read.
+ * </p>
+ *
+ * @since 3.15
+ */
+class BatchedEditDocument extends EditDocument {
+
+	/** The document to change. */
+	private final IDocument fDocument;
+	/** Whether the replacements are made from the start to the end of the document. */
+	private final boolean fForward;
+	/** The collected replacements at their offsets in the underlying document, in the order they were made. */
+	private final List<ReplaceEdit> fReplacements= new ArrayList<>();
+	/** The sum of the length changes of the replacements. */
+	private int fDelta;
+	/** The listeners notified about each replacement. */
+	private final List<IDocumentListener> fListeners= new ArrayList<>(1);
+
+	/**
+	 * Creates a new document collecting the replacements for the given document.
+	 *
+	 * @param document the document to change
+	 * @param forward <code>true</code> if the replacements are made from the start to the end of
+	 *            the document, <code>false</code> if they are made from the end to the start
+	 */
+	public BatchedEditDocument(IDocument document, boolean forward) {
+		super(""); //$NON-NLS-1$
+		fDocument= document;
+		fForward= forward;
+	}
+
+	@Override
+	public void addDocumentListener(IDocumentListener listener) {
+		fListeners.add(listener);
+	}
+
+	@Override
+	public void removeDocumentListener(IDocumentListener listener) {
+		fListeners.remove(listener);
+	}
+
+	@Override
+	public String get() {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public String get(int offset, int length) throws BadLocationException {
+		return fDocument.get(toDocumentOffset(offset), length);
+	}
+
+	@Override
+	public int getLength() {
+		return fDocument.getLength() + fDelta;
+	}
+
+	@Override
+	public void replace(int offset, int length, String text) throws BadLocationException {
+		int documentOffset= toDocumentOffset(offset);
+		if (documentOffset < 0 || length < 0 || documentOffset + length > fDocument.getLength())
+			throw new BadLocationException();
+		if (!fReplacements.isEmpty()) {
+			ReplaceEdit previous= fReplacements.get(fReplacements.size() - 1);
+			Assert.isTrue(fForward ? documentOffset >= previous.getExclusiveEnd() : documentOffset + length <= previous.getOffset());
+		}
+
+		DocumentEvent event= new DocumentEvent(this, offset, length, text);
+		for (IDocumentListener listener : fListeners)
+			listener.documentAboutToBeChanged(event);
+		fReplacements.add(new ReplaceEdit(documentOffset, length, text));
+		fDelta+= text.length() - length;
+		for (IDocumentListener listener : fListeners)
+			listener.documentChanged(event);
+	}
+
+	/**
+	 * Applies the collected replacements to the underlying document with a single replacement.
+	 *
+	 * @throws BadLocationException if the collected replacements do not fit into the document
+	 */
+	public void apply() throws BadLocationException {
+		int size= fReplacements.size();
+		if (size == 0)
+			return;
+
+		ReplaceEdit first= fReplacements.get(fForward ? 0 : size - 1);
+		ReplaceEdit last= fReplacements.get(fForward ? size - 1 : 0);
+		int start= first.getOffset();
+		int end= last.getExclusiveEnd();
+		String original= fDocument.get(start, end - start);
+		StringBuilder buffer= new StringBuilder(end - start + fDelta);
+		int position= start;
+		for (int i= 0; i < size; i++) {
+			ReplaceEdit replacement= fReplacements.get(fForward ? i : size - 1 - i);
+			buffer.append(original, position - start, replacement.getOffset() - start);
+			buffer.append(replacement.getText());
+			position= replacement.getExclusiveEnd();
+		}
+		fReplacements.clear();
+		fDelta= 0;
+		fDocument.replace(start, end - start, buffer.toString());
+	}
+
+	/**
+	 * Converts an offset in this document into an offset in the underlying document. Replacements
+	 * made from the start to the end of the document shift the text after them.
+	 *
+	 * @param offset the offset in this document
+	 * @return the offset in the underlying document
+	 */
+	private int toDocumentOffset(int offset) {
+		return fForward ? offset - fDelta : offset;
+	}
+}
@@ -19,7 +19,15 @@ import java.util.List;
 import org.eclipse.core.runtime.Assert;
 
 import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.BadPositionCategoryException;
+import org.eclipse.jface.text.DocumentRewriteSession;
+import org.eclipse.jface.text.DocumentRewriteSessionType;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension3;
+import org.eclipse.jface.text.IDocumentExtension4;
+import org.eclipse.jface.text.IDocumentPartitioner;
+import org.eclipse.jface.text.IDocumentPartitionerExtension2;
+import org.eclipse.jface.text.Position;
 
 
 /**
@@ -35,6 +43,15 @@ import org.eclipse.jface.text.IDocument;
  */
 public class TextEditProcessor {
 
+	/**
+	 * The minimal number of replace, insert and delete edits of a tree to apply them to the
+	 * document with a single replacement. Trees of at least as many edits which can't be applied
+	 * with a single replacement are applied in a document rewrite session.
+	 *
+	 * @since 3.15
+	 */
+	private static final int BATCH_THRESHOLD= 64;
+
 	private IDocument fDocument;
 	private TextEdit fRoot;
 	private int fStyle;
@@ -188,21 +205,146 @@ public class TextEditProcessor {
 	//---- execution --------------------------------------------------------------------
 
 	UndoEdit executeDo() throws BadLocationException {
+		BatchedEditDocument batch= canBatchEdits() ? new BatchedEditDocument(fDocument, false) : null;
+		IDocument document= batch != null ? batch : fDocument;
+		DocumentRewriteSession session= batch == null ? startRewriteSession(countEdits(fRoot)) : null;
 		UndoCollector collector= new UndoCollector(fRoot);
 		try {
 			if (createUndo())
-				collector.connect(fDocument);
+				collector.connect(document);
 			computeSources();
-			fRoot.traverseDocumentUpdating(this, fDocument);
+			fRoot.traverseDocumentUpdating(this, document);
+			if (batch != null)
+				batch.apply();
 			if (updateRegions()) {
 				fRoot.traverseRegionUpdating(this, fDocument, 0, false);
 			}
 		} finally {
-			collector.disconnect(fDocument);
+			collector.disconnect(document);
+			stopRewriteSession(session);
 		}
 		return collector.undo;
 	}
 
+	private static int countEdits(TextEdit edit) {
+		int count= 1;
+		for (TextEdit child : edit.getChildren())
+			count+= countEdits(child);
+		return count;
+	}
+
+	/**
+	 * Starts a rewrite session on the document if many edits are applied one by one, so that
+	 * document listeners like partitioners and viewers can defer their updates until all edits
+	 * are applied. Positions are still updated by each edit.
+	 *
+	 * @param edits the number of edits
+	 * @return the started session or <code>null</code> if none
+	 * @since 3.15
+	 */
+	private DocumentRewriteSession startRewriteSession(int edits) {
+		if (edits < BATCH_THRESHOLD || !(fDocument instanceof IDocumentExtension4))
+			return null;
+		IDocumentExtension4 extension= (IDocumentExtension4) fDocument;
+		if (extension.getActiveRewriteSession() != null)
+			return null;
+		return extension.startRewriteSession(DocumentRewriteSessionType.UNRESTRICTED);
+	}
+
+	private void stopRewriteSession(DocumentRewriteSession session) {
+		if (session != null)
+			((IDocumentExtension4) fDocument).stopRewriteSession(session);
+	}
+
+	/**
+	 * Tells whether the edits can be applied to the document with a single replacement. This is
+	 * the case for large trees of replace, insert and delete edits grouped by multi text edits and
+	 * range markers, if the document has no positions which would be updated differently by a
+	 * single replacement.
+	 *
+	 * @return <code>true</code> if the edits can be applied with a single replacement
+	 * @since 3.15
+	 */
+	private boolean canBatchEdits() {
+		for (List<TextEdit> list : fSourceEdits) {
+			if (list != null && !list.isEmpty())
+				return false;
+		}
+
+		// the number of replacements, their start and their end
+		int[] range= { 0, Integer.MAX_VALUE, -1 };
+		if (!canBatchEdits(fRoot, range) || range[0] < BATCH_THRESHOLD)
+			return false;
+		return !hasPositions(range[1], range[2]);
+	}
+
+	private boolean canBatchEdits(TextEdit edit, int[] range) {
+		Class<?> type= edit.getClass();
+		if (type == MultiTextEdit.class || type == RangeMarker.class) {
+			for (TextEdit child : edit.getChildren()) {
+				if (!canBatchEdits(child, range))
+					return false;
+			}
+			return true;
+		}
+		if (type != ReplaceEdit.class && type != InsertEdit.class && type != DeleteEdit.class || edit.hasChildren())
+			return false;
+
+		if (considerEdit(edit)) {
+			range[0]++;
+			range[1]= Math.min(range[1], edit.getOffset());
+			range[2]= Math.max(range[2], edit.getExclusiveEnd());
+		}
+		return true;
+	}
+
+	/**
+	 * Tells whether the document has positions touching the given range which are not managed by
+	 * a document partitioner. Partitioners compute their positions again after a change.
+	 *
+	 * @param start the start of the range
+	 * @param end the end of the range
+	 * @return <code>true</code> if there are such positions
+	 * @since 3.15
+	 */
+	private boolean hasPositions(int start, int end) {
+		if (fDocument instanceof EditDocument)
+			return false;
+
+		List<String> partitionerCategories= new ArrayList<>();
+		if (fDocument instanceof IDocumentExtension3) {
+			IDocumentExtension3 extension= (IDocumentExtension3) fDocument;
+			for (String partitioning : extension.getPartitionings())
+				addManagingPositionCategories(extension.getDocumentPartitioner(partitioning), partitionerCategories);
+		} else {
+			addManagingPositionCategories(fDocument.getDocumentPartitioner(), partitionerCategories);
+		}
+
+		try {
+			for (String category : fDocument.getPositionCategories()) {
+				if (partitionerCategories.contains(category))
+					continue;
+				for (Position position : fDocument.getPositions(category)) {
+					if (!position.isDeleted() && position.getOffset() <= end && position.getOffset() + position.getLength() >= start)
+						return true;
+				}
+			}
+		} catch (BadPositionCategoryException e) {
+			return true;
+		}
+		return false;
+	}
+
+	private static void addManagingPositionCategories(IDocumentPartitioner partitioner, List<String> categories) {
+		if (partitioner instanceof IDocumentPartitionerExtension2) {
+			String[] managingCategories= ((IDocumentPartitionerExtension2) partitioner).getManagingPositionCategories();
+			if (managingCategories != null) {
+				for (String category : managingCategories)
+					categories.add(category);
+			}
+		}
+	}
+
 	private void computeSources() {
 		for (List<TextEdit> list : fSourceEdits) {
 			if (list != null) {
@@ -214,20 +356,69 @@ public class TextEditProcessor {
 	}
 
 	UndoEdit executeUndo() throws BadLocationException {
+		TextEdit[] edits= fRoot.getChildren();
+		BatchedEditDocument batch= null;
+		if (canBatchUndo(edits, true))
+			batch= new BatchedEditDocument(fDocument, true);
+		else if (canBatchUndo(edits, false))
+			batch= new BatchedEditDocument(fDocument, false);
+		IDocument document= batch != null ? batch : fDocument;
+		DocumentRewriteSession session= batch == null ? startRewriteSession(edits.length) : null;
 		UndoCollector collector= new UndoCollector(fRoot);
 		try {
 			if (createUndo())
-				collector.connect(fDocument);
-			TextEdit[] edits= fRoot.getChildren();
+				collector.connect(document);
 			for (int i= edits.length - 1; i >= 0; i--) {
-				edits[i].performDocumentUpdating(fDocument);
+				edits[i].performDocumentUpdating(document);
 			}
+			if (batch != null)
+				batch.apply();
 		} finally {
-			collector.disconnect(fDocument);
+			collector.disconnect(document);
+			stopRewriteSession(session);
 		}
 		return collector.undo;
 	}
 
+	/**
+	 * Tells whether the replace edits of an undo edit can be applied to the document with a single
+	 * replacement. The edits are applied from the last to the first one, so this is the case if
+	 * they are ordered like the undo edits created by this processor.
+	 *
+	 * @param edits the replace edits of the undo edit
+	 * @param forward <code>true</code> to check whether the edits are applied from the start to the
+	 *            end of the document, <code>false</code> for the opposite direction
+	 * @return <code>true</code> if the edits can be applied with a single replacement
+	 * @since 3.15
+	 */
+	private boolean canBatchUndo(TextEdit[] edits, boolean forward) {
+		if (edits.length < BATCH_THRESHOLD)
+			return false;
+
+		// the range of the replaced text in the document
+		int start= Integer.MAX_VALUE;
+		int end= -1;
+		// edits applied from the start to the end shift the text after them
+		int delta= 0;
+		for (int i= edits.length - 1; i >= 0; i--) {
+			ReplaceEdit edit= (ReplaceEdit) edits[i];
+			if (forward) {
+				int offset= edit.getOffset() - delta;
+				if (offset < end)
+					return false;
+				start= Math.min(start, offset);
+				end= offset + edit.getLength();
+				delta+= edit.getText().length() - edit.getLength();
+			} else {
+				if (edit.getExclusiveEnd() > start)
+					return false;
+				start= edit.getOffset();
+				end= Math.max(end, edit.getExclusiveEnd());
+			}
+		}
+		return !hasPositions(start, end);
+	}
+
 	private boolean createUndo() {
 		return (fStyle & TextEdit.CREATE_UNDO) != 0;
 	}
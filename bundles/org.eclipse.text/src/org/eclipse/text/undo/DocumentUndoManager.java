@@ -44,6 +44,8 @@ import org.eclipse.jface.text.IDocumentExtension4;
 import org.eclipse.jface.text.IDocumentListener;
 import org.eclipse.jface.text.TextUtilities;
 
+import org.eclipse.text.undo.UndoTextStore.StoredText;
+
 /**
  * A standard implementation of a document-based undo manager that
  * creates an undo history based on changes to its document.
@@ -69,6 +71,13 @@ import org.eclipse.jface.text.TextUtilities;
  */
 public class DocumentUndoManager implements IDocumentUndoManager {
 
+	/**
+	 * The default minimal length of the texts of the undo history which are stored compressed.
+	 *
+	 * @see #setCompressionThreshold(int)
+	 * @since 3.15
+	 */
+	public static final int DEFAULT_COMPRESSION_THRESHOLD= 64 * 1024;
 
 	/**
 	 * Represents an undo-able text change, described as the
@@ -91,6 +100,18 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 		/** The replaced text. */
 		protected String fPreservedText;
 
+		/**
+		 * The newly inserted text if it is kept by the text store instead of {@link #fText}.
+		 * @since 3.15
+		 */
+		protected StoredText fStoredText;
+
+		/**
+		 * The replaced text if it is kept by the text store instead of {@link #fPreservedText}.
+		 * @since 3.15
+		 */
+		protected StoredText fStoredPreservedText;
+
 		/** The undo modification stamp. */
 		protected long fUndoModificationStamp= IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
 
@@ -117,6 +138,7 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 		protected void reinitialize() {
 			fStart= fEnd= -1;
 			fText= fPreservedText= null;
+			fStoredText= fStoredPreservedText= null;
 			fUndoModificationStamp= IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
 			fRedoModificationStamp= IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
 		}
@@ -132,24 +154,111 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 			fEnd= end;
 			fText= null;
 			fPreservedText= null;
+			fStoredText= null;
+			fStoredPreservedText= null;
 		}
 
 		@Override
 		public void dispose() {
+			if (fStoredText != null)
+				fStoredText.release();
+			if (fStoredPreservedText != null)
+				fStoredPreservedText.release();
 			reinitialize();
 		}
 
+		/**
+		 * Returns the newly inserted text.
+		 *
+		 * @return the inserted text, or <code>null</code> if this change is not valid
+		 * @since 3.15
+		 */
+		protected String getText() {
+			return fStoredText != null ? fStoredText.get() : fText;
+		}
+
+		/**
+		 * Returns the replaced text.
+		 *
+		 * @return the replaced text, or <code>null</code> if this change is not valid
+		 * @since 3.15
+		 */
+		protected String getPreservedText() {
+			return fStoredPreservedText != null ? fStoredPreservedText.get() : fPreservedText;
+		}
+
+		/**
+		 * Returns the length of the newly inserted text.
+		 *
+		 * @return the length of the inserted text
+		 * @since 3.15
+		 */
+		protected int getTextLength() {
+			return fStoredText != null ? fStoredText.length() : fText.length();
+		}
+
+		/**
+		 * Moves long texts of this change to the text store of the undo manager.
+		 *
+		 * @since 3.15
+		 */
+		protected void storeTexts() {
+			UndoTextStore store= fDocumentUndoManager.fTextStore;
+			if (store == null)
+				return;
+
+			StoredText text= store.store(fText);
+			if (text != null) {
+				fStoredText= text;
+				fText= null;
+			}
+			StoredText preservedText= store.store(fPreservedText);
+			if (preservedText != null) {
+				fStoredPreservedText= preservedText;
+				fPreservedText= null;
+			}
+		}
+
+		/**
+		 * Returns the approximate number of bytes used by the texts of this change.
+		 *
+		 * @return the memory used by this change
+		 * @since 3.15
+		 */
+		protected long getMemoryUsage() {
+			long usage= 0;
+			// a string needs up to two bytes per character
+			if (fText != null)
+				usage+= 2L * fText.length();
+			if (fPreservedText != null)
+				usage+= 2L * fPreservedText.length();
+			if (fStoredText != null)
+				usage+= fStoredText.getMemoryUsage();
+			if (fStoredPreservedText != null)
+				usage+= fStoredPreservedText.getMemoryUsage();
+			return usage;
+		}
+
 		/**
 		 * Undo the change described by this change.
 		 */
 		protected void undoTextChange() {
+			undoTextChange(getPreservedText());
+		}
+
+		/**
+		 * Undo the change described by this change.
+		 *
+		 * @param preservedText the replaced text
+		 * @since 3.15
+		 */
+		private void undoTextChange(String preservedText) {
 			try {
 				if (fDocumentUndoManager.fDocument instanceof IDocumentExtension4) {
-					((IDocumentExtension4) fDocumentUndoManager.fDocument).replace(fStart, fText
-							.length(), fPreservedText, fUndoModificationStamp);
+					((IDocumentExtension4) fDocumentUndoManager.fDocument).replace(fStart, getTextLength(), preservedText, fUndoModificationStamp);
 				} else {
-					fDocumentUndoManager.fDocument.replace(fStart, fText.length(),
-							fPreservedText);
+					fDocumentUndoManager.fDocument.replace(fStart, getTextLength(),
+							preservedText);
 				}
 			} catch (BadLocationException x) {
 			}
@@ -258,10 +367,12 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 		@Override
 		public IStatus undo(IProgressMonitor monitor, IAdaptable uiInfo) {
 			if (isValid()) {
-				fDocumentUndoManager.fireDocumentUndo(fStart, fPreservedText, fText, uiInfo, DocumentUndoEvent.ABOUT_TO_UNDO, false);
-				undoTextChange();
+				String text= getText();
+				String preservedText= getPreservedText();
+				fDocumentUndoManager.fireDocumentUndo(fStart, preservedText, text, uiInfo, DocumentUndoEvent.ABOUT_TO_UNDO, false);
+				undoTextChange(preservedText);
 				fDocumentUndoManager.resetProcessChangeState();
-				fDocumentUndoManager.fireDocumentUndo(fStart, fPreservedText, fText, uiInfo, DocumentUndoEvent.UNDONE, false);
+				fDocumentUndoManager.fireDocumentUndo(fStart, preservedText, text, uiInfo, DocumentUndoEvent.UNDONE, false);
 				return Status.OK_STATUS;
 			}
 			return IOperationHistory.OPERATION_INVALID_STATUS;
@@ -271,11 +382,21 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 		 * Re-applies the change described by this change.
 		 */
 		protected void redoTextChange() {
+			redoTextChange(getText());
+		}
+
+		/**
+		 * Re-applies the change described by this change.
+		 *
+		 * @param text the inserted text
+		 * @since 3.15
+		 */
+		private void redoTextChange(String text) {
 			try {
 				if (fDocumentUndoManager.fDocument instanceof IDocumentExtension4) {
-					((IDocumentExtension4) fDocumentUndoManager.fDocument).replace(fStart, fEnd - fStart, fText, fRedoModificationStamp);
+					((IDocumentExtension4) fDocumentUndoManager.fDocument).replace(fStart, fEnd - fStart, text, fRedoModificationStamp);
 				} else {
-					fDocumentUndoManager.fDocument.replace(fStart, fEnd - fStart, fText);
+					fDocumentUndoManager.fDocument.replace(fStart, fEnd - fStart, text);
 				}
 			} catch (BadLocationException x) {
 			}
@@ -292,10 +413,12 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 		@Override
 		public IStatus redo(IProgressMonitor monitor, IAdaptable uiInfo) {
 			if (isValid()) {
-				fDocumentUndoManager.fireDocumentUndo(fStart, fText, fPreservedText, uiInfo, DocumentUndoEvent.ABOUT_TO_REDO, false);
-				redoTextChange();
+				String text= getText();
+				String preservedText= getPreservedText();
+				fDocumentUndoManager.fireDocumentUndo(fStart, text, preservedText, uiInfo, DocumentUndoEvent.ABOUT_TO_REDO, false);
+				redoTextChange(text);
 				fDocumentUndoManager.resetProcessChangeState();
-				fDocumentUndoManager.fireDocumentUndo(fStart, fText, fPreservedText, uiInfo, DocumentUndoEvent.REDONE, false);
+				fDocumentUndoManager.fireDocumentUndo(fStart, text, preservedText, uiInfo, DocumentUndoEvent.REDONE, false);
 				return Status.OK_STATUS;
 			}
 			return IOperationHistory.OPERATION_INVALID_STATUS;
@@ -310,6 +433,7 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 			fDocumentUndoManager.fTextBuffer.setLength(0);
 			fPreservedText= fDocumentUndoManager.fPreservedTextBuffer.toString();
 			fDocumentUndoManager.fPreservedTextBuffer.setLength(0);
+			storeTexts();
 		}
 
 		/**
@@ -375,7 +499,7 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 		 * @return <code>true</code> if the change is valid for undo or redo
 		 */
 		protected boolean isValid() {
-			return fStart > -1 && fEnd > -1 && fText != null;
+			return fStart > -1 && fEnd > -1 && (fText != null || fStoredText != null);
 		}
 
 		@Override
@@ -395,11 +519,11 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 			text.append(fEnd);
 			text.append(delimiter);
 			text.append("text: '"); //$NON-NLS-1$
-			text.append(fText);
+			text.append(getText());
 			text.append('\'');
 			text.append(delimiter);
 			text.append("preservedText: '"); //$NON-NLS-1$
-			text.append(fPreservedText);
+			text.append(getPreservedText());
 			text.append('\'');
 			return text.toString();
 		}
@@ -451,6 +575,22 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 			fChanges.add(change);
 		}
 
+		@Override
+		public void dispose() {
+			for (UndoableTextChange change : fChanges)
+				change.dispose();
+			fChanges.clear();
+			super.dispose();
+		}
+
+		@Override
+		protected long getMemoryUsage() {
+			long usage= super.getMemoryUsage();
+			for (UndoableTextChange change : fChanges)
+				usage+= change.getMemoryUsage();
+			return usage;
+		}
+
 		@Override
 		public IStatus undo(IProgressMonitor monitor, IAdaptable uiInfo) {
 
@@ -459,7 +599,7 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 				UndoableTextChange c;
 
 				c= fChanges.get(0);
-				fDocumentUndoManager.fireDocumentUndo(c.fStart, c.fPreservedText, c.fText, uiInfo, DocumentUndoEvent.ABOUT_TO_UNDO, size > 1);
+				fDocumentUndoManager.fireDocumentUndo(c.fStart, c.getPreservedText(), c.getText(), uiInfo, DocumentUndoEvent.ABOUT_TO_UNDO, size > 1);
 
 				DocumentRewriteSession rewriteSession= null;
 				if (size > 25 && fDocumentUndoManager.fDocument instanceof IDocumentExtension4
@@ -477,7 +617,7 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 					((IDocumentExtension4) fDocumentUndoManager.fDocument).stopRewriteSession(rewriteSession);
 				}
 				fDocumentUndoManager.resetProcessChangeState();
-				fDocumentUndoManager.fireDocumentUndo(c.fStart, c.fPreservedText, c.fText, uiInfo,
+				fDocumentUndoManager.fireDocumentUndo(c.fStart, c.getPreservedText(), c.getText(), uiInfo,
 						DocumentUndoEvent.UNDONE, size > 1);
 			}
 			return Status.OK_STATUS;
@@ -491,7 +631,7 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 
 				UndoableTextChange c;
 				c= fChanges.get(size - 1);
-				fDocumentUndoManager.fireDocumentUndo(c.fStart, c.fText, c.fPreservedText, uiInfo, DocumentUndoEvent.ABOUT_TO_REDO, size > 1);
+				fDocumentUndoManager.fireDocumentUndo(c.fStart, c.getText(), c.getPreservedText(), uiInfo, DocumentUndoEvent.ABOUT_TO_REDO, size > 1);
 
 				DocumentRewriteSession rewriteSession= null;
 				if (size > 25 && fDocumentUndoManager.fDocument instanceof IDocumentExtension4
@@ -509,7 +649,7 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 					((IDocumentExtension4) fDocumentUndoManager.fDocument).stopRewriteSession(rewriteSession);
 				}
 				fDocumentUndoManager.resetProcessChangeState();
-				fDocumentUndoManager.fireDocumentUndo(c.fStart, c.fText, c.fPreservedText, uiInfo, DocumentUndoEvent.REDONE, size > 1);
+				fDocumentUndoManager.fireDocumentUndo(c.fStart, c.getText(), c.getPreservedText(), uiInfo, DocumentUndoEvent.REDONE, size > 1);
 			}
 
 			return Status.OK_STATUS;
@@ -526,6 +666,8 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 			c.fEnd= fEnd;
 			c.fText= fText;
 			c.fPreservedText= fPreservedText;
+			c.fStoredText= fStoredText;
+			c.fStoredPreservedText= fStoredPreservedText;
 			c.fUndoModificationStamp= fUndoModificationStamp;
 			c.fRedoModificationStamp= fRedoModificationStamp;
 			add(c);
@@ -773,6 +915,24 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 	/** The list of clients connected. */
 	private List<Object> fConnected;
 
+	/**
+	 * The store for long texts of the undo history, <code>null</code> if not connected.
+	 * @since 3.15
+	 */
+	private UndoTextStore fTextStore;
+
+	/**
+	 * The minimal length of the texts which are stored compressed.
+	 * @since 3.15
+	 */
+	private int fCompressionThreshold= DEFAULT_COMPRESSION_THRESHOLD;
+
+	/**
+	 * The maximal number of bytes of compressed texts kept in memory.
+	 * @since 3.15
+	 */
+	private long fHistoryMemoryBudget= -1;
+
 	/**
 	 *
 	 * Create a DocumentUndoManager for the given document.
@@ -895,6 +1055,59 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 		fHistory.setLimit(fUndoContext, undoLimit);
 	}
 
+	/**
+	 * Sets the minimal length of the inserted and replaced texts of the undo history which are
+	 * stored compressed. Compressed texts are decompressed when the change is undone or redone.
+	 * Only affects changes which are added to the history afterwards.
+	 *
+	 * @param threshold the minimal length of the compressed texts, or a negative value to never
+	 *            compress texts
+	 * @see #DEFAULT_COMPRESSION_THRESHOLD
+	 * @since 3.15
+	 */
+	public void setCompressionThreshold(int threshold) {
+		fCompressionThreshold= threshold;
+		if (fTextStore != null)
+			fTextStore.setCompressionThreshold(threshold);
+	}
+
+	/**
+	 * Sets the maximal number of bytes of compressed texts kept in memory. If the compressed texts
+	 * of the undo history exceed this budget, the oldest ones are written to a temporary file which
+	 * is deleted when the undo history is disposed. Texts which are not compressed are always kept
+	 * in memory.
+	 *
+	 * @param budget the maximal number of bytes, or a negative value to keep all texts in memory
+	 * @see #setCompressionThreshold(int)
+	 * @since 3.15
+	 */
+	public void setHistoryMemoryBudget(long budget) {
+		fHistoryMemoryBudget= budget;
+		if (fTextStore != null)
+			fTextStore.setMemoryBudget(budget);
+	}
+
+	/**
+	 * Returns the approximate number of bytes of memory used by the texts of the changes in the
+	 * undo and redo history of this undo manager. Texts written to a temporary file are not
+	 * included.
+	 *
+	 * @return the memory used by the undo history
+	 * @since 3.15
+	 */
+	public long getHistoryMemoryUsage() {
+		long usage= 0;
+		for (IUndoableOperation operation : fHistory.getUndoHistory(fUndoContext)) {
+			if (operation instanceof UndoableTextChange)
+				usage+= ((UndoableTextChange) operation).getMemoryUsage();
+		}
+		for (IUndoableOperation operation : fHistory.getRedoHistory(fUndoContext)) {
+			if (operation instanceof UndoableTextChange)
+				usage+= ((UndoableTextChange) operation).getMemoryUsage();
+		}
+		return usage;
+	}
+
 	/**
 	 * Fires a document undo event to all registered document undo listeners.
 	 * Uses a robust iterator.
@@ -1199,6 +1412,8 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 		fPreviousDelete= new UndoableTextChange(this);
 		fTextBuffer= new StringBuilder();
 		fPreservedTextBuffer= new StringBuilder();
+		fTextStore= new UndoTextStore(fCompressionThreshold);
+		fTextStore.setMemoryBudget(fHistoryMemoryBudget);
 
 		addListeners();
 	}
@@ -1226,6 +1441,9 @@ public class DocumentUndoManager implements IDocumentUndoManager {
 		fPreservedTextBuffer= null;
 
 		disposeUndoHistory();
+
+		fTextStore.dispose();
+		fTextStore= null;
 	}
 
 	/**
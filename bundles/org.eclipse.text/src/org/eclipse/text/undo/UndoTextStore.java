@@ -0,0 +1,320 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.text.undo;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+
+/**
+ * Stores the texts of the undo history compactly. Texts of at least the compression threshold
+ * are kept deflated. If the deflated texts kept in memory exceed the memory budget, the oldest of
+ * them are written to a temporary file and read again when they are needed.
+ * <p>
+ * A store is used by a single thread.
+ * </p>
+ *
+ * @since 3.15
+ */
+final class UndoTextStore {
+
+	/**
+	 * A text kept by an undo text store.
+	 */
+	static final class StoredText {
+
+		/** The store which created this text. */
+		private final UndoTextStore fStore;
+		/** The number of characters of the text. */
+		private final int fLength;
+		/** The deflated characters, or <code>null</code> if they have been written to the file. */
+		private byte[] fData;
+		/** The number of deflated bytes. */
+		private final int fDataLength;
+		/** The position of the deflated characters in the file, or <code>-1</code>. */
+		private long fFilePosition= -1;
+		/** Whether the text has been released. */
+		private boolean fReleased;
+
+		private StoredText(UndoTextStore store, int length, byte[] data) {
+			fStore= store;
+			fLength= length;
+			fData= data;
+			fDataLength= data.length;
+		}
+
+		/**
+		 * Returns the text.
+		 *
+		 * @return the text
+		 * @throws UncheckedIOException if the text cannot be read from the file
+		 */
+		String get() {
+			return fStore.read(this);
+		}
+
+		/**
+		 * Returns the number of characters of the text.
+		 *
+		 * @return the length of the text
+		 */
+		int length() {
+			return fLength;
+		}
+
+		/**
+		 * Returns the number of bytes this text occupies in memory.
+		 *
+		 * @return the memory used by this text
+		 */
+		long getMemoryUsage() {
+			return fData != null ? fData.length : 0;
+		}
+
+		/**
+		 * Releases this text, it must not be accessed afterwards.
+		 */
+		void release() {
+			fStore.release(this);
+		}
+	}
+
+	/** The number of characters which are deflated at once. */
+	private static final int CHUNK_SIZE= 16 * 1024;
+
+	/** The minimal length of the texts which are deflated, negative if texts are not deflated. */
+	private int fCompressionThreshold;
+	/** The maximal number of deflated bytes kept in memory, negative if there is no limit. */
+	private long fMemoryBudget= -1;
+
+	/** The texts whose deflated characters are in memory, the oldest first. */
+	private final LinkedHashSet<StoredText> fInMemory= new LinkedHashSet<>();
+	/** The number of deflated bytes kept in memory. */
+	private long fMemoryUsage;
+
+	/** The file holding the texts beyond the memory budget, or <code>null</code>. */
+	private File fFile;
+	/** The file opened for reading and writing, or <code>null</code>. */
+	private RandomAccessFile fRandomAccessFile;
+	/** The number of texts in the file which have not been released. */
+	private int fTextsInFile;
+	/** Whether the store has been disposed. */
+	private boolean fDisposed;
+
+	/**
+	 * Creates a new store.
+	 *
+	 * @param compressionThreshold the minimal length of the texts which are deflated, a negative
+	 *            value to not deflate texts
+	 */
+	UndoTextStore(int compressionThreshold) {
+		fCompressionThreshold= compressionThreshold;
+	}
+
+	void setCompressionThreshold(int threshold) {
+		fCompressionThreshold= threshold;
+	}
+
+	int getCompressionThreshold() {
+		return fCompressionThreshold;
+	}
+
+	void setMemoryBudget(long budget) {
+		fMemoryBudget= budget;
+		spill();
+	}
+
+	long getMemoryBudget() {
+		return fMemoryBudget;
+	}
+
+	/**
+	 * Stores the given text if it is long enough and can be deflated.
+	 *
+	 * @param text the text, may be <code>null</code>
+	 * @return the stored text, or <code>null</code> if the text should be kept as is
+	 */
+	StoredText store(String text) {
+		if (text == null || fCompressionThreshold < 0 || text.length() < fCompressionThreshold || fDisposed)
+			return null;
+
+		byte[] data= deflate(text);
+		// a string needs up to two bytes per character
+		if (data.length >= 2L * text.length())
+			return null;
+
+		StoredText stored= new StoredText(this, text.length(), data);
+		fInMemory.add(stored);
+		fMemoryUsage+= data.length;
+		spill();
+		return stored;
+	}
+
+	/**
+	 * Disposes this store. The file is deleted as soon as no text in it is needed anymore.
+	 */
+	void dispose() {
+		fDisposed= true;
+		fInMemory.clear();
+		fMemoryUsage= 0;
+		if (fTextsInFile == 0)
+			closeFile();
+	}
+
+	private String read(StoredText text) {
+		if (text.fReleased)
+			throw new IllegalStateException("text has been released"); //$NON-NLS-1$
+
+		byte[] data= text.fData;
+		if (data == null) {
+			data= new byte[text.fDataLength];
+			try {
+				fRandomAccessFile.seek(text.fFilePosition);
+				fRandomAccessFile.readFully(data);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+		return inflate(data, text.fLength);
+	}
+
+	private void release(StoredText text) {
+		if (text.fReleased)
+			return;
+
+		text.fReleased= true;
+		if (text.fData != null) {
+			if (fInMemory.remove(text))
+				fMemoryUsage-= text.fData.length;
+			text.fData= null;
+		} else if (--fTextsInFile == 0) {
+			if (fDisposed) {
+				closeFile();
+			} else {
+				try {
+					fRandomAccessFile.setLength(0);
+				} catch (IOException e) {
+					// the space is reused when the file is deleted
+				}
+			}
+		}
+	}
+
+	/**
+	 * Writes the oldest texts kept in memory to the file until the memory budget is kept.
+	 */
+	private void spill() {
+		if (fMemoryBudget < 0 || fMemoryUsage <= fMemoryBudget)
+			return;
+
+		try {
+			if (fRandomAccessFile == null) {
+				fFile= File.createTempFile("undo", ".tmp"); //$NON-NLS-1$ //$NON-NLS-2$
+				fFile.deleteOnExit();
+				fRandomAccessFile= new RandomAccessFile(fFile, "rw"); //$NON-NLS-1$
+			}
+
+			Iterator<StoredText> iterator= fInMemory.iterator();
+			while (fMemoryUsage > fMemoryBudget && iterator.hasNext()) {
+				StoredText text= iterator.next();
+				long position= fRandomAccessFile.length();
+				fRandomAccessFile.seek(position);
+				fRandomAccessFile.write(text.fData);
+				text.fFilePosition= position;
+				fMemoryUsage-= text.fData.length;
+				text.fData= null;
+				fTextsInFile++;
+				iterator.remove();
+			}
+		} catch (IOException e) {
+			// keep the texts in memory
+		}
+	}
+
+	private void closeFile() {
+		if (fRandomAccessFile != null) {
+			try {
+				fRandomAccessFile.close();
+			} catch (IOException e) {
+				// the file is deleted anyway
+			}
+			fRandomAccessFile= null;
+		}
+		if (fFile != null) {
+			fFile.delete();
+			fFile= null;
+		}
+	}
+
+	private static byte[] deflate(String text) {
+		Deflater deflater= new Deflater(Deflater.BEST_SPEED);
+		try {
+			int length= text.length();
+			ByteArrayOutputStream out= new ByteArrayOutputStream(Math.max(64, length / 4));
+			byte[] input= new byte[2 * CHUNK_SIZE];
+			byte[] output= new byte[CHUNK_SIZE];
+			for (int start= 0; start < length; start+= CHUNK_SIZE) {
+				int end= Math.min(length, start + CHUNK_SIZE);
+				int count= 0;
+				// characters are stored as is, strings may contain unpaired surrogates
+				for (int i= start; i < end; i++) {
+					char c= text.charAt(i);
+					input[count++]= (byte) (c >> 8);
+					input[count++]= (byte) c;
+				}
+				deflater.setInput(input, 0, count);
+				while (!deflater.needsInput())
+					out.write(output, 0, deflater.deflate(output));
+			}
+			deflater.finish();
+			while (!deflater.finished())
+				out.write(output, 0, deflater.deflate(output));
+			return out.toByteArray();
+		} finally {
+			deflater.end();
+		}
+	}
+
+	private static String inflate(byte[] data, int length) {
+		Inflater inflater= new Inflater();
+		try {
+			inflater.setInput(data);
+			byte[] bytes= new byte[2 * length];
+			int count= 0;
+			while (count < bytes.length) {
+				int inflated= inflater.inflate(bytes, count, bytes.length - count);
+				if (inflated == 0 && (inflater.finished() || inflater.needsInput()))
+					throw new IllegalStateException("stored text is truncated"); //$NON-NLS-1$
+				count+= inflated;
+			}
+
+			char[] chars= new char[length];
+			for (int i= 0, j= 0; i < length; i++, j+= 2)
+				chars[i]= (char) ((bytes[j] & 0xff) << 8 | bytes[j + 1] & 0xff);
+			return new String(chars);
+		} catch (DataFormatException e) {
+			throw new IllegalStateException(e);
+		} finally {
+			inflater.end();
+		}
+	}
+}
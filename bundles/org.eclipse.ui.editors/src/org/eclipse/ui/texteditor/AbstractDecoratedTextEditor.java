@@ -330,6 +330,11 @@ public abstract class AbstractDecoratedTextEditor extends StatusTextEditor {
 	 * @since 3.3
 	 */
 	private boolean fIsDerivedStateValidated= false;
+	/**
+	 * Tells whether the source viewer is in large document mode.
+	 * @since 3.20
+	 */
+	private boolean fIsLargeDocumentMode= false;
 	/**
 	 * The focused information presenter, or <code>null</code> if not created yet.
 	 * @since 3.5
@@ -414,7 +419,8 @@ public abstract class AbstractDecoratedTextEditor extends StatusTextEditor {
 		fAnnotationAccess= getAnnotationAccess();
 		fOverviewRuler= createOverviewRuler(getSharedColors());
 
-		ISourceViewer viewer= new SourceViewer(parent, ruler, getOverviewRuler(), isOverviewRulerVisible(), styles);
+		SourceViewer viewer= new SourceViewer(parent, ruler, getOverviewRuler(), isOverviewRulerVisible(), styles);
+		viewer.setLargeDocumentThreshold(getLargeDocumentThreshold());
 		// ensure decoration support has been created and configured.
 		getSourceViewerDecorationSupport(viewer);
 
@@ -473,14 +479,15 @@ public abstract class AbstractDecoratedTextEditor extends StatusTextEditor {
 			fSourceViewerDecorationSupport.install(getPreferenceStore());
 
 		IColumnSupport columnSupport= getAdapter(IColumnSupport.class);
+		boolean isLargeDocument= isSourceViewerInLargeDocumentMode();
 
-		if (isLineNumberRulerVisible()) {
+		if (isLineNumberRulerVisible() && !isLargeDocument) {
 			RulerColumnDescriptor lineNumberColumnDescriptor= RulerColumnRegistry.getDefault().getColumnDescriptor(LineNumberColumn.ID);
 			if (lineNumberColumnDescriptor != null)
 				columnSupport.setColumnVisible(lineNumberColumnDescriptor, true);
 		}
 
-		if (isPrefQuickDiffAlwaysOn())
+		if (isPrefQuickDiffAlwaysOn() && !isLargeDocument)
 			showChangeInformation(true);
 
 		if (fOverviewRuler instanceof IOverviewRulerExtension rulerEx)
@@ -504,6 +511,8 @@ public abstract class AbstractDecoratedTextEditor extends StatusTextEditor {
 		if (isStickyScrollingEnabled()) {
 			fStickyScrollingHandler= new StickyScrollingHandler(getSourceViewer(), getVerticalRuler(), getPreferenceStore());
 		}
+
+		updateLargeDocumentMode();
 	}
 
 	private boolean isStickyScrollingEnabled() {
@@ -637,6 +646,53 @@ public abstract class AbstractDecoratedTextEditor extends StatusTextEditor {
 		return store != null ? store.getBoolean(LINE_NUMBER_RULER) : false;
 	}
 
+	/**
+	 * Returns the document length above which the source viewer is in large document mode
+	 * according to the preference store settings. In this mode, neither syntax coloring,
+	 * reconciling and code minings nor the line number ruler, quick diff and the overview ruler
+	 * are enabled for the document. Subclasses may override this method to provide a custom
+	 * preference setting.
+	 *
+	 * @return the number of characters above which a document is considered large, or
+	 *         <code>-1</code> if the large document mode is disabled
+	 * @see SourceViewer#setLargeDocumentThreshold(int)
+	 * @since 3.20
+	 */
+	protected int getLargeDocumentThreshold() {
+		IPreferenceStore store= getPreferenceStore();
+		int threshold= store != null ? store.getInt(AbstractDecoratedTextEditorPreferenceConstants.EDITOR_LARGE_DOCUMENT_THRESHOLD) : -1;
+		return threshold > 0 ? threshold : -1;
+	}
+
+	private boolean isSourceViewerInLargeDocumentMode() {
+		return getSourceViewer() instanceof SourceViewer sourceViewer && sourceViewer.isLargeDocumentMode();
+	}
+
+	/**
+	 * Hides the line number ruler, quick diff and the overview ruler if the source viewer is in
+	 * large document mode and reports what has been disabled in the status line. Shows the overview
+	 * ruler again when the mode is left.
+	 */
+	private void updateLargeDocumentMode() {
+		boolean wasLargeDocumentMode= fIsLargeDocumentMode;
+		fIsLargeDocumentMode= isSourceViewerInLargeDocumentMode();
+		if (fIsLargeDocumentMode) {
+			RulerColumnDescriptor lineNumberColumnDescriptor= RulerColumnRegistry.getDefault().getColumnDescriptor(LineNumberColumn.ID);
+			if (lineNumberColumnDescriptor != null) {
+				getAdapter(IColumnSupport.class).setColumnVisible(lineNumberColumnDescriptor, false);
+				fLineColumn= null;
+			}
+			if (fOverviewRuler != null)
+				hideOverviewRuler();
+
+			IDocument document= getSourceViewer().getDocument();
+			setStatusLineMessage(NLSUtility.format(TextEditorMessages.AbstractDecoratedTextEditor_largeDocumentMode,
+					new Object[] { Integer.valueOf(document.getLength()), Integer.valueOf(document.getNumberOfLines()) }));
+		} else if (wasLargeDocumentMode && fOverviewRuler != null && isOverviewRulerVisible()) {
+			showOverviewRuler();
+		}
+	}
+
 	/**
 	 * Returns whether the overwrite mode is enabled according to the preference
 	 * store settings. Subclasses may override this method to provide a custom
@@ -830,7 +886,7 @@ public abstract class AbstractDecoratedTextEditor extends StatusTextEditor {
 			String property= event.getProperty();
 
 			if (fSourceViewerDecorationSupport != null && fOverviewRuler != null && OVERVIEW_RULER.equals(property))  {
-				if (isOverviewRulerVisible())
+				if (isOverviewRulerVisible() && !fIsLargeDocumentMode)
 					showOverviewRuler();
 				else
 					hideOverviewRuler();
@@ -1528,8 +1584,11 @@ public abstract class AbstractDecoratedTextEditor extends StatusTextEditor {
 		RulerColumnDescriptor lineNumberColumnDescriptor= RulerColumnRegistry.getDefault().getColumnDescriptor(LineNumberColumn.ID);
 		if (lineNumberColumnDescriptor != null) {
 			IColumnSupport columnSupport= getAdapter(IColumnSupport.class);
-			columnSupport.setColumnVisible(lineNumberColumnDescriptor, isLineNumberRulerVisible() || isPrefQuickDiffAlwaysOn());
+			columnSupport.setColumnVisible(lineNumberColumnDescriptor, (isLineNumberRulerVisible() || isPrefQuickDiffAlwaysOn()) && !isSourceViewerInLargeDocumentMode());
 		}
+
+		if (getSourceViewer() != null)
+			updateLargeDocumentMode();
 	}
 
 	@Override
@@ -762,6 +762,25 @@ public class AbstractDecoratedTextEditorPreferenceConstants {
 	 */
 	public static final String EDITOR_STICKY_SCROLLING_MAXIMUM_COUNT= "stickyScrollingMaximumCount"; //$NON-NLS-1$
 
+	/**
+	 * A named preference that holds the number of characters above which a document is opened in
+	 * large document mode. In this mode, syntax coloring, reconciling, code minings, the line number
+	 * ruler, quick diff and the overview ruler are disabled. A value of <code>0</code> or less
+	 * disables the large document mode.
+	 * <p>
+	 * The document is still partitioned completely when it is opened, since its partitioners are
+	 * connected by the document provider. Only the partitioning updates after a change are limited,
+	 * see {@link org.eclipse.jface.text.source.SourceViewer#setLargeDocumentThreshold(int)}.
+	 * </p>
+	 * <p>
+	 * Value is of type <code>Integer</code>.
+	 * </p>
+	 *
+	 * @see AbstractDecoratedTextEditor#getLargeDocumentThreshold()
+	 * @since 3.20
+	 */
+	public static final String EDITOR_LARGE_DOCUMENT_THRESHOLD= "largeDocumentThreshold"; //$NON-NLS-1$
+
 	/**
 	* Initializes the given preference store with the default values.
 	 *
@@ -867,6 +886,7 @@ public class AbstractDecoratedTextEditorPreferenceConstants {
 
 		store.setDefault(EDITOR_STICKY_SCROLLING_ENABLED, false);
 		store.setDefault(EDITOR_STICKY_SCROLLING_MAXIMUM_COUNT, 4);
+		store.setDefault(EDITOR_LARGE_DOCUMENT_THRESHOLD, 32 * 1024 * 1024);
 
 		MarkerAnnotationPreferences.initializeDefaultValues(store);
 
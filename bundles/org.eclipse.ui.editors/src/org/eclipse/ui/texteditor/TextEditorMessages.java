@@ -74,6 +74,7 @@ final class TextEditorMessages extends NLS {
 	public static String AbstractDecoratedTextEditor_openWith_menu;
 	public static String AbstractDecoratedTextEditor_showIn_menu;
 	public static String AbstractDecoratedTextEditor_printPageNumber;
+	public static String AbstractDecoratedTextEditor_largeDocumentMode;
 
 
 	static {
@@ -13,7 +13,11 @@
  *******************************************************************************/
 package org.eclipse.ui.internal.genericeditor;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.jface.text.IDocument;
@@ -23,13 +27,66 @@ import org.eclipse.jface.text.ITextViewerLifecycle;
 import org.eclipse.jface.text.reconciler.DirtyRegion;
 import org.eclipse.jface.text.reconciler.IReconcilingStrategy;
 import org.eclipse.jface.text.reconciler.IReconcilingStrategyExtension;
+import org.eclipse.jface.text.reconciler.Reconciler;
 
 public class CompositeReconcilerStrategy
 		implements IReconcilingStrategy, IReconcilingStrategyExtension, ITextViewerLifecycle {
 	private List<IReconcilingStrategy> fReconcilingStrategies;
+	private final Reconciler fReconciler;
+	private final Set<IReconcilingStrategy> fConcurrentStrategies;
 
 	public CompositeReconcilerStrategy(List<IReconcilingStrategy> strategies) {
+		this(strategies, null, Collections.emptySet());
+	}
+
+	/**
+	 * @param strategies           the strategies to combine
+	 * @param reconciler           the reconciler whose bounded pool of worker
+	 *                             threads runs the concurrent strategies, or
+	 *                             <code>null</code> to run all strategies one
+	 *                             after another
+	 * @param concurrentStrategies the strategies which declared that they may
+	 *                             run concurrently to the other strategies. The
+	 *                             other strategies run one after another in the
+	 *                             reconciler's thread.
+	 */
+	public CompositeReconcilerStrategy(List<IReconcilingStrategy> strategies, Reconciler reconciler,
+			Set<IReconcilingStrategy> concurrentStrategies) {
 		this.fReconcilingStrategies = strategies;
+		this.fReconciler = reconciler;
+		this.fConcurrentStrategies = concurrentStrategies;
+	}
+
+	/**
+	 * Applies the given action to all strategies. Every strategy is called, even
+	 * if the progress monitor is canceled, since the reconciler has already
+	 * removed the dirty region from its queue.
+	 */
+	private void reconcileAll(Consumer<IReconcilingStrategy> action) {
+		if (fReconciler == null || fConcurrentStrategies.isEmpty()) {
+			for (IReconcilingStrategy strategy : fReconcilingStrategies) {
+				action.accept(strategy);
+			}
+			return;
+		}
+		List<Runnable> tasks = new ArrayList<>();
+		List<IReconcilingStrategy> sequentialStrategies = new ArrayList<>();
+		for (IReconcilingStrategy strategy : fReconcilingStrategies) {
+			if (fConcurrentStrategies.contains(strategy)) {
+				tasks.add(() -> action.accept(strategy));
+			} else {
+				sequentialStrategies.add(strategy);
+			}
+		}
+		if (!sequentialStrategies.isEmpty()) {
+			// the last task runs in the reconciler's thread
+			tasks.add(() -> {
+				for (IReconcilingStrategy strategy : sequentialStrategies) {
+					action.accept(strategy);
+				}
+			});
+		}
+		fReconciler.runConcurrently(tasks);
 	}
 
 	@Override
@@ -43,11 +100,11 @@ public class CompositeReconcilerStrategy
 
 	@Override
 	public void initialReconcile() {
-		for (IReconcilingStrategy strategy : fReconcilingStrategies) {
+		reconcileAll(strategy -> {
 			if (strategy instanceof IReconcilingStrategyExtension) {
 				((IReconcilingStrategyExtension) strategy).initialReconcile();
 			}
-		}
+		});
 	}
 
 	@Override
@@ -59,16 +116,12 @@ public class CompositeReconcilerStrategy
 
 	@Override
 	public void reconcile(DirtyRegion dirtyRegion, IRegion subRegion) {
-		for (IReconcilingStrategy strategy : fReconcilingStrategies) {
-			strategy.reconcile(dirtyRegion, subRegion);
-		}
+		reconcileAll(strategy -> strategy.reconcile(dirtyRegion, subRegion));
 	}
 
 	@Override
 	public void reconcile(IRegion partition) {
-		for (IReconcilingStrategy strategy : fReconcilingStrategies) {
-			strategy.reconcile(partition);
-		}
+		reconcileAll(strategy -> strategy.reconcile(partition));
 	}
 
 	@Override
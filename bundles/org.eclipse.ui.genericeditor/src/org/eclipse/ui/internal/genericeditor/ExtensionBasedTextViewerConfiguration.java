@@ -24,6 +24,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
@@ -279,13 +280,14 @@ public final class ExtensionBasedTextViewerConfiguration extends TextSourceViewe
 	public IReconciler getReconciler(ISourceViewer sourceViewer) {
 		ReconcilerRegistry registry = GenericEditorPlugin.getDefault().getReconcilerRegistry();
 		List<IReconcilingStrategy> reconcilingStrategies = new ArrayList<>();
+		Set<IReconcilingStrategy> concurrentStrategies = new HashSet<>();
 		List<IReconciler> reconcilers = registry.getReconcilers(sourceViewer, editor, reconcilingStrategies,
-				getContentTypes(sourceViewer.getDocument()));
+				concurrentStrategies, getContentTypes(sourceViewer.getDocument()));
 
 		// Fill with highlight reconcilers
 		List<IReconcilingStrategy> highlightReconcilingStrategies = new ArrayList<>();
 		List<IReconciler> highlightReconcilers = registry.getHighlightReconcilers(sourceViewer, editor,
-				highlightReconcilingStrategies, getContentTypes(sourceViewer.getDocument()));
+				highlightReconcilingStrategies, concurrentStrategies, getContentTypes(sourceViewer.getDocument()));
 		if (!highlightReconcilers.isEmpty()) {
 			reconcilers.addAll(highlightReconcilers);
 		} else if (highlightReconcilingStrategies.isEmpty()) {
@@ -296,7 +298,7 @@ public final class ExtensionBasedTextViewerConfiguration extends TextSourceViewe
 		// Fill with folding reconcilers
 		List<IReconcilingStrategy> foldingReconcilingStrategies = new ArrayList<>();
 		List<IReconciler> foldingReconcilers = registry.getFoldingReconcilers(sourceViewer, editor,
-				foldingReconcilingStrategies, getContentTypes(sourceViewer.getDocument()));
+				foldingReconcilingStrategies, concurrentStrategies, getContentTypes(sourceViewer.getDocument()));
 		if (!foldingReconcilers.isEmpty()) {
 			reconcilers.addAll(foldingReconcilers);
 		} else if (foldingReconcilingStrategies.isEmpty()) {
@@ -308,7 +310,14 @@ public final class ExtensionBasedTextViewerConfiguration extends TextSourceViewe
 		if (!reconcilingStrategies.isEmpty()) {
 			// Create the main Reconciler of the generic editor
 			Reconciler reconciler = new Reconciler();
-			reconciler.setReconcilingStrategy(new CompositeReconcilerStrategy(reconcilingStrategies),
+			if (!concurrentStrategies.isEmpty()) {
+				// the strategies which opted in run in the reconciler's worker threads, the
+				// others together in the reconciler's thread
+				reconciler.setMaxParallelism(Math.max(2,
+						Math.min(concurrentStrategies.size() + 1, Runtime.getRuntime().availableProcessors())));
+			}
+			reconciler.setReconcilingStrategy(
+					new CompositeReconcilerStrategy(reconcilingStrategies, reconciler, concurrentStrategies),
 					IDocument.DEFAULT_CONTENT_TYPE);
 			reconcilers.add(0, reconciler);
 		}
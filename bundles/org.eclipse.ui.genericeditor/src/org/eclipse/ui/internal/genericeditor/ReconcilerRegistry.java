@@ -48,6 +48,8 @@ public class ReconcilerRegistry {
 	private static final String FOLDING_EXTENSION_POINT_ID = GenericEditorPlugin.BUNDLE_ID + ".foldingReconcilers"; //$NON-NLS-1$
 	private static final String FOLDING_RECONCILING_STRATEGY_ELT_NAME = "foldingReconcilingStrategy"; //$NON-NLS-1$
 
+	private static final String CONCURRENT_ATTRIBUTE = "concurrent"; //$NON-NLS-1$
+
 	private Map<IConfigurationElement, GenericContentTypeRelatedExtension<IReconciler>> extensions = new HashMap<>();
 	private Map<IConfigurationElement, GenericContentTypeRelatedExtension<IReconciler>> highlightExtensions = new HashMap<>();
 	private Map<IConfigurationElement, GenericContentTypeRelatedExtension<IReconciler>> foldingExtensions = new HashMap<>();
@@ -72,17 +74,20 @@ public class ReconcilerRegistry {
 	 *
 	 * @param sourceViewer         the source viewer we're hooking completion to.
 	 * @param editor               the text editor
+	 * @param concurrentStrategies the set to which the contributed reconciling
+	 *                             strategies which may run concurrently are added
 	 * @param contentTypes         the content types of the document we're editing.
 	 * @return the list of {@link IReconciler} contributed for at least one of the
 	 *         content types, sorted by most generic content type to most specific.
 	 */
 	public List<IReconciler> getReconcilers(ISourceViewer sourceViewer, ITextEditor editor,
-			List<IReconcilingStrategy> reconcilingStrategies, Set<IContentType> contentTypes) {
+			List<IReconcilingStrategy> reconcilingStrategies, Set<IReconcilingStrategy> concurrentStrategies,
+			Set<IContentType> contentTypes) {
 		if (this.outOfSync) {
 			sync();
 		}
-		return getReconcilers(sourceViewer, editor, reconcilingStrategies, contentTypes, RECONCILING_STRATEGY_ELT_NAME,
-				this.extensions);
+		return getReconcilers(sourceViewer, editor, reconcilingStrategies, concurrentStrategies, contentTypes,
+				RECONCILING_STRATEGY_ELT_NAME, this.extensions);
 	}
 
 	/**
@@ -91,17 +96,20 @@ public class ReconcilerRegistry {
 	 *
 	 * @param sourceViewer         the source viewer we're hooking completion to.
 	 * @param editor               the text editor
+	 * @param concurrentStrategies the set to which the contributed reconciling
+	 *                             strategies which may run concurrently are added
 	 * @param contentTypes         the content types of the document we're editing.
 	 * @return the list of highlight {@link IReconciler}s contributed for at least
 	 *         one of the content types, sorted by most generic content type to most
 	 *         specific.
 	 */
 	public List<IReconciler> getHighlightReconcilers(ISourceViewer sourceViewer, ITextEditor editor,
-			List<IReconcilingStrategy> reconcilingStrategies, Set<IContentType> contentTypes) {
+			List<IReconcilingStrategy> reconcilingStrategies, Set<IReconcilingStrategy> concurrentStrategies,
+			Set<IContentType> contentTypes) {
 		if (this.highlightOutOfSync) {
 			syncHighlight();
 		}
-		return getReconcilers(sourceViewer, editor, reconcilingStrategies, contentTypes,
+		return getReconcilers(sourceViewer, editor, reconcilingStrategies, concurrentStrategies, contentTypes,
 				HIGHLIGHT_RECONCILING_STRATEGY_ELT_NAME, this.highlightExtensions);
 	}
 
@@ -111,22 +119,26 @@ public class ReconcilerRegistry {
 	 *
 	 * @param sourceViewer         the source viewer we're hooking completion to.
 	 * @param editor               the text editor
+	 * @param concurrentStrategies the set to which the contributed reconciling
+	 *                             strategies which may run concurrently are added
 	 * @param contentTypes         the content types of the document we're editing.
 	 * @return the list of folding {@link IReconciler}s contributed for at least one
 	 *         of the content types, sorted by most generic content type to most
 	 *         specific.
 	 */
 	public List<IReconciler> getFoldingReconcilers(ISourceViewer sourceViewer, ITextEditor editor,
-			List<IReconcilingStrategy> reconcilingStrategies, Set<IContentType> contentTypes) {
+			List<IReconcilingStrategy> reconcilingStrategies, Set<IReconcilingStrategy> concurrentStrategies,
+			Set<IContentType> contentTypes) {
 		if (this.foldingOutOfSync) {
 			syncFolding();
 		}
-		return getReconcilers(sourceViewer, editor, reconcilingStrategies, contentTypes,
+		return getReconcilers(sourceViewer, editor, reconcilingStrategies, concurrentStrategies, contentTypes,
 				FOLDING_RECONCILING_STRATEGY_ELT_NAME, this.foldingExtensions);
 	}
 
 	private static List<IReconciler> getReconcilers(ISourceViewer sourceViewer, ITextEditor editor,
-			List<IReconcilingStrategy> reconcilingStrategies, Set<IContentType> contentTypes, String contributionName,
+			List<IReconcilingStrategy> reconcilingStrategies, Set<IReconcilingStrategy> concurrentStrategies,
+			Set<IContentType> contentTypes, String contributionName,
 			Map<IConfigurationElement, GenericContentTypeRelatedExtension<IReconciler>> extensionsMap) {
 		List<IReconciler> reconcilers = new ArrayList<>();
 		List<GenericContentTypeRelatedExtension<IReconciler>> extensions = extensionsMap.values().stream() //
@@ -138,6 +150,10 @@ public class ReconcilerRegistry {
 			if (contributionName.equals(ext.getContributionName())) {
 				IReconcilingStrategy reconcilingStrategy = ext.createDelegateWithoutTypeCheck();
 				reconcilingStrategies.add(reconcilingStrategy);
+				if (reconcilingStrategy != null
+						&& Boolean.parseBoolean(ext.extension.getAttribute(CONCURRENT_ATTRIBUTE))) {
+					concurrentStrategies.add(reconcilingStrategy);
+				}
 			} else {
 				IReconciler reconciler = ext.createDelegate();
 				if (reconciler != null) {
@@ -16,8 +16,8 @@
 package org.eclipse.ui.internal.genericeditor.folding;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -176,11 +176,22 @@ public class IndentFoldingStrategy implements IReconcilingStrategy, IReconciling
 			// actually create and maintain the annotations
 			List<Annotation> modifications = new ArrayList<>();
 			List<FoldingAnnotation> deletions = new ArrayList<>();
-			List<FoldingAnnotation> existing = new ArrayList<>();
-			Map<Annotation, Position> additions = new HashMap<>();
+			List<FoldingAnnotation> existingAnnotations = new ArrayList<>();
+			Map<Annotation, Position> additions = new LinkedHashMap<>();
 
 			// find and mark all folding annotations with length 0 for deletion
-			markInvalidAnnotationsForDeletion(dirtyRegion, deletions, existing);
+			markInvalidAnnotationsForDeletion(dirtyRegion, deletions, existingAnnotations);
+
+			// existing annotations which still match a folding region are left
+			// untouched, so that only the differences are sent to the model
+			Map<Position, FoldingAnnotation> existing = new LinkedHashMap<>();
+			for (FoldingAnnotation annotation : existingAnnotations) {
+				Position position = projectionAnnotationModel.getPosition(annotation);
+				FoldingAnnotation duplicate = existing.put(new Position(position.offset, position.length), annotation);
+				if (duplicate != null) {
+					deletions.add(duplicate);
+				}
+			}
 
 			List<LineIndent> previousRegions = new ArrayList<>();
 
@@ -271,9 +282,14 @@ public class IndentFoldingStrategy implements IReconcilingStrategy, IReconciling
 
 			// be sure projection has not been disabled
 			if (projectionAnnotationModel != null) {
-				if (!existing.isEmpty()) {
-					deletions.addAll(existing);
+				// move the remaining existing annotations to the new regions
+				Iterator<FoldingAnnotation> remaining = existing.values().iterator();
+				Iterator<Map.Entry<Annotation, Position>> added = additions.entrySet().iterator();
+				while (remaining.hasNext() && added.hasNext()) {
+					updateAnnotations(remaining.next(), added.next().getValue(), modifications, deletions);
+					added.remove();
 				}
+				remaining.forEachRemaining(deletions::add);
 				// send the calculated updates to the annotations to the
 				// annotation model
 				projectionAnnotationModel.modifyAnnotations(deletions.toArray(new Annotation[1]), additions,
@@ -284,7 +300,7 @@ public class IndentFoldingStrategy implements IReconcilingStrategy, IReconciling
 	}
 
 	private void addAnnotationForKeyword(List<Annotation> modifications, List<FoldingAnnotation> deletions,
-			List<FoldingAnnotation> existing, Map<Annotation, Position> additions, int startLine,
+			Map<Position, FoldingAnnotation> existing, Map<Annotation, Position> additions, int startLine,
 			Integer lastLineForKeyword) throws BadLocationException {
 		if (lastLineForKeyword != null) {
 			updateAnnotation(modifications, deletions, existing, additions, startLine, lastLineForKeyword);
@@ -370,21 +386,18 @@ public class IndentFoldingStrategy implements IReconcilingStrategy, IReconciling
 	 *
 	 * @param modifications the folding annotations to update.
 	 * @param deletions     the folding annotations to delete.
-	 * @param existing      the existing folding annotations.
+	 * @param existing      the existing folding annotations by their position.
 	 * @param additions     annoation to add
 	 * @param line          the line index
 	 * @param endLineNumber the end line number
 	 */
 	private void updateAnnotation(List<Annotation> modifications, List<FoldingAnnotation> deletions,
-			List<FoldingAnnotation> existing, Map<Annotation, Position> additions, int line, Integer endLineNumber)
-			throws BadLocationException {
+			Map<Position, FoldingAnnotation> existing, Map<Annotation, Position> additions, int line,
+			Integer endLineNumber) throws BadLocationException {
 		int startOffset = document.getLineOffset(line);
 		int endOffset = document.getLineOffset(endLineNumber) + document.getLineLength(endLineNumber);
 		Position newPos = new Position(startOffset, endOffset - startOffset);
-		if (!existing.isEmpty()) {
-			FoldingAnnotation existingAnnotation = existing.remove(existing.size() - 1);
-			updateAnnotations(existingAnnotation, newPos, modifications, deletions);
-		} else {
+		if (existing.remove(newPos) == null) {
 			additions.put(new FoldingAnnotation(false), newPos);
 		}
 	}
@@ -57,18 +57,15 @@ import org.eclipse.jface.text.source.LineRange;
 
 import org.eclipse.ui.internal.texteditor.NLSUtility;
 import org.eclipse.ui.internal.texteditor.TextEditorPlugin;
-import org.eclipse.ui.internal.texteditor.quickdiff.compare.equivalence.DJBHashFunction;
 import org.eclipse.ui.internal.texteditor.quickdiff.compare.equivalence.DocEquivalenceComparator;
 import org.eclipse.ui.internal.texteditor.quickdiff.compare.equivalence.DocumentEquivalenceClass;
+import org.eclipse.ui.internal.texteditor.quickdiff.compare.equivalence.FNVHashFunction;
 import org.eclipse.ui.internal.texteditor.quickdiff.compare.equivalence.IHashFunction;
 import org.eclipse.ui.progress.IProgressConstants;
 
 import org.eclipse.ui.texteditor.quickdiff.IQuickDiffReferenceProvider;
 
-import org.eclipse.compare.rangedifferencer.AbstractRangeDifferenceFactory;
-import org.eclipse.compare.rangedifferencer.IRangeComparator;
 import org.eclipse.compare.rangedifferencer.RangeDifference;
-import org.eclipse.compare.rangedifferencer.RangeDifferencer;
 
 /**
  * Standard implementation of <code>ILineDiffer</code> as an incremental diff engine. A
@@ -88,19 +85,6 @@ import org.eclipse.compare.rangedifferencer.RangeDifferencer;
 public class DocumentLineDiffer implements ILineDiffer, IDocumentListener, IAnnotationModel, ILineDifferExtension, ILineDifferExtension2 {
 
 
-	/**
-	 * Custom range difference factory.
-	 *
-	 * @since 3.5
-	 */
-	private static class RangeDifferenceFactory extends AbstractRangeDifferenceFactory {
-		@Override
-		protected org.eclipse.compare.rangedifferencer.RangeDifference createRangeDifference() {
-			return new QuickDiffRangeDifference();
-		}
-	}
-
-
 	/**
 	 * Artificial line difference information indicating a change with an empty line as original text.
 	 */
@@ -139,6 +123,16 @@ public class DocumentLineDiffer implements ILineDiffer, IDocumentListener, IAnno
 
 	/** The delay after which the initialization job is triggered. */
 	private static final int INITIALIZE_DELAY= 500;
+	/**
+	 * The maximal number of changed lines which are compared incrementally after a document change,
+	 * the differ is initialized again after larger changes.
+	 */
+	private static final int MAX_INCREMENTAL_CHANGE= 1000;
+	/**
+	 * The maximal number of lines which are compared again after a document change, the differ is
+	 * initialized again if the lines around a change are not consistent within this range.
+	 */
+	private static final int MAX_INCREMENTAL_RANGE= 5000;
 
 	/** Suspended state */
 	private static final int SUSPENDED= 0;
@@ -247,8 +241,6 @@ public class DocumentLineDiffer implements ILineDiffer, IDocumentListener, IAnno
 	private Thread fThread;
 	private DocumentEvent fLastUIEvent;
 
-	private RangeDifferenceFactory fRangeDiffFactory= new RangeDifferenceFactory();
-
 
 	/**
 	 * Creates a new differ.
@@ -524,7 +516,7 @@ public class DocumentLineDiffer implements ILineDiffer, IDocumentListener, IAnno
 			public IStatus run(IProgressMonitor monitor) {
 
 				// 1:	wait for any previous job that was canceled to avoid job flooding
-				// It will return relatively quickly as RangeDifferencer supports canceling
+				// It will return relatively quickly as HistogramDifferencer supports canceling
 				if (oldJob != null)
 					try {
 						oldJob.join();
@@ -639,15 +631,17 @@ public class DocumentLineDiffer implements ILineDiffer, IDocumentListener, IAnno
 					Objects.requireNonNull(actual); // fulfilled by break condition
 				}
 
-				IHashFunction hash= new DJBHashFunction();
+				IHashFunction hash= new FNVHashFunction();
 				DocumentEquivalenceClass leftEquivalent= new DocumentEquivalenceClass(reference, hash);
+				leftEquivalent.load();
 				fLeftEquivalent= leftEquivalent;
-				IRangeComparator ref= new DocEquivalenceComparator(leftEquivalent, null);
+				DocEquivalenceComparator ref= new DocEquivalenceComparator(leftEquivalent, null);
 
 				DocumentEquivalenceClass rightEquivalent= new DocumentEquivalenceClass(actual, hash);
+				rightEquivalent.load();
 				fRightEquivalent= rightEquivalent;
-				IRangeComparator act= new DocEquivalenceComparator(rightEquivalent, null);
-				ArrayList<QuickDiffRangeDifference> diffs= asQuickDiffRangeDifference(RangeDifferencer.findRanges(fRangeDiffFactory, monitor, ref, act));
+				DocEquivalenceComparator act= new DocEquivalenceComparator(rightEquivalent, null);
+				ArrayList<QuickDiffRangeDifference> diffs= HistogramDifferencer.findRanges(monitor, ref, act);
 				// 7:	Reset the model to the just gotten differences
 				// 		re-inject stored events to get up to date.
 				synchronized (DocumentLineDiffer.this) {
@@ -938,7 +932,7 @@ public class DocumentLineDiffer implements ILineDiffer, IDocumentListener, IAnno
 		// size: the size of the document change in lines
 
 		// put an upper bound to the delay we can afford
-		if (added > 50 || fNLines > 50) {
+		if (added > MAX_INCREMENTAL_CHANGE || fNLines > MAX_INCREMENTAL_CHANGE) {
 			initialize();
 			return;
 		}
@@ -1002,7 +996,7 @@ public class DocumentLineDiffer implements ILineDiffer, IDocumentListener, IAnno
 			leftLine += lineDelta;
 		int leftEndLine= leftLine - shiftAfter;
 		ILineRange leftRange= new LineRange(leftStartLine, leftEndLine - leftStartLine);
-		IRangeComparator reference= new DocEquivalenceComparator(leftEquivalent, leftRange);
+		DocEquivalenceComparator reference= new DocEquivalenceComparator(leftEquivalent, leftRange);
 
 		// right (actual) document
 		int rightStartLine= consistentBefore.rightStart() + shiftBefore;
@@ -1011,10 +1005,10 @@ public class DocumentLineDiffer implements ILineDiffer, IDocumentListener, IAnno
 			rightLine += lineDelta;
 		int rightEndLine= rightLine - shiftAfter;
 		ILineRange rightRange= new LineRange(rightStartLine, rightEndLine - rightStartLine);
-		IRangeComparator change= new DocEquivalenceComparator(rightEquivalent, rightRange);
+		DocEquivalenceComparator change= new DocEquivalenceComparator(rightEquivalent, rightRange);
 
 		// put an upper bound to the delay we can afford
-		if (leftLine - shiftAfter - leftStartLine > 50 || rightLine - shiftAfter - rightStartLine > 50) {
+		if (leftLine - shiftAfter - leftStartLine > MAX_INCREMENTAL_RANGE || rightLine - shiftAfter - rightStartLine > MAX_INCREMENTAL_RANGE) {
 			initialize();
 			return;
 		}
@@ -1024,7 +1018,7 @@ public class DocumentLineDiffer implements ILineDiffer, IDocumentListener, IAnno
 //					">\n\n<" + right.get(rightRegion.getOffset(), rightRegion.getLength()) + ">\n"); //$NON-NLS-1$ //$NON-NLS-2$
 
 		// compare
-		List<QuickDiffRangeDifference> diffs= asQuickDiffRangeDifference(RangeDifferencer.findRanges(fRangeDiffFactory, null, reference, change));
+		List<QuickDiffRangeDifference> diffs= HistogramDifferencer.findRanges(null, reference, change);
 		if (diffs.isEmpty()) {
 			diffs.add(new QuickDiffRangeDifference(RangeDifference.CHANGE, 0, 0, 0, 0));
 		}
@@ -1142,19 +1136,6 @@ public class DocumentLineDiffer implements ILineDiffer, IDocumentListener, IAnno
 		fLastDifference= null;
 	}
 
-	/**
-	 * Converts a {@code RangeDifference[]} into an {@code ArrayList<QuickDiffRangeDifference>}.
-	 * This is unsafe in general, but OK if used carefully.
-	 * Workaround for <a href="https://bugs.eclipse.org/483319">bug 483319</a>.
-	 *
-	 * @param ranges the ranges, <em>must</em> be of type {@link QuickDiffRangeDifference}
-	 * @return the ranges as a modifiable list
-	 */
-	@SuppressWarnings({ "unchecked", "rawtypes" })
-	private static ArrayList<QuickDiffRangeDifference> asQuickDiffRangeDifference(RangeDifference[] ranges) {
-		return new ArrayList(Arrays.asList(ranges));
-	}
-
 	/**
 	 * Finds a consistent range of at least size before <code>line</code> in the left document.
 	 *
@@ -0,0 +1,297 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.internal.texteditor.quickdiff;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+
+import org.eclipse.ui.internal.texteditor.quickdiff.compare.equivalence.DocEquivalenceComparator;
+import org.eclipse.ui.internal.texteditor.quickdiff.compare.equivalence.Hash;
+
+import org.eclipse.compare.rangedifferencer.IRangeComparator;
+import org.eclipse.compare.rangedifferencer.RangeDifference;
+import org.eclipse.compare.rangedifferencer.RangeDifferencer;
+
+/**
+ * Computes the line differences between two documents using histogram diff.
+ * <p>
+ * The lines are compared by their hashes. A range of lines is split at the longest run of equal
+ * lines containing the line which occurs least often on the left side, and both remaining ranges
+ * are compared the same way. Unlike the longest common subsequence computed by
+ * {@link RangeDifferencer}, this takes about linear time for typical documents. Ranges in which
+ * every line occurs more than {@link #MAX_CHAIN_LENGTH} times are compared with
+ * {@link RangeDifferencer}.
+ * </p>
+ */
+public final class HistogramDifferencer {
+
+	/**
+	 * The maximal number of occurrences of a line on the left side for it to be used to split a
+	 * range.
+	 */
+	private static final int MAX_CHAIN_LENGTH= 64;
+
+	/** The line identifiers of the left side, equal lines have equal identifiers. */
+	private final int[] fLeft;
+	/** The line identifiers of the right side. */
+	private final int[] fRight;
+
+	/** For each line identifier, the stamp of the range for which it has been counted. */
+	private final int[] fStamps;
+	/** For each line identifier, the number of occurrences in the left range. */
+	private final int[] fCounts;
+	/** For each line identifier, the first occurrence in the left range. */
+	private final int[] fHeads;
+	/** For each line of the left side, the next occurrence of the line in the left range. */
+	private final int[] fNext;
+	/** The stamp of the range currently looked at. */
+	private int fStamp;
+
+	/**
+	 * The changed ranges found so far, each as an array of the left start, left end, right start
+	 * and right end.
+	 */
+	private final List<int[]> fChanges= new ArrayList<>();
+
+	private HistogramDifferencer(int[] left, int[] right, int identifiers) {
+		fLeft= left;
+		fRight= right;
+		fStamps= new int[identifiers];
+		fCounts= new int[identifiers];
+		fHeads= new int[identifiers];
+		fNext= new int[left.length];
+	}
+
+	/**
+	 * Finds the differences between the lines of the two given comparators. Like
+	 * {@link RangeDifferencer#findRanges(IProgressMonitor, IRangeComparator, IRangeComparator)}, the
+	 * result also contains the unchanged ranges.
+	 *
+	 * @param monitor the progress monitor, or <code>null</code>; the result is undefined if it is
+	 *            canceled
+	 * @param left the comparator of the left (reference) lines
+	 * @param right the comparator of the right (actual) lines
+	 * @return the changed and unchanged ranges, ordered by their position
+	 * @throws IndexOutOfBoundsException if a document is modified concurrently
+	 * @throws java.util.ConcurrentModificationException if a document is modified concurrently
+	 */
+	public static ArrayList<QuickDiffRangeDifference> findRanges(IProgressMonitor monitor, DocEquivalenceComparator left, DocEquivalenceComparator right) {
+		Map<Hash, Integer> identifiers= new HashMap<>();
+		int[] leftLines= toIdentifiers(left, identifiers);
+		int[] rightLines= toIdentifiers(right, identifiers);
+
+		HistogramDifferencer differencer= new HistogramDifferencer(leftLines, rightLines, identifiers.size());
+		differencer.diff(monitor);
+		return differencer.toRanges();
+	}
+
+	private static int[] toIdentifiers(DocEquivalenceComparator comparator, Map<Hash, Integer> identifiers) {
+		int[] lines= new int[comparator.getRangeCount()];
+		for (int i= 0; i < lines.length; i++) {
+			Integer id= identifiers.computeIfAbsent(comparator.getHash(i), hash -> Integer.valueOf(identifiers.size()));
+			lines[i]= id.intValue();
+		}
+		return lines;
+	}
+
+	/**
+	 * Computes the changed ranges of the complete sides.
+	 *
+	 * @param monitor the progress monitor, or <code>null</code>
+	 */
+	private void diff(IProgressMonitor monitor) {
+		// the ranges still to be compared, each as left start, left end, right start and right end
+		List<int[]> ranges= new ArrayList<>();
+		ranges.add(new int[] { 0, fLeft.length, 0, fRight.length });
+		while (!ranges.isEmpty()) {
+			if (monitor != null && monitor.isCanceled())
+				return;
+
+			int[] range= ranges.remove(ranges.size() - 1);
+			int leftStart= range[0], leftEnd= range[1], rightStart= range[2], rightEnd= range[3];
+
+			// skip the common prefix and suffix
+			while (leftStart < leftEnd && rightStart < rightEnd && fLeft[leftStart] == fRight[rightStart]) {
+				leftStart++;
+				rightStart++;
+			}
+			while (leftStart < leftEnd && rightStart < rightEnd && fLeft[leftEnd - 1] == fRight[rightEnd - 1]) {
+				leftEnd--;
+				rightEnd--;
+			}
+
+			if (leftStart == leftEnd || rightStart == rightEnd) {
+				if (leftStart < leftEnd || rightStart < rightEnd)
+					fChanges.add(new int[] { leftStart, leftEnd, rightStart, rightEnd });
+				continue;
+			}
+
+			int[] split= findSplit(leftStart, leftEnd, rightStart, rightEnd);
+			if (split == null) {
+				fChanges.add(new int[] { leftStart, leftEnd, rightStart, rightEnd });
+			} else if (split.length == 0) {
+				diffWithRangeDifferencer(monitor, leftStart, leftEnd, rightStart, rightEnd);
+			} else {
+				ranges.add(new int[] { leftStart, split[0], rightStart, split[2] });
+				ranges.add(new int[] { split[1], leftEnd, split[3], rightEnd });
+			}
+		}
+	}
+
+	/**
+	 * Finds the run of equal lines at which the given range is split.
+	 *
+	 * @param leftStart the start of the range on the left side
+	 * @param leftEnd the end of the range on the left side
+	 * @param rightStart the start of the range on the right side
+	 * @param rightEnd the end of the range on the right side
+	 * @return the left start, left end, right start and right end of the run, an empty array if
+	 *         there are equal lines but each of them occurs too often, or <code>null</code> if
+	 *         there are no equal lines
+	 */
+	private int[] findSplit(int leftStart, int leftEnd, int rightStart, int rightEnd) {
+		// count the occurrences of the left lines and chain them in ascending order
+		int stamp= ++fStamp;
+		for (int i= leftEnd - 1; i >= leftStart; i--) {
+			int id= fLeft[i];
+			if (fStamps[id] != stamp) {
+				fStamps[id]= stamp;
+				fCounts[id]= 0;
+				fHeads[id]= -1;
+			}
+			fNext[i]= fHeads[id];
+			fHeads[id]= i;
+			fCounts[id]++;
+		}
+
+		boolean hasCommonLines= false;
+		int[] best= null;
+		int bestCount= MAX_CHAIN_LENGTH;
+		int bestLength= 0;
+		for (int j= rightStart; j < rightEnd;) {
+			int id= fRight[j];
+			int nextJ= j + 1;
+			if (fStamps[id] == stamp) {
+				hasCommonLines= true;
+				if (fCounts[id] <= bestCount) {
+					for (int i= fHeads[id]; i != -1; i= fNext[i]) {
+						int start= i, otherStart= j;
+						while (start > leftStart && otherStart > rightStart && fLeft[start - 1] == fRight[otherStart - 1]) {
+							start--;
+							otherStart--;
+						}
+						int end= i + 1, otherEnd= j + 1;
+						while (end < leftEnd && otherEnd < rightEnd && fLeft[end] == fRight[otherEnd]) {
+							end++;
+							otherEnd++;
+						}
+
+						int count= Integer.MAX_VALUE;
+						for (int k= start; k < end; k++)
+							count= Math.min(count, fCounts[fLeft[k]]);
+						if (count < bestCount || count == bestCount && end - start > bestLength) {
+							best= new int[] { start, end, otherStart, otherEnd };
+							bestCount= count;
+							bestLength= end - start;
+						}
+						nextJ= Math.max(nextJ, otherEnd);
+					}
+				}
+			}
+			j= nextJ;
+		}
+
+		if (best != null)
+			return best;
+		return hasCommonLines ? new int[0] : null;
+	}
+
+	private void diffWithRangeDifferencer(IProgressMonitor monitor, int leftStart, int leftEnd, int rightStart, int rightEnd) {
+		IRangeComparator left= new LineComparator(fLeft, leftStart, leftEnd);
+		IRangeComparator right= new LineComparator(fRight, rightStart, rightEnd);
+		for (RangeDifference difference : RangeDifferencer.findDifferences(monitor, left, right)) {
+			fChanges.add(new int[] { leftStart + difference.leftStart(), leftStart + difference.leftEnd(), rightStart + difference.rightStart(), rightStart + difference.rightEnd() });
+		}
+	}
+
+	/**
+	 * Converts the changed ranges into the changed and unchanged ranges of both sides.
+	 *
+	 * @return the ranges
+	 */
+	private ArrayList<QuickDiffRangeDifference> toRanges() {
+		fChanges.sort(Comparator.<int[]> comparingInt(change -> change[0]).thenComparingInt(change -> change[2]));
+
+		ArrayList<QuickDiffRangeDifference> ranges= new ArrayList<>(2 * fChanges.size() + 1);
+		int leftStart= 0;
+		int rightStart= 0;
+		for (int i= 0; i < fChanges.size();) {
+			int[] change= fChanges.get(i++);
+			int leftEnd= change[1];
+			int rightEnd= change[3];
+			// join adjacent changes
+			while (i < fChanges.size() && fChanges.get(i)[0] == leftEnd && fChanges.get(i)[2] == rightEnd) {
+				leftEnd= fChanges.get(i)[1];
+				rightEnd= fChanges.get(i)[3];
+				i++;
+			}
+
+			if (change[0] > leftStart || change[2] > rightStart)
+				ranges.add(new QuickDiffRangeDifference(RangeDifference.NOCHANGE, rightStart, change[2] - rightStart, leftStart, change[0] - leftStart));
+			ranges.add(new QuickDiffRangeDifference(RangeDifference.CHANGE, change[2], rightEnd - change[2], change[0], leftEnd - change[0]));
+			leftStart= leftEnd;
+			rightStart= rightEnd;
+		}
+		if (fLeft.length > leftStart || fRight.length > rightStart)
+			ranges.add(new QuickDiffRangeDifference(RangeDifference.NOCHANGE, rightStart, fRight.length - rightStart, leftStart, fLeft.length - leftStart));
+		return ranges;
+	}
+
+	/**
+	 * Compares a range of line identifiers.
+	 */
+	private static final class LineComparator implements IRangeComparator {
+
+		private final int[] fLines;
+		private final int fStart;
+		private final int fEnd;
+
+		LineComparator(int[] lines, int start, int end) {
+			fLines= lines;
+			fStart= start;
+			fEnd= end;
+		}
+
+		@Override
+		public int getRangeCount() {
+			return fEnd - fStart;
+		}
+
+		@Override
+		public boolean rangesEqual(int thisIndex, IRangeComparator other, int otherIndex) {
+			LineComparator comparator= (LineComparator) other;
+			return fLines[fStart + thisIndex] == comparator.fLines[comparator.fStart + otherIndex];
+		}
+
+		@Override
+		public boolean skipRangeComparison(int length, int maxLength, IRangeComparator other) {
+			return false;
+		}
+	}
+}
@@ -89,7 +89,15 @@ public final class DocEquivalenceComparator implements IRangeComparator {
 		return false;
 	}
 
-	Hash getHash(int index) {
+	/**
+	 * Returns the hash of the line with the given index in this comparator's range.
+	 *
+	 * @param index the index of the line relative to the start of the range
+	 * @return the hash of the line
+	 * @throws IndexOutOfBoundsException if there is no such line
+	 * @throws java.util.ConcurrentModificationException if the document is modified concurrently
+	 */
+	public Hash getHash(int index) {
 		return fEquivalenceClass.getHash(fLineOffset + index);
 	}
 
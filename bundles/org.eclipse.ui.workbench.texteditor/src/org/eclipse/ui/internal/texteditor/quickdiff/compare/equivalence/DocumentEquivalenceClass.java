@@ -13,6 +13,7 @@
  *******************************************************************************/
 package org.eclipse.ui.internal.texteditor.quickdiff.compare.equivalence;
 
+import java.nio.CharBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -133,14 +134,38 @@ public final class DocumentEquivalenceClass {
 		fDocument= document;
 	}
 
+	/**
+	 * Computes the hashes of all lines in a single pass over the document
+	 * content, without copying the contents of each line.
+	 *
+	 * @throws ConcurrentModificationException if the document is
+	 *         modified concurrently to this method call
+	 */
+	public void load() {
+		if (fDocument == null)
+			return;
+
+		try {
+			String content= fDocument.get();
+			int count= getCount();
+			for (int line= 0; line < count; line++) {
+				if (fHashes.get(line) == null) {
+					IRegion lineRegion= fDocument.getLineInformation(line);
+					int offset= lineRegion.getOffset();
+					fHashes.set(line, fHashFunction.computeHash(CharBuffer.wrap(content, offset, offset + lineRegion.getLength())));
+				}
+			}
+		} catch (BadLocationException | IndexOutOfBoundsException x) {
+			throw new ConcurrentModificationException();
+		}
+	}
+
 	/**
 	 * Computes all hashes and forgets the document. Don't call update
 	 * afterwards.
 	 */
 	public void loadAndForget() {
-		int count= getCount();
-		for (int line= 0; line < count; line++)
-			getHash(line);
+		load();
 
 		fDocument= null;
 	}
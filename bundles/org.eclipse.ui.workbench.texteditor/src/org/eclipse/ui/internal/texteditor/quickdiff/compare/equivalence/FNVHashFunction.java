@@ -0,0 +1,42 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.internal.texteditor.quickdiff.compare.equivalence;
+
+/**
+ * Computes 64 bit FNV-1a hashes. Lines with the same hash are considered equal, a 64 bit hash
+ * makes collisions of different lines unlikely even for very large documents.
+ */
+public final class FNVHashFunction implements IHashFunction {
+
+	private static final long OFFSET_BASIS= 0xcbf29ce484222325L;
+	private static final long PRIME= 0x100000001b3L;
+
+	@Override
+	public Hash computeHash(CharSequence string) {
+		return new LongHash(hash(string));
+	}
+
+	private long hash(CharSequence seq) {
+		long hash= OFFSET_BASIS;
+		int len= seq.length();
+		for (int i= 0; i < len; i++) {
+			char ch= seq.charAt(i);
+			hash= (hash ^ (ch & 0xff)) * PRIME;
+			hash= (hash ^ (ch >>> 8)) * PRIME;
+		}
+
+		return hash;
+	}
+
+}
@@ -0,0 +1,42 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.internal.texteditor.quickdiff.compare.equivalence;
+
+
+/**
+ * A hash of 64 bits.
+ */
+public final class LongHash extends Hash {
+
+	private final long fHash;
+
+	public LongHash(long hash) {
+		fHash= hash;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (obj instanceof LongHash) {
+			return fHash == ((LongHash) obj).fHash;
+		}
+
+		return false;
+	}
+
+	@Override
+	public int hashCode() {
+		return Long.hashCode(fHash);
+	}
+
+}
@@ -39,7 +39,8 @@ import org.junit.runners.Suite.SuiteClasses;
 		FileStoreFileBuffersForNonExistingExternalFiles.class,
 		FileStoreFileBuffersForNonExistingWorkspaceFiles.class,
 		TextFileManagerDocCreationTests.class,
-		ResourceTextFileManagerDocCreationTests.class
+		ResourceTextFileManagerDocCreationTests.class,
+		MappedFileBufferTest.class
 })
 public class FileBuffersTestSuite {
 	// see @SuiteClasses
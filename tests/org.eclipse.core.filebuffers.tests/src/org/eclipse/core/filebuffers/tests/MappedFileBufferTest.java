@@ -0,0 +1,154 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.core.filebuffers.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.core.runtime.IPath;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+
+import org.eclipse.core.filebuffers.FileBuffers;
+import org.eclipse.core.filebuffers.ITextFileBuffer;
+import org.eclipse.core.filebuffers.ITextFileBufferManager;
+import org.eclipse.core.filebuffers.LocationKind;
+
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IRegion;
+
+/**
+ * Tests text file buffers whose content is memory mapped.
+ */
+public class MappedFileBufferTest {
+
+	private static final String THRESHOLD_PROPERTY= "org.eclipse.core.filebuffers.memoryMappedThreshold";
+
+	private static final String CONTENT= "first line\nzweite Zeile mit \u00e4\r\nthird line\rlast line";
+
+	private ITextFileBufferManager fManager;
+	private IFile fFile;
+	private IPath fPath;
+	private String fThreshold;
+
+
+	@Before
+	public void setUp() throws Exception {
+		fThreshold= System.getProperty(THRESHOLD_PROPERTY);
+		System.setProperty(THRESHOLD_PROPERTY, "0");
+		fManager= FileBuffers.getTextFileBufferManager();
+		IProject project= ResourceHelper.createProject("project");
+		fFile= project.getFile("mapped.txt");
+		fFile.create(new ByteArrayInputStream(CONTENT.getBytes(StandardCharsets.UTF_8)), true, null);
+		fFile.setCharset(StandardCharsets.UTF_8.name(), null);
+		fPath= fFile.getFullPath();
+		fManager.connect(fPath, LocationKind.IFILE, null);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		try {
+			fManager.disconnect(fPath, LocationKind.IFILE, null);
+			ResourceHelper.deleteProject("project");
+		} finally {
+			if (fThreshold != null)
+				System.setProperty(THRESHOLD_PROPERTY, fThreshold);
+			else
+				System.clearProperty(THRESHOLD_PROPERTY);
+		}
+	}
+
+	private ITextFileBuffer getBuffer() {
+		return fManager.getTextFileBuffer(fPath, LocationKind.IFILE);
+	}
+
+	private static void assertLine(IDocument document, int line, int offset, int length, String delimiter) throws Exception {
+		IRegion region= document.getLineInformation(line);
+		assertEquals(offset, region.getOffset());
+		assertEquals(length, region.getLength());
+		assertEquals(delimiter, document.getLineDelimiter(line));
+		assertEquals(line, document.getLineOfOffset(offset));
+	}
+
+	private String getFileContent() throws Exception {
+		try (InputStream stream= fFile.getContents()) {
+			return new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+		}
+	}
+
+	@Test
+	public void testOpen() throws Exception {
+		IDocument document= getBuffer().getDocument();
+		assertEquals("MappedDocument", document.getClass().getSimpleName());
+		assertEquals(CONTENT, document.get());
+		assertEquals(CONTENT.length(), document.getLength());
+		assertEquals(4, document.getNumberOfLines());
+		assertLine(document, 0, 0, 10, "\n");
+		assertLine(document, 1, 11, 18, "\r\n");
+		assertLine(document, 2, 31, 10, "\r");
+		assertLine(document, 3, 42, 9, null);
+		assertEquals("\u00e4", document.get(28, 1));
+	}
+
+	@Test
+	public void testEdit() throws Exception {
+		IDocument document= getBuffer().getDocument();
+		document.replace(11, 6, "second\nline");
+		document.replace(0, 0, "x");
+
+		String expected= "x" + CONTENT.substring(0, 11) + "second\nline" + CONTENT.substring(17);
+		assertEquals(expected, document.get());
+		assertEquals(5, document.getNumberOfLines());
+		assertLine(document, 0, 0, 11, "\n");
+		assertLine(document, 1, 12, 6, "\n");
+		assertLine(document, 2, 19, 16, "\r\n");
+		assertLine(document, 4, 48, 9, null);
+		assertTrue(getBuffer().isDirty());
+	}
+
+	@Test
+	public void testRevert() throws Exception {
+		ITextFileBuffer buffer= getBuffer();
+		IDocument document= buffer.getDocument();
+		document.replace(0, 5, "1st");
+		buffer.revert(null);
+
+		assertFalse(buffer.isDirty());
+		assertEquals(CONTENT, document.get());
+		assertEquals(4, document.getNumberOfLines());
+		assertLine(document, 3, 42, 9, null);
+	}
+
+	@Test
+	public void testSave() throws Exception {
+		ITextFileBuffer buffer= getBuffer();
+		IDocument document= buffer.getDocument();
+		document.replace(document.getLength(), 0, "\nappended");
+		buffer.commit(null, true);
+
+		assertFalse(buffer.isDirty());
+		assertEquals(CONTENT + "\nappended", getFileContent());
+		assertEquals(CONTENT + "\nappended", document.get());
+	}
+}
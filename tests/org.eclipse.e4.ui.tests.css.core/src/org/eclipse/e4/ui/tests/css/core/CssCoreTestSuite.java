@@ -25,6 +25,7 @@ import org.eclipse.e4.ui.tests.css.core.parser.MediaRulesTest;
 import org.eclipse.e4.ui.tests.css.core.parser.RGBColorImplTest;
 import org.eclipse.e4.ui.tests.css.core.parser.SelectorTest;
 import org.eclipse.e4.ui.tests.css.core.parser.StyleRuleTest;
+import org.eclipse.e4.ui.tests.css.core.parser.StyleSheetCacheTest;
 import org.eclipse.e4.ui.tests.css.core.parser.ValueTest;
 import org.eclipse.e4.ui.tests.css.core.parser.ViewCSSTest;
 import org.junit.platform.suite.api.SelectClasses;
@@ -39,7 +40,9 @@ import org.junit.platform.suite.api.Suite;
 	ViewCSSTest.class,
 	ValueTest.class,
 	SelectorTest.class,
+	StyleSheetCacheTest.class,
 	CSSEngineTest.class,
+	SkipUnchangedPropertiesTest.class,
 	ImportTest.class,
 	InheritTest.class,
 	AbstractCSSEngineTest.class,
@@ -0,0 +1,153 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.e4.ui.tests.css.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.e4.ui.css.core.dom.properties.ICSSPropertyHandler;
+import org.eclipse.e4.ui.css.core.dom.properties.ICSSPropertyHandlerProvider;
+import org.eclipse.e4.ui.css.core.engine.CSSEngine;
+import org.eclipse.e4.ui.css.core.impl.engine.CSSEngineImpl;
+import org.eclipse.e4.ui.tests.css.core.util.TestElement;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.css.CSSStyleDeclaration;
+import org.w3c.dom.css.CSSValue;
+
+/**
+ * Tests that the engine skips the property handlers for values already
+ * applied to an element.
+ */
+class SkipUnchangedPropertiesTest {
+
+	private static class TestCSSEngine extends CSSEngineImpl {
+		@Override
+		public void reapply() {
+		}
+	}
+
+	/**
+	 * Records the applied values, and answers "red" for the values of the
+	 * parent element.
+	 */
+	private class RecordingHandler implements ICSSPropertyHandler {
+
+		@Override
+		public boolean applyCSSProperty(Object element, String property, CSSValue value, String pseudo,
+				CSSEngine engine) throws Exception {
+			applied.add(property + ": " + value.getCssText() + (pseudo == null ? "" : " :" + pseudo));
+			return true;
+		}
+
+		@Override
+		public String retrieveCSSProperty(Object element, String property, String pseudo, CSSEngine engine)
+				throws Exception {
+			return element == parent ? "red" : null;
+		}
+	}
+
+	private final List<String> applied = new ArrayList<>();
+
+	private TestCSSEngine engine;
+
+	private TestElement parent;
+
+	private Object widget;
+
+	@BeforeEach
+	void setUp() {
+		engine = new TestCSSEngine();
+		ICSSPropertyHandler handler = new RecordingHandler();
+		engine.registerCSSPropertyHandlerProvider(new ICSSPropertyHandlerProvider() {
+
+			@Override
+			public Collection<ICSSPropertyHandler> getCSSPropertyHandlers(String property) {
+				return Collections.singletonList(handler);
+			}
+
+			@Override
+			public Collection<ICSSPropertyHandler> getCSSPropertyHandlers(Object element, String property) {
+				return Collections.singletonList(handler);
+			}
+
+			@Override
+			public CSSStyleDeclaration getDefaultCSSStyleDeclaration(CSSEngine engine, Object element,
+					CSSStyleDeclaration newStyle, String pseudoE) {
+				return null;
+			}
+
+			@Override
+			public Collection<String> getCSSProperties(Object element) {
+				return Collections.emptyList();
+			}
+		});
+		parent = new TestElement("Shell", engine);
+		TestElement button = new TestElement("Button", parent, engine);
+		engine.setElementProvider((element, engine) -> button);
+		widget = new Object();
+		// creates the context of the widget, as applying styles does
+		engine.getElement(widget);
+	}
+
+	private List<String> apply(String style, String pseudo) throws Exception {
+		applied.clear();
+		engine.applyStyleDeclaration(widget, engine.parseStyleDeclaration(style), pseudo);
+		return applied;
+	}
+
+	@Test
+	void testUnchangedValueIsSkipped() throws Exception {
+		assertEquals(List.of("color: red", "background-color: blue"),
+				apply("color: red; background-color: blue", null));
+		assertEquals(List.of("background-color: green"), apply("color: red; background-color: green", null));
+		assertEquals(List.of(), apply("color: red; background-color: green", null));
+		assertEquals(List.of("color: blue"), apply("color: blue", null));
+	}
+
+	@Test
+	void testValueIsReappliedAfterReset() throws Exception {
+		apply("color: red; background-color: blue", null);
+		engine.reset();
+		assertEquals(List.of("color: red", "background-color: blue"),
+				apply("color: red; background-color: blue", null));
+	}
+
+	@Test
+	void testInheritIsAlwaysApplied() throws Exception {
+		assertEquals(List.of("color: red"), apply("color: inherit", null));
+		assertEquals(List.of("color: red"), apply("color: inherit", null));
+	}
+
+	@Test
+	void testValuesAreKeyedByPseudo() throws Exception {
+		assertEquals(List.of("color: red"), apply("color: red", null));
+		assertEquals(List.of("color: red :selected"), apply("color: red", "selected"));
+		assertEquals(List.of(), apply("color: red", "selected"));
+		assertEquals(List.of(), apply("color: red", null));
+		assertEquals(List.of("color: blue :selected"), apply("color: blue", "selected"));
+		assertEquals(List.of(), apply("color: red", null));
+	}
+
+	@Test
+	void testSkippingCanBeDisabled() throws Exception {
+		engine.setSkipUnchangedProperties(false);
+		assertEquals(List.of("color: red"), apply("color: red", null));
+		assertEquals(List.of("color: red"), apply("color: red", null));
+	}
+}
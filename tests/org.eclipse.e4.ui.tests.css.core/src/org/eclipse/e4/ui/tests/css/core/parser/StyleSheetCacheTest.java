@@ -0,0 +1,126 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.e4.ui.tests.css.core.parser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.e4.ui.css.core.impl.engine.AbstractCSSEngine;
+import org.eclipse.e4.ui.css.core.impl.engine.StyleSheetCache;
+import org.eclipse.e4.ui.tests.css.core.util.ParserTestUtil;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.w3c.dom.css.CSSRuleList;
+import org.w3c.dom.css.CSSStyleSheet;
+
+public class StyleSheetCacheTest {
+
+	private static final String CSS = """
+			Shell, Shell > Composite { background-color: rgb(255, 0, 128); margin: 1px 2em 3% 4; }
+			.MPart #Toolbar:selected { font: bold 9pt "Segoe UI", sans-serif !important; }
+			CTabFolder CTabItem[swt-style~='CLOSE'] { background-image: url(./images/tab.png); }
+			Label[lang|='en'] + Button.Primary::pseudo { color: #112233; opacity: 0.5; }
+			*:focus { border-width: inherit; }
+			""";
+
+	@Test
+	void testCachedStyleSheet(@TempDir File directory) throws Exception {
+		String expected = toString(parse(null, CSS));
+
+		StyleSheetCache cache = new StyleSheetCache(directory);
+		assertEquals(expected, toString(parse(cache, CSS)));
+		assertEquals(1, directory.listFiles().length);
+
+		// the second time the style sheet is built from the cache file
+		assertEquals(expected, toString(parse(cache, CSS)));
+		assertEquals(1, directory.listFiles().length);
+
+		parse(cache, CSS + "Text { color: red; }");
+		assertEquals(2, directory.listFiles().length);
+	}
+
+	@Test
+	void testCorruptCacheFile(@TempDir File directory) throws Exception {
+		String expected = toString(parse(null, CSS));
+		StyleSheetCache cache = new StyleSheetCache(directory);
+		parse(cache, CSS);
+
+		File file = directory.listFiles()[0];
+		byte[] bytes = Files.readAllBytes(file.toPath());
+		Files.write(file.toPath(), Arrays.copyOf(bytes, bytes.length / 2));
+		assertEquals(expected, toString(parse(cache, CSS)));
+
+		// the corrupt file has been replaced
+		assertEquals(bytes.length, Files.size(file.toPath()));
+		assertEquals(expected, toString(parse(cache, CSS)));
+	}
+
+	@Test
+	void testUnusedFilesArePruned(@TempDir File directory) throws Exception {
+		parse(new StyleSheetCache(directory), CSS);
+		File used = directory.listFiles()[0];
+		long old = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(StyleSheetCache.MAX_AGE_DAYS + 1);
+		assertTrue(used.setLastModified(old));
+		File unused = new File(directory, "unused.sheet");
+		Files.write(unused.toPath(), new byte[1]);
+		assertTrue(unused.setLastModified(old));
+		File temp = new File(directory, "sheet1.tmp");
+		Files.write(temp.toPath(), new byte[1]);
+
+		// a new session deletes the old files before the used one is read
+		parse(new StyleSheetCache(directory), CSS);
+		assertFalse(unused.exists());
+		assertTrue(temp.exists());
+		assertTrue(used.exists());
+		assertTrue(used.lastModified() > old);
+	}
+
+	@Test
+	void testNumberOfFilesIsBounded(@TempDir File directory) throws Exception {
+		long now = System.currentTimeMillis();
+		for (int i = 0; i < StyleSheetCache.MAX_FILES + 10; i++) {
+			File file = new File(directory, i + ".sheet");
+			Files.write(file.toPath(), new byte[1]);
+			assertTrue(file.setLastModified(now - TimeUnit.MINUTES.toMillis(i)));
+		}
+
+		parse(new StyleSheetCache(directory), CSS);
+		assertEquals(StyleSheetCache.MAX_FILES + 1, directory.listFiles().length);
+		assertTrue(new File(directory, (StyleSheetCache.MAX_FILES - 1) + ".sheet").exists());
+		assertFalse(new File(directory, StyleSheetCache.MAX_FILES + ".sheet").exists());
+	}
+
+	private static CSSStyleSheet parse(StyleSheetCache cache, String css) throws IOException {
+		AbstractCSSEngine engine = (AbstractCSSEngine) ParserTestUtil.createEngine();
+		engine.setStyleSheetCache(cache);
+		return (CSSStyleSheet) engine.parseStyleSheet(new StringReader(css));
+	}
+
+	private static String toString(CSSStyleSheet styleSheet) {
+		StringBuilder builder = new StringBuilder();
+		CSSRuleList rules = styleSheet.getCssRules();
+		for (int i = 0; i < rules.getLength(); i++) {
+			builder.append(rules.item(i).getCssText()).append('\n');
+		}
+		return builder.toString();
+	}
+}
@@ -26,6 +26,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import java.io.IOException;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.eclipse.e4.ui.css.core.impl.dom.DocumentCSSImpl;
@@ -123,6 +124,135 @@ public class ViewCSSTest {
 		assertEquals("color: blue;", buttonStyle.getCssText());
 	}
 
+	@Test
+	void testSelectorKinds() throws Exception {
+		String css = """
+			* { color: black; }
+			#special { color: red; }
+			.warning { color: yellow; }
+			Button.warning.large { font-weight: bold; }
+			Shell Button { color: blue; }
+			Composite > .warning { color: green; }
+			""";
+		ViewCSS viewCSS = createViewCss(css);
+
+		final TestElement shell = new TestElement("Shell", engine);
+		final TestElement composite = new TestElement("Composite", shell, engine);
+		final TestElement label = new TestElement("Label", composite, engine);
+		final TestElement button = new TestElement("Button", composite, engine);
+
+		assertEquals("color: black;", viewCSS.getComputedStyle(label, null).getCssText());
+		assertEquals("color: blue;", viewCSS.getComputedStyle(button, null).getCssText());
+
+		button.setClass("large  warning");
+		CSSStyleDeclaration buttonStyle = viewCSS.getComputedStyle(button, null);
+		assertEquals(2, buttonStyle.getLength());
+		assertEquals("green", buttonStyle.getPropertyCSSValue("color").getCssText());
+		assertEquals("bold", buttonStyle.getPropertyCSSValue("font-weight").getCssText());
+
+		button.setId("special");
+		assertEquals("red", viewCSS.getComputedStyle(button, null).getPropertyCSSValue("color").getCssText());
+
+		label.setClass("warninglabel");
+		assertEquals("color: black;", viewCSS.getComputedStyle(label, null).getCssText());
+	}
+
+	@Test
+	void testManyRules() throws Exception {
+		// only the rules for the name, id and classes of an element are evaluated
+		StringBuilder css = new StringBuilder();
+		for (int i = 0; i < 2000; i++) {
+			css.append("Widget").append(i).append(" { color: red; }\n");
+			css.append(".class").append(i).append(" { color: green; }\n");
+			css.append("Shell #id").append(i).append(" { color: blue; }\n");
+		}
+		css.append("Widget7.class7 { font-weight: bold; }\n");
+		ViewCSS viewCSS = createViewCss(css.toString());
+
+		final TestElement shell = new TestElement("Shell", engine);
+		List<TestElement> elements = new ArrayList<>();
+		for (int i = 0; i < 20000; i++) {
+			TestElement element = new TestElement("Widget" + (i % 2500), shell, engine);
+			element.setClass("class" + (i % 3000));
+			element.setId("id" + i);
+			elements.add(element);
+		}
+
+		long start = System.currentTimeMillis();
+		for (TestElement element : elements) {
+			viewCSS.getComputedStyle(element, null);
+		}
+		long time = System.currentTimeMillis() - start;
+
+		CSSStyleDeclaration style = viewCSS.getComputedStyle(elements.get(7), null);
+		assertEquals(2, style.getLength());
+		assertEquals("blue", style.getPropertyCSSValue("color").getCssText());
+		assertEquals("bold", style.getPropertyCSSValue("font-weight").getCssText());
+		assertEquals("green", viewCSS.getComputedStyle(elements.get(2500), null).getPropertyCSSValue("color").getCssText());
+		assertNull(viewCSS.getComputedStyle(elements.get(2100), null));
+		assertTrue(time < 10000, "computing the styles took " + time + " ms");
+	}
+
+	@Test
+	void testStyleSharing() throws Exception {
+		String css = """
+			Button { color: black; }
+			Composite > .primary { color: blue; font-weight: bold; }
+			Button[kind='flat'] { background-color: gray; }
+			""";
+		ViewCSS viewCSS = createViewCss(css);
+
+		final TestElement shell = new TestElement("Shell", engine);
+		final TestElement composite = new TestElement("Composite", shell, engine);
+		final TestElement first = new TestElement("Button", composite, engine);
+		final TestElement second = new TestElement("Button", composite, engine);
+		first.setClass("primary");
+		second.setClass("primary");
+
+		// siblings the selectors cannot tell apart share the computed style
+		CSSStyleDeclaration firstStyle = viewCSS.getComputedStyle(first, null);
+		assertEquals(2, firstStyle.getLength());
+		assertSame(firstStyle, viewCSS.getComputedStyle(second, null));
+
+		second.setClass("secondary");
+		assertEquals("color: black;", viewCSS.getComputedStyle(second, null).getCssText());
+
+		first.setAttribute("kind", "flat");
+		CSSStyleDeclaration flatStyle = viewCSS.getComputedStyle(first, null);
+		assertNotSame(firstStyle, flatStyle);
+		assertEquals(3, flatStyle.getLength());
+		assertEquals("gray", flatStyle.getPropertyCSSValue("background-color").getCssText());
+		assertEquals("bold", flatStyle.getPropertyCSSValue("font-weight").getCssText());
+		assertEquals("blue", flatStyle.getPropertyCSSValue("color").getCssText());
+
+		final TestElement shellButton = new TestElement("Button", shell, engine);
+		shellButton.setClass("primary");
+		assertEquals("color: black;", viewCSS.getComputedStyle(shellButton, null).getCssText());
+	}
+
+	@Test
+	void testRestyleScope() throws Exception {
+		String css = """
+			.active CTabFolder { color: blue; }
+			CTabFolder.active { font-weight: bold; }
+			.first + .second { color: red; }
+			CTabItem:selected { color: green; }
+			Shell:active Button { color: gray; }
+			""";
+		ViewCSSImpl viewCSS = (ViewCSSImpl) createViewCss(css);
+
+		assertEquals(ViewCSSImpl.RESTYLE_NONE, viewCSS.getClassChangeScope("MPartStack", "MPartStack"));
+		assertEquals(ViewCSSImpl.RESTYLE_NONE, viewCSS.getClassChangeScope("MPartStack", "MPartStack unknown"));
+		assertEquals(ViewCSSImpl.RESTYLE_SUBTREE, viewCSS.getClassChangeScope("MPartStack", "MPartStack active"));
+		assertEquals(ViewCSSImpl.RESTYLE_SUBTREE, viewCSS.getClassChangeScope("active", null));
+		assertEquals(ViewCSSImpl.RESTYLE_ELEMENT, viewCSS.getClassChangeScope(null, "second"));
+		assertEquals(ViewCSSImpl.RESTYLE_PARENT_SUBTREE, viewCSS.getClassChangeScope("second", "first  second"));
+
+		assertEquals(ViewCSSImpl.RESTYLE_ELEMENT, viewCSS.getPseudoClassChangeScope("selected"));
+		assertEquals(ViewCSSImpl.RESTYLE_SUBTREE, viewCSS.getPseudoClassChangeScope("active"));
+		assertEquals(ViewCSSImpl.RESTYLE_NONE, viewCSS.getPseudoClassChangeScope("focus"));
+	}
+
 	@SuppressWarnings("unchecked")
 	@Test
 	void testRuleCaching() throws Exception {
@@ -0,0 +1,138 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.e4.ui.tests.css.swt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.eclipse.e4.ui.css.core.engine.CSSEngine;
+import org.eclipse.e4.ui.css.swt.dom.WidgetElement;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.custom.CTabFolder;
+import org.eclipse.swt.custom.CTabItem;
+import org.eclipse.swt.layout.FillLayout;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Event;
+import org.eclipse.swt.widgets.Label;
+import org.eclipse.swt.widgets.Shell;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that class and selection changes restyle the affected widgets once the
+ * event loop runs.
+ */
+public class IncrementalRestyleTest extends CSSSWTTestCase {
+
+	private CSSEngine previousEngine;
+
+	@Override
+	@BeforeEach
+	public void setUp() {
+		super.setUp();
+		previousEngine = WidgetElement.getEngine(display);
+	}
+
+	@Override
+	@AfterEach
+	public void tearDown() {
+		WidgetElement.setEngine(display, previousEngine);
+		super.tearDown();
+	}
+
+	private void spinEventLoop() {
+		while (display.readAndDispatch()) {
+		}
+	}
+
+	private Shell createShell(String styleSheet) {
+		engine = createEngine(styleSheet, display);
+		WidgetElement.setEngine(display, engine);
+		Shell shell = new Shell(display, SWT.SHELL_TRIM);
+		shell.setLayout(new FillLayout());
+		return shell;
+	}
+
+	@Test
+	void testClassChange() {
+		Shell shell = createShell("""
+				Label { color: #ff0000; }
+				Label.active { color: #0000ff; }
+				Composite.highlight Label { background-color: #00ff00; }""");
+		Composite panel = new Composite(shell, SWT.NONE);
+		panel.setLayout(new FillLayout());
+		Label label = new Label(panel, SWT.NONE);
+		engine.applyStyles(shell, true);
+		assertEquals(RED, label.getForeground().getRGB());
+
+		// the restyle is deferred until the event loop runs
+		WidgetElement.updateCSSClass(label, "active");
+		assertEquals(RED, label.getForeground().getRGB());
+		spinEventLoop();
+		assertEquals(BLUE, label.getForeground().getRGB());
+
+		// a class tested by a descendant selector restyles the descendants
+		WidgetElement.updateCSSClass(panel, "highlight");
+		spinEventLoop();
+		assertEquals(GREEN, label.getBackground().getRGB());
+		assertEquals(BLUE, label.getForeground().getRGB());
+
+		WidgetElement.updateCSSClass(label, null);
+		spinEventLoop();
+		assertEquals(RED, label.getForeground().getRGB());
+		assertEquals(GREEN, label.getBackground().getRGB());
+	}
+
+	@Test
+	void testTabSelection() {
+		Shell shell = createShell("""
+				CTabItem { font-style: italic; }
+				CTabItem:selected { font-weight: bold; }
+				Label { color: #0000ff; }""");
+		CTabFolder folder = new CTabFolder(shell, SWT.BORDER);
+		for (int i = 0; i < 3; i++) {
+			CTabItem item = new CTabItem(folder, SWT.NONE);
+			item.setText("Item " + i);
+			item.setControl(new Label(folder, SWT.NONE));
+		}
+		folder.setSelection(0);
+		engine.applyStyles(shell, true);
+		shell.open();
+		spinEventLoop();
+		assertFontStyles(folder);
+
+		// switch the tab like the user does
+		CTabItem item = folder.getItem(2);
+		folder.setSelection(item);
+		Event event = new Event();
+		event.item = item;
+		folder.notifyListeners(SWT.Selection, event);
+		spinEventLoop();
+
+		assertFontStyles(folder);
+		assertEquals(SWT.ITALIC, folder.getItem(0).getFont().getFontData()[0].getStyle());
+		assertEquals(BLUE, item.getControl().getForeground().getRGB());
+	}
+
+	private static void assertFontStyles(CTabFolder folder) {
+		for (CTabItem item : folder.getItems()) {
+			int style = item.getFont().getFontData()[0].getStyle();
+			if (item == folder.getSelection()) {
+				assertEquals(SWT.BOLD | SWT.ITALIC, style, item.getText());
+			} else {
+				assertEquals(SWT.ITALIC, style, item.getText());
+			}
+		}
+	}
+}
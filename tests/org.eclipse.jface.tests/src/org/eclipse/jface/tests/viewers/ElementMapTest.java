@@ -0,0 +1,255 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.tests.viewers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.eclipse.jface.viewers.ArrayContentProvider;
+import org.eclipse.jface.viewers.IElementComparer;
+import org.eclipse.jface.viewers.ITreeContentProvider;
+import org.eclipse.jface.viewers.StructuredViewer;
+import org.eclipse.jface.viewers.TableViewer;
+import org.eclipse.jface.viewers.TreeViewer;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.TreeItem;
+import org.eclipse.swt.widgets.Widget;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the element map of structured viewers using hash lookup through the
+ * items the viewers find for their elements.
+ */
+public class ElementMapTest {
+
+	private Shell shell;
+
+	/**
+	 * Compares strings with <code>equals</code>, giving all of them the same
+	 * hash code.
+	 */
+	private static final class ConstantHashComparer implements IElementComparer {
+
+		private final int hash;
+
+		ConstantHashComparer(int hash) {
+			this.hash = hash;
+		}
+
+		@Override
+		public boolean equals(Object a, Object b) {
+			return a.equals(b);
+		}
+
+		@Override
+		public int hashCode(Object element) {
+			return hash;
+		}
+	}
+
+	@Before
+	public void setUp() {
+		shell = new Shell();
+	}
+
+	@After
+	public void tearDown() {
+		shell.dispose();
+	}
+
+	private TableViewer createTableViewer(IElementComparer comparer, Object[] input) {
+		TableViewer viewer = new TableViewer(shell);
+		viewer.setContentProvider(ArrayContentProvider.getInstance());
+		viewer.setComparer(comparer);
+		viewer.setUseHashlookup(true);
+		viewer.setInput(input);
+		return viewer;
+	}
+
+	private static void assertFound(StructuredViewer viewer, Object element) {
+		Widget item = viewer.testFindItem(element);
+		assertNotNull(element.toString(), item);
+		assertEquals(element, item.getData());
+	}
+
+	private static Object parentData(Widget item) {
+		return ((TreeItem) item).getParentItem().getData();
+	}
+
+	@Test
+	public void testElementInSeveralItems() {
+		TreeViewer viewer = new TreeViewer(shell);
+		viewer.setContentProvider(new ITreeContentProvider() {
+
+			@Override
+			public Object[] getElements(Object inputElement) {
+				return new Object[] { "a", "b", "c" };
+			}
+
+			@Override
+			public Object[] getChildren(Object parentElement) {
+				return "x".equals(parentElement) ? new Object[0] : new Object[] { "x" };
+			}
+
+			@Override
+			public Object getParent(Object element) {
+				return null;
+			}
+
+			@Override
+			public boolean hasChildren(Object element) {
+				return !"x".equals(element);
+			}
+		});
+		viewer.setUseHashlookup(true);
+		viewer.setInput("root");
+		viewer.expandAll();
+
+		assertEquals(3, viewer.testFindItems("x").length);
+		viewer.remove("b", new Object[] { "x" });
+		Widget[] items = viewer.testFindItems("x");
+		assertEquals(2, items.length);
+		assertEquals("a", parentData(items[0]));
+		assertEquals("c", parentData(items[1]));
+		viewer.remove("a", new Object[] { "x" });
+		items = viewer.testFindItems("x");
+		assertEquals(1, items.length);
+		assertEquals("c", parentData(items[0]));
+		viewer.remove("c", new Object[] { "x" });
+		assertEquals(0, viewer.testFindItems("x").length);
+		assertFound(viewer, "a");
+		assertFound(viewer, "b");
+		assertFound(viewer, "c");
+	}
+
+	@Test
+	public void testRemoveCollidingElementsWrappingAround() {
+		// With the default capacity the map has 32 slots. All elements get a
+		// hash code which starts the search at the last slot, so the colliding
+		// elements wrap around to the first slots.
+		int hash = 0;
+		while ((hash * 0x9E3779B9) >>> 27 != 31) {
+			hash++;
+		}
+		String[] elements = new String[10];
+		for (int i = 0; i < elements.length; i++) {
+			elements[i] = "e" + i;
+		}
+		TableViewer viewer = createTableViewer(new ConstantHashComparer(hash), elements);
+		for (String element : elements) {
+			assertFound(viewer, element);
+		}
+
+		viewer.remove("e0");
+		viewer.remove("e5");
+		viewer.remove("e9");
+		for (String element : elements) {
+			if (element.equals("e0") || element.equals("e5") || element.equals("e9")) {
+				assertNull(element, viewer.testFindItem(element));
+			} else {
+				assertFound(viewer, element);
+			}
+		}
+
+		viewer.add("e0");
+		assertFound(viewer, "e0");
+		assertFound(viewer, "e1");
+	}
+
+	@Test
+	public void testGrowth() {
+		String[] elements = new String[1000];
+		for (int i = 0; i < elements.length; i++) {
+			elements[i] = "element " + i;
+		}
+		// few distinct hash codes make long runs of colliding elements
+		IElementComparer comparer = new IElementComparer() {
+
+			@Override
+			public boolean equals(Object a, Object b) {
+				return a.equals(b);
+			}
+
+			@Override
+			public int hashCode(Object element) {
+				return element.hashCode() % 16;
+			}
+		};
+		TableViewer viewer = createTableViewer(comparer, elements);
+		for (String element : elements) {
+			assertFound(viewer, element);
+		}
+
+		for (int i = 0; i < elements.length; i += 2) {
+			viewer.remove(elements[i]);
+		}
+		for (int i = 0; i < elements.length; i++) {
+			if (i % 2 == 0) {
+				assertNull(elements[i], viewer.testFindItem(elements[i]));
+			} else {
+				assertFound(viewer, elements[i]);
+			}
+		}
+	}
+
+	@Test
+	public void testSetComparerCopiesElements() {
+		TableViewer viewer = createTableViewer(null, new Object[] { "a", "B", "c" });
+		assertNull(viewer.testFindItem("A"));
+
+		viewer.setComparer(new IElementComparer() {
+
+			@Override
+			public boolean equals(Object a, Object b) {
+				return ((String) a).equalsIgnoreCase((String) b);
+			}
+
+			@Override
+			public int hashCode(Object element) {
+				return ((String) element).toLowerCase().hashCode();
+			}
+		});
+		assertEquals("a", viewer.testFindItem("A").getData());
+		assertEquals("B", viewer.testFindItem("b").getData());
+		assertEquals("c", viewer.testFindItem("C").getData());
+	}
+
+	@Test
+	public void testSetComparerOverwritesEqualElements() {
+		TableViewer viewer = createTableViewer(null, new Object[] { "a", "A" });
+		assertEquals(1, viewer.testFindItems("a").length);
+		assertEquals(1, viewer.testFindItems("A").length);
+
+		viewer.setComparer(new IElementComparer() {
+
+			@Override
+			public boolean equals(Object a, Object b) {
+				return ((String) a).equalsIgnoreCase((String) b);
+			}
+
+			@Override
+			public int hashCode(Object element) {
+				return ((String) element).toLowerCase().hashCode();
+			}
+		});
+		// the elements are now equal, one of the items remains mapped
+		Widget[] items = viewer.testFindItems("a");
+		assertEquals(1, items.length);
+		assertTrue("a".equalsIgnoreCase((String) items[0].getData()));
+	}
+}
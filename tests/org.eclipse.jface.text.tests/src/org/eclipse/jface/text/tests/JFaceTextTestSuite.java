@@ -25,14 +25,18 @@ import org.eclipse.jface.text.tests.contentassist.ContextInformationPresenterTes
 import org.eclipse.jface.text.tests.contentassist.ContextInformationTest;
 import org.eclipse.jface.text.tests.contentassist.FilteringAsyncContentAssistTests;
 import org.eclipse.jface.text.tests.contentassist.IncrementalAsyncContentAssistTests;
+import org.eclipse.jface.text.tests.presentation.AsyncPresentationReconcilerTest;
 import org.eclipse.jface.text.tests.reconciler.AbstractReconcilerTest;
 import org.eclipse.jface.text.tests.reconciler.FastAbstractReconcilerTest;
+import org.eclipse.jface.text.tests.reconciler.ReconcilerTest;
+import org.eclipse.jface.text.tests.rules.CompiledRuleBasedScannerTest;
 import org.eclipse.jface.text.tests.rules.FastPartitionerTest;
 import org.eclipse.jface.text.tests.rules.FastPartitionerZeroLengthTest;
 import org.eclipse.jface.text.tests.rules.ScannerColumnTest;
 import org.eclipse.jface.text.tests.rules.WordRuleTest;
 import org.eclipse.jface.text.tests.source.AnnotationRulerColumnTest;
 import org.eclipse.jface.text.tests.source.LineNumberRulerColumnTest;
+import org.eclipse.jface.text.tests.source.SourceViewerLargeDocumentModeTest;
 import org.eclipse.jface.text.tests.source.inlined.AnnotationOnTabTest;
 import org.eclipse.jface.text.tests.source.inlined.LineContentBoundsDrawingTest;
 import org.eclipse.jface.text.tests.templates.persistence.TemplatePersistenceDataTest;
@@ -47,6 +51,7 @@ import org.eclipse.jface.text.tests.templates.persistence.TemplatePersistenceDat
 @SuiteClasses({
 		AnnotationRulerColumnTest.class,
 		LineNumberRulerColumnTest.class,
+		SourceViewerLargeDocumentModeTest.class,
 		HTML2TextReaderTest.class,
 		TextHoverPopupTest.class,
 		TextPresentationTest.class,
@@ -61,13 +66,17 @@ import org.eclipse.jface.text.tests.templates.persistence.TemplatePersistenceDat
 		ContextInformationTest.class,
 		ContextInformationPresenterTest.class,
 
+		AsyncPresentationReconcilerTest.class,
+
 		AbstractReconcilerTest.class,
 		FastAbstractReconcilerTest.class,
+		ReconcilerTest.class,
 
 		FastPartitionerZeroLengthTest.class,
 		FastPartitionerTest.class,
 		ScannerColumnTest.class,
 		WordRuleTest.class,
+		CompiledRuleBasedScannerTest.class,
 
 		TemplatePersistenceDataTest.class,
 		LineContentBoundsDrawingTest.class,
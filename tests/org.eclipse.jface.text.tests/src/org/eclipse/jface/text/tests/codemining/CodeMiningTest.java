@@ -17,6 +17,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.After;
@@ -55,6 +56,7 @@ import org.eclipse.jface.text.codemining.AbstractCodeMiningProvider;
 import org.eclipse.jface.text.codemining.DocumentFooterCodeMining;
 import org.eclipse.jface.text.codemining.ICodeMining;
 import org.eclipse.jface.text.codemining.ICodeMiningProvider;
+import org.eclipse.jface.text.codemining.ICodeMiningProviderExtension;
 import org.eclipse.jface.text.codemining.LineHeaderCodeMining;
 import org.eclipse.jface.text.reconciler.DirtyRegion;
 import org.eclipse.jface.text.reconciler.IReconcilingStrategy;
@@ -490,6 +492,107 @@ public class CodeMiningTest {
 		}.waitForCondition(widget.getDisplay(), 1000));
 	}
 
+	@Test
+	public void testCodeMiningProviderExtensionIsAskedForVisibleLines() throws Exception {
+		List<IRegion> requestedRegions= Collections.synchronizedList(new ArrayList<>());
+		AtomicBoolean askedForWholeDocument= new AtomicBoolean();
+		class RegionCodeMiningProvider extends AbstractCodeMiningProvider implements ICodeMiningProviderExtension {
+			@Override
+			public CompletableFuture<List<? extends ICodeMining>> provideCodeMinings(ITextViewer viewer, IProgressMonitor monitor) {
+				askedForWholeDocument.set(true);
+				return null;
+			}
+
+			@Override
+			public CompletableFuture<List<? extends ICodeMining>> provideCodeMinings(ITextViewer viewer, IRegion region, IProgressMonitor monitor) {
+				requestedRegions.add(region);
+				IDocument document= viewer.getDocument();
+				List<ICodeMining> minings= new ArrayList<>();
+				try {
+					int first= document.getLineOfOffset(region.getOffset());
+					int last= document.getLineOfOffset(region.getOffset() + region.getLength());
+					for (int line= first; line <= last; line++) {
+						minings.add(new LineHeaderCodeMining(line, document, this) {
+							@Override
+							public String getLabel() {
+								return "mining";
+							}
+						});
+					}
+				} catch (BadLocationException e) {
+					return null;
+				}
+				return CompletableFuture.completedFuture(minings);
+			}
+		}
+		fViewer.setCodeMiningProviders(new ICodeMiningProvider[] { new RegionCodeMiningProvider() });
+		StringBuilder content= new StringBuilder();
+		for (int i= 0; i < 500; i++) {
+			content.append("line ").append(i).append('\n');
+		}
+		IDocument document= fViewer.getDocument();
+		document.set(content.toString());
+		StyledText widget= fViewer.getTextWidget();
+		Assert.assertTrue(new DisplayHelper() {
+			@Override
+			protected boolean condition() {
+				return widget.getLineVerticalIndent(0) > 0;
+			}
+		}.waitForCondition(widget.getDisplay(), 3000));
+		Assert.assertFalse(askedForWholeDocument.get());
+		Assert.assertTrue(requestedRegions.get(requestedRegions.size() - 1).getLength() < document.getLength());
+
+		fViewer.setTopIndex(400);
+		int offset= document.getLineOffset(400);
+		Assert.assertTrue(new DisplayHelper() {
+			@Override
+			protected boolean condition() {
+				return widget.getLineVerticalIndent(400) > 0;
+			}
+		}.waitForCondition(widget.getDisplay(), 3000));
+		IRegion region= requestedRegions.get(requestedRegions.size() - 1);
+		Assert.assertTrue(region.getOffset() <= offset && offset <= region.getOffset() + region.getLength());
+		// the minings of the lines outside the requested region are kept
+		Assert.assertTrue(widget.getLineVerticalIndent(0) > 0);
+		Assert.assertFalse(askedForWholeDocument.get());
+	}
+
+	@Test
+	public void testCodeMiningsAreRenderedInUIThread() {
+		AtomicBoolean labelReadInOtherThread= new AtomicBoolean();
+		fViewer.setCodeMiningProviders(new ICodeMiningProvider[] { new AbstractCodeMiningProvider() {
+			@Override
+			public CompletableFuture<List<? extends ICodeMining>> provideCodeMinings(ITextViewer viewer, IProgressMonitor monitor) {
+				IDocument document= viewer.getDocument();
+				ICodeMiningProvider provider= this;
+				return CompletableFuture.supplyAsync(() -> {
+					try {
+						return Collections.singletonList(new LineHeaderCodeMining(0, document, provider) {
+							@Override
+							public String getLabel() {
+								if (Display.getCurrent() == null) {
+									labelReadInOtherThread.set(true);
+								}
+								return "mining";
+							}
+						});
+					} catch (BadLocationException e) {
+						return null;
+					}
+				});
+			}
+		} });
+		fViewer.getDocument().set("a\nb\n");
+		StyledText widget= fViewer.getTextWidget();
+		Assert.assertTrue(new DisplayHelper() {
+			@Override
+			protected boolean condition() {
+				return widget.getLineVerticalIndent(0) > 0;
+			}
+		}.waitForCondition(widget.getDisplay(), 3000));
+		Assert.assertFalse(labelReadInOtherThread.get());
+	}
+
 	private static boolean hasCodeMiningPrintedBelowLine(ITextViewer viewer, int line) throws BadLocationException {
 		StyledText widget= viewer.getTextWidget();
 		IDocument document= viewer.getDocument();
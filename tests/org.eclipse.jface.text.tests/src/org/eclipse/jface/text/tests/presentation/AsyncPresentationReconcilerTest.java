@@ -0,0 +1,403 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text.tests.presentation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.custom.StyleRange;
+import org.eclipse.swt.layout.FillLayout;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Shell;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.DocumentEvent;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.ITypedRegion;
+import org.eclipse.jface.text.Region;
+import org.eclipse.jface.text.TextPresentation;
+import org.eclipse.jface.text.presentation.IPresentationDamager;
+import org.eclipse.jface.text.presentation.IPresentationReconciler;
+import org.eclipse.jface.text.presentation.IPresentationRepairer;
+import org.eclipse.jface.text.presentation.IPresentationRepairerExtension;
+import org.eclipse.jface.text.presentation.PresentationReconciler;
+import org.eclipse.jface.text.rules.DefaultDamagerRepairer;
+import org.eclipse.jface.text.rules.RuleBasedScanner;
+import org.eclipse.jface.text.source.ISourceViewer;
+import org.eclipse.jface.text.source.SourceViewer;
+import org.eclipse.jface.text.source.SourceViewerConfiguration;
+import org.eclipse.jface.text.tests.util.DisplayHelper;
+
+/**
+ * Tests the asynchronous mode of the {@link PresentationReconciler}.
+ */
+public class AsyncPresentationReconcilerTest {
+
+	/**
+	 * A repaired region together with the content of the document or snapshot it was repaired on,
+	 * or a region to which a style range was applied together with the text it was created for.
+	 */
+	private static final class Repair {
+		final String fContent;
+		final IRegion fRegion;
+
+		Repair(String content, IRegion region) {
+			fContent= content;
+			fRegion= region;
+		}
+	}
+
+	/**
+	 * Damages the inserted text, or everything from the change to the end of the document.
+	 */
+	private static class TestDamager implements IPresentationDamager {
+		volatile boolean fDamageToEnd;
+
+		@Override
+		public void setDocument(IDocument document) {
+		}
+
+		@Override
+		public IRegion getDamageRegion(ITypedRegion partition, DocumentEvent e, boolean documentPartitioningChanged) {
+			if (fDamageToEnd)
+				return new Region(e.getOffset(), e.getDocument().getLength() - e.getOffset());
+			return new Region(e.getOffset(), e.getText().length());
+		}
+	}
+
+	/**
+	 * Records the repaired regions and marks the style ranges it creates with the text they were
+	 * created for. Can be blocked in the background job.
+	 */
+	private static class TestRepairer implements IPresentationRepairer, IPresentationRepairerExtension {
+		final List<Repair> fRepairs= new ArrayList<>();
+		final List<Repair> fSynchronousRepairs= new ArrayList<>();
+		private IDocument fDocument;
+		private volatile CountDownLatch fBlock;
+		private volatile CountDownLatch fBlocked;
+		private volatile boolean fBusy;
+		volatile boolean fOverlapped;
+
+		void block() {
+			fBlocked= new CountDownLatch(1);
+			fBlock= new CountDownLatch(1);
+		}
+
+		void awaitBlocked() throws InterruptedException {
+			assertTrue(fBlocked.await(5, TimeUnit.SECONDS));
+		}
+
+		void release() {
+			fBlock.countDown();
+		}
+
+		@Override
+		public void setDocument(IDocument document) {
+			fDocument= document;
+		}
+
+		@Override
+		public void createPresentation(TextPresentation presentation, ITypedRegion damage) {
+			if (fBusy)
+				fOverlapped= true;
+			synchronized (fSynchronousRepairs) {
+				fSynchronousRepairs.add(new Repair(fDocument.get(), damage));
+			}
+			addStyleRange(presentation, damage, fDocument);
+		}
+
+		@Override
+		public void createPresentation(TextPresentation presentation, ITypedRegion damage, IDocument document) {
+			fBusy= true;
+			try {
+				CountDownLatch block= fBlock;
+				if (block != null) {
+					fBlock= null;
+					fBlocked.countDown();
+					try {
+						block.await(5, TimeUnit.SECONDS);
+					} catch (InterruptedException x) {
+						Thread.currentThread().interrupt();
+					}
+				}
+				synchronized (fRepairs) {
+					fRepairs.add(new Repair(document.get(), damage));
+				}
+				addStyleRange(presentation, damage, document);
+			} finally {
+				fBusy= false;
+			}
+		}
+
+		private static void addStyleRange(TextPresentation presentation, IRegion damage, IDocument document) {
+			StyleRange range= new StyleRange(damage.getOffset(), damage.getLength(), null, null);
+			try {
+				range.data= document.get(damage.getOffset(), damage.getLength());
+			} catch (BadLocationException x) {
+				throw new AssertionError(x);
+			}
+			presentation.addStyleRange(range);
+		}
+
+		List<IRegion> getRepairedRegions(String content) {
+			List<IRegion> regions= new ArrayList<>();
+			synchronized (fRepairs) {
+				for (Repair repair : fRepairs) {
+					if (repair.fContent.equals(content))
+						regions.add(repair.fRegion);
+				}
+			}
+			return regions;
+		}
+	}
+
+	/**
+	 * Records the style ranges applied to the viewer.
+	 */
+	private static class TestSourceViewer extends SourceViewer {
+		final List<Repair> fApplied= new ArrayList<>();
+
+		TestSourceViewer(Composite parent) {
+			super(parent, null, SWT.V_SCROLL);
+		}
+
+		@Override
+		public void changeTextPresentation(TextPresentation presentation, boolean controlRedraw) {
+			Iterator<StyleRange> e= presentation.getAllStyleRangeIterator();
+			while (e.hasNext()) {
+				StyleRange range= e.next();
+				fApplied.add(new Repair((String) range.data, new Region(range.start, range.length)));
+			}
+			super.changeTextPresentation(presentation, controlRedraw);
+		}
+
+		/**
+		 * Returns the length of the style ranges applied for the given text.
+		 */
+		int getAppliedLength(String text) {
+			int length= 0;
+			for (Repair repair : fApplied) {
+				if (text.equals(repair.fContent))
+					length+= repair.fRegion.getLength();
+			}
+			return length;
+		}
+
+		/**
+		 * Returns the length of the style ranges applied for the text at their position in the given
+		 * document.
+		 */
+		int getRepairedLength(IDocument document) {
+			int length= 0;
+			for (Repair repair : fApplied) {
+				IRegion region= repair.fRegion;
+				try {
+					if (document.get(region.getOffset(), region.getLength()).equals(repair.fContent))
+						length+= region.getLength();
+				} catch (BadLocationException x) {
+					// applied to an older content
+				}
+			}
+			return length;
+		}
+	}
+
+	private Shell fParent;
+	private TestSourceViewer fViewer;
+	private PresentationReconciler fReconciler;
+	private TestDamager fDamager;
+	private TestRepairer fRepairer;
+
+	@Before
+	public void setUp() {
+		fParent= new Shell();
+		fParent.setLayout(new FillLayout());
+		fParent.setSize(500, 200);
+		fViewer= new TestSourceViewer(fParent);
+		fDamager= new TestDamager();
+		fRepairer= new TestRepairer();
+		configure(fRepairer);
+		fParent.open();
+	}
+
+	private void configure(IPresentationRepairer repairer) {
+		fReconciler= new PresentationReconciler();
+		fReconciler.setDamager(fDamager, IDocument.DEFAULT_CONTENT_TYPE);
+		fReconciler.setRepairer(repairer, IDocument.DEFAULT_CONTENT_TYPE);
+		fReconciler.setAsynchronous(true);
+		fViewer.configure(new SourceViewerConfiguration() {
+			@Override
+			public IPresentationReconciler getPresentationReconciler(ISourceViewer sourceViewer) {
+				return fReconciler;
+			}
+		});
+	}
+
+	@After
+	public void tearDown() {
+		fViewer.unconfigure();
+		fParent.dispose();
+	}
+
+	private IDocument setDocument(String content) {
+		IDocument document= new Document(content);
+		fViewer.setDocument(document);
+		waitForRepair(document, content.length());
+		return document;
+	}
+
+	/**
+	 * Waits until style ranges of the given total length have been applied for the current content
+	 * of the given document.
+	 */
+	private void waitForRepair(IDocument document, int length) {
+		assertTrue(new DisplayHelper() {
+			@Override
+			protected boolean condition() {
+				return fViewer.getRepairedLength(document) >= length;
+			}
+		}.waitForCondition(fParent.getDisplay(), 5000));
+	}
+
+	@Test
+	public void testStalePresentationIsDiscarded() throws Exception {
+		IDocument document= setDocument("abc def");
+
+		fRepairer.block();
+		document.replace(0, 0, "x");
+		fRepairer.awaitBlocked();
+		document.replace(0, 0, "y");
+		fRepairer.release();
+		waitForRepair(document, 2);
+		DisplayHelper.driveEventQueue(fParent.getDisplay());
+
+		assertFalse(fRepairer.getRepairedRegions("x").isEmpty());
+		assertEquals(0, fViewer.getAppliedLength("x"));
+	}
+
+	@Test
+	public void testVisibleDamageIsRepairedFirst() throws Exception {
+		StringBuilder content= new StringBuilder();
+		for (int i= 0; i < 200; i++)
+			content.append("line ").append(i).append('\n');
+		IDocument document= setDocument(content.toString());
+		fViewer.setTopIndex(100);
+		DisplayHelper.driveEventQueue(fParent.getDisplay());
+
+		fDamager.fDamageToEnd= true;
+		document.replace(0, 0, "x");
+		waitForRepair(document, document.getLength());
+
+		int top= fViewer.getTopIndexStartOffset();
+		int bottom= fViewer.getBottomIndexEndOffset();
+		assertTrue(top > 0);
+		assertTrue(bottom < document.getLength());
+		List<IRegion> regions= fRepairer.getRepairedRegions(document.get());
+		assertEquals(3, regions.size());
+		assertEquals(new Region(top, bottom - top), regions.get(0));
+		assertEquals(new Region(bottom, document.getLength() - bottom), regions.get(1));
+		assertEquals(new Region(0, top), regions.get(2));
+	}
+
+	@Test
+	public void testPendingDamageIsCoalesced() throws Exception {
+		IDocument document= setDocument("0123456789abcdef");
+
+		fRepairer.block();
+		document.replace(2, 0, "x");
+		fRepairer.awaitBlocked();
+		document.replace(11, 0, "y");
+		fRepairer.release();
+		waitForRepair(document, 10);
+
+		// the snapshot starts at the line start
+		List<IRegion> regions= fRepairer.getRepairedRegions(document.get(0, 12));
+		assertEquals(1, regions.size());
+		assertEquals(new Region(2, 10), regions.get(0));
+	}
+
+	@Test
+	public void testSwitchingToSynchronousStopsJob() throws Exception {
+		IDocument document= setDocument("0123456789abcdef");
+
+		fRepairer.block();
+		document.replace(2, 0, "x");
+		fRepairer.awaitBlocked();
+		Thread releaser= new Thread(() -> {
+			try {
+				Thread.sleep(200);
+			} catch (InterruptedException x) {
+				// release right away
+			}
+			fRepairer.release();
+		});
+		releaser.start();
+		fReconciler.setAsynchronous(false);
+		releaser.join();
+
+		assertFalse(fRepairer.fOverlapped);
+		assertEquals(1, fRepairer.fSynchronousRepairs.size());
+		assertEquals(new Region(2, 1), fRepairer.fSynchronousRepairs.get(0).fRegion);
+		assertEquals(1, fViewer.getRepairedLength(document));
+	}
+
+	@Test
+	public void testSnapshotContainsDamagedLines() throws Exception {
+		IDocument document= setDocument("first line\nsecond line\nthird line\n");
+
+		document.replace(14, 0, "x");
+		waitForRepair(document, 1);
+
+		List<IRegion> regions= fRepairer.getRepairedRegions("secx");
+		assertEquals(1, regions.size());
+		assertEquals(new Region(3, 1), regions.get(0));
+		assertEquals(1, fViewer.getAppliedLength("x"));
+		assertEquals(1, fViewer.getRepairedLength(document));
+	}
+
+	@Test
+	public void testOverriddenRepairerIsUsedSynchronously() throws Exception {
+		List<IRegion> repairs= new ArrayList<>();
+		DefaultDamagerRepairer repairer= new DefaultDamagerRepairer(new RuleBasedScanner()) {
+			@Override
+			public void createPresentation(TextPresentation presentation, ITypedRegion region) {
+				repairs.add(new Region(region.getOffset(), region.getLength()));
+				super.createPresentation(presentation, region);
+			}
+		};
+		fViewer.unconfigure();
+		configure(repairer);
+
+		IDocument document= new Document("abc def");
+		fViewer.setDocument(document);
+		document.replace(0, 0, "x");
+
+		assertEquals(2, repairs.size());
+		assertEquals(new Region(0, 1), repairs.get(1));
+	}
+}
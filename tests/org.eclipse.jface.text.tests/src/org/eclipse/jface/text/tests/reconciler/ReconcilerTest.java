@@ -0,0 +1,240 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text.tests.reconciler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentPartitioner;
+import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.ITextViewer;
+import org.eclipse.jface.text.reconciler.DirtyRegion;
+import org.eclipse.jface.text.reconciler.IReconcilingStrategy;
+import org.eclipse.jface.text.reconciler.Reconciler;
+import org.eclipse.jface.text.rules.FastPartitioner;
+import org.eclipse.jface.text.rules.IPredicateRule;
+import org.eclipse.jface.text.rules.RuleBasedPartitionScanner;
+import org.eclipse.jface.text.rules.SingleLineRule;
+import org.eclipse.jface.text.rules.Token;
+import org.eclipse.jface.text.tests.TestTextViewer;
+
+public class ReconcilerTest {
+
+	private static final String STRING= "string";
+
+	private Reconciler fReconciler;
+	private ITextViewer fViewer;
+	private IDocument fDocument;
+	private IProgressMonitor fProgressMonitor;
+
+	private abstract static class Strategy implements IReconcilingStrategy {
+		@Override
+		public void setDocument(IDocument document) {
+		}
+
+		@Override
+		public void reconcile(DirtyRegion dirtyRegion, IRegion subRegion) {
+			reconcile(subRegion);
+		}
+	}
+
+	@Before
+	public void setUp() {
+		fReconciler= new Reconciler();
+		fReconciler.setIsIncrementalReconciler(false);
+		fReconciler.setDelay(50);
+		fProgressMonitor= new NullProgressMonitor();
+		fReconciler.setProgressMonitor(fProgressMonitor);
+		fViewer= new TestTextViewer();
+
+		RuleBasedPartitionScanner scanner= new RuleBasedPartitionScanner();
+		scanner.setPredicateRules(new IPredicateRule[] { new SingleLineRule("\"", "\"", new Token(STRING)) });
+		IDocumentPartitioner partitioner= new FastPartitioner(scanner, new String[] { STRING });
+		fDocument= new Document("a \"b\" c \"d\" e");
+		partitioner.connect(fDocument);
+		fDocument.setDocumentPartitioner(partitioner);
+	}
+
+	@After
+	public void tearDown() {
+		fReconciler.uninstall();
+	}
+
+	@Test
+	public void testStrategiesRunConcurrently() throws Exception {
+		CyclicBarrier barrier= new CyclicBarrier(2);
+		CountDownLatch reconciled= new CountDownLatch(2);
+		IReconcilingStrategy strategy= new Strategy() {
+			@Override
+			public void reconcile(IRegion partition) {
+				try {
+					// each strategy only gets past the barrier while the other one is running
+					barrier.await(5, TimeUnit.SECONDS);
+					reconciled.countDown();
+				} catch (Exception e) {
+					// not reconciled concurrently
+				}
+			}
+		};
+		IReconcilingStrategy stringStrategy= new Strategy() {
+			@Override
+			public void reconcile(IRegion partition) {
+				strategy.reconcile(partition);
+			}
+		};
+		fReconciler.setReconcilingStrategy(strategy, IDocument.DEFAULT_CONTENT_TYPE);
+		fReconciler.setReconcilingStrategy(stringStrategy, STRING);
+		fReconciler.setMaxParallelism(2);
+		fReconciler.install(fViewer);
+		fViewer.setDocument(fDocument);
+
+		fDocument.replace(0, 0, "x");
+		assertTrue(reconciled.await(10, TimeUnit.SECONDS));
+	}
+
+	@Test
+	public void testStrategyGetsPartitionsInOrder() throws Exception {
+		StringBuilder log= new StringBuilder();
+		CountDownLatch reconciled= new CountDownLatch(1);
+		IReconcilingStrategy strategy= new Strategy() {
+			@Override
+			public void reconcile(IRegion partition) {
+				try {
+					log.append(fDocument.get(partition.getOffset(), partition.getLength()));
+				} catch (BadLocationException e) {
+					log.append('!');
+				}
+				if (partition.getOffset() + partition.getLength() == fDocument.getLength())
+					reconciled.countDown();
+			}
+		};
+		IReconcilingStrategy stringStrategy= new Strategy() {
+			@Override
+			public void reconcile(IRegion partition) {
+			}
+		};
+		fReconciler.setReconcilingStrategy(strategy, IDocument.DEFAULT_CONTENT_TYPE);
+		fReconciler.setReconcilingStrategy(stringStrategy, STRING);
+		fReconciler.setMaxParallelism(4);
+		fReconciler.install(fViewer);
+		fViewer.setDocument(fDocument);
+
+		fDocument.replace(0, 0, "x");
+		assertTrue(reconciled.await(10, TimeUnit.SECONDS));
+		assertEquals("xa  c  e", log.toString());
+	}
+
+	@Test
+	public void testCancelKeepsRemainingPartitions() throws Exception {
+		CountDownLatch started= new CountDownLatch(1);
+		CountDownLatch release= new CountDownLatch(1);
+		CountDownLatch reconciled= new CountDownLatch(3);
+		StringBuffer log= new StringBuffer();
+		IReconcilingStrategy strategy= new Strategy() {
+			@Override
+			public void reconcile(IRegion partition) {
+				log.append(partition.getOffset()).append(' ');
+				started.countDown();
+				try {
+					release.await(5, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					// ignore
+				}
+				reconciled.countDown();
+			}
+		};
+		IReconcilingStrategy stringStrategy= new Strategy() {
+			@Override
+			public void reconcile(IRegion partition) {
+			}
+		};
+		fReconciler.setReconcilingStrategy(strategy, IDocument.DEFAULT_CONTENT_TYPE);
+		fReconciler.setReconcilingStrategy(stringStrategy, STRING);
+		fReconciler.setMaxParallelism(2);
+		fReconciler.install(fViewer);
+		fViewer.setDocument(fDocument);
+
+		fDocument.replace(0, 0, "x");
+		assertTrue(started.await(10, TimeUnit.SECONDS));
+		fProgressMonitor.setCanceled(true);
+		release.countDown();
+		// the partitions of the dequeued dirty region are still reconciled
+		assertTrue(reconciled.await(10, TimeUnit.SECONDS));
+		assertEquals("0 6 12 ", log.toString());
+	}
+
+	@Test
+	public void testRunConcurrentlyIsBounded() throws Exception {
+		AtomicInteger running= new AtomicInteger();
+		AtomicInteger maxRunning= new AtomicInteger();
+		AtomicInteger done= new AtomicInteger();
+		List<Runnable> tasks= new ArrayList<>();
+		for (int i= 0; i < 8; i++) {
+			tasks.add(() -> {
+				maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+				try {
+					Thread.sleep(20);
+				} catch (InterruptedException e) {
+					// ignore
+				}
+				running.decrementAndGet();
+				done.incrementAndGet();
+			});
+		}
+		fReconciler.setMaxParallelism(3);
+		fProgressMonitor.setCanceled(true);
+		fReconciler.runConcurrently(tasks);
+
+		// all tasks are run even though the monitor is canceled
+		assertEquals(8, done.get());
+		assertTrue(maxRunning.get() <= 3);
+	}
+
+	@Test
+	public void testRunConcurrentlyRethrowsFailure() {
+		AtomicInteger done= new AtomicInteger();
+		List<Runnable> tasks= new ArrayList<>();
+		tasks.add(() -> {
+			throw new IllegalStateException();
+		});
+		tasks.add(done::incrementAndGet);
+		tasks.add(done::incrementAndGet);
+		fReconciler.setMaxParallelism(2);
+		try {
+			fReconciler.runConcurrently(tasks);
+			fail();
+		} catch (IllegalStateException e) {
+			// expected
+		}
+		assertEquals(2, done.get());
+	}
+}
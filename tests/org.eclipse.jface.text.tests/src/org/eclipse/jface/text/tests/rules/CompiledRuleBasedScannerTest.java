@@ -0,0 +1,152 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text.tests.rules;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.rules.CompiledRuleBasedScanner;
+import org.eclipse.jface.text.rules.EndOfLineRule;
+import org.eclipse.jface.text.rules.ICharacterScanner;
+import org.eclipse.jface.text.rules.IRule;
+import org.eclipse.jface.text.rules.IToken;
+import org.eclipse.jface.text.rules.IWhitespaceDetector;
+import org.eclipse.jface.text.rules.IWordDetector;
+import org.eclipse.jface.text.rules.MultiLineRule;
+import org.eclipse.jface.text.rules.NumberRule;
+import org.eclipse.jface.text.rules.RuleBasedScanner;
+import org.eclipse.jface.text.rules.SingleLineRule;
+import org.eclipse.jface.text.rules.Token;
+import org.eclipse.jface.text.rules.WhitespaceRule;
+import org.eclipse.jface.text.rules.WordPatternRule;
+import org.eclipse.jface.text.rules.WordRule;
+
+public class CompiledRuleBasedScannerTest {
+
+	private static final String ALPHABET= "ab1 \n\t/*\"\\#@<>\u00e4\u00a7";
+
+	private static class JavaWordDetector implements IWordDetector {
+		@Override
+		public boolean isWordStart(char c) {
+			return Character.isJavaIdentifierStart(c);
+		}
+
+		@Override
+		public boolean isWordPart(char c) {
+			return Character.isJavaIdentifierPart(c);
+		}
+	}
+
+	private static IRule[] createRules() {
+		WordRule keywords= new WordRule(new JavaWordDetector());
+		keywords.addWord("ab", new Token("keyword"));
+		keywords.addWord("ba1", new Token("keyword"));
+		WordRule words= new WordRule(new JavaWordDetector(), new Token("word"));
+		words.addWord("b", new Token("b"));
+
+		IRule custom= new IRule() {
+			@Override
+			public IToken evaluate(ICharacterScanner scanner) {
+				// matches "<>" at the start of a line
+				if (scanner.getColumn() != 0)
+					return Token.UNDEFINED;
+				if (scanner.read() == '<') {
+					if (scanner.read() == '>')
+						return new Token("custom");
+					scanner.unread();
+				}
+				scanner.unread();
+				return Token.UNDEFINED;
+			}
+		};
+
+		IWhitespaceDetector whitespace= c -> c == ' ' || c == '\t';
+		return new IRule[] {
+				new EndOfLineRule("//", new Token("line comment")),
+				new MultiLineRule("/*", "*/", new Token("comment"), (char) 0, true),
+				new SingleLineRule("\"", "\"", new Token("string"), '\\'),
+				new SingleLineRule("#", null, new Token("directive"), (char) 0, true),
+				new WordPatternRule(new JavaWordDetector(), "@", null, new Token("annotation")),
+				new MultiLineRule("\u00a7", "\u00a7", new Token("section")),
+				custom,
+				keywords,
+				new NumberRule(new Token("number")),
+				new WhitespaceRule(whitespace, new Token("whitespace")),
+				words
+		};
+	}
+
+	@Test
+	public void testSameTokensAsRuleBasedScanner() {
+		Random random= new Random(11);
+		for (int i= 0; i < 300; i++) {
+			StringBuilder buffer= new StringBuilder();
+			for (int j= random.nextInt(300); j > 0; j--)
+				buffer.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+			IDocument document= new Document(buffer.toString());
+			int offset= random.nextInt(document.getLength() + 1);
+			int length= random.nextInt(document.getLength() - offset + 1);
+
+			RuleBasedScanner expected= new RuleBasedScanner();
+			expected.setRules(createRules());
+			expected.setDefaultReturnToken(new Token("default"));
+			expected.setRange(document, offset, length);
+
+			CompiledRuleBasedScanner actual= new CompiledRuleBasedScanner(random.nextInt(50) + 1);
+			actual.setRules(createRules());
+			actual.setDefaultReturnToken(new Token("default"));
+			actual.setRange(document, offset, length);
+
+			assertSameTokens(expected, actual);
+		}
+	}
+
+	@Test
+	public void testSetRules() {
+		IDocument document= new Document("ab /* c */");
+		Token keyword= new Token("keyword");
+		WordRule rule= new WordRule(new JavaWordDetector());
+		rule.addWord("ab", keyword);
+
+		CompiledRuleBasedScanner scanner= new CompiledRuleBasedScanner();
+		scanner.setRules(new MultiLineRule("/*", "*/", new Token("comment")));
+		scanner.setRange(document, 0, document.getLength());
+		assertEquals(null, scanner.nextToken().getData());
+
+		scanner.setRules(rule);
+		scanner.setRange(document, 0, document.getLength());
+		assertSame(keyword, scanner.nextToken());
+		assertEquals(2, scanner.getTokenLength());
+	}
+
+	private static void assertSameTokens(RuleBasedScanner expected, RuleBasedScanner actual) {
+		while (true) {
+			IToken expectedToken= expected.nextToken();
+			IToken actualToken= actual.nextToken();
+			if (expectedToken.isEOF()) {
+				assertSame(Token.EOF, actualToken);
+				return;
+			}
+			assertEquals(expectedToken.getData(), actualToken.getData());
+			assertEquals(expected.getTokenOffset(), actual.getTokenOffset());
+			assertEquals(expected.getTokenLength(), actual.getTokenLength());
+		}
+	}
+}
@@ -14,14 +14,22 @@
 package org.eclipse.jface.text.tests.rules;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
 
 import org.junit.Before;
 import org.junit.Test;
 
 import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.DocumentEvent;
 import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.IDocumentPartitioner;
+import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.ITypedRegion;
 import org.eclipse.jface.text.rules.FastPartitioner;
 import org.eclipse.jface.text.rules.IPartitionTokenScanner;
@@ -40,6 +48,7 @@ public class FastPartitionerTest {
 
 	protected static final String COMMENT= "comment";
 	protected static final String DEFAULT= IDocument.DEFAULT_CONTENT_TYPE;
+	private static final String STRING= "string";
 
 	private IDocument fDoc;
 	private IDocumentPartitioner fPartitioner;
@@ -321,6 +330,122 @@ public class FastPartitionerTest {
 
 	}
 
+	@Test
+	public void testRescanLimit() throws Exception {
+		StringBuilder buffer= new StringBuilder();
+		for (int i= 0; i < 100; i++)
+			buffer.append("code \"string\" ");
+		IDocument document= new Document(buffer.toString());
+		FastPartitioner partitioner= new FastPartitioner(createCommentAndStringScanner(), new String[] { DEFAULT, COMMENT, STRING });
+		partitioner.setRescanLimit(10);
+		partitioner.connect(document);
+
+		// opening a string swaps all following partitions, only the first ones are rescanned
+		IRegion changed= replace(document, partitioner, 0, 0, "\"");
+		int reportedEnd= changed.getOffset() + changed.getLength();
+		assertTrue(reportedEnd < 100);
+		assertTrue(partitioner.isPartitioningPending());
+		int portions= 0;
+		while (partitioner.isPartitioningPending()) {
+			// the partitions changed by each portion are reported
+			IRegion region= partitioner.continuePartitioning(100);
+			assertNotNull(region);
+			assertTrue(region.getOffset() <= reportedEnd);
+			reportedEnd= Math.max(reportedEnd, region.getOffset() + region.getLength());
+			portions++;
+		}
+		assertTrue(portions > 1);
+		assertEquals(document.getLength(), reportedEnd);
+		assertNull(partitioner.continuePartitioning(100));
+		assertEqualsFullPartitioning(document.get(), partitioner);
+
+		// queries behind the rescanned region update the partitioning on demand
+		replace(document, partitioner, 0, 1, "");
+		assertEquals(STRING, partitioner.getContentType(document.getLength() - 3));
+		assertEquals(DEFAULT, partitioner.getContentType(document.getLength() - 1));
+		IRegion region= partitioner.continuePartitioning(0);
+		assertEquals(document.getLength(), region.getOffset() + region.getLength());
+		assertFalse(partitioner.isPartitioningPending());
+		assertEqualsFullPartitioning(document.get(), partitioner);
+	}
+
+	@Test
+	public void testRescanLimitReportsQueriedPartitionsWithNextChange() throws Exception {
+		StringBuilder buffer= new StringBuilder();
+		for (int i= 0; i < 100; i++)
+			buffer.append("code \"string\" ");
+		IDocument document= new Document(buffer.toString());
+		FastPartitioner partitioner= new FastPartitioner(createCommentAndStringScanner(), new String[] { DEFAULT, COMMENT, STRING });
+		partitioner.setRescanLimit(10);
+		partitioner.connect(document);
+
+		replace(document, partitioner, 0, 0, "\"");
+		assertEquals(STRING, partitioner.getContentType(document.getLength() - 1));
+
+		// the partitions rescanned by the query are reported with the next change
+		IRegion changed= replace(document, partitioner, document.getLength(), 0, " ");
+		assertTrue(changed.getOffset() < 100);
+		assertTrue(changed.getOffset() + changed.getLength() >= document.getLength() - 1);
+		assertFalse(partitioner.isPartitioningPending());
+		assertEqualsFullPartitioning(document.get(), partitioner);
+	}
+
+	@Test
+	public void testRescanLimitRandomEdits() throws Exception {
+		fPartitioner.disconnect();
+		FastPartitioner partitioner= new FastPartitioner(createCommentAndStringScanner(), new String[] { DEFAULT, COMMENT, STRING });
+		fPartitioner= partitioner;
+		fDoc.setDocumentPartitioner(fPartitioner);
+		fPartitioner.connect(fDoc);
+
+		String alphabet= "ab \n/*\"";
+		Random random= new Random(37);
+		for (int i= 0; i < 50; i++) {
+			partitioner.setRescanLimit(1 + random.nextInt(20));
+			StringBuilder buffer= new StringBuilder();
+			for (int j= random.nextInt(500); j > 0; j--)
+				buffer.append(alphabet.charAt(random.nextInt(alphabet.length())));
+			fDoc.set(buffer.toString());
+			for (int j= 0; j < 100; j++) {
+				int offset= random.nextInt(fDoc.getLength() + 1);
+				int length= random.nextInt(Math.min(5, fDoc.getLength() - offset) + 1);
+				String text= alphabet.substring(random.nextInt(alphabet.length()));
+				fDoc.replace(offset, length, text);
+				if (random.nextBoolean())
+					partitioner.continuePartitioning(random.nextInt(50));
+				if (random.nextInt(10) == 0)
+					assertEqualsFullPartitioning(fDoc.get(), fPartitioner);
+			}
+			assertEqualsFullPartitioning(fDoc.get(), fPartitioner);
+		}
+	}
+
+	private static IRegion replace(IDocument document, FastPartitioner partitioner, int offset, int length, String text) throws BadLocationException {
+		DocumentEvent event= new DocumentEvent(document, offset, length, text);
+		partitioner.documentAboutToBeChanged(event);
+		document.replace(offset, length, text);
+		return partitioner.documentChanged2(event);
+	}
+
+	private static IPartitionTokenScanner createCommentAndStringScanner() {
+		RuleBasedPartitionScanner scanner= new RuleBasedPartitionScanner();
+		IPredicateRule comment= new MultiLineRule("/*", "*/", new Token(COMMENT), (char)0, true);
+		IPredicateRule string= new MultiLineRule("\"", "\"", new Token(STRING), (char)0, true);
+		scanner.setPredicateRules(new IPredicateRule[] { comment, string });
+		return scanner;
+	}
+
+	private static void assertEqualsFullPartitioning(String text, IDocumentPartitioner partitioner) {
+		IDocument document= new Document(text);
+		IDocumentPartitioner expected= new FastPartitioner(createCommentAndStringScanner(), new String[] { DEFAULT, COMMENT, STRING });
+		expected.connect(document);
+		ITypedRegion[] expectedRegions= expected.computePartitioning(0, text.length());
+		ITypedRegion[] actualRegions= partitioner.computePartitioning(0, text.length());
+		assertEquals(expectedRegions.length, actualRegions.length);
+		for (int i= 0; i < expectedRegions.length; i++)
+			assertTypedRegion(actualRegions[i], expectedRegions[i].getOffset(), expectedRegions[i].getOffset() + expectedRegions[i].getLength(), expectedRegions[i].getType());
+	}
+
 	private void assertComputePartitioning_InterleavingPartitions(int[] offsets) {
 		assertComputePartitioning_InterleavingPartitions(0, fDoc.getLength(), offsets, DEFAULT);
 	}
@@ -390,7 +515,7 @@ public class FastPartitionerTest {
 		}
 	}
 
-	private void assertTypedRegion(ITypedRegion region, int offset, int end, String type) {
+	private static void assertTypedRegion(ITypedRegion region, int offset, int end, String type) {
 		assertEquals(offset, region.getOffset());
 		assertEquals(end - offset, region.getLength());
 		assertEquals(type, region.getType());
@@ -0,0 +1,153 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.jface.text.tests.source;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Shell;
+
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.ITextViewer;
+import org.eclipse.jface.text.presentation.IPresentationDamager;
+import org.eclipse.jface.text.presentation.IPresentationReconciler;
+import org.eclipse.jface.text.presentation.IPresentationRepairer;
+import org.eclipse.jface.text.rules.FastPartitioner;
+import org.eclipse.jface.text.rules.RuleBasedPartitionScanner;
+import org.eclipse.jface.text.source.ISourceViewer;
+import org.eclipse.jface.text.source.SourceViewer;
+import org.eclipse.jface.text.source.SourceViewerConfiguration;
+
+/**
+ * Tests the large document mode of the {@link SourceViewer}.
+ */
+public class SourceViewerLargeDocumentModeTest {
+
+	private static class TestPresentationReconciler implements IPresentationReconciler {
+		boolean fInstalled;
+		int fInstallCount;
+
+		@Override
+		public void install(ITextViewer viewer) {
+			fInstalled= true;
+			fInstallCount++;
+		}
+
+		@Override
+		public void uninstall() {
+			fInstalled= false;
+		}
+
+		@Override
+		public IPresentationDamager getDamager(String contentType) {
+			return null;
+		}
+
+		@Override
+		public IPresentationRepairer getRepairer(String contentType) {
+			return null;
+		}
+	}
+
+	private Shell fParent;
+	private SourceViewer fViewer;
+	private TestPresentationReconciler fPresentationReconciler;
+
+	@Before
+	public void setUp() {
+		fParent= new Shell();
+		fViewer= new SourceViewer(fParent, null, SWT.NONE);
+		fPresentationReconciler= new TestPresentationReconciler();
+		fViewer.setLargeDocumentThreshold(100);
+		fViewer.configure(new SourceViewerConfiguration() {
+			@Override
+			public IPresentationReconciler getPresentationReconciler(ISourceViewer sourceViewer) {
+				return fPresentationReconciler;
+			}
+		});
+	}
+
+	@After
+	public void tearDown() {
+		fViewer.unconfigure();
+		fParent.dispose();
+	}
+
+	@Test
+	public void testSmallDocument() {
+		fViewer.setDocument(new Document("small"));
+		assertFalse(fViewer.isLargeDocumentMode());
+		assertTrue(fPresentationReconciler.fInstalled);
+		assertEquals(1, fPresentationReconciler.fInstallCount);
+	}
+
+	@Test
+	public void testLargeDocument() {
+		fViewer.setDocument(new Document("x".repeat(101)));
+		assertTrue(fViewer.isLargeDocumentMode());
+		assertFalse(fPresentationReconciler.fInstalled);
+
+		fViewer.setDocument(new Document("small"));
+		assertFalse(fViewer.isLargeDocumentMode());
+		assertTrue(fPresentationReconciler.fInstalled);
+		assertEquals(2, fPresentationReconciler.fInstallCount);
+	}
+
+	@Test
+	public void testChangeThreshold() {
+		fViewer.setDocument(new Document("x".repeat(101)));
+		assertTrue(fViewer.isLargeDocumentMode());
+
+		fViewer.setLargeDocumentThreshold(-1);
+		assertFalse(fViewer.isLargeDocumentMode());
+		assertTrue(fPresentationReconciler.fInstalled);
+
+		fViewer.setLargeDocumentThreshold(50);
+		assertTrue(fViewer.isLargeDocumentMode());
+		assertFalse(fPresentationReconciler.fInstalled);
+	}
+
+	@Test
+	public void testRescanLimit() {
+		IDocument large= new Document("x".repeat(101));
+		FastPartitioner largePartitioner= connectPartitioner(large);
+		fViewer.setDocument(large);
+		assertTrue(largePartitioner.getRescanLimit() > 0);
+
+		IDocument small= new Document("small");
+		FastPartitioner smallPartitioner= connectPartitioner(small);
+		fViewer.setDocument(small);
+		assertEquals(0, largePartitioner.getRescanLimit());
+		assertEquals(0, smallPartitioner.getRescanLimit());
+
+		fViewer.setDocument(large);
+		assertTrue(largePartitioner.getRescanLimit() > 0);
+		fViewer.setLargeDocumentThreshold(-1);
+		assertEquals(0, largePartitioner.getRescanLimit());
+	}
+
+	private static FastPartitioner connectPartitioner(IDocument document) {
+		FastPartitioner partitioner= new FastPartitioner(new RuleBasedPartitionScanner(), new String[0]);
+		partitioner.connect(document);
+		document.setDocumentPartitioner(partitioner);
+		return partitioner;
+	}
+}
@@ -75,14 +75,37 @@ public class FileCharSequenceTests {
 		testForEncoding(buf, StandardCharsets.UTF_16.name());
 	}
 
+	@Test
+	public void testMappedFileCharSequence() throws Exception {
+		StringBuilder buf= new StringBuilder();
+		for (int i= 0; i < 15000; i++) {
+			buf.append(TEST_CONTENT);
+		}
+		testForEncoding(buf, StandardCharsets.UTF_8.name(), true);
+	}
+
+	@Test
+	public void testMappedFileCharSequence2() throws Exception {
+		StringBuilder buf= new StringBuilder();
+		for (int i= 0; i < 15000; i++) {
+			buf.append(TEST_CONTENT);
+		}
+		testForEncoding(buf, StandardCharsets.ISO_8859_1.name(), true);
+	}
+
 	private void testForEncoding(CharSequence buf, String encoding) throws CoreException, IOException {
+		testForEncoding(buf, encoding, false);
+	}
+
+	private void testForEncoding(CharSequence buf, String encoding, boolean useMemoryMapping) throws CoreException, IOException {
 		IFolder folder= ResourceHelper.createFolder(fProject.getFolder("folder1"));
 		IFile file1= ResourceHelper.createFile(folder, "file1", buf.toString(), encoding);
 
-		FileCharSequenceProvider provider= new FileCharSequenceProvider();
+		FileCharSequenceProvider provider= new FileCharSequenceProvider(useMemoryMapping);
 		CharSequence cs= null;
 		try {
 			cs= provider.newCharSequence(file1);
+			Assert.assertEquals(encoding + " - mapped", useMemoryMapping, "MappedCharSequence".equals(cs.getClass().getSimpleName()));
 
 			assertEquals(encoding, cs, buf);
 
@@ -99,10 +122,14 @@ public class FileCharSequenceTests {
 			assertSubSequence(encoding, seq1a, seq1e, FileCharSequenceProvider.BUFFER_SIZE, 0);
 
 		} finally {
-			if (cs != null) {
-				provider.releaseCharSequence(cs);
+			try {
+				if (cs != null) {
+					// drop the reader or the mapping before deleting the file
+					provider.releaseCharSequence(cs);
+				}
+			} finally {
+				file1.delete(true, null);
 			}
-			file1.delete(true, null);
 		}
 	}
 
@@ -16,6 +16,7 @@
 package org.eclipse.search.tests.filesearch;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -27,12 +28,15 @@ import org.junit.ClassRule;
 import org.junit.Test;
 
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IStatus;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IFolder;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
 
+import org.eclipse.jface.preference.IPreferenceStore;
+
 import org.eclipse.ui.IWorkbenchPage;
 
 import org.eclipse.search.core.text.TextSearchEngine;
@@ -40,9 +44,14 @@ import org.eclipse.search.core.text.TextSearchMatchAccess;
 import org.eclipse.search.core.text.TextSearchRequestor;
 import org.eclipse.search.core.text.TextSearchScope;
 import org.eclipse.search.internal.core.text.PatternConstructor;
+import org.eclipse.search.internal.ui.Messages;
+import org.eclipse.search.internal.ui.SearchMessages;
 import org.eclipse.search.internal.ui.SearchPlugin;
+import org.eclipse.search.internal.ui.SearchPreferencePage;
+import org.eclipse.search.internal.ui.text.FileSearchQuery;
 import org.eclipse.search.tests.ResourceHelper;
 import org.eclipse.search.tests.SearchTestUtil;
+import org.eclipse.search.ui.text.AbstractTextSearchResult;
 import org.eclipse.search.ui.text.FileTextSearchScope;
 
 public class FileSearchTests {
@@ -160,6 +169,72 @@ public class FileSearchTests {
 		assertMatches(results, 2, file2, buf.toString(), "hello");
 	}
 
+	@Test
+	public void testSearchLimit() throws Exception {
+		IFolder folder= ResourceHelper.createFolder(fProject.getFolder("folder1"));
+		for (int i= 0; i < 10; i++) {
+			ResourceHelper.createFile(folder, "file" + i, "hello\nhello\n");
+		}
+		SerialTestResultCollector collector= new SerialTestResultCollector() {
+			private int fFilesWithMatches;
+
+			@Override
+			public void flushMatches(IFile file) {
+				fFilesWithMatches++;
+			}
+
+			@Override
+			public boolean isSearchLimitReached() {
+				return fFilesWithMatches >= 3;
+			}
+		};
+
+		Pattern searchPattern= PatternConstructor.createPattern("hello", false, true);
+		FileTextSearchScope scope= FileTextSearchScope.newSearchScope(new IResource[] {fProject}, (String[]) null, false);
+		IStatus status= TextSearchEngine.create().search(scope, collector, searchPattern, null);
+
+		assertEquals("Number of total results", 6, collector.getNumberOfResults());
+		assertTrue("Limit is no cancellation", status.getSeverity() != IStatus.CANCEL);
+	}
+
+	@Test
+	public void testQueryLimits() throws Exception {
+		IFolder folder= ResourceHelper.createFolder(fProject.getFolder("folder1"));
+		for (int i= 0; i < 10; i++) {
+			ResourceHelper.createFile(folder, "file" + i, "hello\nhello\nhello\n");
+		}
+		FileTextSearchScope scope= FileTextSearchScope.newSearchScope(new IResource[] {fProject}, (String[]) null, false);
+		FileSearchQuery query= new FileSearchQuery("hello", false, true, scope);
+		AbstractTextSearchResult result= (AbstractTextSearchResult) query.getSearchResult();
+		IPreferenceStore store= SearchPlugin.getDefault().getPreferenceStore();
+		try {
+			// the match limit applies inside of files
+			store.setValue(SearchPreferencePage.LIMIT_TEXT_SEARCH_MATCHES, 5);
+			query.run(null);
+			assertEquals(5, result.getMatchCount());
+			String limitReached= Messages.format(SearchMessages.FileSearchQuery_matchLimitReached, Integer.valueOf(5));
+			assertTrue(query.getResultLabel(5).endsWith("(" + limitReached + ")"));
+
+			store.setToDefault(SearchPreferencePage.LIMIT_TEXT_SEARCH_MATCHES);
+			store.setValue(SearchPreferencePage.LIMIT_TEXT_SEARCH_FILES, 4);
+			query.run(null);
+			assertEquals(4, result.getElements().length);
+			assertEquals(12, result.getMatchCount());
+			limitReached= Messages.format(SearchMessages.FileSearchQuery_fileLimitReached, Integer.valueOf(4));
+			assertTrue(query.getResultLabel(12).endsWith("(" + limitReached + ")"));
+
+			// no limit is mentioned if all matches are reported
+			store.setValue(SearchPreferencePage.LIMIT_TEXT_SEARCH_FILES, 11);
+			query.run(null);
+			assertEquals(30, result.getMatchCount());
+			limitReached= Messages.format(SearchMessages.FileSearchQuery_fileLimitReached, Integer.valueOf(11));
+			assertEquals(-1, query.getResultLabel(30).indexOf(limitReached));
+		} finally {
+			store.setToDefault(SearchPreferencePage.LIMIT_TEXT_SEARCH_MATCHES);
+			store.setToDefault(SearchPreferencePage.LIMIT_TEXT_SEARCH_FILES);
+		}
+	}
+
 	@Test
 	public void testWildCards1Serial() throws Exception {
 		testWildCards1(new SerialTestResultCollector());
@@ -0,0 +1,224 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.search.tests.filesearch;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.eclipse.core.runtime.CoreException;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+
+import org.eclipse.search.core.text.TextSearchMatchAccess;
+import org.eclipse.search.core.text.TextSearchRequestor;
+import org.eclipse.search.core.text.TextSearchScope;
+import org.eclipse.search.internal.core.text.IndexedTextSearchEngine;
+import org.eclipse.search.internal.core.text.PatternConstructor;
+import org.eclipse.search.internal.core.text.TrigramIndex;
+import org.eclipse.search.internal.core.text.TrigramQuery;
+import org.eclipse.search.tests.ResourceHelper;
+
+public class TrigramIndexTest {
+
+	private IProject fProject;
+	private final List<TrigramIndex> fIndexes= new ArrayList<>();
+	private File fFilterFile;
+
+	@Before
+	public void setUp() throws Exception {
+		fProject= ResourceHelper.createProject("my-project"); //$NON-NLS-1$
+		fFilterFile= File.createTempFile("trigram", ".filters"); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		for (TrigramIndex index : fIndexes) {
+			index.close();
+		}
+		fFilterFile.delete();
+		ResourceHelper.deleteProject("my-project"); //$NON-NLS-1$
+	}
+
+	private TrigramIndex createIndex() {
+		TrigramIndex index= new TrigramIndex(fFilterFile);
+		fIndexes.add(index);
+		return index;
+	}
+
+	@Test
+	public void testRequiredTrigrams() {
+		assertNotNull(TrigramQuery.requiredTrigrams(PatternConstructor.createPattern("hello", false, true)));
+		assertNotNull(TrigramQuery.requiredTrigrams(PatternConstructor.createPattern("he*llo?world", false, true)));
+		assertNotNull(TrigramQuery.requiredTrigrams(PatternConstructor.createPattern("foo\\s+bar[0-9]", true, true)));
+		assertNull(TrigramQuery.requiredTrigrams(PatternConstructor.createPattern("ab", false, true)));
+		assertNull(TrigramQuery.requiredTrigrams(PatternConstructor.createPattern("hello|world", true, true)));
+		assertNull(TrigramQuery.requiredTrigrams(PatternConstructor.createPattern("(?x)hello", true, true)));
+		assertNull(TrigramQuery.requiredTrigrams(PatternConstructor.createPattern("[a-z]+\\d*", true, true)));
+	}
+
+	@Test
+	public void testEscapedLiterals() {
+		long[] expected= TrigramQuery.requiredTrigrams(Pattern.compile("xyzABC"));
+		assertArrayEquals(expected, TrigramQuery.requiredTrigrams(Pattern.compile("xyz\\x41BC")));
+		assertArrayEquals(expected, TrigramQuery.requiredTrigrams(Pattern.compile("xyz\\x{41}BC")));
+		assertArrayEquals(expected, TrigramQuery.requiredTrigrams(Pattern.compile("xyz\\u0041BC")));
+		assertArrayEquals(expected, TrigramQuery.requiredTrigrams(Pattern.compile("xyz\\0101BC")));
+		assertArrayEquals(TrigramQuery.requiredTrigrams(Pattern.compile("xyz\u0001BC")),
+				TrigramQuery.requiredTrigrams(Pattern.compile("xyz\\cABC")));
+		// the octal escape ends after the digits which give a value up to 0377
+		assertArrayEquals(TrigramQuery.requiredTrigrams(Pattern.compile("xyz?7", Pattern.LITERAL)),
+				TrigramQuery.requiredTrigrams(Pattern.compile("xyz\\0777")));
+		// a supplementary code point ends the run
+		assertArrayEquals(TrigramQuery.requiredTrigrams(Pattern.compile("xyz")),
+				TrigramQuery.requiredTrigrams(Pattern.compile("xyz\\x{1F600}BC")));
+	}
+
+	@Test
+	public void testCandidates() throws Exception {
+		IFolder folder= ResourceHelper.createFolder(fProject.getFolder("folder1"));
+		IFile file1= ResourceHelper.createFile(folder, "file1", "Hello World\n");
+		IFile file2= ResourceHelper.createFile(folder, "file2", "something else\n");
+
+		TrigramIndex index= createIndex();
+		index.index(file1);
+		index.index(file2);
+
+		long[] caseSensitive= TrigramQuery.requiredTrigrams(PatternConstructor.createPattern("World", true, false));
+		assertTrue(index.isCandidate(file1, caseSensitive));
+		assertFalse(index.isCandidate(file2, caseSensitive));
+
+		long[] caseInsensitive= TrigramQuery.requiredTrigrams(PatternConstructor.createPattern("hello w", false, false));
+		assertTrue(index.isCandidate(file1, caseInsensitive));
+		assertFalse(index.isCandidate(file2, caseInsensitive));
+
+		// changed files are candidates until they are indexed again
+		file2.setContents(new ByteArrayInputStream("hello world".getBytes()), IResource.FORCE, null);
+		assertTrue(index.isCandidate(file2, caseInsensitive));
+		assertFalse(index.isUpToDate(file2));
+		index.index(file2);
+		assertTrue(index.isUpToDate(file2));
+		assertTrue(index.isCandidate(file2, caseInsensitive));
+	}
+
+	@Test
+	public void testPersistence() throws Exception {
+		IFolder folder= ResourceHelper.createFolder(fProject.getFolder("folder1"));
+		IFile file1= ResourceHelper.createFile(folder, "file1", "Hello World\n");
+		TrigramIndex index= createIndex();
+		index.index(file1);
+
+		File indexFile= File.createTempFile("trigram", ".index"); //$NON-NLS-1$ //$NON-NLS-2$
+		try {
+			index.save(indexFile);
+			index.close();
+			TrigramIndex loaded= createIndex();
+			loaded.load(indexFile);
+			assertEquals(1, loaded.size());
+			assertTrue(loaded.isUpToDate(file1));
+			assertFalse(loaded.isCandidate(file1, TrigramQuery.requiredTrigrams(PatternConstructor.createPattern("missing", false, true))));
+		} finally {
+			indexFile.delete();
+		}
+	}
+
+	@Test
+	public void testFiltersAreStoredInFile() throws Exception {
+		IFolder folder= ResourceHelper.createFolder(fProject.getFolder("folder1"));
+		StringBuilder content= new StringBuilder();
+		for (int i= 0; i < 1000; i++) {
+			content.append("line ").append(i).append('\n');
+		}
+		IFile file1= ResourceHelper.createFile(folder, "file1", content.toString());
+		TrigramIndex index= createIndex();
+		index.index(file1);
+		long size= fFilterFile.length();
+		assertTrue(size > 0);
+
+		File indexFile= File.createTempFile("trigram", ".index"); //$NON-NLS-1$ //$NON-NLS-2$
+		try {
+			// rewriting the file leaves its old filter unused until the filter file is compacted
+			for (int i= 0; i < 3; i++) {
+				file1.setContents(new ByteArrayInputStream((content.toString() + i).getBytes()), IResource.FORCE, null);
+				index.index(file1);
+			}
+			assertEquals(4 * size, fFilterFile.length());
+			index.save(indexFile);
+			assertEquals(size, fFilterFile.length());
+			assertTrue(index.isCandidate(file1, TrigramQuery.requiredTrigrams(PatternConstructor.createPattern("line 999", false, true))));
+			assertFalse(index.isCandidate(file1, TrigramQuery.requiredTrigrams(PatternConstructor.createPattern("missing", false, true))));
+
+			// filters written after the index was saved are discarded on load
+			IFile file2= ResourceHelper.createFile(folder, "file2", "Hello World\n");
+			index.index(file2);
+			index.close();
+			TrigramIndex loaded= createIndex();
+			loaded.load(indexFile);
+			assertEquals(1, loaded.size());
+			assertEquals(size, fFilterFile.length());
+			assertTrue(loaded.isUpToDate(file1));
+			assertFalse(loaded.isCandidate(file1, TrigramQuery.requiredTrigrams(PatternConstructor.createPattern("missing", false, true))));
+		} finally {
+			indexFile.delete();
+		}
+	}
+
+	@Test
+	public void testIndexedSearch() throws Exception {
+		IFolder folder= ResourceHelper.createFolder(fProject.getFolder("folder1"));
+		IFile file1= ResourceHelper.createFile(folder, "file1", "File1\nhello\nmore hello\nworld\n");
+		ResourceHelper.createFile(folder, "file2", "File2\nworld\n");
+
+		assertEquals(2, search(PatternConstructor.createPattern("hello", false, true), file1));
+		assertEquals(1, search(PatternConstructor.createPattern("h.llo\\Rmore", true, true), file1));
+		assertEquals(2, search(PatternConstructor.createPattern("wor", false, true), null));
+	}
+
+	private int search(Pattern pattern, IFile expectedFile) throws CoreException {
+		List<IFile> matches= new ArrayList<>();
+		TextSearchRequestor requestor= new TextSearchRequestor() {
+			@Override
+			public boolean acceptPatternMatch(TextSearchMatchAccess matchAccess) throws CoreException {
+				synchronized (matches) {
+					matches.add(matchAccess.getFile());
+				}
+				return true;
+			}
+		};
+		TextSearchScope scope= TextSearchScope.newSearchScope(new IResource[] { fProject }, Pattern.compile(".*"), false); //$NON-NLS-1$
+		new IndexedTextSearchEngine().search(scope, requestor, pattern, null);
+		if (expectedFile != null) {
+			for (IFile file : matches) {
+				assertEquals(expectedFile, file);
+			}
+		}
+		return matches.size();
+	}
+}
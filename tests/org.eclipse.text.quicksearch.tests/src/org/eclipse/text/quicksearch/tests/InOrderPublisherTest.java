@@ -0,0 +1,122 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.text.quicksearch.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.text.quicksearch.internal.core.InOrderPublisher;
+import org.eclipse.text.quicksearch.internal.core.LineItem;
+import org.junit.Before;
+import org.junit.Test;
+
+public class InOrderPublisherTest {
+
+	private final List<LineItem> published = new ArrayList<>();
+	private InOrderPublisher publisher;
+	private IProject project;
+
+	@Before
+	public void setUp() throws Exception {
+		publisher = new InOrderPublisher(published::add);
+		project = ResourcesPlugin.getWorkspace().getRoot().getProject(getClass().getName());
+	}
+
+	private List<LineItem> lines(int file, int count) {
+		IFile f = project.getFile("file" + file + ".txt");
+		List<LineItem> lines = new ArrayList<>();
+		for (int i = 1; i <= count; i++) {
+			lines.add(new LineItem(f, "line " + i, i, 0));
+		}
+		return lines;
+	}
+
+	@Test
+	public void testInOrder() {
+		List<LineItem> expected = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			List<LineItem> lines = lines(i, 2);
+			expected.addAll(lines);
+			publisher.publish(i, lines);
+			assertEquals(expected, published);
+		}
+	}
+
+	@Test
+	public void testOutOfOrder() {
+		List<LineItem> lines0 = lines(0, 2);
+		List<LineItem> lines1 = lines(1, 1);
+		List<LineItem> lines2 = lines(2, 3);
+		List<LineItem> lines3 = lines(3, 2);
+		List<LineItem> expected = new ArrayList<>();
+
+		publisher.publish(2, new ArrayList<>(lines2));
+		publisher.publish(1, new ArrayList<>(lines1));
+		assertTrue(published.isEmpty());
+
+		publisher.publish(0, new ArrayList<>(lines0));
+		expected.addAll(lines0);
+		expected.addAll(lines1);
+		expected.addAll(lines2);
+		assertEquals(expected, published);
+
+		publisher.publish(3, new ArrayList<>(lines3));
+		expected.addAll(lines3);
+		assertEquals(expected, published);
+	}
+
+	@Test
+	public void testFilesWithoutResults() {
+		List<LineItem> lines2 = lines(2, 2);
+
+		publisher.publish(2, new ArrayList<>(lines2));
+		publisher.publish(0, new ArrayList<>());
+		assertTrue(published.isEmpty());
+
+		publisher.publish(1, new ArrayList<>());
+		assertEquals(lines2, published);
+	}
+
+	@Test
+	public void testHeldBackLimit() {
+		List<LineItem> lines0 = lines(0, 1);
+		List<LineItem> lines1 = lines(1, 2);
+		List<LineItem> lines2 = lines(2, InOrderPublisher.MAX_HELD_BACK_ITEMS);
+		List<LineItem> lines3 = lines(3, 1);
+		List<LineItem> expected = new ArrayList<>();
+
+		publisher.publish(1, new ArrayList<>(lines1));
+		assertTrue(published.isEmpty());
+
+		// too many results are waiting for file 0, they are published in order of their files
+		publisher.publish(2, new ArrayList<>(lines2));
+		expected.addAll(lines1);
+		expected.addAll(lines2);
+		assertEquals(expected, published);
+
+		// nothing is published twice once file 0 is done
+		publisher.publish(0, new ArrayList<>(lines0));
+		expected.addAll(lines0);
+		assertEquals(expected, published);
+
+		publisher.publish(3, new ArrayList<>(lines3));
+		expected.addAll(lines3);
+		assertEquals(expected, published);
+	}
+}
@@ -0,0 +1,148 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *    Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.text.quicksearch.tests;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.text.quicksearch.internal.core.LineItem;
+import org.eclipse.text.quicksearch.internal.core.QueryResultCache;
+import org.eclipse.text.quicksearch.internal.core.QuickTextQuery;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class QueryResultCacheTest {
+
+	private final QueryResultCache cache = new QueryResultCache();
+	private IProject project;
+	private IFile file;
+
+	@Before
+	public void setUp() throws Exception {
+		project = ResourcesPlugin.getWorkspace().getRoot().getProject(getClass().getName());
+		project.create(null);
+		project.open(null);
+		file = project.getFile("file.txt");
+		file.create(new ByteArrayInputStream("first line\nsecond line\n".getBytes(StandardCharsets.UTF_8)), true, null);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		project.delete(true, null);
+	}
+
+	private static QuickTextQuery query(String pattern) {
+		return new QuickTextQuery(pattern, true);
+	}
+
+	private List<LineItem> lines() {
+		return List.of(new LineItem(file, "first line", 1, 0), new LineItem(file, "second line", 2, 11));
+	}
+
+	private QueryResultCache.Entry cache(String pattern, List<LineItem> lines) {
+		QueryResultCache.Entry entry = cache.entryFor(query(pattern));
+		entry.put(file, file.getModificationStamp(), lines);
+		return entry;
+	}
+
+	@Test
+	public void testShortenedQueryReusesResults() {
+		QueryResultCache.Entry entry = cache("line", lines());
+		cache("line s", lines().subList(1, 2));
+
+		assertSame(entry, cache.entryFor(query("line")));
+		assertArrayEquals(lines().toArray(), entry.get(file));
+	}
+
+	@Test
+	public void testRefinedQueryReusesResults() {
+		QueryResultCache.Entry parent = cache("line", lines());
+
+		List<QueryResultCache.Entry> parents = cache.parentsOf(query("nd line"));
+		assertEquals(List.of(parent), parents);
+		assertArrayEquals(lines().toArray(), parents.get(0).get(file));
+
+		// a refined query gets its own entry for the filtered lines
+		assertNotSame(parent, cache.entryFor(query("nd line")));
+		assertEquals(List.of(parent), cache.parentsOf(query("nd line")));
+	}
+
+	@Test
+	public void testParentsMostRecentlyUsedFirst() {
+		QueryResultCache.Entry line = cache("line", lines());
+		QueryResultCache.Entry ine = cache("ine", lines());
+
+		assertEquals(List.of(ine, line), cache.parentsOf(query("line s")));
+		cache.entryFor(query("line"));
+		assertEquals(List.of(line, ine), cache.parentsOf(query("line s")));
+	}
+
+	@Test
+	public void testUnrelatedQueriesAreNotParents() {
+		cache("line", lines());
+
+		assertTrue(cache.parentsOf(query("first")).isEmpty());
+		assertTrue(cache.parentsOf(new QuickTextQuery("line s", false)).isEmpty());
+		assertTrue(cache.parentsOf(query("line")).isEmpty());
+	}
+
+	@Test
+	public void testFileWithoutMatches() {
+		QueryResultCache.Entry entry = cache("third", List.of());
+
+		assertEquals(0, entry.get(file).length);
+		assertEquals(0, cache.parentsOf(query("third line")).get(0).get(file).length);
+	}
+
+	@Test
+	public void testChangedFileIsInvalidated() throws CoreException {
+		QueryResultCache.Entry entry = cache("line", lines());
+		QueryResultCache.Entry refined = cache("nd line", lines().subList(1, 2));
+
+		file.setContents(new ByteArrayInputStream("first line\nthird line\n".getBytes(StandardCharsets.UTF_8)), true, false, null);
+
+		assertNull(entry.get(file));
+		assertNull(refined.get(file));
+		assertNull(cache.parentsOf(query("rd line")).get(0).get(file));
+
+		// results of the changed file are cached again
+		entry.put(file, file.getModificationStamp(), lines());
+		assertArrayEquals(lines().toArray(), entry.get(file));
+	}
+
+	@Test
+	public void testLeastRecentlyUsedQueryIsEvicted() {
+		QueryResultCache.Entry first = cache("line 0", lines());
+		for (int i = 1; i < QueryResultCache.MAX_QUERIES; i++) {
+			cache("line " + i, lines());
+		}
+		assertSame(first, cache.entryFor(query("line 0")));
+
+		cache("line " + QueryResultCache.MAX_QUERIES, lines());
+		assertSame(first, cache.entryFor(query("line 0")));
+		assertNull(cache.entryFor(query("line 1")).get(file));
+	}
+}
@@ -2652,4 +2652,113 @@ public class ProjectionDocumentTest {
 			assertTrue(false);
 		}
 	}
+
+	@Test
+	public void test30_1() {
+		// test replacing all master document ranges at once
+
+		final List<DocumentEvent> receivedEvents= new ArrayList<>();
+
+		IDocumentListener listener= new IDocumentListener() {
+			@Override
+			public void documentAboutToBeChanged(DocumentEvent event) {}
+			@Override
+			public void documentChanged(DocumentEvent event) {
+				receivedEvents.add(event);
+			}
+		};
+
+		createProjectionB();
+
+		fSlaveDocument.addDocumentListener(listener);
+		try {
+			fSlaveDocument.replaceMasterDocumentRanges(new IRegion[] {
+				new Region(0, 20),
+				new Region(40, 20),
+				new Region(80, 20),
+				new Region(120, 20),
+				new Region(160, 20)
+			});
+		} catch (BadLocationException e) {
+			assertTrue(false);
+		}
+
+		assertSlaveContents(getProjectionASlaveContents());
+		Position[] expected= new Position[] {
+			new Position(0, 20),
+			new Position(40, 20),
+			new Position(80, 20),
+			new Position(120, 20),
+			new Position(160, 20)
+		};
+		assertFragmentation(expected);
+
+		DocumentEvent[] actual= new DocumentEvent[receivedEvents.size()];
+		receivedEvents.toArray(actual);
+		assertSlaveEvents(new DocumentEvent[] { new DocumentEvent(fSlaveDocument, 0, 80, getProjectionASlaveContents()) }, actual);
+	}
+
+	@Test
+	public void test30_2() {
+		// test replacing all master document ranges with adjacent and empty ranges
+
+		createProjectionA();
+		try {
+			fSlaveDocument.replaceMasterDocumentRanges(new IRegion[] {
+				new Region(20, 20),
+				new Region(40, 20),
+				new Region(80, 0),
+				new Region(100, 20)
+			});
+		} catch (BadLocationException e) {
+			assertTrue(false);
+		}
+
+		Position[] expected= new Position[] {
+			new Position(20, 40),
+			new Position(100, 20)
+		};
+		assertFragmentation(expected);
+
+		// the new projection follows master document changes and further projection changes
+		try {
+			fMasterDocument.replace(105, 0, "~");
+			fSlaveDocument.addMasterDocumentRange(0, 20);
+			fSlaveDocument.removeMasterDocumentRange(40, 20);
+		} catch (BadLocationException e) {
+			assertTrue(false);
+		}
+
+		StringBuilder buffer= new StringBuilder(getOriginalMasterContents());
+		buffer.insert(105, '~');
+		assertSlaveContents(buffer.substring(0, 40) + buffer.substring(100, 121));
+	}
+
+	@Test
+	public void test30_3() {
+		// test replacing all master document ranges of a large document
+
+		StringBuilder buffer= new StringBuilder();
+		for (int i= 0; i < 100000; i++)
+			buffer.append(i).append('\n');
+		fMasterDocument.set(buffer.toString());
+
+		List<IRegion> ranges= new ArrayList<>();
+		StringBuilder expected= new StringBuilder();
+		try {
+			// show every other line
+			for (int i= 0; i < fMasterDocument.getNumberOfLines() - 1; i+= 2) {
+				IRegion line= fMasterDocument.getLineInformation(i);
+				ranges.add(new Region(line.getOffset(), line.getLength() + 1));
+				expected.append(i).append('\n');
+			}
+			fSlaveDocument.replaceMasterDocumentRanges(ranges.toArray(new IRegion[ranges.size()]));
+		} catch (BadLocationException e) {
+			assertTrue(false);
+		}
+
+		Assert.assertEquals(expected.toString(), fSlaveDocument.get());
+		Assert.assertEquals(ranges.size(), fSlaveDocument.getFragments2().length);
+		Assert.assertEquals(50001, fSlaveDocument.getNumberOfLines());
+	}
 }
@@ -20,11 +20,13 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.Random;
 
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
+import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.Document;
 import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.Position;
@@ -276,4 +278,62 @@ public class AnnotationModelExtension2Test {
 		assertPermutations(true, true, expected);
 	}
 
+	@Test
+	public void testRandomRegions() throws BadLocationException {
+		Random random= new Random(17);
+		HashMap<Annotation, AnnotationModel> annotations= new HashMap<>();
+		for (int i= 0; i < 200; i++) {
+			AnnotationModel model= random.nextBoolean() ? fAnnotationModel : fNewInnerModel;
+			int offset= random.nextInt(fDocument.getLength() + 1);
+			int length= random.nextInt(random.nextInt(10) == 0 ? fDocument.getLength() - offset + 1 : Math.min(5, fDocument.getLength() - offset + 1));
+			Annotation annotation= new Annotation(false);
+			model.addAnnotation(annotation, new Position(offset, length));
+			annotations.put(annotation, model);
+		}
+		ArrayList<Annotation> added= new ArrayList<>(annotations.keySet());
+
+		for (int i= 0; i < 300; i++) {
+			int kind= random.nextInt(4);
+			if (kind == 0) {
+				int offset= random.nextInt(fDocument.getLength() + 1);
+				int length= random.nextInt(Math.min(8, fDocument.getLength() - offset + 1));
+				fDocument.replace(offset, length, "chuck".substring(0, random.nextInt(6)));
+			} else if (kind == 1) {
+				Annotation annotation= added.get(random.nextInt(added.size()));
+				AnnotationModel model= annotations.get(annotation);
+				int offset= random.nextInt(fDocument.getLength() + 1);
+				int length= random.nextInt(fDocument.getLength() - offset + 1);
+				if (model.getPosition(annotation) != null)
+					model.modifyAnnotationPosition(annotation, new Position(offset, length));
+			}
+
+			int offset= random.nextInt(fDocument.getLength() + 1);
+			int length= random.nextInt(fDocument.getLength() - offset + 1);
+			boolean canStartBefore= random.nextBoolean();
+			boolean canEndAfter= random.nextBoolean();
+			HashSet<Annotation> expected= new HashSet<>();
+			Iterator<Annotation> all= fAnnotationModel.getAnnotationIterator();
+			while (all.hasNext()) {
+				Annotation annotation= all.next();
+				if (isWithinRegion(new Position(offset, length), fAnnotationModel.getPosition(annotation), canStartBefore, canEndAfter))
+					expected.add(annotation);
+			}
+			HashSet<Annotation> actual= new HashSet<>();
+			Iterator<Annotation> iterator= fAnnotationModel.getAnnotationIterator(offset, length, canStartBefore, canEndAfter);
+			while (iterator.hasNext())
+				actual.add(iterator.next());
+			org.junit.Assert.assertEquals(expected, actual);
+		}
+	}
+
+	private static boolean isWithinRegion(Position region, Position position, boolean canStartBefore, boolean canEndAfter) {
+		if (canStartBefore && canEndAfter)
+			return region.overlapsWith(position.getOffset(), position.getLength());
+		else if (canStartBefore)
+			return region.includes(position.getOffset() + position.getLength() - 1);
+		else if (canEndAfter)
+			return region.includes(position.getOffset());
+		int start= position.getOffset();
+		return region.includes(start) && region.includes(start + position.getLength() - 1);
+	}
 }
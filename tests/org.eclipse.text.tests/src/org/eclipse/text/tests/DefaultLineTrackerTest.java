@@ -15,11 +15,16 @@ package org.eclipse.text.tests;
 
 import static org.junit.Assert.assertEquals;
 
+import java.util.Random;
+
 import org.junit.Test;
 
 import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.ConfigurableLineTracker;
+import org.eclipse.jface.text.DefaultLineTracker;
 import org.eclipse.jface.text.Document;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.ILineTracker;
 
 public class DefaultLineTrackerTest {
 
@@ -37,4 +42,80 @@ public class DefaultLineTrackerTest {
 		assertEquals(document.getLineDelimiter(2), null);
 
 	}
+
+	@Test
+	public void testSetMatchesReplace() throws BadLocationException {
+		Random random = new Random(42);
+		for (int i = 0; i < 200; i++) {
+			String text = createText(random, random.nextInt(300));
+
+			DefaultLineTracker incremental = new DefaultLineTracker();
+			incremental.replace(0, 0, text);
+			DefaultLineTracker list = new DefaultLineTracker();
+			list.set(text);
+			DefaultLineTracker tree = new DefaultLineTracker();
+			tree.replace(0, 0, "");
+			tree.set(text);
+
+			assertSameLines(incremental, list, text.length());
+			assertSameLines(incremental, tree, text.length());
+
+			// the bulk built tree must stay valid for further modifications
+			for (int j = 0; j < 20; j++) {
+				int offset = random.nextInt(text.length() + 1);
+				int length = random.nextInt(text.length() - offset + 1);
+				String replacement = createText(random, random.nextInt(10));
+				incremental.replace(offset, length, replacement);
+				tree.replace(offset, length, replacement);
+				text = text.substring(0, offset) + replacement + text.substring(offset + length);
+			}
+			assertSameLines(incremental, tree, text.length());
+		}
+	}
+
+	@Test
+	public void testSetLargeText() throws BadLocationException {
+		StringBuilder buffer = new StringBuilder(createText(new Random(7), 9 * 1024 * 1024));
+		// put "\r\n" delimiters around multiples of 1MB where the text may be split for scanning
+		for (int i = 1; i < 9; i++) {
+			buffer.setCharAt(i * 1024 * 1024 - 1, '\r');
+			buffer.setCharAt(i * 1024 * 1024, '\n');
+		}
+		String text = buffer.toString();
+
+		ILineTracker expected = new ConfigurableLineTracker(DefaultLineTracker.DELIMITERS);
+		expected.set(text);
+		DefaultLineTracker list = new DefaultLineTracker();
+		list.set(text);
+		DefaultLineTracker tree = new DefaultLineTracker();
+		tree.replace(0, 0, "");
+		tree.set(text);
+
+		assertSameLines(expected, list, text.length());
+		assertSameLines(expected, tree, text.length());
+	}
+
+	private static String createText(Random random, int length) {
+		StringBuilder buffer = new StringBuilder(length);
+		for (int i = 0; i < length; i++) {
+			int kind = random.nextInt(8);
+			buffer.append(kind == 0 ? '\r' : kind == 1 ? '\n' : 'x');
+		}
+		return buffer.toString();
+	}
+
+	private static void assertSameLines(ILineTracker expected, ILineTracker actual, int textLength) throws BadLocationException {
+		int lines = expected.getNumberOfLines();
+		assertEquals(lines, actual.getNumberOfLines());
+		int step = Math.max(1, lines / 10000);
+		for (int line = 0; line < lines; line += line + step < lines ? step : 1) {
+			assertEquals(expected.getLineOffset(line), actual.getLineOffset(line));
+			assertEquals(expected.getLineLength(line), actual.getLineLength(line));
+			assertEquals(expected.getLineDelimiter(line), actual.getLineDelimiter(line));
+		}
+		step = Math.max(1, textLength / 10000);
+		for (int offset = 0; offset <= textLength; offset += offset + step <= textLength ? step : 1) {
+			assertEquals(expected.getLineNumberOfOffset(offset), actual.getLineNumberOfOffset(offset));
+		}
+	}
 }
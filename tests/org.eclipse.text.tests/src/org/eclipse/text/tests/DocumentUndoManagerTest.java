@@ -384,6 +384,74 @@ public class DocumentUndoManagerTest {
 
 	}
 
+	@Test
+	public void testCompressedHistory() throws ExecutionException, BadLocationException {
+		final String original = createLines("original", 10000);
+		final String replacement = createLines("replacement", 10000);
+		final Document document = new Document(original);
+		DocumentUndoManager undoManager = new DocumentUndoManager(document);
+		fUndoManager = undoManager;
+		fUndoManager.connect(this);
+		undoManager.setCompressionThreshold(1000);
+
+		document.replace(0, document.getLength(), replacement);
+		fUndoManager.commit();
+		long usage = undoManager.getHistoryMemoryUsage();
+		assertTrue(usage > 0);
+		assertTrue(usage < original.length() + replacement.length());
+
+		fUndoManager.undo();
+		assertEquals(original, document.get());
+		fUndoManager.redo();
+		assertEquals(replacement, document.get());
+		fUndoManager.undo();
+		assertEquals(original, document.get());
+	}
+
+	@Test
+	public void testHistoryMemoryBudget() throws ExecutionException, BadLocationException {
+		final Document document = new Document("");
+		DocumentUndoManager undoManager = new DocumentUndoManager(document);
+		fUndoManager = undoManager;
+		fUndoManager.connect(this);
+		fUndoManager.setMaximalUndoLevel(MAX_UNDO_LEVEL);
+		undoManager.setCompressionThreshold(1000);
+		undoManager.setHistoryMemoryBudget(0);
+
+		String[] contents = new String[10];
+		for (int i = 0; i < contents.length; i++) {
+			contents[i] = document.get();
+			document.replace(0, document.getLength(), createLines("content" + i, 1000));
+			fUndoManager.commit();
+		}
+		assertEquals(0, undoManager.getHistoryMemoryUsage());
+
+		String last = document.get();
+		for (int i = contents.length - 1; i >= 0; i--) {
+			fUndoManager.undo();
+			assertEquals(contents[i], document.get());
+		}
+		for (int i = 1; i < contents.length; i++) {
+			fUndoManager.redo();
+			assertEquals(contents[i], document.get());
+		}
+		fUndoManager.redo();
+		assertEquals(last, document.get());
+
+		undoManager.setHistoryMemoryBudget(-1);
+		undoManager.setCompressionThreshold(-1);
+		document.replace(0, 0, "uncompressed");
+		fUndoManager.commit();
+		assertEquals(2 * "uncompressed".length(), undoManager.getHistoryMemoryUsage());
+	}
+
+	private static String createLines(String prefix, int count) {
+		final StringBuilder buffer = new StringBuilder();
+		for (int i = 0; i < count; i++)
+			buffer.append(prefix).append(' ').append(i).append('\n');
+		return buffer.toString();
+	}
+
 	private static String createRandomString(int length) {
 		final StringBuilder buffer = new StringBuilder();
 
@@ -39,8 +39,10 @@ import org.eclipse.text.tests.templates.TemplatesTestSuite;
 		PositionUpdatingCornerCasesTest.class,
 		ExclusivePositionUpdaterTest.class,
 		TextEditTests.class,
+		TextEditBatchingTest.class,
 		GapTextTest.class,
 		GapTextStoreTest.class,
+		PieceTableTextStoreTest.class,
 		ChildDocumentTest.class,
 		ProjectionTestSuite.class,
 		LinkTestSuite.class,
@@ -0,0 +1,72 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.text.tests;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import org.eclipse.jface.text.ITextStore;
+import org.eclipse.jface.text.PieceTableTextStore;
+
+public class PieceTableTextStoreTest extends TextStoreTest {
+
+	@Override
+	protected ITextStore createTextStore() {
+		return new PieceTableTextStore();
+	}
+
+	@Test
+	public void testRandomEdits() {
+		ITextStore store= createTextStore();
+		StringBuilder expected= new StringBuilder("initial content\nof the store\n");
+		store.set(expected.toString());
+		Random random= new Random(42);
+		for (int i= 0; i < 5000; i++) {
+			int offset= random.nextInt(expected.length() + 1);
+			int length= random.nextInt(Math.min(10, expected.length() - offset) + 1);
+			String text= "abc\ndefghij".substring(random.nextInt(12));
+			store.replace(offset, length, text);
+			expected.replace(offset, offset + length, text);
+
+			assertEquals(expected.length(), store.getLength());
+			int start= random.nextInt(expected.length() + 1);
+			int end= start + random.nextInt(expected.length() - start + 1);
+			assertEquals(expected.substring(start, end), store.get(start, end - start));
+			if (expected.length() > 0) {
+				int index= random.nextInt(expected.length());
+				assertEquals(expected.charAt(index), store.get(index));
+			}
+		}
+		assertEquals(expected.toString(), store.get(0, store.getLength()));
+	}
+
+	@Test
+	public void testTyping() {
+		ITextStore store= createTextStore();
+		store.set("xxxx");
+		StringBuilder expected= new StringBuilder("xxxx");
+		for (int i= 0; i < 100; i++) {
+			store.replace(2 + i, 0, "y");
+			expected.insert(2 + i, 'y');
+		}
+		store.replace(50, 1, "");
+		expected.deleteCharAt(50);
+		store.replace(50, 0, "z");
+		expected.insert(50, 'z');
+		assertEquals(expected.toString(), store.get(0, store.getLength()));
+	}
+}
@@ -16,10 +16,13 @@ package org.eclipse.text.tests;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
+import java.util.Random;
+
 import org.junit.After;
 import org.junit.Test;
 
 import org.eclipse.jface.text.BadPositionCategoryException;
+import org.eclipse.jface.text.DefaultPositionUpdater;
 import org.eclipse.jface.text.Document;
 import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.Position;
@@ -27,6 +30,8 @@ import org.eclipse.jface.text.Position;
 
 
 public class PositionUpdatingCornerCasesTest {
+	private static final String CATEGORY= "testCategory";
+
 	private Document fDocument;
 
 	protected void checkPositions(Position[] expected) throws BadPositionCategoryException {
@@ -93,4 +98,73 @@ public class PositionUpdatingCornerCasesTest {
 		checkPositions(positions);
 
 	}
+
+	@Test
+	public void testInsertAtEndOfPositionWithExtendingUpdater() throws Exception {
+		fDocument= new Document("x-x-x-x-x-x-x-x-x-x-x");
+		fDocument.addPositionCategory(CATEGORY);
+		fDocument.addPositionUpdater(new DefaultPositionUpdater(CATEGORY) {
+			@Override
+			protected void adaptToInsert() {
+				// extend positions at whose end text is inserted
+				if (fPosition.offset + fPosition.length < fOffset)
+					return;
+				if (fPosition.offset <= fOffset)
+					fPosition.length+= fReplaceLength;
+				else
+					fPosition.offset+= fReplaceLength;
+			}
+		});
+		Position before= new Position(2, 2);
+		Position atEnd= new Position(4, 4);
+		Position after= new Position(10, 1);
+		fDocument.addPosition(CATEGORY, before);
+		fDocument.addPosition(CATEGORY, atEnd);
+		fDocument.addPosition(CATEGORY, after);
+
+		fDocument.replace(8, 0, "yy");
+
+		assertEquals(new Position(2, 2), before);
+		assertEquals(new Position(4, 6), atEnd);
+		assertEquals(new Position(12, 1), after);
+	}
+
+	@Test
+	public void testRandomEditsMatchFullUpdate() throws Exception {
+		Random random= new Random(4711);
+		StringBuilder text= new StringBuilder();
+		for (int i= 0; i < 2000; i++)
+			text.append((char) ('a' + random.nextInt(26)));
+		fDocument= new Document(text.toString());
+		Document reference= new Document(text.toString());
+		fDocument.addPositionCategory(CATEGORY);
+		fDocument.addPositionUpdater(new DefaultPositionUpdater(CATEGORY));
+		reference.addPositionCategory(CATEGORY);
+		reference.addPositionUpdater(new DefaultPositionUpdater(CATEGORY) {
+			@Override
+			protected Position[] getCandidatePositions() throws BadPositionCategoryException {
+				return fDocument.getPositions(getCategory());
+			}
+		});
+		for (int i= 0; i < 500; i++) {
+			int offset= random.nextInt(fDocument.getLength());
+			int length= random.nextInt(Math.min(20, fDocument.getLength() - offset) + 1);
+			fDocument.addPosition(CATEGORY, new Position(offset, length));
+			reference.addPosition(CATEGORY, new Position(offset, length));
+		}
+
+		for (int i= 0; i < 2000; i++) {
+			int offset= random.nextInt(fDocument.getLength() + 1);
+			int length= random.nextInt(Math.min(10, fDocument.getLength() - offset) + 1);
+			String replacement= "yyyyy".substring(random.nextInt(6));
+			fDocument.replace(offset, length, replacement);
+			reference.replace(offset, length, replacement);
+
+			Position[] expected= reference.getPositions(CATEGORY);
+			Position[] actual= fDocument.getPositions(CATEGORY);
+			assertEquals(expected.length, actual.length);
+			for (int j= 0; j < expected.length; j++)
+				assertEquals(print(expected[j]) + " != " + print(actual[j]), expected[j], actual[j]);
+		}
+	}
 }
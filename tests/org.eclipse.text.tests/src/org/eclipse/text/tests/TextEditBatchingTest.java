@@ -0,0 +1,281 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.text.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import org.eclipse.text.edits.DeleteEdit;
+import org.eclipse.text.edits.InsertEdit;
+import org.eclipse.text.edits.MultiTextEdit;
+import org.eclipse.text.edits.RangeMarker;
+import org.eclipse.text.edits.ReplaceEdit;
+import org.eclipse.text.edits.TextEdit;
+import org.eclipse.text.edits.UndoEdit;
+
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.DocumentEvent;
+import org.eclipse.jface.text.DocumentRewriteSessionEvent;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentListener;
+import org.eclipse.jface.text.IDocumentRewriteSessionListener;
+import org.eclipse.jface.text.Position;
+import org.eclipse.jface.text.rules.FastPartitioner;
+import org.eclipse.jface.text.rules.IPredicateRule;
+import org.eclipse.jface.text.rules.MultiLineRule;
+import org.eclipse.jface.text.rules.RuleBasedPartitionScanner;
+import org.eclipse.jface.text.rules.Token;
+
+/**
+ * Tests applying large text edit trees with a single document replacement.
+ */
+public class TextEditBatchingTest {
+
+	private static class EventCounter implements IDocumentListener {
+		int fCount;
+
+		@Override
+		public void documentAboutToBeChanged(DocumentEvent event) {
+		}
+
+		@Override
+		public void documentChanged(DocumentEvent event) {
+			fCount++;
+		}
+	}
+
+	@Test
+	public void testSingleEvent() throws Exception {
+		IDocument document= new Document(createLines(1000));
+		EventCounter counter= new EventCounter();
+		document.addDocumentListener(counter);
+
+		MultiTextEdit root= createEdits(document);
+		String expected= applyOneByOne(document.get(), root);
+		String original= document.get();
+		UndoEdit undo= root.apply(document);
+
+		assertEquals(expected, document.get());
+		assertEquals(1, counter.fCount);
+
+		UndoEdit redo= undo.apply(document);
+		assertEquals(original, document.get());
+		assertEquals(2, counter.fCount);
+
+		redo.apply(document);
+		assertEquals(expected, document.get());
+		assertEquals(3, counter.fCount);
+	}
+
+	@Test
+	public void testSameResultAsUnbatched() throws Exception {
+		IDocument batched= new Document(createLines(500));
+		IDocument unbatched= new Document(batched.get());
+		// a position in the changed range prevents the single replacement
+		Position position= new Position(unbatched.getLength() / 2, 1);
+		unbatched.addPosition(position);
+		EventCounter counter= new EventCounter();
+		unbatched.addDocumentListener(counter);
+
+		MultiTextEdit batchedRoot= createEdits(batched);
+		MultiTextEdit unbatchedRoot= createEdits(unbatched);
+		UndoEdit batchedUndo= batchedRoot.apply(batched);
+		UndoEdit unbatchedUndo= unbatchedRoot.apply(unbatched);
+
+		assertTrue(counter.fCount > 1);
+		assertFalse(position.isDeleted());
+		assertEquals(unbatched.get(), batched.get());
+		assertEquals(toString(unbatchedRoot), toString(batchedRoot));
+		assertEquals(toString(unbatchedUndo), toString(batchedUndo));
+
+		UndoEdit batchedRedo= batchedUndo.apply(batched);
+		UndoEdit unbatchedRedo= unbatchedUndo.apply(unbatched);
+		assertEquals(unbatched.get(), batched.get());
+		assertEquals(toString(unbatchedRedo), toString(batchedRedo));
+
+		batchedRedo.apply(batched);
+		unbatchedRedo.apply(unbatched);
+		assertEquals(unbatched.get(), batched.get());
+	}
+
+	@Test
+	public void testRewriteSessionWithPositions() throws Exception {
+		Document document= new Document(createLines(500));
+		Position position= new Position(document.getLength() / 2, 1);
+		document.addPosition(position);
+		List<Object> sessionEvents= new ArrayList<>();
+		IDocumentRewriteSessionListener listener= event -> sessionEvents.add(event.getChangeType());
+		document.addDocumentRewriteSessionListener(listener);
+
+		// the edits are applied one by one in a rewrite session
+		MultiTextEdit root= createEdits(document);
+		String expected= applyOneByOne(document.get(), root);
+		UndoEdit undo= root.apply(document);
+		assertEquals(expected, document.get());
+		assertFalse(position.isDeleted());
+		assertEquals(List.of(DocumentRewriteSessionEvent.SESSION_START, DocumentRewriteSessionEvent.SESSION_STOP), sessionEvents);
+		assertNull(document.getActiveRewriteSession());
+
+		sessionEvents.clear();
+		undo.apply(document);
+		assertEquals(List.of(DocumentRewriteSessionEvent.SESSION_START, DocumentRewriteSessionEvent.SESSION_STOP), sessionEvents);
+
+		// few edits are applied without a session
+		sessionEvents.clear();
+		IDocument small= new Document(createLines(10));
+		root= createEdits(small);
+		document.set(small.get());
+		document.addPosition(new Position(document.getLength() / 2, 1));
+		root.apply(document);
+		assertTrue(sessionEvents.isEmpty());
+	}
+
+	@Test
+	public void testNestedEdits() throws Exception {
+		IDocument document= new Document(createLines(500));
+		String original= document.get();
+		EventCounter counter= new EventCounter();
+		document.addDocumentListener(counter);
+
+		MultiTextEdit root= new MultiTextEdit();
+		RangeMarker marker= null;
+		for (int line= 0; line < document.getNumberOfLines() - 1; line++) {
+			int offset= document.getLineOffset(line);
+			if (line % 10 == 0) {
+				marker= new RangeMarker(offset, document.getLineOffset(Math.min(line + 10, document.getNumberOfLines() - 1)) - offset);
+				root.addChild(marker);
+			}
+			marker.addChild(new InsertEdit(offset, "\t"));
+		}
+		String expected= applyOneByOne(original, root);
+		UndoEdit undo= root.apply(document);
+
+		assertEquals(expected, document.get());
+		assertEquals(1, counter.fCount);
+		assertEquals(document.getLineOffset(10), root.getChildren()[1].getOffset());
+
+		undo.apply(document);
+		assertEquals(original, document.get());
+	}
+
+	@Test
+	public void testFewEdits() throws Exception {
+		IDocument document= new Document(createLines(10));
+		EventCounter counter= new EventCounter();
+		document.addDocumentListener(counter);
+
+		MultiTextEdit root= createEdits(document);
+		String expected= applyOneByOne(document.get(), root);
+		root.apply(document);
+
+		assertEquals(expected, document.get());
+		assertEquals(root.getChildrenSize(), counter.fCount);
+	}
+
+	@Test
+	public void testLargeMultiTextEdit() throws Exception {
+		StringBuilder content= new StringBuilder();
+		for (int i= 0; i < 200000; i++)
+			content.append("line ").append(i).append(i % 5 == 0 ? " /* comment */\n" : "\n");
+		IDocument document= new Document(content.toString());
+		// applying each edit separately would update all partitions for each edit
+		RuleBasedPartitionScanner scanner= new RuleBasedPartitionScanner();
+		scanner.setPredicateRules(new IPredicateRule[] { new MultiLineRule("/*", "*/", new Token("comment")) });
+		FastPartitioner partitioner= new FastPartitioner(scanner, new String[] { "comment" });
+		partitioner.connect(document);
+		document.setDocumentPartitioner(partitioner);
+
+		String original= document.get();
+		MultiTextEdit root= createEdits(document);
+
+		long start= System.currentTimeMillis();
+		UndoEdit undo= root.apply(document);
+		undo.apply(document);
+		long time= System.currentTimeMillis() - start;
+
+		assertEquals(original, document.get());
+		assertEquals(80001, document.computePartitioning(0, document.getLength()).length);
+		assertTrue("applying the edits took " + time + " ms", time < 10000);
+	}
+
+	private static String createLines(int count) {
+		StringBuilder buffer= new StringBuilder();
+		for (int i= 0; i < count; i++)
+			buffer.append("line ").append(i).append('\n');
+		return buffer.toString();
+	}
+
+	/*
+	 * Replaces, inserts into and deletes from the lines of the document in turn.
+	 */
+	private static MultiTextEdit createEdits(IDocument document) throws Exception {
+		MultiTextEdit root= new MultiTextEdit();
+		for (int line= 0; line < document.getNumberOfLines() - 1; line++) {
+			int offset= document.getLineOffset(line);
+			switch (line % 3) {
+				case 0:
+					root.addChild(new ReplaceEdit(offset, 4, "LINE"));
+					break;
+				case 1:
+					root.addChild(new InsertEdit(offset, "// "));
+					break;
+				default:
+					root.addChild(new DeleteEdit(offset, 5));
+					break;
+			}
+		}
+		return root;
+	}
+
+	/*
+	 * Computes the result of the leaf edits of the given tree.
+	 */
+	private static String applyOneByOne(String text, TextEdit root) {
+		List<TextEdit> leaves= new ArrayList<>();
+		collectLeaves(root, leaves);
+		StringBuilder buffer= new StringBuilder(text);
+		for (int i= leaves.size() - 1; i >= 0; i--) {
+			TextEdit edit= leaves.get(i);
+			String replacement= edit instanceof ReplaceEdit ? ((ReplaceEdit) edit).getText() : edit instanceof InsertEdit ? ((InsertEdit) edit).getText() : "";
+			buffer.replace(edit.getOffset(), edit.getExclusiveEnd(), replacement);
+		}
+		return buffer.toString();
+	}
+
+	private static void collectLeaves(TextEdit edit, List<TextEdit> leaves) {
+		if (edit.hasChildren()) {
+			for (TextEdit child : edit.getChildren())
+				collectLeaves(child, leaves);
+		} else {
+			leaves.add(edit);
+		}
+	}
+
+	private static String toString(TextEdit edit) {
+		StringBuilder buffer= new StringBuilder();
+		buffer.append(edit.getOffset()).append(',').append(edit.getLength());
+		if (edit instanceof ReplaceEdit)
+			buffer.append(',').append(((ReplaceEdit) edit).getText());
+		for (TextEdit child : edit.getChildren())
+			buffer.append(" [").append(toString(child)).append(']');
+		return buffer.toString();
+	}
+}
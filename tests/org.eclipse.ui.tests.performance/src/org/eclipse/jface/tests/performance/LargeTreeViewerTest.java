@@ -0,0 +1,163 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.jface.tests.performance;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.jface.viewers.ITreeContentProvider;
+import org.eclipse.jface.viewers.StructuredSelection;
+import org.eclipse.jface.viewers.StructuredViewer;
+import org.eclipse.jface.viewers.TreeViewer;
+import org.eclipse.swt.widgets.Shell;
+
+/**
+ * LargeTreeViewerTest measures the operations of a tree viewer which look up
+ * the items of its elements in the element map, on a fully expanded tree of
+ * about one million elements.
+ */
+public class LargeTreeViewerTest extends ViewerTest {
+
+	/**
+	 * The number of top level elements and of children of each of them.
+	 */
+	private static final int CHILD_COUNT = 1000;
+
+	/**
+	 * Every how many leaves is updated or selected.
+	 */
+	private static final int SAMPLE_STEP = 100;
+
+	TreeViewer viewer;
+
+	private TestTreeElement input;
+
+	public LargeTreeViewerTest(String testName, int tagging) {
+		super(testName, tagging);
+	}
+
+	public LargeTreeViewerTest(String testName) {
+		super(testName);
+	}
+
+	@Override
+	protected StructuredViewer createViewer(Shell shell) {
+		viewer = new TreeViewer(shell);
+		viewer.setContentProvider(new ITreeContentProvider() {
+
+			@Override
+			public Object[] getChildren(Object parentElement) {
+				return ((TestTreeElement) parentElement).children;
+			}
+
+			@Override
+			public Object getParent(Object element) {
+				return ((TestTreeElement) element).parent;
+			}
+
+			@Override
+			public boolean hasChildren(Object element) {
+				return ((TestTreeElement) element).children.length > 0;
+			}
+
+			@Override
+			public Object[] getElements(Object inputElement) {
+				return getChildren(inputElement);
+			}
+		});
+		viewer.setLabelProvider(getLabelProvider());
+		return viewer;
+	}
+
+	@Override
+	protected Object getInitialInput() {
+		input = new TestTreeElement(0, null);
+		input.createChildren(CHILD_COUNT);
+		for (TestTreeElement child : input.children) {
+			child.createChildren(CHILD_COUNT);
+		}
+		return input;
+	}
+
+	private void openLargeTree() {
+		openBrowser();
+		viewer.expandAll();
+		processEvents();
+	}
+
+	/**
+	 * Returns every {@link #SAMPLE_STEP}th leaf of the tree.
+	 */
+	private Object[] getSample() {
+		Object[] sample = new Object[CHILD_COUNT * CHILD_COUNT / SAMPLE_STEP];
+		for (int i = 0; i < sample.length; i++) {
+			int leaf = i * SAMPLE_STEP;
+			sample[i] = input.children[leaf / CHILD_COUNT].children[leaf % CHILD_COUNT];
+		}
+		return sample;
+	}
+
+	/**
+	 * Test the time for refreshing the whole tree.
+	 */
+	public void testRefresh() throws CoreException {
+		openLargeTree();
+
+		exercise(() -> {
+			startMeasuring();
+			viewer.refresh();
+			processEvents();
+			stopMeasuring();
+		}, MIN_ITERATIONS, slowGTKIterations(), JFacePerformanceSuite.MAX_TIME);
+
+		commitMeasurements();
+		assertPerformance();
+	}
+
+	/**
+	 * Test the time for updating the labels of a sample of the elements.
+	 */
+	public void testUpdate() throws CoreException {
+		openLargeTree();
+		Object[] sample = getSample();
+
+		exercise(() -> {
+			startMeasuring();
+			viewer.update(sample, null);
+			processEvents();
+			stopMeasuring();
+		}, MIN_ITERATIONS, ITERATIONS, JFacePerformanceSuite.MAX_TIME);
+
+		commitMeasurements();
+		assertPerformance();
+	}
+
+	/**
+	 * Test the time for selecting a sample of the elements.
+	 */
+	public void testSetSelection() throws CoreException {
+		openLargeTree();
+		StructuredSelection selection = new StructuredSelection(getSample());
+
+		exercise(() -> {
+			startMeasuring();
+			viewer.setSelection(selection);
+			viewer.setSelection(StructuredSelection.EMPTY);
+			processEvents();
+			stopMeasuring();
+		}, MIN_ITERATIONS, ITERATIONS, JFacePerformanceSuite.MAX_TIME);
+
+		commitMeasurements();
+		assertPerformance();
+	}
+}
@@ -0,0 +1,155 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     Eclipse Foundation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.ui.workbench.texteditor.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.source.LineRange;
+
+import org.eclipse.ui.internal.texteditor.quickdiff.HistogramDifferencer;
+import org.eclipse.ui.internal.texteditor.quickdiff.QuickDiffRangeDifference;
+import org.eclipse.ui.internal.texteditor.quickdiff.compare.equivalence.DocEquivalenceComparator;
+import org.eclipse.ui.internal.texteditor.quickdiff.compare.equivalence.DocumentEquivalenceClass;
+import org.eclipse.ui.internal.texteditor.quickdiff.compare.equivalence.FNVHashFunction;
+
+import org.eclipse.compare.rangedifferencer.RangeDifference;
+
+/**
+ * Tests for the {@link HistogramDifferencer}.
+ */
+public class HistogramDifferencerTest {
+
+	@Test
+	public void testEqual() throws Exception {
+		assertRanges("a\nb\nc", "a\nb\nc", "=3/3");
+	}
+
+	@Test
+	public void testInsertion() throws Exception {
+		assertRanges("a\nb\nc\nd", "a\nb\nx\nc\nd", "=2/2 !0/1 =2/2");
+	}
+
+	@Test
+	public void testDeletion() throws Exception {
+		assertRanges("a\nb\nc\nd", "a\nd", "=1/1 !2/0 =1/1");
+	}
+
+	@Test
+	public void testCompletelyChanged() throws Exception {
+		assertRanges("a\nb", "c\nd\ne", "!2/3");
+	}
+
+	@Test
+	public void testAlignsUniqueLines() throws Exception {
+		// the unique line "b" is kept, although keeping the braces would give a longer match
+		assertRanges("{\nb\n}\n{\n}\n{\n}", "{\n}\n{\n}\n{\nb\n}", "=1/1 !0/4 =1/1 !4/0 =1/1");
+	}
+
+	@Test
+	public void testRepeatedLines() throws Exception {
+		StringBuilder left= new StringBuilder();
+		StringBuilder right= new StringBuilder();
+		for (int i= 0; i < 200; i++) {
+			left.append("x\n");
+			right.append(i == 100 ? "y\n" : "x\n");
+		}
+		assertRanges(left.toString(), right.toString(), "=100/100 !1/1 =100/100");
+	}
+
+	@Test
+	public void testOnlyFrequentLines() throws Exception {
+		StringBuilder lines= new StringBuilder();
+		for (int i= 0; i < 100; i++)
+			lines.append("x\n");
+		assertRanges(lines + "a", "b\n" + lines + "c", "!0/1 =100/100 !1/1");
+	}
+
+	@Test
+	public void testRandomDocuments() throws Exception {
+		Random random= new Random(23);
+		for (int i= 0; i < 300; i++) {
+			IDocument left= new Document(createText(random, random.nextInt(100)));
+			IDocument right= new Document(left.get());
+			for (int j= random.nextInt(10); j >= 0; j--) {
+				int offset= random.nextInt(right.getLength() + 1);
+				int length= random.nextInt(right.getLength() - offset + 1) / 4;
+				right.replace(offset, length, createText(random, random.nextInt(10)));
+			}
+
+			int leftStart= random.nextInt(left.getNumberOfLines());
+			int rightStart= random.nextInt(right.getNumberOfLines());
+			LineRange leftRange= new LineRange(leftStart, random.nextInt(left.getNumberOfLines() - leftStart + 1));
+			LineRange rightRange= new LineRange(rightStart, random.nextInt(right.getNumberOfLines() - rightStart + 1));
+			List<QuickDiffRangeDifference> ranges= HistogramDifferencer.findRanges(null, createComparator(left, leftRange), createComparator(right, rightRange));
+			assertConsistent(left, leftRange, right, rightRange, ranges);
+		}
+	}
+
+	private static String createText(Random random, int lines) {
+		StringBuilder text= new StringBuilder();
+		for (int i= 0; i < lines; i++)
+			text.append("line ").append(random.nextInt(20)).append('\n');
+		return text.toString();
+	}
+
+	private static DocEquivalenceComparator createComparator(IDocument document, LineRange range) {
+		return new DocEquivalenceComparator(new DocumentEquivalenceClass(document, new FNVHashFunction()), range);
+	}
+
+	private static void assertRanges(String left, String right, String expected) {
+		List<QuickDiffRangeDifference> ranges= HistogramDifferencer.findRanges(null, createComparator(new Document(left), null), createComparator(new Document(right), null));
+		StringBuilder actual= new StringBuilder();
+		for (QuickDiffRangeDifference range : ranges) {
+			if (actual.length() > 0)
+				actual.append(' ');
+			actual.append(range.kind() == RangeDifference.NOCHANGE ? '=' : '!').append(range.leftLength()).append('/').append(range.rightLength());
+		}
+		assertEquals(expected, actual.toString());
+	}
+
+	private static void assertConsistent(IDocument left, LineRange leftRange, IDocument right, LineRange rightRange, List<QuickDiffRangeDifference> ranges) throws BadLocationException {
+		int leftLine= 0;
+		int rightLine= 0;
+		int previousKind= -1;
+		for (QuickDiffRangeDifference range : ranges) {
+			assertEquals(leftLine, range.leftStart());
+			assertEquals(rightLine, range.rightStart());
+			assertTrue(range.kind() != previousKind);
+			assertTrue(range.maxLength() > 0);
+			if (range.kind() == RangeDifference.NOCHANGE) {
+				assertEquals(range.leftLength(), range.rightLength());
+				for (int i= 0; i < range.leftLength(); i++)
+					assertEquals(getLine(left, leftRange.getStartLine() + leftLine + i), getLine(right, rightRange.getStartLine() + rightLine + i));
+			}
+			previousKind= range.kind();
+			leftLine= range.leftEnd();
+			rightLine= range.rightEnd();
+		}
+		assertEquals(leftRange.getNumberOfLines(), leftLine);
+		assertEquals(rightRange.getNumberOfLines(), rightLine);
+	}
+
+	private static String getLine(IDocument document, int line) throws BadLocationException {
+		return document.get(document.getLineOffset(line), document.getLineInformation(line).getLength());
+	}
+}